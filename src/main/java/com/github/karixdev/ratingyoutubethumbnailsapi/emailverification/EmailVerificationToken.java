@@ -33,7 +33,7 @@ public class EmailVerificationToken {
     @SequenceGenerator(
             name = "email_verification_token_gen",
             sequenceName = "email_verification_token_seq",
-            allocationSize = 1
+            allocationSize = 50
     )
     @Column(
             name = "id",
@@ -6,12 +6,15 @@ import com.github.karixdev.ratingyoutubethumbnailsapi.user.User;
 import com.github.karixdev.ratingyoutubethumbnailsapi.user.UserRepository;
 import com.github.karixdev.ratingyoutubethumbnailsapi.user.UserRole;
 import com.github.karixdev.ratingyoutubethumbnailsapi.user.UserService;
+import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -22,6 +25,7 @@ public class DataFixtures implements CommandLineRunner {
     private final FixturesProperties properties;
 
     @Override
+    @Transactional
     public void run(String... args) {
         if (!properties.getLoadFixtures()) {
             return;
@@ -72,18 +76,22 @@ public class DataFixtures implements CommandLineRunner {
 //                )
         );
 
-        thumbnails.forEach(map -> {
-            if (thumbnailRepository.findByYoutubeVideoId(
-                    map.get("youtubeVideoId")).isEmpty()
-            ) {
-                thumbnailRepository.save(
-                        Thumbnail.builder()
-                                .youtubeVideoId(map.get("youtubeVideoId"))
-                                .url(map.get("url"))
-                                .addedBy(user)
-                                .build()
-                );
-            }
-        });
+        List<String> youtubeVideoIds = thumbnails.stream()
+                .map(map -> map.get("youtubeVideoId"))
+                .toList();
+
+        Set<String> existingYoutubeVideoIds = thumbnailRepository.findByYoutubeVideoIdIn(youtubeVideoIds)
+                .stream()
+                .map(Thumbnail::getYoutubeVideoId)
+                .collect(Collectors.toSet());
+
+        thumbnailRepository.saveAll(thumbnails.stream()
+                .filter(map -> !existingYoutubeVideoIds.contains(map.get("youtubeVideoId")))
+                .map(map -> Thumbnail.builder()
+                        .youtubeVideoId(map.get("youtubeVideoId"))
+                        .url(map.get("url"))
+                        .addedBy(user)
+                        .build())
+                .toList());
     }
 }
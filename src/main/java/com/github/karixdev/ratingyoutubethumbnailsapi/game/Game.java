@@ -2,20 +2,16 @@ package com.github.karixdev.ratingyoutubethumbnailsapi.game;
 
 import com.github.karixdev.ratingyoutubethumbnailsapi.game.exception.GameHasAlreadyEndedException;
 import com.github.karixdev.ratingyoutubethumbnailsapi.round.Round;
-import com.github.karixdev.ratingyoutubethumbnailsapi.round.exception.EmptyRoundSetException;
 import com.github.karixdev.ratingyoutubethumbnailsapi.shared.exception.PermissionDeniedException;
-import com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail.Thumbnail;
 import com.github.karixdev.ratingyoutubethumbnailsapi.user.User;
 import lombok.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
 
 import jakarta.persistence.*;
 
 import java.time.Clock;
 import java.time.LocalDateTime;
-import java.util.Comparator;
-import java.util.LinkedHashSet;
-import java.util.Objects;
-import java.util.Set;
 
 @Getter
 @Setter
@@ -35,7 +31,7 @@ public class Game {
     @SequenceGenerator(
             name = "game_gen",
             sequenceName = "game_seq",
-            allocationSize = 1
+            allocationSize = 50
     )
     @Column(
             name = "id",
@@ -67,32 +63,17 @@ public class Game {
     @Builder.Default
     private Boolean hasEnded = false;
 
-    @OneToMany(
-            mappedBy = "game",
-            orphanRemoval = true,
-            cascade = CascadeType.ALL
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(
+            name = "current_round_id",
+            referencedColumnName = "id",
+            foreignKey = @ForeignKey(
+                    name = "game_current_round_id_fk"
+            )
     )
+    @OnDelete(action = OnDeleteAction.SET_NULL)
     @ToString.Exclude
-    @Builder.Default
-    private Set<Round> rounds = new LinkedHashSet<>();
-
-    public void addRound(Thumbnail thumbnail1, Thumbnail thumbnail2, Clock clock) {
-        rounds.add(Round.builder()
-                .thumbnail1(thumbnail1)
-                .thumbnail2(thumbnail2)
-                .game(this)
-                .createdAt(LocalDateTime.now(clock))
-                .build());
-    }
-
-    public Round getLatestRound() {
-        return rounds.stream()
-                .max(Comparator.comparing(
-                        Round::getCreatedAt,
-                        LocalDateTime::compareTo
-                ))
-                .orElseThrow(EmptyRoundSetException::new);
-    }
+    private Round currentRound;
 
     public boolean isGameExpired(Clock clock, int maxTimeOfNoGameUpdate) {
         return hasEnded || LocalDateTime.now(clock).isAfter(lastActivity.plusMinutes(maxTimeOfNoGameUpdate));
@@ -102,10 +83,14 @@ public class Game {
         return this.user.equals(user);
     }
 
-    public void endGame(User user, Clock clock, int maxTimeOfNoGameUpdate) {
+    public void checkOwnership(User user) {
         if (!isOwnedBy(user) && !user.isAdmin()) {
             throw new PermissionDeniedException("You are not the owner of the game");
         }
+    }
+
+    public void endGame(User user, Clock clock, int maxTimeOfNoGameUpdate) {
+        checkOwnership(user);
 
         if (isGameExpired(clock, maxTimeOfNoGameUpdate)) {
             throw new GameHasAlreadyEndedException();
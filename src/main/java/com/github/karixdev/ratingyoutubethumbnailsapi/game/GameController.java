@@ -1,20 +1,29 @@
 package com.github.karixdev.ratingyoutubethumbnailsapi.game;
 
+import com.github.karixdev.ratingyoutubethumbnailsapi.game.payload.request.GameBatchResultRequest;
 import com.github.karixdev.ratingyoutubethumbnailsapi.game.payload.request.GameResultRequest;
+import com.github.karixdev.ratingyoutubethumbnailsapi.game.payload.response.GameBatchResponse;
 import com.github.karixdev.ratingyoutubethumbnailsapi.game.payload.response.GameResponse;
+import com.github.karixdev.ratingyoutubethumbnailsapi.rating.RatingUpdateRetry;
+import com.github.karixdev.ratingyoutubethumbnailsapi.round.payload.response.RoundResponse;
 import com.github.karixdev.ratingyoutubethumbnailsapi.security.CurrentUser;
 import com.github.karixdev.ratingyoutubethumbnailsapi.security.UserPrincipal;
 import com.github.karixdev.ratingyoutubethumbnailsapi.shared.payload.response.SuccessResponse;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+import java.util.UUID;
+
 @RestController
 @RequestMapping("/api/v1/game")
 @RequiredArgsConstructor
 public class GameController {
     private final GameService service;
+    private final RatingUpdateRetry ratingUpdateRetry;
 
     @PostMapping
     public ResponseEntity<GameResponse> play(
@@ -22,7 +31,31 @@ public class GameController {
             @CurrentUser UserPrincipal userPrincipal
     ) {
         return new ResponseEntity<>(
-                service.play(userPrincipal, payload),
+                ratingUpdateRetry.run(() -> service.play(userPrincipal, payload)),
+                HttpStatus.OK
+        );
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<GameBatchResponse> playBatch(
+            @Valid @RequestBody GameBatchResultRequest payload,
+            @CurrentUser UserPrincipal userPrincipal
+    ) {
+        return new ResponseEntity<>(
+                ratingUpdateRetry.run(() -> service.playBatch(userPrincipal, payload)),
+                HttpStatus.OK
+        );
+    }
+
+    @GetMapping("/{id}/rounds")
+    public ResponseEntity<List<RoundResponse>> getRounds(
+            @PathVariable(name = "id") Long id,
+            @RequestParam(name = "before", required = false) UUID before,
+            @RequestParam(name = "size", defaultValue = "20") Integer size,
+            @CurrentUser UserPrincipal userPrincipal
+    ) {
+        return new ResponseEntity<>(
+                service.getRounds(id, before, size, userPrincipal),
                 HttpStatus.OK
         );
     }
@@ -8,10 +8,16 @@ import org.springframework.stereotype.Service;
 @Service
 public class GameProperties {
     private final Integer duration;
+    private final Integer sessionCacheMaxSize;
+    private final Integer matchupQueueDepth;
 
     public GameProperties(
-            @Value("${game.duration}") Integer duration
+            @Value("${game.duration}") Integer duration,
+            @Value("${game.session-cache.max-size}") Integer sessionCacheMaxSize,
+            @Value("${game.matchup-queue.depth}") Integer matchupQueueDepth
     ) {
         this.duration = duration;
+        this.sessionCacheMaxSize = sessionCacheMaxSize;
+        this.matchupQueueDepth = matchupQueueDepth;
     }
 }
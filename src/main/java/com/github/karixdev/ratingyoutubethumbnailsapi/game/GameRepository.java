@@ -1,22 +1,46 @@
 package com.github.karixdev.ratingyoutubethumbnailsapi.game;
 
+import com.github.karixdev.ratingyoutubethumbnailsapi.round.Round;
 import com.github.karixdev.ratingyoutubethumbnailsapi.user.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
 
 @Repository
 public interface GameRepository extends JpaRepository<Game, Long> {
+    Optional<Game> findFirstByUserOrderByLastActivityDesc(User user);
+
+    // empty if the game has ended or has no current round yet
     @Query("""
-            SELECT game
+            SELECT game.currentRound.id
             FROM Game game
-            WHERE game.user = :user
-            ORDER BY game.lastActivity DESC
+            WHERE game.id = :id
+            AND game.hasEnded = false
             """)
-    List<Game> findByUserOrderByLastActivityDesc(@Param("user") User user);
+    Optional<UUID> findCurrentRoundIdOfActiveGame(@Param("id") Long id);
+
+    // 0 if the current round is no longer the expected one or the game has ended
+    @Modifying(flushAutomatically = true)
+    @Query("""
+            UPDATE Game game
+            SET game.currentRound = :round, game.lastActivity = :lastActivity
+            WHERE game.id = :id
+            AND game.currentRound.id = :expectedRoundId
+            AND game.hasEnded = false
+            """)
+    int updateCurrentRound(
+            @Param("id") Long id,
+            @Param("expectedRoundId") UUID expectedRoundId,
+            @Param("round") Round round,
+            @Param("lastActivity") LocalDateTime lastActivity
+    );
 
     @Query("""
             SELECT game
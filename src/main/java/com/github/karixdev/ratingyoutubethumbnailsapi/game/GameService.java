@@ -1,11 +1,22 @@
 package com.github.karixdev.ratingyoutubethumbnailsapi.game;
 
+import com.github.karixdev.ratingyoutubethumbnailsapi.game.exception.GameHasEndedException;
 import com.github.karixdev.ratingyoutubethumbnailsapi.game.exception.InvalidWinnerIdException;
+import com.github.karixdev.ratingyoutubethumbnailsapi.game.exception.StaleGameSessionException;
+import com.github.karixdev.ratingyoutubethumbnailsapi.game.payload.request.GameBatchResultRequest;
 import com.github.karixdev.ratingyoutubethumbnailsapi.game.payload.request.GameResultRequest;
+import com.github.karixdev.ratingyoutubethumbnailsapi.game.payload.response.GameBatchResponse;
 import com.github.karixdev.ratingyoutubethumbnailsapi.game.payload.response.GameResponse;
+import com.github.karixdev.ratingyoutubethumbnailsapi.headtohead.HeadToHeadIndex;
+import com.github.karixdev.ratingyoutubethumbnailsapi.rating.OpponentCandidates;
+import com.github.karixdev.ratingyoutubethumbnailsapi.rating.RatingBatch;
 import com.github.karixdev.ratingyoutubethumbnailsapi.rating.RatingService;
 import com.github.karixdev.ratingyoutubethumbnailsapi.round.Round;
+import com.github.karixdev.ratingyoutubethumbnailsapi.round.RoundService;
+import com.github.karixdev.ratingyoutubethumbnailsapi.round.exception.EmptyRoundSetException;
+import com.github.karixdev.ratingyoutubethumbnailsapi.round.payload.response.RoundResponse;
 import com.github.karixdev.ratingyoutubethumbnailsapi.security.UserPrincipal;
+import com.github.karixdev.ratingyoutubethumbnailsapi.shared.TransactionCallbacks;
 import com.github.karixdev.ratingyoutubethumbnailsapi.shared.exception.ResourceNotFoundException;
 import com.github.karixdev.ratingyoutubethumbnailsapi.shared.payload.response.SuccessResponse;
 import com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail.Thumbnail;
@@ -17,7 +28,15 @@ import org.springframework.stereotype.Service;
 
 import java.time.Clock;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
@@ -27,63 +46,228 @@ public class GameService {
     private final GameRepository repository;
     private final Clock clock;
     private final GameProperties properties;
+    private final GameSessionCache sessionCache;
+    private final RoundService roundService;
+    private final MatchupPrefetcher matchupPrefetcher;
+    private final HeadToHeadIndex headToHeadIndex;
 
     @Transactional
     public GameResponse play(UserPrincipal userPrincipal, GameResultRequest payload) {
         User user = userPrincipal.getUser();
 
-        List<Game> userGames = repository.findByUserOrderByLastActivityDesc(user);
+        // a stale cached session is caught by the update of the current round when a result is sent
+        Optional<GameSession> session = sessionCache.get(user)
+                .filter(cached -> payload != null || isCurrent(user, cached))
+                .or(() -> findActiveSession(user));
 
-        if (userGames.isEmpty() || userGames.get(0).isGameExpired(clock, properties.getDuration())) {
+        if (session.isEmpty()) {
             return startNewGame(user);
         }
 
         if (payload == null) {
-            return new GameResponse(userGames.get(0));
+            return session.get().getLatestRound().response();
         }
 
-        return continueGame(userGames.get(0), user, payload);
+        List<GameResponse> rounds = continueGame(session.get(), user, List.of(payload.getWinnerId()));
+
+        return rounds.get(rounds.size() - 1);
+    }
+
+    @Transactional
+    public GameBatchResponse playBatch(UserPrincipal userPrincipal, GameBatchResultRequest payload) {
+        User user = userPrincipal.getUser();
+
+        GameSession session = sessionCache.get(user)
+                .or(() -> findActiveSession(user))
+                .orElseThrow(GameHasEndedException::new);
+
+        return new GameBatchResponse(continueGame(session, user, payload.getWinnerIds()));
+    }
+
+    // rounds played through another instance or an end of the game there make the cached session stale
+    private boolean isCurrent(User user, GameSession session) {
+        boolean current = repository.findCurrentRoundIdOfActiveGame(session.getGameId())
+                .filter(roundId -> roundId.equals(session.getLatestRound().roundId()))
+                .isPresent();
+
+        if (!current) {
+            sessionCache.evict(user, session.getGameId());
+        }
+
+        return current;
+    }
+
+    private Optional<GameSession> findActiveSession(User user) {
+        Optional<GameSession> session = repository.findFirstByUserOrderByLastActivityDesc(user)
+                .filter(game -> !game.isGameExpired(clock, properties.getDuration()))
+                .map(game -> GameSession.resumed(game, getCurrentRound(game)));
+
+        session.ifPresent(activeSession -> TransactionCallbacks.afterCommit(() -> {
+            sessionCache.put(user, activeSession);
+            matchupPrefetcher.prefetch(activeSession, user);
+        }));
+
+        return session;
+    }
+
+    private Round getCurrentRound(Game game) {
+        if (game.getCurrentRound() != null) {
+            return game.getCurrentRound();
+        }
+
+        Round latestRound = roundService.findLatest(game)
+                .orElseThrow(EmptyRoundSetException::new);
+        game.setCurrentRound(latestRound);
+
+        return latestRound;
     }
 
     private GameResponse startNewGame(User user) {
+        LocalDateTime now = LocalDateTime.now(clock);
+
         Game game = Game.builder()
                 .user(user)
-                .lastActivity(LocalDateTime.now(clock))
+                .lastActivity(now)
                 .build();
 
         Thumbnail thumbnail1 = thumbnailService.getRandomThumbnail();
-        Thumbnail thumbnail2 = ratingService.pickOpponent(game, thumbnail1, user);
-
-        game.addRound(thumbnail1, thumbnail2, clock);
+        Thumbnail thumbnail2 = ratingService.pickOpponent(thumbnail1, user, Set.of());
 
         repository.save(game);
 
-        return new GameResponse(game);
+        Round round = roundService.create(game, thumbnail1, thumbnail2, now);
+        game.setCurrentRound(round);
+
+        GameSession session = GameSession.started(game, round);
+        TransactionCallbacks.afterCommit(() -> {
+            sessionCache.put(user, session);
+            matchupPrefetcher.prefetch(session, user);
+        });
+
+        return session.getLatestRound().response();
     }
 
-    private GameResponse continueGame(Game game, User user, GameResultRequest payload) {
-        Long winnerId = payload.getWinnerId();
-        Round latestRound = game.getLatestRound();
+    private List<GameResponse> continueGame(GameSession session, User user, List<Long> winnerIds) {
+        Game game = repository.getReferenceById(session.getGameId());
+        LocalDateTime now = LocalDateTime.now(clock);
+
+        RatingBatch ratings = ratingService.startBatch(user);
+        Map<Long, Set<Long>> opponentIds = new HashMap<>();
+
+        List<Round> rounds = new ArrayList<>();
+        List<GameResponse> responses = new ArrayList<>();
+        List<Long> loserIds = new ArrayList<>();
 
-        if (!winnerId.equals(latestRound.getThumbnail1().getId()) &&
-                !winnerId.equals(latestRound.getThumbnail2().getId())) {
-            throw new InvalidWinnerIdException();
+        GameSession.LatestRound latestRound = session.getLatestRound();
+        Long thumbnail1Id = latestRound.thumbnail1Id();
+        Long thumbnail2Id = latestRound.thumbnail2Id();
+
+        for (Long winnerId : winnerIds) {
+            if (!winnerId.equals(thumbnail1Id) && !winnerId.equals(thumbnail2Id)) {
+                throw new InvalidWinnerIdException();
+            }
+
+            Thumbnail winner = getThumbnailByIdOrElseThrow(winnerId);
+            Thumbnail loser = getThumbnailByIdOrElseThrow(
+                    winnerId.equals(thumbnail1Id) ? thumbnail2Id : thumbnail1Id);
+
+            ratings.recordWin(winner, loser);
+            loserIds.add(loser.getId());
+
+            if (!rounds.isEmpty()) {
+                rounds.get(rounds.size() - 1).setWinner(winner);
+            }
+
+            Set<Long> excludedIds = opponentIds.computeIfAbsent(
+                    winnerId,
+                    thumbnailId -> getOpponentIds(session, thumbnailId, rounds)
+            );
+
+            // only the first vote is played against the round the matchups were prefetched for
+            OpponentCandidates prefetched = responses.isEmpty()
+                    ? session.findMatchup(winnerId).orElse(null)
+                    : null;
+
+            Thumbnail newOpponent = ratings.pickOpponent(winner, excludedIds, prefetched);
+
+            excludedIds.add(newOpponent.getId());
+            opponentIds.computeIfPresent(newOpponent.getId(), (thumbnailId, ids) -> {
+                ids.add(winnerId);
+                return ids;
+            });
+
+            // rounds of one batch share the request time, a microsecond apart to keep their order
+            rounds.add(Round.builder()
+                    .game(game)
+                    .thumbnail1(winner)
+                    .thumbnail2(newOpponent)
+                    .createdAt(now.plus(rounds.size(), ChronoUnit.MICROS))
+                    .build());
+            responses.add(new GameResponse(session.getGameId(), winner, newOpponent));
+
+            thumbnail1Id = winnerId;
+            thumbnail2Id = newOpponent.getId();
         }
 
-        Thumbnail winner = latestRound.getThumbnail1().getId().equals(winnerId)
-                ? latestRound.getThumbnail1() : latestRound.getThumbnail2();
+        ratings.save();
+        // the first vote decided the current round, its winner is the first thumbnail of the next one
+        roundService.setWinnerOfCurrentRound(session.getGameId(), rounds.get(0).getThumbnail1());
+        roundService.saveAll(rounds);
 
-        Thumbnail loser = latestRound.getThumbnail1().getId().equals(winnerId)
-                ? latestRound.getThumbnail2() : latestRound.getThumbnail1();
+        Round currentRound = rounds.get(rounds.size() - 1);
+        int updated = repository.updateCurrentRound(
+                session.getGameId(),
+                latestRound.roundId(),
+                currentRound,
+                currentRound.getCreatedAt()
+        );
 
-        ratingService.updateRatings(winner, loser, user);
+        // another request played the round or ended the game since the session was read
+        if (updated == 0) {
+            sessionCache.evict(user, session.getGameId());
+            throw new StaleGameSessionException();
+        }
 
-        Thumbnail newOpponent = ratingService.pickOpponent(game, winner, user);
+        TransactionCallbacks.afterCommit(() -> {
+            for (int i = 0; i < rounds.size(); i++) {
+                Round round = rounds.get(i);
 
-        game.setLastActivity(LocalDateTime.now(clock));
-        game.addRound(winner, newOpponent, clock);
+                session.recordRound(
+                        round.getId(),
+                        round.getThumbnail1().getId(),
+                        round.getThumbnail2().getId(),
+                        responses.get(i),
+                        round.getCreatedAt()
+                );
+                headToHeadIndex.recordWin(round.getThumbnail1().getId(), loserIds.get(i));
+            }
 
-        return new GameResponse(game);
+            matchupPrefetcher.prefetch(session, user);
+        });
+
+        return responses;
+    }
+
+    private Set<Long> getOpponentIds(GameSession session, Long thumbnailId, List<Round> pendingRounds) {
+        Set<Long> opponentIds = new HashSet<>(session.findOpponentIdsOf(thumbnailId)
+                .orElseGet(() -> loadOpponentIds(session, thumbnailId)));
+
+        pendingRounds.forEach(round -> {
+            if (round.getThumbnail1().getId().equals(thumbnailId)) {
+                opponentIds.add(round.getThumbnail2().getId());
+            } else if (round.getThumbnail2().getId().equals(thumbnailId)) {
+                opponentIds.add(round.getThumbnail1().getId());
+            }
+        });
+
+        return opponentIds;
+    }
+
+    private Set<Long> loadOpponentIds(GameSession session, Long thumbnailId) {
+        Set<Long> opponentIds = roundService.getOpponentIdsOf(session.getGameId(), thumbnailId);
+        TransactionCallbacks.afterCommit(() -> session.putOpponentIdsOf(thumbnailId, opponentIds));
+
+        return opponentIds;
     }
 
     @Transactional
@@ -93,10 +277,27 @@ public class GameService {
 
         game.endGame(user, clock, properties.getDuration());
         repository.save(game);
+
+        TransactionCallbacks.afterCommit(() -> sessionCache.evict(game.getUser(), gameId));
+    }
+
+    @Transactional
+    public List<RoundResponse> getRounds(Long gameId, UUID before, Integer size, UserPrincipal userPrincipal) {
+        Game game = getByIdOrElseThrow(gameId);
+        game.checkOwnership(userPrincipal.getUser());
+
+        return roundService.getHistory(game, before, size).stream()
+                .map(RoundResponse::new)
+                .toList();
     }
 
     private Game getByIdOrElseThrow(Long id) {
         return repository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Game with provided id was not found"));
     }
+
+    private Thumbnail getThumbnailByIdOrElseThrow(Long id) {
+        return thumbnailService.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Thumbnail with provided id was not found"));
+    }
 }
@@ -0,0 +1,142 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.game;
+
+import com.github.karixdev.ratingyoutubethumbnailsapi.game.payload.response.GameResponse;
+import com.github.karixdev.ratingyoutubethumbnailsapi.rating.OpponentCandidates;
+import com.github.karixdev.ratingyoutubethumbnailsapi.round.Round;
+import lombok.Getter;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+class GameSession {
+    @Getter
+    private final Long gameId;
+
+    // a started session has seen every round of its game, a resumed one only knows what was loaded
+    private final boolean complete;
+
+    private final Map<Long, Set<Long>> opponentIds = new ConcurrentHashMap<>();
+
+    @Getter
+    private volatile LatestRound latestRound;
+
+    @Getter
+    private volatile LocalDateTime lastActivity;
+
+    private volatile Matchups matchups;
+
+    record LatestRound(UUID roundId, Long thumbnail1Id, Long thumbnail2Id, GameResponse response) {
+        boolean contains(Long thumbnailId) {
+            return thumbnail1Id.equals(thumbnailId) || thumbnail2Id.equals(thumbnailId);
+        }
+
+        Long opponentOf(Long thumbnailId) {
+            return thumbnail1Id.equals(thumbnailId) ? thumbnail2Id : thumbnail1Id;
+        }
+    }
+
+    // opponents prefetched for both possible winners of the round
+    private record Matchups(LatestRound round, Map<Long, OpponentCandidates> byWinnerId) {}
+
+    private GameSession(Long gameId, boolean complete) {
+        this.gameId = gameId;
+        this.complete = complete;
+    }
+
+    static GameSession started(Game game, Round round) {
+        GameSession session = new GameSession(game.getId(), true);
+        session.addOpponents(round.getThumbnail1().getId(), round.getThumbnail2().getId());
+        session.setLatestRound(round, game.getLastActivity());
+
+        return session;
+    }
+
+    static GameSession resumed(Game game, Round currentRound) {
+        GameSession session = new GameSession(game.getId(), false);
+        session.setLatestRound(currentRound, game.getLastActivity());
+
+        return session;
+    }
+
+    void recordRound(
+            UUID roundId,
+            Long thumbnail1Id,
+            Long thumbnail2Id,
+            GameResponse response,
+            LocalDateTime createdAt
+    ) {
+        if (complete) {
+            addOpponents(thumbnail1Id, thumbnail2Id);
+        } else {
+            opponentIds.computeIfPresent(thumbnail1Id, (id, ids) -> add(ids, thumbnail2Id));
+            opponentIds.computeIfPresent(thumbnail2Id, (id, ids) -> add(ids, thumbnail1Id));
+        }
+
+        latestRound = new LatestRound(roundId, thumbnail1Id, thumbnail2Id, response);
+        lastActivity = createdAt;
+    }
+
+    Optional<Set<Long>> findOpponentIdsOf(Long thumbnailId) {
+        Set<Long> ids = opponentIds.get(thumbnailId);
+
+        if (ids != null) {
+            return Optional.of(Collections.unmodifiableSet(ids));
+        }
+
+        return complete ? Optional.of(Set.of()) : Optional.empty();
+    }
+
+    void putOpponentIdsOf(Long thumbnailId, Collection<Long> ids) {
+        Set<Long> loadedIds = ConcurrentHashMap.newKeySet();
+        loadedIds.addAll(ids);
+
+        opponentIds.putIfAbsent(thumbnailId, loadedIds);
+    }
+
+    void putMatchups(LatestRound round, Map<Long, OpponentCandidates> byWinnerId) {
+        if (latestRound == round) {
+            matchups = new Matchups(round, Map.copyOf(byWinnerId));
+        }
+    }
+
+    Optional<OpponentCandidates> findMatchup(Long winnerId) {
+        Matchups current = matchups;
+
+        if (current == null || current.round() != latestRound) {
+            return Optional.empty();
+        }
+
+        return Optional.ofNullable(current.byWinnerId().get(winnerId));
+    }
+
+    boolean isExpired(Clock clock, int maxTimeOfNoGameUpdate) {
+        return LocalDateTime.now(clock).isAfter(lastActivity.plusMinutes(maxTimeOfNoGameUpdate));
+    }
+
+    private void setLatestRound(Round round, LocalDateTime lastActivity) {
+        this.latestRound = new LatestRound(
+                round.getId(),
+                round.getThumbnail1().getId(),
+                round.getThumbnail2().getId(),
+                new GameResponse(gameId, round.getThumbnail1(), round.getThumbnail2())
+        );
+        this.lastActivity = lastActivity;
+    }
+
+    private void addOpponents(Long thumbnail1Id, Long thumbnail2Id) {
+        opponentIds.computeIfAbsent(thumbnail1Id, id -> ConcurrentHashMap.newKeySet()).add(thumbnail2Id);
+        opponentIds.computeIfAbsent(thumbnail2Id, id -> ConcurrentHashMap.newKeySet()).add(thumbnail1Id);
+    }
+
+    private static Set<Long> add(Set<Long> ids, Long id) {
+        ids.add(id);
+        return ids;
+    }
+}
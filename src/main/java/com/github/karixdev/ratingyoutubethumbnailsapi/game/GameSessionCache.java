@@ -0,0 +1,55 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.game;
+
+import com.github.karixdev.ratingyoutubethumbnailsapi.user.User;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+@Component
+class GameSessionCache {
+    private final Clock clock;
+    private final GameProperties properties;
+
+    private final Map<Long, GameSession> sessions;
+
+    GameSessionCache(Clock clock, GameProperties properties) {
+        this.clock = clock;
+        this.properties = properties;
+        this.sessions = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, GameSession> eldest) {
+                return size() > properties.getSessionCacheMaxSize();
+            }
+        });
+    }
+
+    Optional<GameSession> get(User user) {
+        GameSession session = sessions.get(user.getId());
+
+        if (session == null) {
+            return Optional.empty();
+        }
+
+        if (session.isExpired(clock, properties.getDuration())) {
+            sessions.remove(user.getId(), session);
+            return Optional.empty();
+        }
+
+        return Optional.of(session);
+    }
+
+    void put(User user, GameSession session) {
+        sessions.put(user.getId(), session);
+    }
+
+    void evict(User user, Long gameId) {
+        sessions.computeIfPresent(
+                user.getId(),
+                (userId, session) -> session.getGameId().equals(gameId) ? null : session
+        );
+    }
+}
@@ -0,0 +1,54 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.game;
+
+import com.github.karixdev.ratingyoutubethumbnailsapi.rating.OpponentCandidates;
+import com.github.karixdev.ratingyoutubethumbnailsapi.rating.RatingService;
+import com.github.karixdev.ratingyoutubethumbnailsapi.round.RoundService;
+import com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail.Thumbnail;
+import com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail.ThumbnailService;
+import com.github.karixdev.ratingyoutubethumbnailsapi.user.User;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+@Component
+@RequiredArgsConstructor
+class MatchupPrefetcher {
+    private final RatingService ratingService;
+    private final ThumbnailService thumbnailService;
+    private final RoundService roundService;
+    private final GameProperties properties;
+
+    @Async
+    public void prefetch(GameSession session, User user) {
+        int depth = properties.getMatchupQueueDepth();
+        GameSession.LatestRound round = session.getLatestRound();
+
+        if (depth <= 0) {
+            return;
+        }
+
+        Optional<Thumbnail> thumbnail1 = thumbnailService.findById(round.thumbnail1Id());
+        Optional<Thumbnail> thumbnail2 = thumbnailService.findById(round.thumbnail2Id());
+
+        if (thumbnail1.isEmpty() || thumbnail2.isEmpty()) {
+            return;
+        }
+
+        session.putMatchups(round, Map.of(
+                round.thumbnail1Id(), prefetch(session, user, thumbnail1.get(), thumbnail2.get(), depth),
+                round.thumbnail2Id(), prefetch(session, user, thumbnail2.get(), thumbnail1.get(), depth)
+        ));
+    }
+
+    private OpponentCandidates prefetch(GameSession session, User user, Thumbnail winner, Thumbnail loser, int depth) {
+        // opponents loaded here are not put into the session, a round committed meanwhile would be missing from them
+        Set<Long> excludedIds = session.findOpponentIdsOf(winner.getId())
+                .orElseGet(() -> roundService.getOpponentIdsOf(session.getGameId(), winner.getId()));
+
+        return ratingService.prefetchOpponents(user, winner, loser, excludedIds, depth);
+    }
+}
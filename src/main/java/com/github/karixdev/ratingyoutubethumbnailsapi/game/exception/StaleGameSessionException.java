@@ -0,0 +1,13 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.game.exception;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+// the current round of the game changed since the session was read, RatingUpdateRetry runs the request again
+@ResponseStatus(HttpStatus.CONFLICT)
+public class StaleGameSessionException extends OptimisticLockingFailureException {
+    public StaleGameSessionException() {
+        super("Game was updated concurrently, try again");
+    }
+}
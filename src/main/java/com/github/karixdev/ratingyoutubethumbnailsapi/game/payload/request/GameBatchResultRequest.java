@@ -0,0 +1,21 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.game.payload.request;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class GameBatchResultRequest {
+    @JsonProperty("winner_ids")
+    @NotEmpty
+    @Size(max = 100)
+    private List<@NotNull Long> winnerIds;
+}
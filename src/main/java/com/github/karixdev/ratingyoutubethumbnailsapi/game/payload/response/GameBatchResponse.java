@@ -0,0 +1,38 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.game.payload.response;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail.payload.response.ThumbnailResponse;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class GameBatchResponse {
+    @JsonProperty("id")
+    Long id;
+
+    @JsonProperty("thumbnails")
+    @JsonIgnoreProperties({"youtube_video_id", "added_by"})
+    List<ThumbnailResponse> thumbnails;
+
+    @JsonProperty("opponents")
+    @JsonIgnoreProperties({"youtube_video_id", "added_by"})
+    List<ThumbnailResponse> opponents;
+
+    public GameBatchResponse(List<GameResponse> rounds) {
+        GameResponse latestRound = rounds.get(rounds.size() - 1);
+
+        this.id = latestRound.getId();
+        this.thumbnails = latestRound.getThumbnails();
+        this.opponents = rounds.stream()
+                .map(round -> round.getThumbnails().get(1))
+                .toList();
+    }
+}
@@ -2,8 +2,7 @@ package com.github.karixdev.ratingyoutubethumbnailsapi.game.payload.response;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
-import com.github.karixdev.ratingyoutubethumbnailsapi.game.Game;
-import com.github.karixdev.ratingyoutubethumbnailsapi.round.Round;
+import com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail.Thumbnail;
 import com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail.payload.response.ThumbnailResponse;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -24,13 +23,11 @@ public class GameResponse {
     @JsonIgnoreProperties({"youtube_video_id", "added_by"})
     List<ThumbnailResponse> thumbnails;
 
-    public GameResponse(Game game) {
-        Round latestRound = game.getLatestRound();
-
-        this.id = game.getId();
+    public GameResponse(Long id, Thumbnail thumbnail1, Thumbnail thumbnail2) {
+        this.id = id;
         this.thumbnails = List.of(
-                new ThumbnailResponse(latestRound.getThumbnail1()),
-                new ThumbnailResponse(latestRound.getThumbnail2())
+                new ThumbnailResponse(thumbnail1),
+                new ThumbnailResponse(thumbnail2)
         );
     }
 }
@@ -0,0 +1,51 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.headtohead;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+// Wins within a pair of thumbnails, thumbnail1Id < thumbnail2Id. Rows are only created by HeadToHeadWriter,
+// saving a new one inserts it, so a row another instance created in the meantime fails the flush.
+@Getter
+@Setter
+@Builder
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@Entity
+@Table(name = "head_to_head")
+public class HeadToHead implements Persistable<HeadToHeadId> {
+    @EmbeddedId
+    @EqualsAndHashCode.Include
+    private HeadToHeadId id;
+
+    @Column(
+            name = "thumbnail_1_wins",
+            nullable = false
+    )
+    private Integer thumbnail1Wins;
+
+    @Column(
+            name = "thumbnail_2_wins",
+            nullable = false
+    )
+    private Integer thumbnail2Wins;
+
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    private boolean persisted;
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        persisted = true;
+    }
+}
@@ -0,0 +1,28 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.headtohead;
+
+import com.github.karixdev.ratingyoutubethumbnailsapi.headtohead.payload.response.HeadToHeadResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/thumbnail")
+@RequiredArgsConstructor
+public class HeadToHeadController {
+    private final HeadToHeadService service;
+
+    @GetMapping("/{id}/head-to-head")
+    public ResponseEntity<List<HeadToHeadResponse>> getHeadToHead(
+            @PathVariable(name = "id") Long id,
+            @RequestParam(name = "opponent", required = false) Long opponent,
+            @RequestParam(name = "size", defaultValue = "10") Integer size
+    ) {
+        return new ResponseEntity<>(
+                service.getHeadToHead(id, opponent, size),
+                HttpStatus.OK
+        );
+    }
+}
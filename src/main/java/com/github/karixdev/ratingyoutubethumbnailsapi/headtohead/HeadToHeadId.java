@@ -0,0 +1,29 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.headtohead;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.*;
+
+import java.io.Serializable;
+
+@Getter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+@Embeddable
+public class HeadToHeadId implements Serializable {
+    @Column(
+            name = "thumbnail_1_id",
+            nullable = false,
+            updatable = false
+    )
+    private Long thumbnail1Id;
+
+    @Column(
+            name = "thumbnail_2_id",
+            nullable = false,
+            updatable = false
+    )
+    private Long thumbnail2Id;
+}
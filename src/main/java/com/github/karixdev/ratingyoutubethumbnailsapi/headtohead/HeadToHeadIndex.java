@@ -0,0 +1,127 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.headtohead;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Wins within pairs of thumbnails over all users, answered from memory.
+// Results are added after their transaction commits and collected until a flush adds them to head_to_head.
+// The matrix is reloaded from the table now and then, to see the results flushed by other instances.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HeadToHeadIndex {
+    private final HeadToHeadRepository repository;
+    private final HeadToHeadWriter writer;
+
+    // held while loading and flushing, so flushed results are either in the loaded rows or still pending
+    private final Object flushLock = new Object();
+
+    // guarded by this
+    private HeadToHeadMatrix matrix;
+    private HeadToHeadMatrix pending = new HeadToHeadMatrix();
+
+    public synchronized void recordWin(Long winnerId, Long loserId) {
+        pending.add(winnerId, loserId, 1, 0);
+
+        // not loaded yet, the load adds the pending results
+        if (matrix != null) {
+            matrix.add(winnerId, loserId, 1, 0);
+        }
+    }
+
+    HeadToHeadRecord getRecord(Long thumbnailId, Long opponentId) {
+        return getMatrix().get(thumbnailId, opponentId);
+    }
+
+    List<HeadToHeadRecord> getRivals(Long thumbnailId, int limit) {
+        return getMatrix().getRivals(thumbnailId, limit);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        getMatrix();
+    }
+
+    @Scheduled(
+            initialDelayString = "${head-to-head.flush-interval-seconds}",
+            fixedDelayString = "${head-to-head.flush-interval-seconds}",
+            timeUnit = TimeUnit.SECONDS
+    )
+    public void flush() {
+        synchronized (flushLock) {
+            HeadToHeadMatrix flushed;
+
+            synchronized (this) {
+                if (pending.size() == 0) {
+                    return;
+                }
+
+                flushed = pending;
+                pending = new HeadToHeadMatrix();
+            }
+
+            try {
+                writer.write(flushed);
+            } catch (RuntimeException e) {
+                log.warn("Could not flush head-to-head results of {} pairs, they are kept for the next flush",
+                        flushed.size(), e);
+
+                synchronized (this) {
+                    pending.addAll(flushed);
+                }
+            }
+        }
+    }
+
+    @Scheduled(
+            initialDelayString = "${head-to-head.reload-interval-seconds}",
+            fixedDelayString = "${head-to-head.reload-interval-seconds}",
+            timeUnit = TimeUnit.SECONDS
+    )
+    public void reload() {
+        load();
+    }
+
+    @PreDestroy
+    public void close() {
+        flush();
+    }
+
+    private HeadToHeadMatrix getMatrix() {
+        synchronized (this) {
+            if (matrix != null) {
+                return matrix;
+            }
+        }
+
+        return load();
+    }
+
+    private HeadToHeadMatrix load() {
+        synchronized (flushLock) {
+            HeadToHeadMatrix loaded = new HeadToHeadMatrix();
+
+            repository.findAll().forEach(row -> loaded.add(
+                    row.getId().getThumbnail1Id(),
+                    row.getId().getThumbnail2Id(),
+                    row.getThumbnail1Wins(),
+                    row.getThumbnail2Wins()
+            ));
+
+            synchronized (this) {
+                loaded.addAll(pending);
+                matrix = loaded;
+
+                return loaded;
+            }
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.headtohead;
+
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+
+import java.util.*;
+
+// Sparse matrix of wins within pairs of thumbnails, a pair is stored once with the lower id first.
+// Pairs live in an open addressing table of primitive arrays, the opponents of every thumbnail in a bitmap.
+class HeadToHeadMatrix {
+    private static final long EMPTY = Long.MIN_VALUE;
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] lowIds;
+    private long[] highIds;
+    private int[] lowWins;
+    private int[] highWins;
+    private int size;
+
+    private final Map<Long, Roaring64Bitmap> opponents = new HashMap<>();
+
+    HeadToHeadMatrix() {
+        allocate(MIN_CAPACITY);
+    }
+
+    synchronized void add(long thumbnail1Id, long thumbnail2Id, int thumbnail1Wins, int thumbnail2Wins) {
+        if (thumbnail1Id == thumbnail2Id) {
+            throw new IllegalArgumentException("Thumbnail cannot play against itself");
+        }
+
+        boolean ordered = thumbnail1Id < thumbnail2Id;
+        long lowId = ordered ? thumbnail1Id : thumbnail2Id;
+        long highId = ordered ? thumbnail2Id : thumbnail1Id;
+
+        int slot = find(lowId, highId);
+
+        if (highIds[slot] == EMPTY) {
+            if ((size + 1) * 4L > highIds.length * 3L) {
+                allocate(highIds.length * 2);
+                slot = find(lowId, highId);
+            }
+
+            lowIds[slot] = lowId;
+            highIds[slot] = highId;
+            size++;
+
+            opponents.computeIfAbsent(lowId, id -> new Roaring64Bitmap()).addLong(highId);
+            opponents.computeIfAbsent(highId, id -> new Roaring64Bitmap()).addLong(lowId);
+        }
+
+        lowWins[slot] += ordered ? thumbnail1Wins : thumbnail2Wins;
+        highWins[slot] += ordered ? thumbnail2Wins : thumbnail1Wins;
+    }
+
+    synchronized void addAll(HeadToHeadMatrix other) {
+        other.forEach(this::add);
+    }
+
+    synchronized HeadToHeadRecord get(long thumbnailId, long opponentId) {
+        boolean ordered = thumbnailId < opponentId;
+        int slot = find(ordered ? thumbnailId : opponentId, ordered ? opponentId : thumbnailId);
+
+        if (highIds[slot] == EMPTY) {
+            return new HeadToHeadRecord(opponentId, 0, 0);
+        }
+
+        return ordered
+                ? new HeadToHeadRecord(opponentId, lowWins[slot], highWins[slot])
+                : new HeadToHeadRecord(opponentId, highWins[slot], lowWins[slot]);
+    }
+
+    // most played opponents first
+    synchronized List<HeadToHeadRecord> getRivals(long thumbnailId, int limit) {
+        Roaring64Bitmap opponentIds = opponents.get(thumbnailId);
+
+        if (opponentIds == null) {
+            return List.of();
+        }
+
+        PriorityQueue<HeadToHeadRecord> rivals = new PriorityQueue<>(HeadToHeadRecord.BY_GAMES.reversed());
+
+        opponentIds.forEach(opponentId -> {
+            rivals.add(get(thumbnailId, opponentId));
+
+            if (rivals.size() > limit) {
+                rivals.poll();
+            }
+        });
+
+        List<HeadToHeadRecord> result = new ArrayList<>(rivals);
+        result.sort(HeadToHeadRecord.BY_GAMES);
+
+        return result;
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    synchronized void forEach(PairConsumer consumer) {
+        for (int slot = 0; slot < highIds.length; slot++) {
+            if (highIds[slot] != EMPTY) {
+                consumer.accept(lowIds[slot], highIds[slot], lowWins[slot], highWins[slot]);
+            }
+        }
+    }
+
+    // linear probing, the slot of the pair or the empty one where it belongs
+    private int find(long lowId, long highId) {
+        int mask = highIds.length - 1;
+        int slot = hash(lowId, highId) & mask;
+
+        while (highIds[slot] != EMPTY && (lowIds[slot] != lowId || highIds[slot] != highId)) {
+            slot = (slot + 1) & mask;
+        }
+
+        return slot;
+    }
+
+    private void allocate(int capacity) {
+        long[] previousLowIds = lowIds;
+        long[] previousHighIds = highIds;
+        int[] previousLowWins = lowWins;
+        int[] previousHighWins = highWins;
+
+        lowIds = new long[capacity];
+        highIds = new long[capacity];
+        lowWins = new int[capacity];
+        highWins = new int[capacity];
+        Arrays.fill(highIds, EMPTY);
+
+        if (previousHighIds == null) {
+            return;
+        }
+
+        for (int previous = 0; previous < previousHighIds.length; previous++) {
+            if (previousHighIds[previous] != EMPTY) {
+                int slot = find(previousLowIds[previous], previousHighIds[previous]);
+
+                lowIds[slot] = previousLowIds[previous];
+                highIds[slot] = previousHighIds[previous];
+                lowWins[slot] = previousLowWins[previous];
+                highWins[slot] = previousHighWins[previous];
+            }
+        }
+    }
+
+    private static int hash(long lowId, long highId) {
+        long hash = lowId * 0x9E3779B97F4A7C15L + highId;
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+
+        return (int) hash;
+    }
+
+    @FunctionalInterface
+    interface PairConsumer {
+        void accept(long thumbnail1Id, long thumbnail2Id, int thumbnail1Wins, int thumbnail2Wins);
+    }
+}
@@ -0,0 +1,14 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.headtohead;
+
+import java.util.Comparator;
+
+// wins and losses of a thumbnail against the opponent
+record HeadToHeadRecord(long opponentId, int wins, int losses) {
+    static final Comparator<HeadToHeadRecord> BY_GAMES = Comparator
+            .comparingLong(HeadToHeadRecord::games).reversed()
+            .thenComparingLong(HeadToHeadRecord::opponentId);
+
+    long games() {
+        return (long) wins + losses;
+    }
+}
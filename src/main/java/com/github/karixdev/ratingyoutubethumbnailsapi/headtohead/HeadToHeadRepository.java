@@ -0,0 +1,25 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.headtohead;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface HeadToHeadRepository extends JpaRepository<HeadToHead, HeadToHeadId> {
+    @Modifying
+    @Query("""
+            UPDATE HeadToHead headToHead
+            SET headToHead.thumbnail1Wins = headToHead.thumbnail1Wins + :thumbnail1Wins,
+                headToHead.thumbnail2Wins = headToHead.thumbnail2Wins + :thumbnail2Wins
+            WHERE headToHead.id.thumbnail1Id = :thumbnail1Id
+            AND headToHead.id.thumbnail2Id = :thumbnail2Id
+            """)
+    int addWins(
+            @Param("thumbnail1Id") Long thumbnail1Id,
+            @Param("thumbnail2Id") Long thumbnail2Id,
+            @Param("thumbnail1Wins") Integer thumbnail1Wins,
+            @Param("thumbnail2Wins") Integer thumbnail2Wins
+    );
+}
@@ -0,0 +1,61 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.headtohead;
+
+import com.github.karixdev.ratingyoutubethumbnailsapi.headtohead.payload.response.HeadToHeadResponse;
+import com.github.karixdev.ratingyoutubethumbnailsapi.shared.exception.ResourceNotFoundException;
+import com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail.Thumbnail;
+import com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail.ThumbnailService;
+import com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail.payload.response.ThumbnailResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Records are read from the in-memory matrix, the database is only asked for the thumbnails.
+@Service
+@RequiredArgsConstructor
+public class HeadToHeadService {
+    private static final int MAX_RIVALS = 100;
+
+    private final HeadToHeadIndex index;
+    private final ThumbnailService thumbnailService;
+
+    public List<HeadToHeadResponse> getHeadToHead(Long thumbnailId, Long opponentId, Integer size) {
+        getThumbnailByIdOrElseThrow(thumbnailId);
+
+        if (opponentId != null) {
+            Thumbnail opponent = getThumbnailByIdOrElseThrow(opponentId);
+
+            return List.of(toResponse(index.getRecord(thumbnailId, opponentId), opponent));
+        }
+
+        List<HeadToHeadRecord> rivals = index.getRivals(thumbnailId, Math.max(1, Math.min(size, MAX_RIVALS)));
+
+        Map<Long, Thumbnail> thumbnails = thumbnailService.findAllById(rivals.stream()
+                        .map(HeadToHeadRecord::opponentId)
+                        .toList())
+                .stream()
+                .collect(Collectors.toMap(Thumbnail::getId, Function.identity()));
+
+        // opponents deleted since they were played are left out
+        return rivals.stream()
+                .filter(rival -> thumbnails.containsKey(rival.opponentId()))
+                .map(rival -> toResponse(rival, thumbnails.get(rival.opponentId())))
+                .toList();
+    }
+
+    private Thumbnail getThumbnailByIdOrElseThrow(Long id) {
+        return thumbnailService.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Thumbnail with provided id was not found"));
+    }
+
+    private static HeadToHeadResponse toResponse(HeadToHeadRecord headToHead, Thumbnail opponent) {
+        return HeadToHeadResponse.builder()
+                .opponent(new ThumbnailResponse(opponent))
+                .wins(headToHead.wins())
+                .losses(headToHead.losses())
+                .build();
+    }
+}
@@ -0,0 +1,27 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.headtohead;
+
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+class HeadToHeadWriter {
+    private final HeadToHeadRepository repository;
+
+    // adds the wins to the persisted ones, so instances flushing at the same time do not overwrite each other
+    @Transactional
+    public void write(HeadToHeadMatrix wins) {
+        wins.forEach((thumbnail1Id, thumbnail2Id, thumbnail1Wins, thumbnail2Wins) -> {
+            int updated = repository.addWins(thumbnail1Id, thumbnail2Id, thumbnail1Wins, thumbnail2Wins);
+
+            if (updated == 0) {
+                repository.save(HeadToHead.builder()
+                        .id(new HeadToHeadId(thumbnail1Id, thumbnail2Id))
+                        .thumbnail1Wins(thumbnail1Wins)
+                        .thumbnail2Wins(thumbnail2Wins)
+                        .build());
+            }
+        });
+    }
+}
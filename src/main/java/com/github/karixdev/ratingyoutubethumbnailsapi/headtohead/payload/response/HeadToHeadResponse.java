@@ -0,0 +1,25 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.headtohead.payload.response;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail.payload.response.ThumbnailResponse;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class HeadToHeadResponse {
+    @JsonProperty("opponent")
+    @JsonIgnoreProperties({"added_by"})
+    private ThumbnailResponse opponent;
+
+    @JsonProperty("wins")
+    private Integer wins;
+
+    @JsonProperty("losses")
+    private Integer losses;
+}
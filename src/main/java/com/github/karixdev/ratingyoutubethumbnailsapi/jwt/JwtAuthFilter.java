@@ -1,6 +1,7 @@
 package com.github.karixdev.ratingyoutubethumbnailsapi.jwt;
 
 import com.github.karixdev.ratingyoutubethumbnailsapi.security.UserDetailsServiceImpl;
+import com.github.karixdev.ratingyoutubethumbnailsapi.security.UserPrincipalCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -20,6 +21,7 @@ import java.util.Optional;
 public class JwtAuthFilter extends OncePerRequestFilter {
     private final JwtService jwtService;
     private final UserDetailsServiceImpl userDetailsService;
+    private final UserPrincipalCache principalCache;
 
     @Override
     protected void doFilterInternal(
@@ -27,16 +29,16 @@ public class JwtAuthFilter extends OncePerRequestFilter {
             HttpServletResponse response,
             FilterChain filterChain
     ) throws ServletException, IOException {
-        Optional<String> optionalToken = parseToken(request);
+        Optional<String> optionalEmail = parseToken(request)
+                .flatMap(jwtService::getEmailFromValidToken);
 
-        if (optionalToken.isEmpty() || !jwtService.isTokenValid(optionalToken.get())) {
+        if (optionalEmail.isEmpty()) {
             filterChain.doFilter(request, response);
             return;
         }
-        String token = optionalToken.get();
+        String email = optionalEmail.get();
 
-        String email = jwtService.getEmailFromToken(token);
-        UserDetails userDetails = userDetailsService.loadUserByUsername(email);
+        UserDetails userDetails = principalCache.get(email, userDetailsService::loadUserByUsername);
 
         var authentication =
                 new UsernamePasswordAuthenticationToken(
@@ -15,6 +15,8 @@ import java.security.interfaces.RSAPublicKey;
 public class JwtProperties {
     private final String issuer;
     private final Long tokenExpirationHours;
+    private final Long verifiedTokenCacheTtlSeconds;
+    private final Integer verifiedTokenCacheMaxSize;
 
     private final Algorithm algorithm;
     private final JWTVerifier jwtVerifier;
@@ -23,10 +25,14 @@ public class JwtProperties {
             @Value("${jwt.issuer}") String issuer,
             @Value("${jwt.token-expiration-hours}") Long tokenExpirationHours,
             @Value("${jwt.key.public}") RSAPublicKey publicKey,
-            @Value("${jwt.key.private}") RSAPrivateKey privateKey
+            @Value("${jwt.key.private}") RSAPrivateKey privateKey,
+            @Value("${jwt.verified-token-cache.ttl-seconds}") Long verifiedTokenCacheTtlSeconds,
+            @Value("${jwt.verified-token-cache.max-size}") Integer verifiedTokenCacheMaxSize
     ) {
         this.issuer = issuer;
         this.tokenExpirationHours = tokenExpirationHours;
+        this.verifiedTokenCacheTtlSeconds = verifiedTokenCacheTtlSeconds;
+        this.verifiedTokenCacheMaxSize = verifiedTokenCacheMaxSize;
 
         this.algorithm = Algorithm.RSA256(publicKey, privateKey);
         this.jwtVerifier = JWT.require(algorithm)
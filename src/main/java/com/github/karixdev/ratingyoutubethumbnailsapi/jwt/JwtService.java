@@ -20,6 +20,7 @@ import java.util.Optional;
 public class JwtService {
     private final JwtProperties properties;
     private final Clock clock;
+    private final VerifiedTokenCache verifiedTokens;
 
     public String createToken(UserPrincipal userPrincipal) {
         Instant now = Instant.now(clock);
@@ -46,17 +47,32 @@ public class JwtService {
         return Optional.empty();
     }
 
-    public boolean isTokenValid(String token) {
-        return decodeToken(token).isPresent();
-    }
+    public Optional<String> getEmailFromValidToken(String token) {
+        Instant now = Instant.now(clock);
+
+        Optional<String> cachedEmail = verifiedTokens.getEmail(token, now);
+        if (cachedEmail.isPresent()) {
+            return cachedEmail;
+        }
 
-    public String getEmailFromToken(String token) {
         Optional<DecodedJWT> optionalToken = decodeToken(token);
 
-        if (optionalToken.isEmpty()) {
-            throw new InvalidJwtException();
-        }
+        optionalToken.ifPresent(decodedToken -> verifiedTokens.put(
+                token,
+                decodedToken.getSubject(),
+                decodedToken.getExpiresAtAsInstant(),
+                now
+        ));
 
-        return optionalToken.get().getSubject();
+        return optionalToken.map(DecodedJWT::getSubject);
+    }
+
+    public boolean isTokenValid(String token) {
+        return getEmailFromValidToken(token).isPresent();
+    }
+
+    public String getEmailFromToken(String token) {
+        return getEmailFromValidToken(token)
+                .orElseThrow(InvalidJwtException::new);
     }
 }
@@ -0,0 +1,71 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.jwt;
+
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+@Component
+class VerifiedTokenCache {
+    private final JwtProperties properties;
+
+    // keyed by the SHA-256 of the token, raw bearer tokens are never kept in memory
+    private final Map<String, VerifiedToken> tokens;
+
+    VerifiedTokenCache(JwtProperties properties) {
+        this.properties = properties;
+        this.tokens = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, VerifiedToken> eldest) {
+                return size() > properties.getVerifiedTokenCacheMaxSize();
+            }
+        });
+    }
+
+    Optional<String> getEmail(String token, Instant now) {
+        String key = hash(token);
+        VerifiedToken verified = tokens.get(key);
+
+        if (verified == null) {
+            return Optional.empty();
+        }
+
+        if (!now.isBefore(verified.expiresAt())) {
+            tokens.remove(key, verified);
+            return Optional.empty();
+        }
+
+        return Optional.of(verified.email());
+    }
+
+    void put(String token, String email, Instant tokenExpiresAt, Instant now) {
+        Instant expiresAt = now.plusSeconds(properties.getVerifiedTokenCacheTtlSeconds());
+
+        if (tokenExpiresAt != null && tokenExpiresAt.isBefore(expiresAt)) {
+            expiresAt = tokenExpiresAt;
+        }
+
+        tokens.put(hash(token), new VerifiedToken(email, expiresAt));
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.US_ASCII));
+
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record VerifiedToken(String email, Instant expiresAt) {
+    }
+}
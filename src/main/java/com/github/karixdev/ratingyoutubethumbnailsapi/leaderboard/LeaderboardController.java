@@ -0,0 +1,51 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.leaderboard;
+
+import com.github.karixdev.ratingyoutubethumbnailsapi.leaderboard.payload.response.LeaderboardEntryResponse;
+import com.github.karixdev.ratingyoutubethumbnailsapi.security.CurrentUser;
+import com.github.karixdev.ratingyoutubethumbnailsapi.security.UserPrincipal;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/leaderboard")
+@RequiredArgsConstructor
+public class LeaderboardController {
+    private final LeaderboardService service;
+
+    @GetMapping
+    public ResponseEntity<List<LeaderboardEntryResponse>> getGlobal(
+            @RequestParam(name = "after", required = false) Long after,
+            @RequestParam(name = "size", defaultValue = "20") Integer size
+    ) {
+        return new ResponseEntity<>(
+                service.getGlobal(after, size),
+                HttpStatus.OK
+        );
+    }
+
+    @GetMapping("/me")
+    public ResponseEntity<List<LeaderboardEntryResponse>> getUser(
+            @RequestParam(name = "after", required = false) Long after,
+            @RequestParam(name = "size", defaultValue = "20") Integer size,
+            @CurrentUser UserPrincipal userPrincipal
+    ) {
+        return new ResponseEntity<>(
+                service.getUser(after, size, userPrincipal),
+                HttpStatus.OK
+        );
+    }
+
+    @GetMapping("/{youtubeVideoId}")
+    public ResponseEntity<LeaderboardEntryResponse> getThumbnailRank(
+            @PathVariable(name = "youtubeVideoId") String youtubeVideoId
+    ) {
+        return new ResponseEntity<>(
+                service.getThumbnailRank(youtubeVideoId),
+                HttpStatus.OK
+        );
+    }
+}
@@ -0,0 +1,78 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.leaderboard;
+
+import com.github.karixdev.ratingyoutubethumbnailsapi.leaderboard.payload.response.LeaderboardEntryResponse;
+import com.github.karixdev.ratingyoutubethumbnailsapi.rating.OpponentIndex;
+import com.github.karixdev.ratingyoutubethumbnailsapi.rating.RankedThumbnail;
+import com.github.karixdev.ratingyoutubethumbnailsapi.rating.RatingAggregates;
+import com.github.karixdev.ratingyoutubethumbnailsapi.security.UserPrincipal;
+import com.github.karixdev.ratingyoutubethumbnailsapi.shared.exception.ResourceNotFoundException;
+import com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail.Thumbnail;
+import com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail.ThumbnailService;
+import com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail.payload.response.ThumbnailResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Pages are read from the in-memory rankings, the database is only asked for the thumbnails of the page.
+@Service
+@RequiredArgsConstructor
+public class LeaderboardService {
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final RatingAggregates aggregates;
+    private final OpponentIndex opponentIndex;
+    private final ThumbnailService thumbnailService;
+
+    public List<LeaderboardEntryResponse> getGlobal(Long after, Integer size) {
+        return toResponses(aggregates.getRanking(after, pageSize(size))
+                .orElseThrow(LeaderboardService::cursorNotFound));
+    }
+
+    public List<LeaderboardEntryResponse> getUser(Long after, Integer size, UserPrincipal userPrincipal) {
+        return toResponses(opponentIndex.getRanking(userPrincipal.getUser(), after, pageSize(size))
+                .orElseThrow(LeaderboardService::cursorNotFound));
+    }
+
+    public LeaderboardEntryResponse getThumbnailRank(String youtubeVideoId) {
+        Long thumbnailId = thumbnailService.getThumbnailIdByYoutubeVideoId(youtubeVideoId);
+
+        RankedThumbnail ranked = aggregates.getRank(thumbnailId)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Thumbnail with provided youtube id has not been rated yet"));
+
+        return toResponses(List.of(ranked)).stream()
+                .findFirst()
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Thumbnail with provided youtube id not found"));
+    }
+
+    // thumbnails deleted since they were ranked are left out
+    private List<LeaderboardEntryResponse> toResponses(List<RankedThumbnail> ranking) {
+        Map<Long, Thumbnail> thumbnails = thumbnailService.findAllById(ranking.stream()
+                        .map(RankedThumbnail::thumbnailId)
+                        .toList())
+                .stream()
+                .collect(Collectors.toMap(Thumbnail::getId, Function.identity()));
+
+        return ranking.stream()
+                .filter(ranked -> thumbnails.containsKey(ranked.thumbnailId()))
+                .map(ranked -> LeaderboardEntryResponse.builder()
+                        .rank(ranked.rank())
+                        .points(ranked.points())
+                        .thumbnail(new ThumbnailResponse(thumbnails.get(ranked.thumbnailId())))
+                        .build())
+                .toList();
+    }
+
+    private static int pageSize(Integer size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+
+    private static ResourceNotFoundException cursorNotFound() {
+        return new ResourceNotFoundException("Thumbnail with provided id is not on the leaderboard");
+    }
+}
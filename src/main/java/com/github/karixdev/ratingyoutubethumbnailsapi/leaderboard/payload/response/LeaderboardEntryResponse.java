@@ -0,0 +1,27 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.leaderboard.payload.response;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail.payload.response.ThumbnailResponse;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class LeaderboardEntryResponse {
+    @JsonProperty("rank")
+    private Long rank;
+
+    @JsonProperty("points")
+    private BigDecimal points;
+
+    @JsonProperty("thumbnail")
+    @JsonIgnoreProperties({"added_by"})
+    private ThumbnailResponse thumbnail;
+}
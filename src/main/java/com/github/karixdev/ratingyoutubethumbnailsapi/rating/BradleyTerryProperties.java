@@ -0,0 +1,32 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.rating;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+@Getter
+@Service
+public class BradleyTerryProperties {
+    private final Integer intervalSeconds;
+    private final Integer parallelism;
+    private final Integer maxIterations;
+    private final Double tolerance;
+    private final Double priorWins;
+    private final Long loadWinnerRange;
+
+    public BradleyTerryProperties(
+            @Value("${rating.bradley-terry.interval-seconds}") Integer intervalSeconds,
+            @Value("${rating.bradley-terry.parallelism}") Integer parallelism,
+            @Value("${rating.bradley-terry.max-iterations}") Integer maxIterations,
+            @Value("${rating.bradley-terry.tolerance}") Double tolerance,
+            @Value("${rating.bradley-terry.prior-wins}") Double priorWins,
+            @Value("${rating.bradley-terry.load-winner-range}") Long loadWinnerRange
+    ) {
+        this.intervalSeconds = intervalSeconds;
+        this.parallelism = parallelism;
+        this.maxIterations = maxIterations;
+        this.tolerance = tolerance;
+        this.priorWins = priorWins;
+        this.loadWinnerRange = loadWinnerRange;
+    }
+}
@@ -0,0 +1,112 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.rating;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+// Global ranking fitted to every logged vote of every user, unlike the average of per-user ratings.
+// Votes are loaded as counts per winner and loser, bradley-terry.load-winner-range winner ids per query,
+// and the fit replaces the published snapshot every bradley-terry.interval-seconds if votes were added since.
+// The version is the number of fitted votes, votes are never deleted so it changes only with the input.
+@Slf4j
+@Component
+public class BradleyTerryRanking {
+    private final VoteEventRepository voteEventRepository;
+    private final BradleyTerryProperties properties;
+    private final RatingProperties ratingProperties;
+
+    // guarded by this
+    private long fittedVotes = -1;
+
+    private volatile BradleyTerrySnapshot snapshot = BradleyTerrySnapshot.EMPTY;
+
+    public BradleyTerryRanking(
+            VoteEventRepository voteEventRepository,
+            BradleyTerryProperties properties,
+            RatingProperties ratingProperties
+    ) {
+        this.voteEventRepository = voteEventRepository;
+        this.properties = properties;
+        this.ratingProperties = ratingProperties;
+    }
+
+    public Optional<BigDecimal> getPoints(Long thumbnailId) {
+        return snapshot.getPoints(thumbnailId);
+    }
+
+    public String getVersion() {
+        return snapshot.getVersion();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        refresh();
+    }
+
+    @Scheduled(
+            initialDelayString = "${rating.bradley-terry.interval-seconds}",
+            fixedDelayString = "${rating.bradley-terry.interval-seconds}",
+            timeUnit = TimeUnit.SECONDS
+    )
+    public synchronized void refresh() {
+        long votes = voteEventRepository.count();
+
+        if (votes == fittedVotes) {
+            log.debug("No votes since the last Bradley-Terry fit of {} votes, keeping it", votes);
+            return;
+        }
+
+        long start = System.nanoTime();
+        BradleyTerrySolver solver = load();
+        long loadedAt = System.nanoTime();
+
+        ForkJoinPool pool = new ForkJoinPool(properties.getParallelism());
+        BradleyTerrySolver.Result result;
+
+        try {
+            result = solver.solve(
+                    pool,
+                    properties.getMaxIterations(),
+                    properties.getTolerance(),
+                    properties.getPriorWins()
+            );
+        } finally {
+            pool.shutdown();
+        }
+
+        snapshot = BradleyTerrySnapshot.of(
+                Long.toString(solver.getComparisons(), 36),
+                solver.getThumbnailIds(),
+                result.strengths(),
+                ratingProperties.getBasePoints().doubleValue()
+        );
+
+        fittedVotes = votes;
+
+        log.info("Fitted Bradley-Terry strengths of {} thumbnails to {} votes in {} iterations " +
+                        "(last change {}), loaded in {} ms, solved in {} ms",
+                solver.size(), solver.getComparisons(), result.iterations(), result.change(),
+                TimeUnit.NANOSECONDS.toMillis(loadedAt - start),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - loadedAt));
+    }
+
+    private BradleyTerrySolver load() {
+        BradleyTerrySolver.Builder builder = BradleyTerrySolver.builder();
+        long maxWinnerId = voteEventRepository.findMaxWinnerId().orElse(0L);
+        long range = properties.getLoadWinnerRange();
+
+        for (long after = 0; after < maxWinnerId; after += range) {
+            voteEventRepository.findPairCounts(after, after + range)
+                    .forEach(pair -> builder.add(pair.winnerId(), pair.loserId(), pair.count()));
+        }
+
+        return builder.build();
+    }
+}
@@ -0,0 +1,57 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.rating;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Optional;
+
+// Immutable result of a fit, thumbnail ids are sorted so a lookup is a binary search.
+// Points are on the Elo scale: base points for strength 1 and 400 more for ten times the strength.
+class BradleyTerrySnapshot {
+    static final BradleyTerrySnapshot EMPTY = new BradleyTerrySnapshot("0", new long[0], new double[0]);
+
+    private final String version;
+    private final long[] thumbnailIds;
+    private final double[] points;
+
+    private BradleyTerrySnapshot(String version, long[] thumbnailIds, double[] points) {
+        this.version = version;
+        this.thumbnailIds = thumbnailIds;
+        this.points = points;
+    }
+
+    static BradleyTerrySnapshot of(String version, long[] thumbnailIds, double[] strengths, double basePoints) {
+        Integer[] order = new Integer[thumbnailIds.length];
+
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+
+        Arrays.sort(order, (a, b) -> Long.compare(thumbnailIds[a], thumbnailIds[b]));
+
+        long[] sortedIds = new long[order.length];
+        double[] points = new double[order.length];
+
+        for (int i = 0; i < order.length; i++) {
+            sortedIds[i] = thumbnailIds[order[i]];
+            points[i] = basePoints + 400.0 * Math.log10(strengths[order[i]]);
+        }
+
+        return new BradleyTerrySnapshot(version, sortedIds, points);
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    public int size() {
+        return thumbnailIds.length;
+    }
+
+    public Optional<BigDecimal> getPoints(long thumbnailId) {
+        int index = Arrays.binarySearch(thumbnailIds, thumbnailId);
+
+        return index < 0
+                ? Optional.empty()
+                : Optional.of(EloRatingEngine.toPoints(points[index]));
+    }
+}
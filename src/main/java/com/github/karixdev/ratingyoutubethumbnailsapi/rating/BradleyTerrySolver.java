@@ -0,0 +1,189 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.rating;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+// Fits Bradley-Terry strengths, P(i beats j) = s_i / (s_i + s_j), with the minorization-maximization
+// iteration from Hunter's "MM algorithms for generalized Bradley-Terry models":
+// s_i = W_i / sum_j n_ij / (s_i + s_j), computed for all thumbnails in parallel from the previous strengths.
+// Every thumbnail also gets prior wins and as many losses against a virtual thumbnail of strength 1,
+// so strengths of thumbnails that never lost or never won stay finite and 1 is the average strength.
+// Comparisons are kept in compressed sparse rows: the opponents of thumbnail i are at offsets[i]..offsets[i + 1].
+// Both orders of a pair have their own entry, n_ij is the sum of them.
+class BradleyTerrySolver {
+    private final long[] thumbnailIds;
+    private final long[] wins;
+    private final int[] offsets;
+    private final int[] opponents;
+    private final int[] counts;
+    private final long comparisons;
+
+    private BradleyTerrySolver(
+            long[] thumbnailIds,
+            long[] wins,
+            int[] offsets,
+            int[] opponents,
+            int[] counts,
+            long comparisons
+    ) {
+        this.thumbnailIds = thumbnailIds;
+        this.wins = wins;
+        this.offsets = offsets;
+        this.opponents = opponents;
+        this.counts = counts;
+        this.comparisons = comparisons;
+    }
+
+    static Builder builder() {
+        return new Builder();
+    }
+
+    int size() {
+        return thumbnailIds.length;
+    }
+
+    long getComparisons() {
+        return comparisons;
+    }
+
+    long[] getThumbnailIds() {
+        return thumbnailIds;
+    }
+
+    Result solve(ForkJoinPool pool, int maxIterations, double tolerance, double priorWins) {
+        int size = size();
+
+        double[] strengths = new double[size];
+        double[] next = new double[size];
+        Arrays.fill(strengths, 1.0);
+
+        int iterations = 0;
+        double change = 0;
+
+        while (iterations < maxIterations) {
+            double[] current = strengths;
+            double[] updated = next;
+
+            change = pool.submit(() -> IntStream.range(0, size)
+                            .parallel()
+                            .mapToDouble(i -> {
+                                updated[i] = update(i, current, priorWins);
+                                return Math.abs(Math.log(updated[i] / current[i]));
+                            })
+                            .max()
+                            .orElse(0))
+                    .join();
+
+            strengths = updated;
+            next = current;
+            iterations++;
+
+            if (change < tolerance) {
+                break;
+            }
+        }
+
+        return new Result(strengths, iterations, change);
+    }
+
+    private double update(int i, double[] strengths, double priorWins) {
+        double strength = strengths[i];
+        double denominator = 2 * priorWins / (strength + 1.0);
+
+        for (int k = offsets[i]; k < offsets[i + 1]; k++) {
+            denominator += counts[k] / (strength + strengths[opponents[k]]);
+        }
+
+        return (wins[i] + priorWins) / denominator;
+    }
+
+    // change is the largest change of a log strength in the last iteration
+    record Result(double[] strengths, int iterations, double change) {}
+
+    static final class Builder {
+        private final Map<Long, Integer> indexes = new HashMap<>();
+
+        private long[] thumbnailIds = new long[1024];
+        private int[] winners = new int[1024];
+        private int[] losers = new int[1024];
+        private int[] pairCounts = new int[1024];
+        private int pairs;
+
+        private Builder() {
+        }
+
+        Builder add(long winnerId, long loserId, long count) {
+            if (winnerId == loserId || count <= 0) {
+                return this;
+            }
+
+            if (pairs == winners.length) {
+                int capacity = Math.multiplyExact(winners.length, 2);
+
+                winners = Arrays.copyOf(winners, capacity);
+                losers = Arrays.copyOf(losers, capacity);
+                pairCounts = Arrays.copyOf(pairCounts, capacity);
+            }
+
+            winners[pairs] = index(winnerId);
+            losers[pairs] = index(loserId);
+            pairCounts[pairs] = Math.toIntExact(count);
+            pairs++;
+
+            return this;
+        }
+
+        BradleyTerrySolver build() {
+            int size = indexes.size();
+
+            long[] wins = new long[size];
+            int[] offsets = new int[size + 1];
+            long comparisons = 0;
+
+            for (int p = 0; p < pairs; p++) {
+                wins[winners[p]] += pairCounts[p];
+                offsets[winners[p] + 1]++;
+                offsets[losers[p] + 1]++;
+                comparisons += pairCounts[p];
+            }
+
+            for (int i = 0; i < size; i++) {
+                offsets[i + 1] += offsets[i];
+            }
+
+            int[] opponents = new int[offsets[size]];
+            int[] counts = new int[offsets[size]];
+            int[] positions = Arrays.copyOf(offsets, size);
+
+            for (int p = 0; p < pairs; p++) {
+                int winner = winners[p];
+                int loser = losers[p];
+
+                opponents[positions[winner]] = loser;
+                counts[positions[winner]++] = pairCounts[p];
+
+                opponents[positions[loser]] = winner;
+                counts[positions[loser]++] = pairCounts[p];
+            }
+
+            return new BradleyTerrySolver(
+                    Arrays.copyOf(thumbnailIds, size), wins, offsets, opponents, counts, comparisons);
+        }
+
+        private int index(long thumbnailId) {
+            return indexes.computeIfAbsent(thumbnailId, id -> {
+                int index = indexes.size();
+
+                if (index == thumbnailIds.length) {
+                    thumbnailIds = Arrays.copyOf(thumbnailIds, index * 2);
+                }
+
+                thumbnailIds[index] = id;
+                return index;
+            });
+        }
+    }
+}
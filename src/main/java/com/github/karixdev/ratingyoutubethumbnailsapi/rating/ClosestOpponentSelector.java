@@ -0,0 +1,24 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.rating;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.NavigableSet;
+import java.util.OptionalLong;
+import java.util.Set;
+
+@Component
+@ConditionalOnProperty(name = "rating.matchmaking.strategy", havingValue = "closest", matchIfMissing = true)
+class ClosestOpponentSelector implements OpponentSelector {
+    @Override
+    public OptionalLong select(
+            UserRatingIndex index,
+            long thumbnailId,
+            double points,
+            Set<Long> excludedIds,
+            NavigableSet<Long> catalogue,
+            double basePoints
+    ) {
+        return index.findClosest(points, excludedIds, catalogue, basePoints);
+    }
+}
@@ -0,0 +1,34 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.rating;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "rating.algorithm", havingValue = "elo", matchIfMissing = true)
+public class EloRatingAlgorithm implements RatingAlgorithm {
+    private final EloRatingEngine ratingEngine;
+
+    @Override
+    public void recordWin(Rating winner, Rating loser) {
+        BigDecimal exchanged = exchanged(winner.getPoints(), loser.getPoints());
+
+        winner.setPoints(winner.getPoints().add(exchanged));
+        loser.setPoints(loser.getPoints().subtract(exchanged));
+    }
+
+    @Override
+    public BigDecimal pointsAfterWin(BigDecimal winnerPoints, BigDecimal loserPoints) {
+        return winnerPoints.add(exchanged(winnerPoints, loserPoints));
+    }
+
+    private BigDecimal exchanged(BigDecimal winnerPoints, BigDecimal loserPoints) {
+        return EloRatingEngine.toPoints(ratingEngine.pointsExchanged(
+                EloRatingEngine.fromPoints(winnerPoints),
+                EloRatingEngine.fromPoints(loserPoints)
+        ));
+    }
+}
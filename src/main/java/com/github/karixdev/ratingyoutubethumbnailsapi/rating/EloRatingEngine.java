@@ -0,0 +1,52 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.rating;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+@Component
+public class EloRatingEngine {
+    private static final int POINTS_SCALE = 2;
+
+    private final double kParameter;
+
+    @Autowired
+    public EloRatingEngine(RatingProperties properties) {
+        this(properties.getKParameter());
+    }
+
+    public EloRatingEngine(double kParameter) {
+        this.kParameter = kParameter;
+    }
+
+    // 1 / (1 + 10^[(Rb - Ra) / 400])
+    public double expectedScore(double points, double opponentPoints) {
+        return 1.0 / (1.0 + Math.pow(10.0, (opponentPoints - points) / 400.0));
+    }
+
+    public double pointsExchanged(double winnerPoints, double loserPoints) {
+        return kParameter * (1.0 - expectedScore(winnerPoints, loserPoints));
+    }
+
+    public void updateAll(double[] points, int[] winners, int[] losers, int count) {
+        for (int i = 0; i < count; i++) {
+            int winner = winners[i];
+            int loser = losers[i];
+
+            double exchanged = pointsExchanged(points[winner], points[loser]);
+
+            points[winner] += exchanged;
+            points[loser] -= exchanged;
+        }
+    }
+
+    public static double fromPoints(BigDecimal points) {
+        return points.doubleValue();
+    }
+
+    public static BigDecimal toPoints(double points) {
+        return BigDecimal.valueOf(points).setScale(POINTS_SCALE, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,101 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.rating;
+
+import com.github.karixdev.ratingyoutubethumbnailsapi.rating.exception.RatingUpdateConflictException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+// Every glicko2.period-seconds the votes logged since the last period are assigned to a new one,
+// then the ratings of its users are updated in a fork-join pool of glicko2.parallelism threads.
+// A period left incomplete by a failure or a restart is resumed before a new one is started.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "rating.algorithm", havingValue = "glicko2")
+public class Glicko2PeriodProcessor {
+    private final RatingPeriodRepository periodRepository;
+    private final VoteEventRepository voteEventRepository;
+    private final Glicko2PeriodWriter writer;
+    private final Glicko2Properties properties;
+    private final RatingUpdateRetry retry;
+
+    @Scheduled(
+            initialDelayString = "${rating.glicko2.period-seconds}",
+            fixedDelayString = "${rating.glicko2.period-seconds}",
+            timeUnit = TimeUnit.SECONDS
+    )
+    public void process() {
+        nextPeriod().ifPresent(this::process);
+    }
+
+    private Optional<RatingPeriod> nextPeriod() {
+        Optional<RatingPeriod> last = periodRepository.findFirstByOrderByIdDesc();
+
+        if (last.isPresent() && !last.get().isCompleted()) {
+            return last;
+        }
+
+        if (!voteEventRepository.existsByPeriodIdIsNull()) {
+            return Optional.empty();
+        }
+
+        Long periodId = last.map(period -> period.getId() + 1).orElse(1L);
+
+        try {
+            return Optional.of(writer.start(periodId));
+        } catch (DataIntegrityViolationException e) {
+            log.info("Rating period {} was started by another instance", periodId);
+            return Optional.empty();
+        }
+    }
+
+    private void process(RatingPeriod period) {
+        long start = System.nanoTime();
+        List<Long> userIds = voteEventRepository.findUserIdsByPeriodId(period.getId());
+
+        ForkJoinPool pool = new ForkJoinPool(properties.getParallelism());
+        Totals totals;
+
+        try {
+            totals = pool.submit(() -> userIds.parallelStream()
+                            .map(userId -> apply(userId, period.getId()))
+                            .reduce(Totals.EMPTY, Totals::plus))
+                    .join();
+        } finally {
+            pool.shutdown();
+        }
+
+        if (totals.failed() == 0) {
+            writer.complete(period);
+        }
+
+        log.info("Rating period {}: updated {} ratings of {} users in {} ms, {} users failed",
+                period.getId(), totals.ratings(), userIds.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), totals.failed());
+    }
+
+    private Totals apply(Long userId, Long periodId) {
+        try {
+            return new Totals(retry.run(() -> writer.apply(userId, periodId)), 0);
+        } catch (RatingUpdateConflictException e) {
+            log.warn("Ratings of user {} were not updated in period {}", userId, periodId, e);
+            return new Totals(0, 1);
+        }
+    }
+
+    private record Totals(long ratings, long failed) {
+        static final Totals EMPTY = new Totals(0, 0);
+
+        Totals plus(Totals other) {
+            return new Totals(ratings + other.ratings, failed + other.failed);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.rating;
+
+import com.github.karixdev.ratingyoutubethumbnailsapi.shared.TransactionCallbacks;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Component
+@RequiredArgsConstructor
+class Glicko2PeriodWriter {
+    private final RatingPeriodRepository periodRepository;
+    private final VoteEventRepository voteEventRepository;
+    private final RatingRepository repository;
+    private final RatingProperties properties;
+    private final Glicko2RatingEngine ratingEngine;
+    private final OpponentIndex opponentIndex;
+    private final RatingAggregates aggregates;
+    private final Clock clock;
+
+    @Transactional
+    public RatingPeriod start(Long periodId) {
+        RatingPeriod period = periodRepository.save(RatingPeriod.builder()
+                .id(periodId)
+                .startedAt(LocalDateTime.now(clock))
+                .build());
+
+        voteEventRepository.assignPeriod(periodId);
+
+        return period;
+    }
+
+    @Transactional
+    public void complete(RatingPeriod period) {
+        period.setCompletedAt(LocalDateTime.now(clock));
+        periodRepository.save(period);
+    }
+
+    // Rates the user's votes of the period against the ratings from its start, every rating has the same opponents.
+    // Ratings are marked with the period, so a resumed period skips users it already rated.
+    @Transactional
+    public int apply(Long userId, Long periodId) {
+        List<Rating> ratings = repository.findByUserIdWithOptimisticLock(userId);
+
+        if (ratings.stream().anyMatch(rating -> periodId.equals(rating.getPeriodId()))) {
+            return 0;
+        }
+
+        Map<Long, Glicko2Rating> before = new HashMap<>();
+
+        for (Rating rating : ratings) {
+            before.put(rating.getThumbnail().getId(), ratingEngine.inflate(
+                    new Glicko2Rating(rating.getPoints().doubleValue(), rating.getDeviation(), rating.getVolatility()),
+                    periodId - rating.getPeriodId() - 1
+            ));
+        }
+
+        Map<Long, List<Glicko2Result>> results = new LinkedHashMap<>();
+        int pageSize = properties.getRecomputePageSize();
+        long afterId = 0;
+        List<VoteEventRow> page;
+
+        do {
+            page = voteEventRepository.findByPeriodIdAndUserIdAndIdAfter(
+                    periodId, userId, afterId, PageRequest.of(0, pageSize));
+
+            for (VoteEventRow vote : page) {
+                Glicko2Rating winner = before.get(vote.winnerId());
+                Glicko2Rating loser = before.get(vote.loserId());
+
+                // the rating of a deleted thumbnail
+                if (winner != null && loser != null) {
+                    results.computeIfAbsent(vote.winnerId(), id -> new ArrayList<>())
+                            .add(new Glicko2Result(loser, 1));
+                    results.computeIfAbsent(vote.loserId(), id -> new ArrayList<>())
+                            .add(new Glicko2Result(winner, 0));
+                }
+
+                afterId = vote.id();
+            }
+        } while (page.size() == pageSize);
+
+        List<Rating> updated = new ArrayList<>();
+        List<BigDecimal> deltas = new ArrayList<>();
+
+        for (Rating rating : ratings) {
+            List<Glicko2Result> ratingResults = results.get(rating.getThumbnail().getId());
+
+            if (ratingResults == null) {
+                continue;
+            }
+
+            Glicko2Rating result = ratingEngine.update(before.get(rating.getThumbnail().getId()), ratingResults);
+            BigDecimal points = EloRatingEngine.toPoints(result.points());
+
+            deltas.add(points.subtract(rating.getPoints()));
+
+            rating.setPoints(points);
+            rating.setDeviation(result.deviation());
+            rating.setVolatility(result.volatility());
+            rating.setPeriodId(periodId);
+
+            updated.add(rating);
+        }
+
+        for (int i = 0; i < updated.size(); i++) {
+            aggregates.addAfterCommit(updated.get(i).getThumbnail().getId(), deltas.get(i), 0);
+        }
+
+        TransactionCallbacks.afterCommit(() -> updated.forEach(rating ->
+                opponentIndex.update(rating.getUser(), rating.getThumbnail().getId(), rating.getPoints())));
+
+        return updated.size();
+    }
+}
@@ -0,0 +1,23 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.rating;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+@Getter
+@Service
+public class Glicko2Properties {
+    private final Double tau;
+    private final Integer periodSeconds;
+    private final Integer parallelism;
+
+    public Glicko2Properties(
+            @Value("${rating.glicko2.tau}") Double tau,
+            @Value("${rating.glicko2.period-seconds}") Integer periodSeconds,
+            @Value("${rating.glicko2.parallelism}") Integer parallelism
+    ) {
+        this.tau = tau;
+        this.periodSeconds = periodSeconds;
+        this.parallelism = parallelism;
+    }
+}
@@ -0,0 +1,3 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.rating;
+
+public record Glicko2Rating(double points, double deviation, double volatility) {}
@@ -0,0 +1,20 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.rating;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+
+// Votes are only logged, Glicko2PeriodProcessor rates them when their rating period is closed.
+@Component
+@ConditionalOnProperty(name = "rating.algorithm", havingValue = "glicko2")
+public class Glicko2RatingAlgorithm implements RatingAlgorithm {
+    @Override
+    public void recordWin(Rating winner, Rating loser) {
+    }
+
+    @Override
+    public BigDecimal pointsAfterWin(BigDecimal winnerPoints, BigDecimal loserPoints) {
+        return winnerPoints;
+    }
+}
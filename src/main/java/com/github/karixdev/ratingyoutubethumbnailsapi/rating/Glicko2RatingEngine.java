@@ -0,0 +1,135 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.rating;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.function.DoubleUnaryOperator;
+
+// Glicko-2 as described by Glickman in "Example of the Glicko-2 system", centred on the base points.
+// Deviations never grow above the initial one.
+@Component
+public class Glicko2RatingEngine {
+    public static final double INITIAL_DEVIATION = 350.0;
+    public static final double INITIAL_VOLATILITY = 0.06;
+
+    private static final double SCALE = 173.7178;
+    private static final double MAX_PHI = INITIAL_DEVIATION / SCALE;
+    private static final double CONVERGENCE = 0.000001;
+
+    private final double basePoints;
+    private final double tau;
+
+    @Autowired
+    public Glicko2RatingEngine(RatingProperties properties, Glicko2Properties glicko2Properties) {
+        this(properties.getBasePoints().doubleValue(), glicko2Properties.getTau());
+    }
+
+    public Glicko2RatingEngine(double basePoints, double tau) {
+        this.basePoints = basePoints;
+        this.tau = tau;
+    }
+
+    // the rating at the start of a period after the given number of periods without games
+    public Glicko2Rating inflate(Glicko2Rating rating, long periods) {
+        if (periods <= 0) {
+            return rating;
+        }
+
+        double phi = rating.deviation() / SCALE;
+        double inflated = inflate(phi, rating.volatility() * rating.volatility() * periods);
+
+        return new Glicko2Rating(rating.points(), inflated * SCALE, rating.volatility());
+    }
+
+    // the rating at the end of a period, the opponents' ratings are the ones from its start
+    public Glicko2Rating update(Glicko2Rating rating, List<Glicko2Result> results) {
+        double mu = (rating.points() - basePoints) / SCALE;
+        double phi = rating.deviation() / SCALE;
+        double sigma = rating.volatility();
+
+        if (results.isEmpty()) {
+            return new Glicko2Rating(rating.points(), inflate(phi, sigma * sigma) * SCALE, sigma);
+        }
+
+        double inverseVariance = 0;
+        double improvement = 0;
+
+        for (Glicko2Result result : results) {
+            double opponentMu = (result.opponent().points() - basePoints) / SCALE;
+            double g = g(result.opponent().deviation() / SCALE);
+            double expected = 1.0 / (1.0 + Math.exp(-g * (mu - opponentMu)));
+
+            inverseVariance += g * g * expected * (1.0 - expected);
+            improvement += g * (result.score() - expected);
+        }
+
+        double variance = 1.0 / inverseVariance;
+        double delta = variance * improvement;
+
+        double updatedSigma = volatility(phi, sigma, variance, delta);
+        double phiStar = inflate(phi, updatedSigma * updatedSigma);
+        double updatedPhi = 1.0 / Math.sqrt(1.0 / (phiStar * phiStar) + inverseVariance);
+        double updatedMu = mu + updatedPhi * updatedPhi * improvement;
+
+        return new Glicko2Rating(updatedMu * SCALE + basePoints, updatedPhi * SCALE, updatedSigma);
+    }
+
+    // Illinois algorithm
+    private double volatility(double phi, double sigma, double variance, double delta) {
+        double a = Math.log(sigma * sigma);
+        double phiSquared = phi * phi;
+        double deltaSquared = delta * delta;
+
+        DoubleUnaryOperator f = x -> {
+            double ex = Math.exp(x);
+            double denominator = phiSquared + variance + ex;
+
+            return ex * (deltaSquared - phiSquared - variance - ex) / (2 * denominator * denominator)
+                    - (x - a) / (tau * tau);
+        };
+
+        double lower = a;
+        double upper;
+
+        if (deltaSquared > phiSquared + variance) {
+            upper = Math.log(deltaSquared - phiSquared - variance);
+        } else {
+            int k = 1;
+
+            while (f.applyAsDouble(a - k * tau) < 0) {
+                k++;
+            }
+
+            upper = a - k * tau;
+        }
+
+        double fLower = f.applyAsDouble(lower);
+        double fUpper = f.applyAsDouble(upper);
+
+        while (Math.abs(upper - lower) > CONVERGENCE) {
+            double next = lower + (lower - upper) * fLower / (fUpper - fLower);
+            double fNext = f.applyAsDouble(next);
+
+            if (fNext * fUpper <= 0) {
+                lower = upper;
+                fLower = fUpper;
+            } else {
+                fLower /= 2;
+            }
+
+            upper = next;
+            fUpper = fNext;
+        }
+
+        return Math.exp(lower / 2);
+    }
+
+    private static double inflate(double phi, double variance) {
+        return Math.min(Math.sqrt(phi * phi + variance), MAX_PHI);
+    }
+
+    private static double g(double phi) {
+        return 1.0 / Math.sqrt(1.0 + 3.0 * phi * phi / (Math.PI * Math.PI));
+    }
+}
@@ -0,0 +1,4 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.rating;
+
+// score is 1 for a win and 0 for a loss
+public record Glicko2Result(Glicko2Rating opponent, double score) {}
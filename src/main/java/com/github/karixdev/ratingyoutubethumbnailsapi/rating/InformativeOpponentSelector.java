@@ -0,0 +1,88 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.rating;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.OptionalLong;
+import java.util.Set;
+
+// Picks the opponent whose result tells the most about the user's order of the two thumbnails.
+// The points of a thumbnail are treated as normally distributed around its rating, with the variance
+// of a Glicko rating that started at a deviation of 350 and gained the information of an even matchup
+// with every vote. The expected information gain of a matchup is 1/2 ln(1 + q^2 p (1 - p) (v1 + v2)),
+// so thumbnails with few votes are preferred, as long as the result is not certain.
+// Only the matchmaking.candidates closest thumbnails within matchmaking.band-points are compared,
+// the closest one is returned when there are none.
+@Component
+@ConditionalOnProperty(name = "rating.matchmaking.strategy", havingValue = "information")
+class InformativeOpponentSelector implements OpponentSelector {
+    private static final double Q = Math.log(10) / 400;
+    private static final double INITIAL_VARIANCE =
+            Glicko2RatingEngine.INITIAL_DEVIATION * Glicko2RatingEngine.INITIAL_DEVIATION;
+    private static final double EVEN_MATCHUP_INFORMATION = Q * Q / 4;
+
+    private final double bandPoints;
+    private final int candidates;
+
+    @Autowired
+    InformativeOpponentSelector(MatchmakingProperties properties) {
+        this(properties.getBandPoints(), properties.getCandidates());
+    }
+
+    InformativeOpponentSelector(double bandPoints, int candidates) {
+        this.bandPoints = bandPoints;
+        this.candidates = candidates;
+    }
+
+    @Override
+    public OptionalLong select(
+            UserRatingIndex index,
+            long thumbnailId,
+            double points,
+            Set<Long> excludedIds,
+            NavigableSet<Long> catalogue,
+            double basePoints
+    ) {
+        List<UserRatingIndex.Candidate> within =
+                index.findWithin(points, bandPoints, excludedIds, catalogue, basePoints, candidates);
+
+        if (within.isEmpty()) {
+            return index.findClosest(points, excludedIds, catalogue, basePoints);
+        }
+
+        double variance = variance(index.getVotes(thumbnailId));
+
+        UserRatingIndex.Candidate best = null;
+        double bestGain = Double.NEGATIVE_INFINITY;
+
+        // closest first, so equal gains keep the closer one
+        for (UserRatingIndex.Candidate candidate : within) {
+            double gain = informationGain(points, variance, candidate.points(), variance(candidate.votes()));
+
+            if (gain > bestGain) {
+                best = candidate;
+                bestGain = gain;
+            }
+        }
+
+        return OptionalLong.of(best.thumbnailId());
+    }
+
+    @Override
+    public boolean countsVotes() {
+        return true;
+    }
+
+    static double variance(int votes) {
+        return 1.0 / (1.0 / INITIAL_VARIANCE + votes * EVEN_MATCHUP_INFORMATION);
+    }
+
+    static double informationGain(double points, double variance, double opponentPoints, double opponentVariance) {
+        double expected = 1.0 / (1.0 + Math.pow(10.0, (opponentPoints - points) / 400.0));
+
+        return 0.5 * Math.log(1 + Q * Q * expected * (1 - expected) * (variance + opponentVariance));
+    }
+}
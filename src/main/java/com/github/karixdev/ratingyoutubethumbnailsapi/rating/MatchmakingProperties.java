@@ -0,0 +1,23 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.rating;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+@Getter
+@Service
+public class MatchmakingProperties {
+    private final String strategy;
+    private final Integer bandPoints;
+    private final Integer candidates;
+
+    public MatchmakingProperties(
+            @Value("${rating.matchmaking.strategy}") String strategy,
+            @Value("${rating.matchmaking.band-points}") Integer bandPoints,
+            @Value("${rating.matchmaking.candidates}") Integer candidates
+    ) {
+        this.strategy = strategy;
+        this.bandPoints = bandPoints;
+        this.candidates = candidates;
+    }
+}
@@ -0,0 +1,23 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.rating;
+
+import com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail.Thumbnail;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+
+public record OpponentCandidates(
+        Long thumbnailId,
+        BigDecimal points,
+        Set<Long> excludedIds,
+        List<Thumbnail> opponents,
+        long indexVersion,
+        long catalogueVersion
+) {
+    // opponents are ordered by distance, so the first one not excluded since is still the closest
+    boolean isFor(Long thumbnailId, BigDecimal points, Set<Long> excludedIds) {
+        return this.thumbnailId.equals(thumbnailId)
+                && this.points.compareTo(points) == 0
+                && excludedIds.containsAll(this.excludedIds);
+    }
+}
@@ -0,0 +1,286 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.rating;
+
+import com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail.Thumbnail;
+import com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail.ThumbnailCatalogue;
+import com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail.ThumbnailService;
+import com.github.karixdev.ratingyoutubethumbnailsapi.user.User;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Component
+public class OpponentIndex {
+    private final RatingRepository repository;
+    private final ThumbnailService thumbnailService;
+    private final ThumbnailCatalogue catalogue;
+    private final RatingProperties properties;
+    private final VoteEventRepository voteEventRepository;
+    private final OpponentSelector selector;
+
+    private final Map<Long, UserRatingIndex> users;
+    // users whose index is being loaded, marked when their ratings change meanwhile
+    private final Map<Long, AtomicBoolean> loading = new ConcurrentHashMap<>();
+
+    public OpponentIndex(
+            RatingRepository repository,
+            ThumbnailService thumbnailService,
+            ThumbnailCatalogue catalogue,
+            RatingProperties properties,
+            VoteEventRepository voteEventRepository,
+            OpponentSelector selector
+    ) {
+        this.repository = repository;
+        this.thumbnailService = thumbnailService;
+        this.catalogue = catalogue;
+        this.properties = properties;
+        this.voteEventRepository = voteEventRepository;
+        this.selector = selector;
+        this.users = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, UserRatingIndex> eldest) {
+                return size() > properties.getOpponentIndexMaxUsers();
+            }
+        });
+    }
+
+    public Optional<Thumbnail> findClosest(
+            User user,
+            Thumbnail thumbnail,
+            BigDecimal points,
+            Set<Long> excludedIds
+    ) {
+        Set<Long> excluded = new HashSet<>(excludedIds);
+        excluded.add(thumbnail.getId());
+
+        UserRatingIndex index = getOrLoad(user);
+        boolean catalogueReloaded = false;
+
+        while (true) {
+            OptionalLong candidateId = select(
+                    index, thumbnail.getId(), points, excluded, catalogue.getIds(), catalogue.getVersion());
+
+            if (candidateId.isEmpty()) {
+                if (catalogueReloaded) {
+                    return Optional.empty();
+                }
+
+                catalogue.reload();
+                catalogueReloaded = true;
+                continue;
+            }
+
+            Optional<Thumbnail> candidate = thumbnailService.findById(candidateId.getAsLong());
+
+            if (candidate.isPresent()) {
+                return candidate;
+            }
+
+            catalogue.remove(candidateId.getAsLong());
+        }
+    }
+
+    public OpponentCandidates findCandidates(
+            User user,
+            Thumbnail thumbnail,
+            BigDecimal points,
+            Set<Long> excludedIds,
+            int limit
+    ) {
+        Set<Long> excluded = new HashSet<>(excludedIds);
+        excluded.add(thumbnail.getId());
+
+        UserRatingIndex index = getOrLoad(user);
+        NavigableSet<Long> catalogueIds = catalogue.getIds();
+        long catalogueVersion = catalogue.getVersion();
+
+        List<Long> candidateIds = new ArrayList<>(limit);
+        long indexVersion;
+
+        synchronized (index) {
+            while (candidateIds.size() < limit) {
+                OptionalLong candidateId = select(
+                        index, thumbnail.getId(), points, excluded, catalogueIds, catalogueVersion);
+
+                if (candidateId.isEmpty()) {
+                    break;
+                }
+
+                candidateIds.add(candidateId.getAsLong());
+                excluded.add(candidateId.getAsLong());
+            }
+
+            indexVersion = index.getVersion();
+        }
+
+        List<Thumbnail> opponents = new ArrayList<>(candidateIds.size());
+
+        for (Long candidateId : candidateIds) {
+            Optional<Thumbnail> candidate = thumbnailService.findById(candidateId);
+
+            if (candidate.isEmpty()) {
+                catalogue.remove(candidateId);
+                break;
+            }
+
+            opponents.add(candidate.get());
+        }
+
+        return new OpponentCandidates(
+                thumbnail.getId(),
+                points,
+                Set.copyOf(excludedIds),
+                List.copyOf(opponents),
+                indexVersion,
+                catalogueVersion
+        );
+    }
+
+    public Optional<Thumbnail> findPrefetched(
+            User user,
+            OpponentCandidates candidates,
+            Thumbnail thumbnail,
+            BigDecimal points,
+            Set<Long> excludedIds
+    ) {
+        UserRatingIndex index = users.get(user.getId());
+
+        if (index == null
+                || index.getVersion() != candidates.indexVersion()
+                || catalogue.getVersion() != candidates.catalogueVersion()
+                || !candidates.isFor(thumbnail.getId(), points, excludedIds)) {
+            return Optional.empty();
+        }
+
+        return candidates.opponents().stream()
+                .filter(opponent -> !excludedIds.contains(opponent.getId()))
+                .findFirst();
+    }
+
+    public BigDecimal getPoints(User user, Long thumbnailId) {
+        OptionalDouble points = getOrLoad(user).getPoints(thumbnailId);
+
+        return points.isPresent()
+                ? EloRatingEngine.toPoints(points.getAsDouble())
+                : properties.getBasePoints();
+    }
+
+    public Optional<List<RankedThumbnail>> getRanking(User user, Long afterThumbnailId, int size) {
+        return getOrLoad(user).getRanking(afterThumbnailId, size);
+    }
+
+    public void update(User user, Long thumbnailId, BigDecimal points) {
+        UserRatingIndex index = getForWrite(user.getId());
+
+        if (index != null) {
+            index.put(thumbnailId, points.doubleValue());
+        }
+    }
+
+    public void recordVote(User user, Long winnerId, Long loserId) {
+        UserRatingIndex index = getForWrite(user.getId());
+
+        if (index != null && selector.countsVotes()) {
+            index.addVotes(winnerId, 1);
+            index.addVotes(loserId, 1);
+        }
+    }
+
+    // holds the index's lock, so the selector sees one state of it
+    private OptionalLong select(
+            UserRatingIndex index,
+            Long thumbnailId,
+            BigDecimal points,
+            Set<Long> excludedIds,
+            NavigableSet<Long> catalogueIds,
+            long catalogueVersion
+    ) {
+        synchronized (index) {
+            index.rewindUnratedCursorIfChanged(catalogueVersion);
+
+            return selector.select(
+                    index,
+                    thumbnailId,
+                    points.doubleValue(),
+                    excludedIds,
+                    catalogueIds,
+                    properties.getBasePoints().doubleValue()
+            );
+        }
+    }
+
+    // null if not cached, a load of the index in progress is marked so it is not cached either
+    private UserRatingIndex getForWrite(Long userId) {
+        UserRatingIndex index = users.get(userId);
+
+        if (index != null) {
+            return index;
+        }
+
+        loading.computeIfPresent(userId, (id, changed) -> {
+            changed.set(true);
+            return changed;
+        });
+
+        // cached by a load that completed in between
+        return users.get(userId);
+    }
+
+    // an index loaded while the user's ratings changed is used once and not cached,
+    // it may have been read before the change was committed
+    private UserRatingIndex getOrLoad(User user) {
+        UserRatingIndex index = users.get(user.getId());
+
+        if (index != null) {
+            return index;
+        }
+
+        AtomicBoolean changed = new AtomicBoolean();
+
+        // only one of concurrent loads of the user caches its index
+        if (loading.putIfAbsent(user.getId(), changed) != null) {
+            return load(user);
+        }
+
+        try {
+            UserRatingIndex loaded = load(user);
+            UserRatingIndex[] current = {loaded};
+
+            loading.compute(user.getId(), (id, marker) -> {
+                if (!changed.get()) {
+                    UserRatingIndex previous = users.putIfAbsent(id, loaded);
+
+                    if (previous != null) {
+                        current[0] = previous;
+                    }
+                }
+
+                return null;
+            });
+
+            return current[0];
+        } finally {
+            loading.remove(user.getId(), changed);
+        }
+    }
+
+    private UserRatingIndex load(User user) {
+        UserRatingIndex loaded = new UserRatingIndex();
+        repository.findThumbnailPointsByUser(user).forEach(thumbnailPoints ->
+                loaded.put(
+                        thumbnailPoints.getThumbnailId(),
+                        thumbnailPoints.getPoints().doubleValue()
+                ));
+
+        if (selector.countsVotes()) {
+            voteEventRepository.findWinsByUserId(user.getId())
+                    .forEach(votes -> loaded.addVotes(votes.thumbnailId(), Math.toIntExact(votes.votes())));
+            voteEventRepository.findLossesByUserId(user.getId())
+                    .forEach(votes -> loaded.addVotes(votes.thumbnailId(), Math.toIntExact(votes.votes())));
+        }
+
+        return loaded;
+    }
+}
@@ -0,0 +1,22 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.rating;
+
+import java.util.NavigableSet;
+import java.util.OptionalLong;
+import java.util.Set;
+
+// Selected with rating.matchmaking.strategy, closest by default.
+interface OpponentSelector {
+    OptionalLong select(
+            UserRatingIndex index,
+            long thumbnailId,
+            double points,
+            Set<Long> excludedIds,
+            NavigableSet<Long> catalogue,
+            double basePoints
+    );
+
+    // whether user indexes have to keep vote counts of thumbnails
+    default boolean countsVotes() {
+        return false;
+    }
+}
@@ -0,0 +1,3 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.rating;
+
+public record PairCount(long winnerId, long loserId, long count) {}
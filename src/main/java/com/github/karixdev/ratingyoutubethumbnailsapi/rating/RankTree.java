@@ -0,0 +1,190 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.rating;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.SplittableRandom;
+
+// Treap keeping the size of every subtree, so the index of an element and the element at an index
+// are found in O(log n). Elements must be distinct according to the comparator. Not thread safe.
+class RankTree<T> {
+    private final Comparator<? super T> comparator;
+    private final SplittableRandom random = new SplittableRandom();
+
+    private Node<T> root;
+
+    RankTree(Comparator<? super T> comparator) {
+        this.comparator = comparator;
+    }
+
+    int size() {
+        return size(root);
+    }
+
+    void add(T value) {
+        Split<T> split = split(root, value);
+        root = merge(merge(split.lower(), new Node<>(value, random.nextLong())), split.higher());
+    }
+
+    boolean remove(T value) {
+        Split<T> split = split(root, value);
+        Split<T> first = splitBySize(split.higher(), 1);
+
+        boolean removed = first.lower() != null
+                && comparator.compare(first.lower().value, value) == 0;
+
+        root = removed
+                ? merge(split.lower(), first.higher())
+                : merge(split.lower(), split.higher());
+
+        return removed;
+    }
+
+    // number of elements before the value, or -1 if it is not in the tree
+    int indexOf(T value) {
+        Node<T> node = root;
+        int index = 0;
+
+        while (node != null) {
+            int comparison = comparator.compare(value, node.value);
+
+            if (comparison == 0) {
+                return index + size(node.left);
+            }
+
+            if (comparison < 0) {
+                node = node.left;
+            } else {
+                index += size(node.left) + 1;
+                node = node.right;
+            }
+        }
+
+        return -1;
+    }
+
+    // at most limit elements in order, starting with the one at the index
+    List<T> range(int from, int limit) {
+        List<T> result = new ArrayList<>(Math.max(0, Math.min(limit, size() - from)));
+        Deque<Node<T>> path = new ArrayDeque<>();
+
+        Node<T> node = root;
+        int skip = from;
+
+        // the path holds the ancestors still to be visited in order
+        while (node != null) {
+            int leftSize = size(node.left);
+
+            if (skip < leftSize) {
+                path.push(node);
+                node = node.left;
+            } else if (skip == leftSize) {
+                path.push(node);
+                break;
+            } else {
+                skip -= leftSize + 1;
+                node = node.right;
+            }
+        }
+
+        while (!path.isEmpty() && result.size() < limit) {
+            Node<T> next = path.pop();
+            result.add(next.value);
+
+            for (Node<T> child = next.right; child != null; child = child.left) {
+                path.push(child);
+            }
+        }
+
+        return result;
+    }
+
+    // lower holds the elements before the value, higher the value and the elements after it
+    private Split<T> split(Node<T> node, T value) {
+        if (node == null) {
+            return new Split<>(null, null);
+        }
+
+        if (comparator.compare(node.value, value) < 0) {
+            Split<T> split = split(node.right, value);
+            node.right = split.lower();
+            node.update();
+
+            return new Split<>(node, split.higher());
+        }
+
+        Split<T> split = split(node.left, value);
+        node.left = split.higher();
+        node.update();
+
+        return new Split<>(split.lower(), node);
+    }
+
+    private Split<T> splitBySize(Node<T> node, int count) {
+        if (node == null) {
+            return new Split<>(null, null);
+        }
+
+        if (size(node.left) >= count) {
+            Split<T> split = splitBySize(node.left, count);
+            node.left = split.higher();
+            node.update();
+
+            return new Split<>(split.lower(), node);
+        }
+
+        Split<T> split = splitBySize(node.right, count - size(node.left) - 1);
+        node.right = split.lower();
+        node.update();
+
+        return new Split<>(node, split.higher());
+    }
+
+    private Node<T> merge(Node<T> lower, Node<T> higher) {
+        if (lower == null) {
+            return higher;
+        }
+
+        if (higher == null) {
+            return lower;
+        }
+
+        if (lower.priority > higher.priority) {
+            lower.right = merge(lower.right, higher);
+            lower.update();
+
+            return lower;
+        }
+
+        higher.left = merge(lower, higher.left);
+        higher.update();
+
+        return higher;
+    }
+
+    private static int size(Node<?> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static final class Node<T> {
+        private final T value;
+        private final long priority;
+
+        private Node<T> left;
+        private Node<T> right;
+        private int size = 1;
+
+        private Node(T value, long priority) {
+            this.value = value;
+            this.priority = priority;
+        }
+
+        private void update() {
+            size = 1 + size(left) + size(right);
+        }
+    }
+
+    private record Split<T>(Node<T> lower, Node<T> higher) {}
+}
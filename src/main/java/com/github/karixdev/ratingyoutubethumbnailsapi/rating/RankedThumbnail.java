@@ -0,0 +1,6 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.rating;
+
+import java.math.BigDecimal;
+
+public record RankedThumbnail(long rank, Long thumbnailId, BigDecimal points) {
+}
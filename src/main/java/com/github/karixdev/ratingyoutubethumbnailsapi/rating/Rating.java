@@ -16,7 +16,15 @@ import java.util.Objects;
 @Builder
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
 @Entity
-@Table(name = "rating")
+@Table(
+        name = "rating",
+        uniqueConstraints = {
+                @UniqueConstraint(
+                        name = "rating_user_id_thumbnail_id_unique",
+                        columnNames = {"user_id", "thumbnail_id"}
+                )
+        }
+)
 public class Rating {
     @Id
     @GeneratedValue(
@@ -26,7 +34,7 @@ public class Rating {
     @SequenceGenerator(
             name = "rating_gen",
             sequenceName = "rating_seq",
-            allocationSize = 1
+            allocationSize = 50
     )
     @Column(
             name = "id",
@@ -68,4 +76,34 @@ public class Rating {
             nullable = false
     )
     private BigDecimal points;
+
+    @Builder.Default
+    @Column(
+            name = "deviation",
+            nullable = false
+    )
+    private Double deviation = Glicko2RatingEngine.INITIAL_DEVIATION;
+
+    @Builder.Default
+    @Column(
+            name = "volatility",
+            nullable = false
+    )
+    private Double volatility = Glicko2RatingEngine.INITIAL_VOLATILITY;
+
+    // the last rating period that updated the rating, 0 if none did
+    @Builder.Default
+    @Column(
+            name = "period_id",
+            nullable = false
+    )
+    private Long periodId = 0L;
+
+    @Version
+    @Column(
+            name = "version",
+            nullable = false
+    )
+    @Setter(AccessLevel.NONE)
+    private Long version;
 }
@@ -0,0 +1,309 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.rating;
+
+import com.github.karixdev.ratingyoutubethumbnailsapi.shared.TransactionCallbacks;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Sum, count and average of the points of all ratings of each thumbnail.
+// Rating batches apply their deltas after commit, reconcile() compares the totals with the rating table
+// and skips thumbnails with deltas of transactions still in flight.
+// Every change gets a new version, prefixed with the start of this instance so versions are not reused after restart.
+// Rated thumbnails are ranked by average points in a RankTree, updated together with their aggregate.
+// Changed averages are recorded in the RatingHistory, the initial load is not.
+@Slf4j
+@Component
+public class RatingAggregates {
+    private final RatingRepository repository;
+    private final RatingHistory history;
+    private final Counter drift;
+    private final String epoch;
+    private final AtomicLong versions = new AtomicLong();
+
+    // guarded by ranking
+    private final RankTree<Ranked> ranking = new RankTree<>(Ranked.ORDER);
+    private final Map<Long, BigDecimal> rankedPoints = new HashMap<>();
+
+    // number of transactions with a delta for the thumbnail that have not completed yet
+    private final Map<Long, Integer> inFlight = new ConcurrentHashMap<>();
+    // write-locked by the initial load, read-locked by transactions started before it is assigned
+    private final ReadWriteLock loadLock = new ReentrantReadWriteLock();
+
+    private volatile Map<Long, Aggregate> aggregates;
+
+    public RatingAggregates(
+            RatingRepository repository,
+            RatingHistory history,
+            Clock clock,
+            MeterRegistry meterRegistry
+    ) {
+        this.repository = repository;
+        this.history = history;
+        this.epoch = Long.toString(clock.millis(), 36);
+        this.drift = Counter.builder("rating.aggregates.drift")
+                .register(meterRegistry);
+    }
+
+    public Optional<BigDecimal> getAveragePoints(Long thumbnailId) {
+        return Optional.ofNullable(getAggregates().get(thumbnailId))
+                .map(Aggregate::averagePoints);
+    }
+
+    public String getVersion(Long thumbnailId) {
+        Aggregate aggregate = getAggregates().get(thumbnailId);
+
+        return epoch + "-" + (aggregate == null ? 0 : aggregate.version());
+    }
+
+    public Optional<RankedThumbnail> getRank(Long thumbnailId) {
+        getAggregates();
+
+        synchronized (ranking) {
+            int index = indexOf(thumbnailId);
+
+            return index < 0
+                    ? Optional.empty()
+                    : Optional.of(new RankedThumbnail(index + 1, thumbnailId, rankedPoints.get(thumbnailId)));
+        }
+    }
+
+    // thumbnails ranked after the one with afterThumbnailId, empty if it is not ranked
+    public Optional<List<RankedThumbnail>> getRanking(Long afterThumbnailId, int size) {
+        getAggregates();
+
+        synchronized (ranking) {
+            int from = 0;
+
+            if (afterThumbnailId != null) {
+                int index = indexOf(afterThumbnailId);
+
+                if (index < 0) {
+                    return Optional.empty();
+                }
+
+                from = index + 1;
+            }
+
+            List<Ranked> page = ranking.range(from, size);
+            List<RankedThumbnail> result = new ArrayList<>(page.size());
+
+            for (int i = 0; i < page.size(); i++) {
+                Ranked ranked = page.get(i);
+                result.add(new RankedThumbnail(from + i + 1, ranked.thumbnailId(), ranked.points()));
+            }
+
+            return Optional.of(result);
+        }
+    }
+
+    // called inside the transaction, the delta is applied once it commits
+    // before the initial load the transaction holds it back until completion, so the load
+    // either reads the committed rating or finishes before the delta is applied;
+    // the transaction must not read the aggregates afterwards
+    public void addAfterCommit(Long thumbnailId, BigDecimal pointsDelta, long countDelta) {
+        if (aggregates == null) {
+            Lock lock = loadLock.readLock();
+            lock.lock();
+            TransactionCallbacks.afterCompletion(lock::unlock);
+        }
+
+        inFlight.merge(thumbnailId, 1, Integer::sum);
+
+        TransactionCallbacks.afterCommit(() -> add(thumbnailId, pointsDelta, countDelta));
+        TransactionCallbacks.afterCompletion(() -> inFlight.computeIfPresent(
+                thumbnailId, (id, count) -> count > 1 ? count - 1 : null));
+    }
+
+    private void add(Long thumbnailId, BigDecimal pointsDelta, long countDelta) {
+        Map<Long, Aggregate> current = aggregates;
+
+        // not loaded, the load failed and the next one reads the committed ratings
+        if (current == null) {
+            return;
+        }
+
+        current.compute(thumbnailId, (id, aggregate) -> record(id, rank(id, aggregate == null
+                ? Aggregate.of(pointsDelta, countDelta, versions.incrementAndGet())
+                : aggregate.add(pointsDelta, countDelta, versions.incrementAndGet()))));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        getAggregates();
+    }
+
+    // entries changed while the sums were queried or with deltas in flight are left for the next run
+    @Scheduled(
+            initialDelayString = "${rating.aggregates.reconcile-interval-seconds}",
+            fixedDelayString = "${rating.aggregates.reconcile-interval-seconds}",
+            timeUnit = TimeUnit.SECONDS
+    )
+    public void reconcile() {
+        Map<Long, Aggregate> current = getAggregates();
+        Map<Long, Aggregate> snapshot = new HashMap<>(current);
+        Map<Long, Aggregate> expected = load();
+
+        int drifted = 0;
+
+        for (Map.Entry<Long, Aggregate> entry : snapshot.entrySet()) {
+            if (!expected.containsKey(entry.getKey())
+                    && replace(current, entry.getKey(), entry.getValue(), null)) {
+                log.warn("Rating aggregate of thumbnail {} has no ratings, removed {}",
+                        entry.getKey(), entry.getValue());
+                drifted++;
+            }
+        }
+
+        for (Map.Entry<Long, Aggregate> entry : expected.entrySet()) {
+            Long thumbnailId = entry.getKey();
+            Aggregate actual = snapshot.get(thumbnailId);
+
+            if (actual != null && actual.matches(entry.getValue())) {
+                continue;
+            }
+
+            if (replace(current, thumbnailId, actual, entry.getValue())) {
+                log.warn("Rating aggregate of thumbnail {} drifted: {}, expected {}",
+                        thumbnailId, actual, entry.getValue());
+                drifted++;
+            }
+        }
+
+        drift.increment(drifted);
+    }
+
+    // replaces the aggregate only if it is still the expected one and no delta for it is in flight,
+    // a transaction committed during the query would otherwise be counted twice
+    private boolean replace(Map<Long, Aggregate> current, Long thumbnailId, Aggregate expected, Aggregate updated) {
+        boolean[] replaced = {false};
+
+        current.compute(thumbnailId, (id, aggregate) -> {
+            if (aggregate != expected || inFlight.containsKey(id)) {
+                return aggregate;
+            }
+
+            replaced[0] = true;
+            return record(id, rank(id, updated));
+        });
+
+        return replaced[0];
+    }
+
+    // guarded by ranking
+    private int indexOf(Long thumbnailId) {
+        BigDecimal points = rankedPoints.get(thumbnailId);
+
+        return points == null ? -1 : ranking.indexOf(new Ranked(points, thumbnailId));
+    }
+
+    // called while the map entry is locked, so the ranking follows the order of the entry's changes
+    private Aggregate rank(Long thumbnailId, Aggregate updated) {
+        synchronized (ranking) {
+            BigDecimal previousPoints = rankedPoints.remove(thumbnailId);
+
+            if (previousPoints != null) {
+                ranking.remove(new Ranked(previousPoints, thumbnailId));
+            }
+
+            if (updated != null && updated.averagePoints() != null) {
+                ranking.add(new Ranked(updated.averagePoints(), thumbnailId));
+                rankedPoints.put(thumbnailId, updated.averagePoints());
+            }
+        }
+
+        return updated;
+    }
+
+    // called while the map entry is locked, so samples are queued in the order of the entry's changes
+    private Aggregate record(Long thumbnailId, Aggregate updated) {
+        if (updated != null && updated.averagePoints() != null) {
+            history.record(thumbnailId, updated.averagePoints());
+        }
+
+        return updated;
+    }
+
+    private Map<Long, Aggregate> getAggregates() {
+        Map<Long, Aggregate> current = aggregates;
+
+        if (current == null) {
+            return reload();
+        }
+
+        return current;
+    }
+
+    private Map<Long, Aggregate> reload() {
+        Lock lock = loadLock.writeLock();
+        lock.lock();
+
+        try {
+            if (aggregates == null) {
+                Map<Long, Aggregate> loaded = load();
+                loaded.forEach((thumbnailId, aggregate) -> rank(thumbnailId, aggregate));
+
+                aggregates = loaded;
+            }
+
+            return aggregates;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Map<Long, Aggregate> load() {
+        Map<Long, Aggregate> loaded = new ConcurrentHashMap<>();
+
+        repository.findAllPointsSums().forEach(sum -> loaded.put(
+                sum.getThumbnailId(),
+                Aggregate.of(sum.getPointsSum(), sum.getRatingCount(), versions.incrementAndGet())
+        ));
+
+        return loaded;
+    }
+
+    record Aggregate(BigDecimal pointsSum, long ratingCount, BigDecimal averagePoints, long version) {
+        static Aggregate of(BigDecimal pointsSum, long ratingCount, long version) {
+            BigDecimal averagePoints = ratingCount > 0
+                    ? pointsSum.divide(BigDecimal.valueOf(ratingCount), 2, RoundingMode.HALF_UP)
+                    : null;
+
+            return new Aggregate(pointsSum, ratingCount, averagePoints, version);
+        }
+
+        Aggregate add(BigDecimal pointsDelta, long countDelta, long version) {
+            return of(pointsSum.add(pointsDelta), ratingCount + countDelta, version);
+        }
+
+        boolean matches(Aggregate other) {
+            return ratingCount == other.ratingCount
+                    && pointsSum.compareTo(other.pointsSum) == 0;
+        }
+    }
+
+    private record Ranked(BigDecimal points, long thumbnailId) {
+        static final Comparator<Ranked> ORDER = Comparator
+                .comparing(Ranked::points, Comparator.reverseOrder())
+                .thenComparingLong(Ranked::thumbnailId);
+    }
+}
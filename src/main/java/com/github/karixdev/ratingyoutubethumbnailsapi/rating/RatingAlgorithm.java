@@ -0,0 +1,12 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.rating;
+
+import java.math.BigDecimal;
+
+// Selected with rating.algorithm, elo by default.
+public interface RatingAlgorithm {
+    // applied to the ratings of a vote before they are saved
+    void recordWin(Rating winner, Rating loser);
+
+    // used to look for the winner's next opponent before the vote is saved
+    BigDecimal pointsAfterWin(BigDecimal winnerPoints, BigDecimal loserPoints);
+}
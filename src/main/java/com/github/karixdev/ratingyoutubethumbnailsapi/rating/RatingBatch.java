@@ -0,0 +1,146 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.rating;
+
+import com.github.karixdev.ratingyoutubethumbnailsapi.shared.TransactionCallbacks;
+import com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail.RatedThumbnailIndex;
+import com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail.Thumbnail;
+import com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail.ThumbnailCatalogue;
+import com.github.karixdev.ratingyoutubethumbnailsapi.user.User;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+
+public class RatingBatch {
+    private final User user;
+    private final RatingRepository repository;
+    private final RatingProperties properties;
+    private final RatingAlgorithm algorithm;
+    private final OpponentIndex opponentIndex;
+    private final ThumbnailCatalogue catalogue;
+    private final RatedThumbnailIndex ratedThumbnailIndex;
+    private final RatingAggregates aggregates;
+    private final RatingLocks locks;
+    private final VoteEventRepository voteEventRepository;
+    private final Clock clock;
+
+    private final Map<Long, Rating> ratings = new LinkedHashMap<>();
+    private final List<VoteEvent> voteEvents = new ArrayList<>();
+    private final Map<Long, BigDecimal> loadedPoints = new HashMap<>();
+
+    RatingBatch(
+            User user,
+            RatingRepository repository,
+            RatingProperties properties,
+            RatingAlgorithm algorithm,
+            OpponentIndex opponentIndex,
+            ThumbnailCatalogue catalogue,
+            RatedThumbnailIndex ratedThumbnailIndex,
+            RatingAggregates aggregates,
+            RatingLocks locks,
+            VoteEventRepository voteEventRepository,
+            Clock clock
+    ) {
+        this.user = user;
+        this.repository = repository;
+        this.properties = properties;
+        this.algorithm = algorithm;
+        this.opponentIndex = opponentIndex;
+        this.catalogue = catalogue;
+        this.ratedThumbnailIndex = ratedThumbnailIndex;
+        this.aggregates = aggregates;
+        this.locks = locks;
+        this.voteEventRepository = voteEventRepository;
+        this.clock = clock;
+    }
+
+    public void recordWin(Thumbnail winner, Thumbnail loser) {
+        Rating winnerRating = getOrCreate(winner);
+        Rating loserRating = getOrCreate(loser);
+
+        algorithm.recordWin(winnerRating, loserRating);
+
+        voteEvents.add(VoteEvent.builder()
+                .userId(user.getId())
+                .winnerId(winner.getId())
+                .loserId(loser.getId())
+                .createdAt(LocalDateTime.now(clock))
+                .build());
+    }
+
+    public Thumbnail pickOpponent(Thumbnail thumbnail, Set<Long> excludedIds) {
+        return pickOpponent(thumbnail, excludedIds, null);
+    }
+
+    public Thumbnail pickOpponent(Thumbnail thumbnail, Set<Long> excludedIds, OpponentCandidates prefetched) {
+        BigDecimal points = getOrCreate(thumbnail).getPoints();
+
+        Optional<Thumbnail> opponent = prefetched == null
+                ? Optional.empty()
+                : opponentIndex.findPrefetched(user, prefetched, thumbnail, points, excludedIds);
+
+        return opponent
+                .or(() -> opponentIndex.findClosest(user, thumbnail, points, excludedIds))
+                .orElseThrow(() -> new RuntimeException("Could not find opponent"));
+    }
+
+    public void save() {
+        if (ratings.isEmpty()) {
+            return;
+        }
+
+        List<Long> ratedThumbnailIds = ratings.values().stream()
+                .filter(rating -> rating.getId() == null)
+                .map(rating -> rating.getThumbnail().getId())
+                .toList();
+
+        repository.saveAll(ratings.values());
+        voteEventRepository.saveAll(voteEvents);
+
+        Map<Long, BigDecimal> points = new LinkedHashMap<>();
+        ratings.forEach((thumbnailId, rating) -> points.put(thumbnailId, rating.getPoints()));
+
+        Map<Long, BigDecimal> loaded = new HashMap<>(loadedPoints);
+        List<VoteEvent> saved = List.copyOf(voteEvents);
+
+        points.forEach((thumbnailId, thumbnailPoints) -> {
+            BigDecimal previousPoints = loaded.get(thumbnailId);
+            aggregates.addAfterCommit(
+                    thumbnailId,
+                    previousPoints == null ? thumbnailPoints : thumbnailPoints.subtract(previousPoints),
+                    previousPoints == null ? 1 : 0
+            );
+        });
+
+        TransactionCallbacks.afterCommit(() -> {
+            points.forEach((thumbnailId, thumbnailPoints) -> opponentIndex.update(user, thumbnailId, thumbnailPoints));
+            ratedThumbnailIndex.addRated(user, ratedThumbnailIds);
+            ratedThumbnailIds.forEach(thumbnailId -> catalogue.addRatings(thumbnailId, 1));
+            saved.forEach(event -> opponentIndex.recordVote(user, event.getWinnerId(), event.getLoserId()));
+        });
+    }
+
+    private Rating getOrCreate(Thumbnail thumbnail) {
+        return ratings.computeIfAbsent(thumbnail.getId(), thumbnailId -> {
+            // held until the transaction completes, without one there is nothing to keep consistent
+            Lock lock = locks.lock(user.getId(), thumbnailId);
+            TransactionCallbacks.afterCompletion(lock::unlock);
+
+            Optional<Rating> rating = repository.findByThumbnailAndUser(thumbnail, user);
+            rating.ifPresent(loaded -> loadedPoints.put(thumbnailId, loaded.getPoints()));
+
+            return rating.orElseGet(() -> Rating.builder()
+                    .user(user)
+                    .thumbnail(thumbnail)
+                    .points(properties.getBasePoints())
+                    .build());
+        });
+    }
+}
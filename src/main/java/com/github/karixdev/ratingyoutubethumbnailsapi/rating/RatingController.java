@@ -1,30 +1,101 @@
 package com.github.karixdev.ratingyoutubethumbnailsapi.rating;
 
+import com.github.karixdev.ratingyoutubethumbnailsapi.rating.payload.request.RatingBatchRequest;
+import com.github.karixdev.ratingyoutubethumbnailsapi.rating.payload.request.RatingRecomputeRequest;
+import com.github.karixdev.ratingyoutubethumbnailsapi.rating.payload.response.RatingBatchResponse;
+import com.github.karixdev.ratingyoutubethumbnailsapi.rating.payload.response.RatingHistoryResponse;
+import com.github.karixdev.ratingyoutubethumbnailsapi.rating.payload.response.RatingRecomputeResponse;
 import com.github.karixdev.ratingyoutubethumbnailsapi.rating.payload.response.RatingResponse;
 import com.github.karixdev.ratingyoutubethumbnailsapi.security.CurrentUser;
 import com.github.karixdev.ratingyoutubethumbnailsapi.security.UserPrincipal;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.web.bind.annotation.GetMapping;
-import org.springframework.web.bind.annotation.PathVariable;
-import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequestMapping("/api/v1/rating")
 @RequiredArgsConstructor
 public class RatingController {
     private final RatingService service;
+    private final RatingProperties properties;
+    private final RatingRecomputeService recomputeService;
+    private final RatingHistoryService historyService;
 
     @GetMapping("/{youtubeVideoId}")
     public ResponseEntity<RatingResponse> getThumbnailAveragePoints(
             @PathVariable(name = "youtubeVideoId") String youtubeVideoId,
+            @CurrentUser UserPrincipal userPrincipal,
+            WebRequest request
+    ) {
+        RatingVersion version = service.getThumbnailRatingVersion(youtubeVideoId, userPrincipal);
+        CacheControl cacheControl = cacheControl(userPrincipal);
+
+        if (request.checkNotModified(version.eTag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(version.eTag())
+                    .cacheControl(cacheControl)
+                    .varyBy(HttpHeaders.AUTHORIZATION)
+                    .build();
+        }
+
+        return ResponseEntity.ok()
+                .eTag(version.eTag())
+                .cacheControl(cacheControl)
+                .varyBy(HttpHeaders.AUTHORIZATION)
+                .body(service.getThumbnailAveragePoints(version, userPrincipal));
+    }
+
+    @GetMapping("/{youtubeVideoId}/history")
+    public ResponseEntity<List<RatingHistoryResponse>> getHistory(
+            @PathVariable(name = "youtubeVideoId") String youtubeVideoId,
+            @RequestParam(name = "resolution", defaultValue = "hour") String resolution,
+            @RequestParam(name = "before", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime before,
+            @RequestParam(name = "size", defaultValue = "100") Integer size
+    ) {
+        return new ResponseEntity<>(
+                historyService.getHistory(youtubeVideoId, resolution, before, size),
+                HttpStatus.OK
+        );
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<RatingBatchResponse> getThumbnailsAveragePoints(
+            @Valid @RequestBody RatingBatchRequest payload,
             @CurrentUser UserPrincipal userPrincipal
     ) {
         return new ResponseEntity<>(
-                service.getThumbnailAveragePoints(youtubeVideoId, userPrincipal),
+                service.getThumbnailsAveragePoints(payload.getYoutubeVideoIds(), userPrincipal),
                 HttpStatus.OK
         );
     }
+
+    @PostMapping("/recompute")
+    public ResponseEntity<RatingRecomputeResponse> recompute(
+            @Valid @RequestBody RatingRecomputeRequest payload
+    ) {
+        return new ResponseEntity<>(
+                recomputeService.recompute(payload),
+                HttpStatus.OK
+        );
+    }
+
+    // responses with the user's points must not be stored by shared caches
+    private CacheControl cacheControl(UserPrincipal userPrincipal) {
+        CacheControl cacheControl = CacheControl.maxAge(properties.getCacheMaxAgeSeconds(), TimeUnit.SECONDS);
+
+        return userPrincipal == null
+                ? cacheControl.cachePublic()
+                : cacheControl.cachePrivate();
+    }
 }
@@ -0,0 +1,105 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.rating;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+// Average points of thumbnails over time, recorded by RatingAggregates after every change.
+// Samples are queued in memory and written in batches by flush(), away from the vote transactions.
+// A full queue drops samples instead of blocking, counted by rating.history.dropped.
+@Slf4j
+@Component
+public class RatingHistory {
+    private final RatingHistoryWriter writer;
+    private final RatingHistoryProperties properties;
+    private final Clock clock;
+    private final BlockingQueue<Sample> queue;
+    private final Counter dropped;
+
+    public RatingHistory(
+            RatingHistoryWriter writer,
+            RatingHistoryProperties properties,
+            Clock clock,
+            MeterRegistry meterRegistry
+    ) {
+        this.writer = writer;
+        this.properties = properties;
+        this.clock = clock;
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        this.dropped = Counter.builder("rating.history.dropped")
+                .register(meterRegistry);
+    }
+
+    public void record(Long thumbnailId, BigDecimal points) {
+        enqueue(new Sample(thumbnailId, points, LocalDateTime.now(clock)));
+    }
+
+    // samples queued while flushing are left for the next run
+    @Scheduled(
+            initialDelayString = "${rating.history.flush-interval-seconds}",
+            fixedDelayString = "${rating.history.flush-interval-seconds}",
+            timeUnit = TimeUnit.SECONDS
+    )
+    public synchronized void flush() {
+        int remaining = queue.size();
+
+        while (remaining > 0) {
+            List<Sample> samples = new ArrayList<>(Math.min(remaining, properties.getFlushBatchSize()));
+
+            if (queue.drainTo(samples, Math.min(remaining, properties.getFlushBatchSize())) == 0) {
+                return;
+            }
+
+            remaining -= samples.size();
+
+            try {
+                writer.write(samples);
+            } catch (RuntimeException e) {
+                log.warn("Could not flush {} rating history samples, they are kept for the next flush",
+                        samples.size(), e);
+
+                samples.forEach(this::enqueue);
+                return;
+            }
+        }
+    }
+
+    @Scheduled(
+            initialDelayString = "${rating.history.eviction-interval-seconds}",
+            fixedDelayString = "${rating.history.eviction-interval-seconds}",
+            timeUnit = TimeUnit.SECONDS
+    )
+    public void evict() {
+        LocalDateTime now = LocalDateTime.now(clock);
+
+        writer.evict(
+                now.minusHours(properties.getRawRetentionHours()),
+                now.minusDays(properties.getMinuteRetentionDays())
+        );
+    }
+
+    @PreDestroy
+    public void close() {
+        flush();
+    }
+
+    private void enqueue(Sample sample) {
+        if (!queue.offer(sample)) {
+            dropped.increment();
+        }
+    }
+
+    record Sample(Long thumbnailId, BigDecimal points, LocalDateTime recordedAt) {}
+}
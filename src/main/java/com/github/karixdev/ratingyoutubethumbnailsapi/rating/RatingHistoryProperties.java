@@ -0,0 +1,26 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.rating;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+@Getter
+@Service
+public class RatingHistoryProperties {
+    private final Integer queueCapacity;
+    private final Integer flushBatchSize;
+    private final Integer rawRetentionHours;
+    private final Integer minuteRetentionDays;
+
+    public RatingHistoryProperties(
+            @Value("${rating.history.queue-capacity}") Integer queueCapacity,
+            @Value("${rating.history.flush-batch-size}") Integer flushBatchSize,
+            @Value("${rating.history.raw-retention-hours}") Integer rawRetentionHours,
+            @Value("${rating.history.minute-retention-days}") Integer minuteRetentionDays
+    ) {
+        this.queueCapacity = queueCapacity;
+        this.flushBatchSize = flushBatchSize;
+        this.rawRetentionHours = rawRetentionHours;
+        this.minuteRetentionDays = minuteRetentionDays;
+    }
+}
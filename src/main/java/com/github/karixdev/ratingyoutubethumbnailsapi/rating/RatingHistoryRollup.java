@@ -0,0 +1,94 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.rating;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Samples of a thumbnail within one bucket of a resolution. Rows are only created by RatingHistoryWriter,
+// saving a new one inserts it, so a row another instance created in the meantime fails the flush.
+@Getter
+@Setter
+@Builder
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@Entity
+@Table(
+        name = "rating_history_rollup",
+        indexes = {
+                @Index(
+                        name = "rating_history_rollup_resolution_bucket_start_idx",
+                        columnList = "resolution, bucket_start"
+                )
+        }
+)
+public class RatingHistoryRollup implements Persistable<RatingHistoryRollupId> {
+    @EmbeddedId
+    @EqualsAndHashCode.Include
+    private RatingHistoryRollupId id;
+
+    @Column(
+            name = "min_points",
+            precision = 19,
+            scale = 2,
+            nullable = false
+    )
+    private BigDecimal minPoints;
+
+    @Column(
+            name = "max_points",
+            precision = 19,
+            scale = 2,
+            nullable = false
+    )
+    private BigDecimal maxPoints;
+
+    @Column(
+            name = "points_sum",
+            precision = 19,
+            scale = 2,
+            nullable = false
+    )
+    private BigDecimal pointsSum;
+
+    @Column(
+            name = "sample_count",
+            nullable = false
+    )
+    private Long sampleCount;
+
+    @Column(
+            name = "last_points",
+            precision = 19,
+            scale = 2,
+            nullable = false
+    )
+    private BigDecimal lastPoints;
+
+    @Column(
+            name = "last_recorded_at",
+            nullable = false
+    )
+    private LocalDateTime lastRecordedAt;
+
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    private boolean persisted;
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        persisted = true;
+    }
+}
@@ -0,0 +1,40 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.rating;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+@Getter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+@Embeddable
+public class RatingHistoryRollupId implements Serializable {
+    @Column(
+            name = "thumbnail_id",
+            nullable = false,
+            updatable = false
+    )
+    private Long thumbnailId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(
+            name = "resolution",
+            nullable = false,
+            updatable = false
+    )
+    private RatingHistoryResolution resolution;
+
+    @Column(
+            name = "bucket_start",
+            nullable = false,
+            updatable = false
+    )
+    private LocalDateTime bucketStart;
+}
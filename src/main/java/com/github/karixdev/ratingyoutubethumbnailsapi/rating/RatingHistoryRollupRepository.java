@@ -0,0 +1,87 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.rating;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface RatingHistoryRollupRepository extends JpaRepository<RatingHistoryRollup, RatingHistoryRollupId> {
+    @Query("""
+            SELECT rollup
+            FROM RatingHistoryRollup rollup
+            WHERE rollup.id.thumbnailId = :thumbnailId
+            AND rollup.id.resolution = :resolution
+            ORDER BY rollup.id.bucketStart DESC
+            """)
+    List<RatingHistoryRollup> findLatest(
+            @Param("thumbnailId") Long thumbnailId,
+            @Param("resolution") RatingHistoryResolution resolution,
+            Pageable pageable
+    );
+
+    @Query("""
+            SELECT rollup
+            FROM RatingHistoryRollup rollup
+            WHERE rollup.id.thumbnailId = :thumbnailId
+            AND rollup.id.resolution = :resolution
+            AND rollup.id.bucketStart < :bucketStart
+            ORDER BY rollup.id.bucketStart DESC
+            """)
+    List<RatingHistoryRollup> findBefore(
+            @Param("thumbnailId") Long thumbnailId,
+            @Param("resolution") RatingHistoryResolution resolution,
+            @Param("bucketStart") LocalDateTime bucketStart,
+            Pageable pageable
+    );
+
+    // adds the samples of a bucket to the persisted ones, last_points is assigned before last_recorded_at
+    // as MySQL sees the assigned value in later assignments
+    @Modifying
+    @Query("""
+            UPDATE RatingHistoryRollup rollup
+            SET rollup.minPoints = CASE WHEN :minPoints < rollup.minPoints THEN :minPoints ELSE rollup.minPoints END,
+                rollup.maxPoints = CASE WHEN :maxPoints > rollup.maxPoints THEN :maxPoints ELSE rollup.maxPoints END,
+                rollup.pointsSum = rollup.pointsSum + :pointsSum,
+                rollup.sampleCount = rollup.sampleCount + :sampleCount,
+                rollup.lastPoints = CASE
+                    WHEN :lastRecordedAt >= rollup.lastRecordedAt THEN :lastPoints
+                    ELSE rollup.lastPoints
+                END,
+                rollup.lastRecordedAt = CASE
+                    WHEN :lastRecordedAt >= rollup.lastRecordedAt THEN :lastRecordedAt
+                    ELSE rollup.lastRecordedAt
+                END
+            WHERE rollup.id.thumbnailId = :thumbnailId
+            AND rollup.id.resolution = :resolution
+            AND rollup.id.bucketStart = :bucketStart
+            """)
+    int addSamples(
+            @Param("thumbnailId") Long thumbnailId,
+            @Param("resolution") RatingHistoryResolution resolution,
+            @Param("bucketStart") LocalDateTime bucketStart,
+            @Param("minPoints") BigDecimal minPoints,
+            @Param("maxPoints") BigDecimal maxPoints,
+            @Param("pointsSum") BigDecimal pointsSum,
+            @Param("sampleCount") Long sampleCount,
+            @Param("lastPoints") BigDecimal lastPoints,
+            @Param("lastRecordedAt") LocalDateTime lastRecordedAt
+    );
+
+    @Modifying
+    @Query("""
+            DELETE FROM RatingHistoryRollup rollup
+            WHERE rollup.id.resolution = :resolution
+            AND rollup.id.bucketStart < :bucketStart
+            """)
+    int deleteBucketsBefore(
+            @Param("resolution") RatingHistoryResolution resolution,
+            @Param("bucketStart") LocalDateTime bucketStart
+    );
+}
@@ -0,0 +1,66 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.rating;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Getter
+@Builder
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@Entity
+@Table(
+        name = "rating_history_sample",
+        indexes = {
+                @Index(
+                        name = "rating_history_sample_recorded_at_idx",
+                        columnList = "recorded_at"
+                )
+        }
+)
+public class RatingHistorySample {
+    @Id
+    @GeneratedValue(
+            strategy = GenerationType.SEQUENCE,
+            generator = "rating_history_sample_gen"
+    )
+    @SequenceGenerator(
+            name = "rating_history_sample_gen",
+            sequenceName = "rating_history_sample_seq",
+            allocationSize = 50
+    )
+    @Column(
+            name = "id",
+            nullable = false,
+            updatable = false
+    )
+    @EqualsAndHashCode.Include
+    private Long id;
+
+    @Column(
+            name = "thumbnail_id",
+            nullable = false,
+            updatable = false
+    )
+    private Long thumbnailId;
+
+    @Column(
+            name = "points",
+            precision = 19,
+            scale = 2,
+            nullable = false,
+            updatable = false
+    )
+    private BigDecimal points;
+
+    @Column(
+            name = "recorded_at",
+            nullable = false,
+            updatable = false
+    )
+    private LocalDateTime recordedAt;
+}
@@ -0,0 +1,19 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.rating;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface RatingHistorySampleRepository extends JpaRepository<RatingHistorySample, Long> {
+    @Modifying
+    @Query("""
+            DELETE FROM RatingHistorySample sample
+            WHERE sample.recordedAt < :recordedAt
+            """)
+    int deleteRecordedBefore(@Param("recordedAt") LocalDateTime recordedAt);
+}
@@ -0,0 +1,54 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.rating;
+
+import com.github.karixdev.ratingyoutubethumbnailsapi.rating.payload.response.RatingHistoryResponse;
+import com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail.ThumbnailService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// History is read from the rollups only, samples still queued in RatingHistory are not part of it.
+@Service
+@RequiredArgsConstructor
+public class RatingHistoryService {
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    private final RatingHistoryRollupRepository repository;
+    private final ThumbnailService thumbnailService;
+
+    // latest buckets first, before is the start of the last bucket of the previous page
+    public List<RatingHistoryResponse> getHistory(
+            String youtubeVideoId,
+            String resolution,
+            LocalDateTime before,
+            int size
+    ) {
+        RatingHistoryResolution historyResolution = RatingHistoryResolution.of(resolution);
+        Long thumbnailId = thumbnailService.getThumbnailIdByYoutubeVideoId(youtubeVideoId);
+        PageRequest page = PageRequest.ofSize(Math.max(1, Math.min(size, MAX_PAGE_SIZE)));
+
+        List<RatingHistoryRollup> rollups = before == null
+                ? repository.findLatest(thumbnailId, historyResolution, page)
+                : repository.findBefore(thumbnailId, historyResolution, before, page);
+
+        return rollups.stream()
+                .map(RatingHistoryService::toResponse)
+                .toList();
+    }
+
+    private static RatingHistoryResponse toResponse(RatingHistoryRollup rollup) {
+        return RatingHistoryResponse.builder()
+                .bucketStart(rollup.getId().getBucketStart())
+                .points(rollup.getLastPoints())
+                .minPoints(rollup.getMinPoints())
+                .maxPoints(rollup.getMaxPoints())
+                .averagePoints(rollup.getPointsSum()
+                        .divide(BigDecimal.valueOf(rollup.getSampleCount()), 2, RoundingMode.HALF_UP))
+                .samples(rollup.getSampleCount())
+                .build();
+    }
+}
@@ -0,0 +1,96 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.rating;
+
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Component
+@RequiredArgsConstructor
+class RatingHistoryWriter {
+    private final RatingHistorySampleRepository sampleRepository;
+    private final RatingHistoryRollupRepository rollupRepository;
+
+    // adds the samples to the persisted rollups, so instances flushing at the same time do not overwrite each other
+    @Transactional
+    public void write(List<RatingHistory.Sample> samples) {
+        sampleRepository.saveAll(samples.stream()
+                .map(sample -> RatingHistorySample.builder()
+                        .thumbnailId(sample.thumbnailId())
+                        .points(sample.points())
+                        .recordedAt(sample.recordedAt())
+                        .build())
+                .toList());
+
+        for (RatingHistoryRollup rollup : rollUp(samples)) {
+            int updated = rollupRepository.addSamples(
+                    rollup.getId().getThumbnailId(),
+                    rollup.getId().getResolution(),
+                    rollup.getId().getBucketStart(),
+                    rollup.getMinPoints(),
+                    rollup.getMaxPoints(),
+                    rollup.getPointsSum(),
+                    rollup.getSampleCount(),
+                    rollup.getLastPoints(),
+                    rollup.getLastRecordedAt()
+            );
+
+            if (updated == 0) {
+                rollupRepository.save(rollup);
+            }
+        }
+    }
+
+    @Transactional
+    public void evict(LocalDateTime samplesBefore, LocalDateTime minutesBefore) {
+        sampleRepository.deleteRecordedBefore(samplesBefore);
+        rollupRepository.deleteBucketsBefore(RatingHistoryResolution.MINUTE, minutesBefore);
+    }
+
+    // one rollup for each bucket of every resolution the samples fall into
+    static Collection<RatingHistoryRollup> rollUp(List<RatingHistory.Sample> samples) {
+        Map<RatingHistoryRollupId, RatingHistoryRollup> rollups = new LinkedHashMap<>();
+
+        for (RatingHistory.Sample sample : samples) {
+            for (RatingHistoryResolution resolution : RatingHistoryResolution.values()) {
+                RatingHistoryRollupId id = new RatingHistoryRollupId(
+                        sample.thumbnailId(),
+                        resolution,
+                        resolution.bucketStart(sample.recordedAt())
+                );
+
+                RatingHistoryRollup rollup = rollups.get(id);
+
+                if (rollup == null) {
+                    rollups.put(id, RatingHistoryRollup.builder()
+                            .id(id)
+                            .minPoints(sample.points())
+                            .maxPoints(sample.points())
+                            .pointsSum(sample.points())
+                            .sampleCount(1L)
+                            .lastPoints(sample.points())
+                            .lastRecordedAt(sample.recordedAt())
+                            .build());
+                    continue;
+                }
+
+                rollup.setMinPoints(rollup.getMinPoints().min(sample.points()));
+                rollup.setMaxPoints(rollup.getMaxPoints().max(sample.points()));
+                rollup.setPointsSum(rollup.getPointsSum().add(sample.points()));
+                rollup.setSampleCount(rollup.getSampleCount() + 1);
+
+                if (!sample.recordedAt().isBefore(rollup.getLastRecordedAt())) {
+                    rollup.setLastPoints(sample.points());
+                    rollup.setLastRecordedAt(sample.recordedAt());
+                }
+            }
+        }
+
+        return rollups.values();
+    }
+}
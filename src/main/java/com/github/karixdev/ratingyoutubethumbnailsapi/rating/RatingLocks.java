@@ -0,0 +1,75 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.rating;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Striped locks keyed by (user, thumbnail). A rating batch holds the lock of every rating it reads until
+// its transaction completes, so batches of one user on this instance never read a rating another one is changing.
+// Unrelated keys share stripes and batches lock in any order, so a lock not acquired within
+// locks.timeout-millis fails the batch with CannotAcquireLockException instead of waiting for a deadlock.
+@Component
+public class RatingLocks {
+    private final ReentrantLock[] stripes;
+    private final long timeoutMillis;
+
+    private final Counter contended;
+    private final Counter timeouts;
+    private final Timer waits;
+
+    public RatingLocks(RatingProperties properties, MeterRegistry meterRegistry) {
+        this.stripes = new ReentrantLock[properties.getLockStripes()];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+
+        this.timeoutMillis = properties.getLockTimeoutMillis();
+
+        this.contended = Counter.builder("rating.locks.contended")
+                .register(meterRegistry);
+        this.timeouts = Counter.builder("rating.locks.timeouts")
+                .register(meterRegistry);
+        this.waits = Timer.builder("rating.locks.wait")
+                .register(meterRegistry);
+    }
+
+    Lock lock(Long userId, Long thumbnailId) {
+        ReentrantLock stripe = stripes[stripe(userId, thumbnailId)];
+
+        if (stripe.tryLock()) {
+            return stripe;
+        }
+
+        contended.increment();
+        long start = System.nanoTime();
+
+        try {
+            boolean acquired = stripe.tryLock(timeoutMillis, TimeUnit.MILLISECONDS);
+            waits.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+            if (!acquired) {
+                timeouts.increment();
+                throw new CannotAcquireLockException(
+                        "Rating lock was not acquired within %d ms".formatted(timeoutMillis));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CannotAcquireLockException("Interrupted while waiting for rating lock", e);
+        }
+
+        return stripe;
+    }
+
+    private int stripe(Long userId, Long thumbnailId) {
+        int hash = Objects.hash(userId, thumbnailId);
+
+        return Math.floorMod(hash ^ (hash >>> 16), stripes.length);
+    }
+}
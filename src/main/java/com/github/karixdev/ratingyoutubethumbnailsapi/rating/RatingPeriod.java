@@ -0,0 +1,59 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.rating;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+// Ids are assigned consecutively, saving a new period inserts it, so two instances cannot start the same one.
+@Getter
+@Setter
+@Builder
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@Entity
+@Table(name = "rating_period")
+public class RatingPeriod implements Persistable<Long> {
+    @Id
+    @Column(
+            name = "id",
+            nullable = false,
+            updatable = false
+    )
+    @EqualsAndHashCode.Include
+    private Long id;
+
+    @Column(
+            name = "started_at",
+            nullable = false,
+            updatable = false
+    )
+    private LocalDateTime startedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    private boolean persisted;
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    public boolean isCompleted() {
+        return completedAt != null;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        persisted = true;
+    }
+}
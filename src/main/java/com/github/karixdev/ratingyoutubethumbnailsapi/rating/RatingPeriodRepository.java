@@ -0,0 +1,11 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.rating;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface RatingPeriodRepository extends JpaRepository<RatingPeriod, Long> {
+    Optional<RatingPeriod> findFirstByOrderByIdDesc();
+}
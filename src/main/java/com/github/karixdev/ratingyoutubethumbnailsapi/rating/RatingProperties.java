@@ -11,12 +11,33 @@ import java.math.BigDecimal;
 public class RatingProperties {
     private final BigDecimal basePoints;
     private final Integer kParameter;
+    private final Integer opponentIndexMaxUsers;
+    private final Integer cacheMaxAgeSeconds;
+    private final Integer lockStripes;
+    private final Long lockTimeoutMillis;
+    private final Integer updateMaxAttempts;
+    private final Integer recomputeParallelism;
+    private final Integer recomputePageSize;
 
     public RatingProperties(
             @Value("${rating.base-points}") BigDecimal basePoints,
-            @Value("${rating.k-parameter}") Integer kParameter
+            @Value("${rating.k-parameter}") Integer kParameter,
+            @Value("${rating.opponent-index.max-users}") Integer opponentIndexMaxUsers,
+            @Value("${rating.cache.max-age-seconds}") Integer cacheMaxAgeSeconds,
+            @Value("${rating.locks.stripes}") Integer lockStripes,
+            @Value("${rating.locks.timeout-millis}") Long lockTimeoutMillis,
+            @Value("${rating.update.max-attempts}") Integer updateMaxAttempts,
+            @Value("${rating.recompute.parallelism}") Integer recomputeParallelism,
+            @Value("${rating.recompute.page-size}") Integer recomputePageSize
     ) {
         this.basePoints = basePoints;
         this.kParameter = kParameter;
+        this.opponentIndexMaxUsers = opponentIndexMaxUsers;
+        this.cacheMaxAgeSeconds = cacheMaxAgeSeconds;
+        this.lockStripes = lockStripes;
+        this.lockTimeoutMillis = lockTimeoutMillis;
+        this.updateMaxAttempts = updateMaxAttempts;
+        this.recomputeParallelism = recomputeParallelism;
+        this.recomputePageSize = recomputePageSize;
     }
 }
@@ -0,0 +1,186 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.rating;
+
+import com.github.karixdev.ratingyoutubethumbnailsapi.rating.exception.RatingUpdateConflictException;
+import com.github.karixdev.ratingyoutubethumbnailsapi.rating.payload.request.RatingRecomputeRequest;
+import com.github.karixdev.ratingyoutubethumbnailsapi.rating.payload.response.RatingRecomputeResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+
+// Rebuilds ratings from the vote log with the given base points and k parameter.
+// Ratings are per user, so users are split between the tasks of a fork-join pool of recompute.parallelism threads,
+// each replaying the votes of its users page by page. Only votes logged before the start are compared,
+// applying a result replays every user's newer votes on top in the transaction that writes the ratings.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RatingRecomputeService {
+    private static final int USERS_PER_TASK = 16;
+
+    private final VoteEventRepository voteEventRepository;
+    private final RatingRepository ratingRepository;
+    private final RatingProperties properties;
+    private final RatingRecomputeWriter writer;
+    private final RatingUpdateRetry retry;
+
+    public RatingRecomputeResponse recompute(RatingRecomputeRequest payload) {
+        BigDecimal basePoints = Optional.ofNullable(payload.getBasePoints())
+                .orElseGet(properties::getBasePoints);
+        int kParameter = Optional.ofNullable(payload.getKParameter())
+                .orElseGet(properties::getKParameter);
+
+        Replay settings = new Replay(
+                new EloRatingEngine(kParameter),
+                basePoints,
+                voteEventRepository.findMaxId().orElse(0L),
+                payload.isApply()
+        );
+
+        long start = System.nanoTime();
+        List<Long> userIds = voteEventRepository.findUserIds(settings.maxEventId());
+
+        ForkJoinPool pool = new ForkJoinPool(properties.getRecomputeParallelism());
+        Totals totals;
+
+        try {
+            totals = pool.invoke(new ReplayTask(userIds, 0, userIds.size(), settings));
+        } finally {
+            pool.shutdown();
+        }
+
+        long durationMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        log.info("Recomputed ratings of {} users from {} votes in {} ms with k parameter {}, {} changed, {} applied",
+                totals.users(), totals.votes(), durationMillis, kParameter, totals.changed(), totals.applied());
+
+        return RatingRecomputeResponse.builder()
+                .basePoints(basePoints)
+                .kParameter(kParameter)
+                .users(totals.users())
+                .votes(totals.votes())
+                .ratings(totals.ratings())
+                .changed(totals.changed())
+                .withoutVotes(totals.withoutVotes())
+                .maxDifference(totals.maxDifference())
+                .applied(totals.applied())
+                .failed(totals.failed())
+                .durationMillis(durationMillis)
+                .build();
+    }
+
+    private Totals recompute(Long userId, Replay settings) {
+        RatingReplay replay = new RatingReplay(settings.engine(), settings.basePoints());
+        replay.replay(voteEventRepository, userId, settings.maxEventId(), properties.getRecomputePageSize());
+
+        Map<Long, BigDecimal> current = new HashMap<>();
+        ratingRepository.findThumbnailPointsByUserId(userId)
+                .forEach(points -> current.put(points.getThumbnailId(), points.getPoints()));
+
+        long changed = 0;
+        long withoutVotes = 0;
+        BigDecimal maxDifference = BigDecimal.ZERO;
+
+        for (Map.Entry<Long, BigDecimal> entry : current.entrySet()) {
+            Optional<BigDecimal> points = replay.getPoints(entry.getKey());
+
+            if (points.isEmpty()) {
+                withoutVotes++;
+                continue;
+            }
+
+            BigDecimal difference = points.get().subtract(entry.getValue()).abs();
+
+            if (difference.signum() != 0) {
+                changed++;
+                maxDifference = maxDifference.max(difference);
+            }
+        }
+
+        long applied = 0;
+        long failed = 0;
+
+        if (settings.apply() && changed > 0) {
+            try {
+                applied = retry.run(() -> writer.apply(userId, replay));
+            } catch (RatingUpdateConflictException e) {
+                log.warn("Recomputed ratings of user {} were not applied", userId, e);
+                failed = 1;
+            }
+        }
+
+        return new Totals(1, replay.getVotes(), replay.size(), changed, withoutVotes, maxDifference, applied, failed);
+    }
+
+    private record Replay(EloRatingEngine engine, BigDecimal basePoints, long maxEventId, boolean apply) {}
+
+    private record Totals(
+            long users,
+            long votes,
+            long ratings,
+            long changed,
+            long withoutVotes,
+            BigDecimal maxDifference,
+            long applied,
+            long failed
+    ) {
+        static final Totals EMPTY = new Totals(0, 0, 0, 0, 0, BigDecimal.ZERO, 0, 0);
+
+        Totals plus(Totals other) {
+            return new Totals(
+                    users + other.users,
+                    votes + other.votes,
+                    ratings + other.ratings,
+                    changed + other.changed,
+                    withoutVotes + other.withoutVotes,
+                    maxDifference.max(other.maxDifference),
+                    applied + other.applied,
+                    failed + other.failed
+            );
+        }
+    }
+
+    private final class ReplayTask extends RecursiveTask<Totals> {
+        private final List<Long> userIds;
+        private final int from;
+        private final int to;
+        private final Replay settings;
+
+        private ReplayTask(List<Long> userIds, int from, int to, Replay settings) {
+            this.userIds = userIds;
+            this.from = from;
+            this.to = to;
+            this.settings = settings;
+        }
+
+        @Override
+        protected Totals compute() {
+            if (to - from <= USERS_PER_TASK) {
+                Totals totals = Totals.EMPTY;
+
+                for (int i = from; i < to; i++) {
+                    totals = totals.plus(recompute(userIds.get(i), settings));
+                }
+
+                return totals;
+            }
+
+            int middle = (from + to) >>> 1;
+
+            ReplayTask lower = new ReplayTask(userIds, from, middle, settings);
+            lower.fork();
+
+            Totals higher = new ReplayTask(userIds, middle, to, settings).compute();
+
+            return lower.join().plus(higher);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.rating;
+
+import com.github.karixdev.ratingyoutubethumbnailsapi.shared.TransactionCallbacks;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+@Component
+@RequiredArgsConstructor
+class RatingRecomputeWriter {
+    private final RatingRepository repository;
+    private final VoteEventRepository voteEventRepository;
+    private final RatingProperties properties;
+    private final OpponentIndex opponentIndex;
+    private final RatingAggregates aggregates;
+
+    // The ratings are read before the votes logged after the replay, which are replayed on top of it.
+    // A vote committed after that changes the version of a rating read here and fails the commit.
+    @Transactional
+    public int apply(Long userId, RatingReplay replay) {
+        List<Rating> ratings = repository.findByUserIdWithOptimisticLock(userId);
+
+        RatingReplay latest = replay.copy();
+        latest.replay(voteEventRepository, userId, Long.MAX_VALUE, properties.getRecomputePageSize());
+
+        List<Rating> changed = new ArrayList<>();
+        List<BigDecimal> deltas = new ArrayList<>();
+
+        for (Rating rating : ratings) {
+            Optional<BigDecimal> points = latest.getPoints(rating.getThumbnail().getId());
+
+            if (points.isEmpty() || points.get().compareTo(rating.getPoints()) == 0) {
+                continue;
+            }
+
+            deltas.add(points.get().subtract(rating.getPoints()));
+            rating.setPoints(points.get());
+            changed.add(rating);
+        }
+
+        for (int i = 0; i < changed.size(); i++) {
+            aggregates.addAfterCommit(changed.get(i).getThumbnail().getId(), deltas.get(i), 0);
+        }
+
+        TransactionCallbacks.afterCommit(() -> changed.forEach(rating ->
+                opponentIndex.update(rating.getUser(), rating.getThumbnail().getId(), rating.getPoints())));
+
+        return changed.size();
+    }
+}
@@ -0,0 +1,82 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.rating;
+
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+// Ratings of one user rebuilt from the user's votes in the order they were logged.
+// Points are kept in hundredths, the scale of Rating.points, and every exchange is rounded the way RatingBatch
+// rounds it, so a replay with the k parameter the votes were played with gives exactly the stored ratings.
+class RatingReplay {
+    private final EloRatingEngine engine;
+    private final long basePoints;
+    private final Map<Long, long[]> points;
+
+    private long lastEventId;
+    private long votes;
+
+    RatingReplay(EloRatingEngine engine, BigDecimal basePoints) {
+        this(engine, toHundredths(basePoints), new HashMap<>(), 0, 0);
+    }
+
+    private RatingReplay(EloRatingEngine engine, long basePoints, Map<Long, long[]> points, long lastEventId, long votes) {
+        this.engine = engine;
+        this.basePoints = basePoints;
+        this.points = points;
+        this.lastEventId = lastEventId;
+        this.votes = votes;
+    }
+
+    // votes of the user with ids after the last replayed one, up to untilId
+    void replay(VoteEventRepository repository, Long userId, long untilId, int pageSize) {
+        PageRequest page = PageRequest.ofSize(pageSize);
+        List<VoteEventRow> rows;
+
+        do {
+            rows = repository.findByUserIdAndIdBetween(userId, lastEventId, untilId, page);
+            rows.forEach(this::apply);
+        } while (rows.size() == pageSize);
+    }
+
+    void apply(VoteEventRow vote) {
+        long[] winner = points.computeIfAbsent(vote.winnerId(), thumbnailId -> new long[]{basePoints});
+        long[] loser = points.computeIfAbsent(vote.loserId(), thumbnailId -> new long[]{basePoints});
+
+        long exchanged = toHundredths(EloRatingEngine.toPoints(
+                engine.pointsExchanged(winner[0] / 100.0, loser[0] / 100.0)));
+
+        winner[0] += exchanged;
+        loser[0] -= exchanged;
+
+        lastEventId = vote.id();
+        votes++;
+    }
+
+    Optional<BigDecimal> getPoints(Long thumbnailId) {
+        return Optional.ofNullable(points.get(thumbnailId))
+                .map(hundredths -> BigDecimal.valueOf(hundredths[0], 2));
+    }
+
+    int size() {
+        return points.size();
+    }
+
+    long getVotes() {
+        return votes;
+    }
+
+    RatingReplay copy() {
+        Map<Long, long[]> copied = new HashMap<>(points.size() * 2);
+        points.forEach((thumbnailId, hundredths) -> copied.put(thumbnailId, hundredths.clone()));
+
+        return new RatingReplay(engine, basePoints, copied, lastEventId, votes);
+    }
+
+    private static long toHundredths(BigDecimal points) {
+        return points.movePointRight(2).longValueExact();
+    }
+}
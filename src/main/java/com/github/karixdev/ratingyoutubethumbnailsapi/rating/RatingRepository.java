@@ -2,12 +2,14 @@ package com.github.karixdev.ratingyoutubethumbnailsapi.rating;
 
 import com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail.Thumbnail;
 import com.github.karixdev.ratingyoutubethumbnailsapi.user.User;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -36,22 +38,45 @@ public interface RatingRepository extends JpaRepository<Rating, Long> {
     );
 
     @Query("""
-            SELECT AVG(rating.points)
+            SELECT rating.thumbnail.id AS thumbnailId, rating.points AS points
             FROM Rating rating
-            WHERE rating.thumbnail = :thumbnail
+            WHERE rating.user = :user
             """)
-    Optional<BigDecimal> findAveragePointsByThumbnail(
-            @Param("thumbnail") Thumbnail thumbnail);
+    List<ThumbnailPoints> findThumbnailPointsByUser(@Param("user") User user);
 
     @Query("""
-            SELECT AVG(rating.points)
+            SELECT rating.thumbnail.id AS thumbnailId,
+                SUM(rating.points) AS pointsSum,
+                COUNT(rating) AS ratingCount
             FROM Rating rating
-            WHERE rating.thumbnail = :thumbnail
-            AND rating.user = :user
+            GROUP BY rating.thumbnail.id
             """)
-    Optional<BigDecimal> findAveragePointsByThumbnailAndUser(
-            @Param("thumbnail") Thumbnail thumbnail,
-            @Param("user") User user
+    List<ThumbnailPointsSum> findAllPointsSums();
+
+    @Query("""
+            SELECT rating.thumbnail.id AS thumbnailId, rating.points AS points
+            FROM Rating rating
+            WHERE rating.user = :user
+            AND rating.thumbnail.id IN :thumbnailIds
+            """)
+    List<ThumbnailPoints> findThumbnailPointsByUserAndThumbnailIdIn(
+            @Param("user") User user,
+            @Param("thumbnailIds") Collection<Long> thumbnailIds
     );
 
+    @Query("""
+            SELECT rating.thumbnail.id AS thumbnailId, rating.points AS points
+            FROM Rating rating
+            WHERE rating.user.id = :userId
+            """)
+    List<ThumbnailPoints> findThumbnailPointsByUserId(@Param("userId") Long userId);
+
+    // versions are checked at commit, even of ratings that are not changed
+    @Lock(LockModeType.OPTIMISTIC)
+    @Query("""
+            SELECT rating
+            FROM Rating rating
+            WHERE rating.user.id = :userId
+            """)
+    List<Rating> findByUserIdWithOptimisticLock(@Param("userId") Long userId);
 }
@@ -1,10 +1,11 @@
 package com.github.karixdev.ratingyoutubethumbnailsapi.rating;
 
-import com.github.karixdev.ratingyoutubethumbnailsapi.game.Game;
+import com.github.karixdev.ratingyoutubethumbnailsapi.rating.payload.response.RatingBatchResponse;
 import com.github.karixdev.ratingyoutubethumbnailsapi.rating.payload.response.RatingResponse;
-import com.github.karixdev.ratingyoutubethumbnailsapi.round.RoundService;
 import com.github.karixdev.ratingyoutubethumbnailsapi.security.UserPrincipal;
+import com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail.RatedThumbnailIndex;
 import com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail.Thumbnail;
+import com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail.ThumbnailCatalogue;
 import com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail.ThumbnailService;
 import com.github.karixdev.ratingyoutubethumbnailsapi.user.User;
 import lombok.RequiredArgsConstructor;
@@ -12,9 +13,16 @@ import org.springframework.stereotype.Service;
 
 import jakarta.transaction.Transactional;
 import java.math.BigDecimal;
-import java.math.RoundingMode;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -22,102 +30,131 @@ public class RatingService {
     private final RatingProperties properties;
     private final RatingRepository repository;
     private final ThumbnailService thumbnailService;
-
-    @Transactional
-    public Thumbnail pickOpponent(Game game, Thumbnail thumbnail, User user) {
-        Rating thumbnailRating = repository
-                .findByThumbnailAndUser(thumbnail, user)
-                .orElseGet(() -> createRatingForThumbnailAndUser(thumbnail, user));
-
-        return thumbnailService.getThumbnailNotInGameWithClosestRating(
-                game,
+    private final OpponentIndex opponentIndex;
+    private final RatingAlgorithm algorithm;
+    private final ThumbnailCatalogue catalogue;
+    private final RatedThumbnailIndex ratedThumbnailIndex;
+    private final RatingAggregates aggregates;
+    private final BradleyTerryRanking ranking;
+    private final RatingLocks locks;
+    private final VoteEventRepository voteEventRepository;
+    private final Clock clock;
+
+    public RatingBatch startBatch(User user) {
+        return new RatingBatch(
                 user,
-                properties.getBasePoints(),
-                thumbnail,
-                thumbnailRating.getPoints()
-        ).orElseThrow(() -> new RuntimeException("Could not find opponent"));
+                repository,
+                properties,
+                algorithm,
+                opponentIndex,
+                catalogue,
+                ratedThumbnailIndex,
+                aggregates,
+                locks,
+                voteEventRepository,
+                clock
+        );
     }
 
     @Transactional
-    public void updateRatings(Thumbnail winner, Thumbnail loser, User user) {
-        Rating winnerRating = repository.findByThumbnailAndUser(winner, user)
-                .orElseGet(() -> createRatingForThumbnailAndUser(winner, user));
+    public Thumbnail pickOpponent(Thumbnail thumbnail, User user, Set<Long> excludedIds) {
+        RatingBatch batch = startBatch(user);
+        Thumbnail opponent = batch.pickOpponent(thumbnail, excludedIds);
+        batch.save();
 
-        Rating loserRating = repository.findByThumbnailAndUser(loser, user)
-                .orElseGet(() -> createRatingForThumbnailAndUser(loser, user));
+        return opponent;
+    }
 
-        BigDecimal probOfWinnerWinning =
-                probabilityOfThumbnailWinning(winnerRating, loserRating);
+    public OpponentCandidates prefetchOpponents(
+            User user,
+            Thumbnail winner,
+            Thumbnail loser,
+            Set<Long> excludedIds,
+            int limit
+    ) {
+        BigDecimal winnerPoints = opponentIndex.getPoints(user, winner.getId());
+        BigDecimal loserPoints = opponentIndex.getPoints(user, loser.getId());
+
+        return opponentIndex.findCandidates(
+                user, winner, algorithm.pointsAfterWin(winnerPoints, loserPoints), excludedIds, limit);
+    }
 
-        BigDecimal winnerNewPoints = (new BigDecimal(properties.getKParameter()))
-                .multiply(BigDecimal.ONE.subtract(probOfWinnerWinning))
-                .add(winnerRating.getPoints());
+    @Transactional
+    public void updateRatings(Thumbnail winner, Thumbnail loser, User user) {
+        RatingBatch batch = startBatch(user);
+        batch.recordWin(winner, loser);
+        batch.save();
+    }
 
-        BigDecimal loserNewPoints = (new BigDecimal(properties.getKParameter()))
-                .multiply(probOfWinnerWinning.subtract(BigDecimal.ONE))
-                .add(loserRating.getPoints());
+    // authenticated responses contain the user's points, so the version is per user,
+    // every Bradley-Terry fit changes the versions of all thumbnails
+    public RatingVersion getThumbnailRatingVersion(String youtubeVideoId, UserPrincipal userPrincipal) {
+        Long thumbnailId = thumbnailService.getThumbnailIdByYoutubeVideoId(youtubeVideoId);
+        String version = aggregates.getVersion(thumbnailId) + "-" + ranking.getVersion();
 
-        winnerRating.setPoints(winnerNewPoints);
-        loserRating.setPoints(loserNewPoints);
+        if (userPrincipal != null) {
+            version += "-" + userPrincipal.getUser().getId();
+        }
 
-        repository.save(winnerRating);
-        repository.save(loserRating);
+        return new RatingVersion(thumbnailId, version);
     }
 
-    private BigDecimal probabilityOfThumbnailWinning(Rating rating, Rating otherRating) {
-        // Goal: 1 / (1 + 10^[{Ra-Rb}/400])
+    public RatingResponse getThumbnailAveragePoints(RatingVersion version, UserPrincipal userPrincipal) {
+        return getAveragePoints(List.of(version.thumbnailId()), userPrincipal)
+                .get(version.thumbnailId());
+    }
 
-        // Ra - Rb
-        double pointsDiff = otherRating.getPoints().subtract(rating.getPoints())
-                .doubleValue();
+    public RatingBatchResponse getThumbnailsAveragePoints(
+            Collection<String> youtubeVideoIds,
+            UserPrincipal userPrincipal
+    ) {
+        Map<String, Long> thumbnailIds =
+                thumbnailService.getThumbnailIdsByYoutubeVideoIds(new LinkedHashSet<>(youtubeVideoIds));
 
-        // (Ra - Rb) / 400
-        double diffDivided = pointsDiff / 400.0;
+        Map<Long, RatingResponse> responses =
+                getAveragePoints(thumbnailIds.values(), userPrincipal);
 
-        // 10^[(Ra - Rb) / 400]
-        double powResult = Math.pow(10.0, diffDivided);
+        Map<String, RatingResponse> ratings = new LinkedHashMap<>();
+        List<String> notFound = new ArrayList<>();
 
-        // 1 + 10^[(Ra - Rb) / 400]
-        double summed = powResult + 1.0;
+        for (String youtubeVideoId : new LinkedHashSet<>(youtubeVideoIds)) {
+            Long thumbnailId = thumbnailIds.get(youtubeVideoId);
 
-        // 1 / (1 + 10^[{Ra-Rb}/400])
-        double inverse = 1 / summed;
+            if (thumbnailId == null) {
+                notFound.add(youtubeVideoId);
+            } else {
+                ratings.put(youtubeVideoId, responses.get(thumbnailId));
+            }
+        }
 
-        return new BigDecimal(inverse)
-                .setScale(2, RoundingMode.HALF_UP);
+        return new RatingBatchResponse(ratings, notFound);
     }
 
-    private Rating createRatingForThumbnailAndUser(Thumbnail thumbnail, User user) {
-        System.out.println("1-1");
-        System.out.println(user);
-        return repository.save(Rating.builder()
-                .user(user)
-                .thumbnail(thumbnail)
-                .points(properties.getBasePoints())
-                .build());
-    }
+    private Map<Long, RatingResponse> getAveragePoints(Collection<Long> thumbnailIds, UserPrincipal userPrincipal) {
+        Map<Long, BigDecimal> userPoints = new HashMap<>();
 
-    public RatingResponse getThumbnailAveragePoints(String youtubeVideoId, UserPrincipal userPrincipal) {
-        Thumbnail thumbnail =
-                thumbnailService.getThumbnailByYoutubeVideoId(youtubeVideoId);
+        if (userPrincipal != null && !thumbnailIds.isEmpty()) {
+            repository.findThumbnailPointsByUserAndThumbnailIdIn(userPrincipal.getUser(), thumbnailIds)
+                    .forEach(points -> userPoints.put(points.getThumbnailId(), points.getPoints()));
+        }
 
-        RatingResponse response = new RatingResponse();
+        Map<Long, RatingResponse> responses = new HashMap<>();
 
-        Optional<BigDecimal> globalAvg =
-                repository.findAveragePointsByThumbnail(thumbnail);
+        for (Long thumbnailId : thumbnailIds) {
+            RatingResponse response = new RatingResponse();
 
-        response.setGlobalRatingPoints(
-                globalAvg.orElseGet(properties::getBasePoints));
+            response.setGlobalRatingPoints(aggregates.getAveragePoints(thumbnailId)
+                    .orElseGet(properties::getBasePoints));
+            response.setBradleyTerryPoints(ranking.getPoints(thumbnailId).orElse(null));
 
-        if (userPrincipal != null) {
-            Optional<BigDecimal> userAvg =
-                    repository.findAveragePointsByThumbnailAndUser(
-                            thumbnail, userPrincipal.getUser());
+            if (userPrincipal != null) {
+                response.setUserRatingPoints(Optional.ofNullable(userPoints.get(thumbnailId))
+                        .orElseGet(properties::getBasePoints));
+            }
 
-            response.setUserRatingPoints(
-                    userAvg.orElseGet(properties::getBasePoints));
+            responses.put(thumbnailId, response);
         }
 
-        return response;
+        return responses;
     }
 }
@@ -0,0 +1,69 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.rating;
+
+import com.github.karixdev.ratingyoutubethumbnailsapi.rating.exception.RatingUpdateConflictException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+// Runs a transaction that updates ratings again when it lost a race for one of them: another instance committed
+// a newer version of a rating (@Version), a rating lock timed out or the database reported a deadlock.
+// Must be called outside of a transaction, gives up after update.max-attempts with 409.
+@Slf4j
+@Component
+public class RatingUpdateRetry {
+    private static final long BACKOFF_MILLIS = 5;
+
+    private final int maxAttempts;
+
+    private final Counter versionRetries;
+    private final Counter lockRetries;
+    private final Counter conflicts;
+
+    public RatingUpdateRetry(RatingProperties properties, MeterRegistry meterRegistry) {
+        this.maxAttempts = properties.getUpdateMaxAttempts();
+
+        this.versionRetries = retryCounter(meterRegistry, "version");
+        this.lockRetries = retryCounter(meterRegistry, "lock");
+        this.conflicts = Counter.builder("rating.update.conflicts")
+                .register(meterRegistry);
+    }
+
+    public <T> T run(Supplier<T> update) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return update.get();
+            } catch (ConcurrencyFailureException e) {
+                if (attempt >= maxAttempts || !backOff(attempt)) {
+                    conflicts.increment();
+                    throw new RatingUpdateConflictException(e);
+                }
+
+                (e instanceof OptimisticLockingFailureException ? versionRetries : lockRetries).increment();
+                log.debug("Retrying rating update, attempt {} failed: {}", attempt, e.getMessage());
+            }
+        }
+    }
+
+    // random delay, so updates that failed each other do not meet again
+    private boolean backOff(int attempt) {
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(BACKOFF_MILLIS << attempt));
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static Counter retryCounter(MeterRegistry meterRegistry, String cause) {
+        return Counter.builder("rating.update.retries")
+                .tag("cause", cause)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,4 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.rating;
+
+public record RatingVersion(Long thumbnailId, String eTag) {
+}
@@ -0,0 +1,9 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.rating;
+
+import java.math.BigDecimal;
+
+public interface ThumbnailPoints {
+    Long getThumbnailId();
+
+    BigDecimal getPoints();
+}
@@ -0,0 +1,11 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.rating;
+
+import java.math.BigDecimal;
+
+public interface ThumbnailPointsSum {
+    Long getThumbnailId();
+
+    BigDecimal getPointsSum();
+
+    Long getRatingCount();
+}
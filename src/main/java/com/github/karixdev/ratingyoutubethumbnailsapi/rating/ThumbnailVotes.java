@@ -0,0 +1,3 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.rating;
+
+public record ThumbnailVotes(long thumbnailId, long votes) {}
@@ -0,0 +1,228 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.rating;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+class UserRatingIndex {
+    private static final Comparator<RatedThumbnail> BY_POINTS = Comparator
+            .comparingDouble(RatedThumbnail::points)
+            .thenComparingLong(RatedThumbnail::thumbnailId);
+
+    // shared across indexes, so a reloaded index never repeats a version of the evicted one
+    private static final AtomicLong VERSIONS = new AtomicLong();
+
+    private final NavigableSet<RatedThumbnail> byPoints = new TreeSet<>(BY_POINTS);
+    private final Map<Long, Double> pointsByThumbnailId = new HashMap<>();
+    // only kept when the opponent selector counts votes
+    private final Map<Long, Integer> votesByThumbnailId = new HashMap<>();
+
+    // every catalogue id below the cursor is known to be rated by the user, as of the catalogue version;
+    // pooled ids are not assigned in order, so a thumbnail added later may be below it
+    private long unratedCursor = Long.MIN_VALUE;
+    private long unratedCursorCatalogueVersion;
+
+    private long version = VERSIONS.incrementAndGet();
+
+    synchronized void put(long thumbnailId, double points) {
+        Double previous = pointsByThumbnailId.put(thumbnailId, points);
+
+        if (previous != null) {
+            byPoints.remove(new RatedThumbnail(previous, thumbnailId));
+        }
+
+        byPoints.add(new RatedThumbnail(points, thumbnailId));
+        version = VERSIONS.incrementAndGet();
+    }
+
+    synchronized void remove(long thumbnailId) {
+        Double previous = pointsByThumbnailId.remove(thumbnailId);
+
+        if (previous != null) {
+            byPoints.remove(new RatedThumbnail(previous, thumbnailId));
+            version = VERSIONS.incrementAndGet();
+        }
+    }
+
+    synchronized void rewindUnratedCursorIfChanged(long catalogueVersion) {
+        if (catalogueVersion != unratedCursorCatalogueVersion) {
+            unratedCursor = Long.MIN_VALUE;
+            unratedCursorCatalogueVersion = catalogueVersion;
+        }
+    }
+
+    synchronized void addVotes(long thumbnailId, int votes) {
+        votesByThumbnailId.merge(thumbnailId, votes, Integer::sum);
+    }
+
+    synchronized int getVotes(long thumbnailId) {
+        return votesByThumbnailId.getOrDefault(thumbnailId, 0);
+    }
+
+    synchronized long getVersion() {
+        return version;
+    }
+
+    synchronized OptionalDouble getPoints(long thumbnailId) {
+        Double points = pointsByThumbnailId.get(thumbnailId);
+
+        return points == null ? OptionalDouble.empty() : OptionalDouble.of(points);
+    }
+
+    synchronized int size() {
+        return pointsByThumbnailId.size();
+    }
+
+    // from the highest points; counting the thumbnails above the cursor is linear in their number
+    synchronized Optional<List<RankedThumbnail>> getRanking(Long afterThumbnailId, int size) {
+        NavigableSet<RatedThumbnail> descending = byPoints.descendingSet();
+        long rank = 1;
+
+        if (afterThumbnailId != null) {
+            Double afterPoints = pointsByThumbnailId.get(afterThumbnailId);
+
+            if (afterPoints == null) {
+                return Optional.empty();
+            }
+
+            RatedThumbnail after = new RatedThumbnail(afterPoints, afterThumbnailId);
+            rank += descending.headSet(after, true).size();
+            descending = descending.tailSet(after, false);
+        }
+
+        List<RankedThumbnail> result = new ArrayList<>(Math.min(size, descending.size()));
+
+        for (RatedThumbnail rated : descending) {
+            if (result.size() == size) {
+                break;
+            }
+
+            result.add(new RankedThumbnail(rank++, rated.thumbnailId(), EloRatingEngine.toPoints(rated.points())));
+        }
+
+        return Optional.of(result);
+    }
+
+    synchronized OptionalLong findClosest(
+            double points,
+            Set<Long> excludedIds,
+            NavigableSet<Long> catalogue,
+            double basePoints
+    ) {
+        RatedThumbnail closestRated = findClosestRated(points, excludedIds, catalogue);
+
+        double ratedDistance = closestRated == null
+                ? Double.POSITIVE_INFINITY
+                : Math.abs(closestRated.points() - points);
+
+        if (Math.abs(basePoints - points) < ratedDistance) {
+            OptionalLong unrated = findUnrated(excludedIds, catalogue);
+
+            if (unrated.isPresent()) {
+                return unrated;
+            }
+        }
+
+        return closestRated == null
+                ? OptionalLong.empty()
+                : OptionalLong.of(closestRated.thumbnailId());
+    }
+
+    // Rated thumbnails not further than maxDistance, closest first, followed by an unrated one
+    // with base points when they are not further either.
+    synchronized List<Candidate> findWithin(
+            double points,
+            double maxDistance,
+            Set<Long> excludedIds,
+            NavigableSet<Long> catalogue,
+            double basePoints,
+            int limit
+    ) {
+        List<Candidate> result = new ArrayList<>();
+
+        for (RatedThumbnail rated : findClosestRated(points, excludedIds, catalogue, maxDistance, limit)) {
+            result.add(new Candidate(rated.thumbnailId(), rated.points(), getVotes(rated.thumbnailId())));
+        }
+
+        if (Math.abs(basePoints - points) <= maxDistance) {
+            findUnrated(excludedIds, catalogue)
+                    .ifPresent(id -> result.add(new Candidate(id, basePoints, getVotes(id))));
+        }
+
+        return result;
+    }
+
+    private RatedThumbnail findClosestRated(double points, Set<Long> excludedIds, NavigableSet<Long> catalogue) {
+        List<RatedThumbnail> closest =
+                findClosestRated(points, excludedIds, catalogue, Double.POSITIVE_INFINITY, 1);
+
+        return closest.isEmpty() ? null : closest.get(0);
+    }
+
+    private List<RatedThumbnail> findClosestRated(
+            double points,
+            Set<Long> excludedIds,
+            NavigableSet<Long> catalogue,
+            double maxDistance,
+            int limit
+    ) {
+        RatedThumbnail probe = new RatedThumbnail(points, Long.MIN_VALUE);
+
+        Iterator<RatedThumbnail> lower = byPoints.headSet(probe, false).descendingIterator();
+        Iterator<RatedThumbnail> higher = byPoints.tailSet(probe, true).iterator();
+
+        RatedThumbnail nextLower = lower.hasNext() ? lower.next() : null;
+        RatedThumbnail nextHigher = higher.hasNext() ? higher.next() : null;
+
+        List<Long> removedFromCatalogue = new ArrayList<>();
+        List<RatedThumbnail> result = new ArrayList<>();
+
+        while ((nextLower != null || nextHigher != null) && result.size() < limit) {
+            RatedThumbnail candidate;
+
+            if (nextHigher == null || (nextLower != null &&
+                    points - nextLower.points() <= nextHigher.points() - points)) {
+                candidate = nextLower;
+                nextLower = lower.hasNext() ? lower.next() : null;
+            } else {
+                candidate = nextHigher;
+                nextHigher = higher.hasNext() ? higher.next() : null;
+            }
+
+            if (Math.abs(candidate.points() - points) > maxDistance) {
+                break;
+            }
+
+            if (!catalogue.contains(candidate.thumbnailId())) {
+                removedFromCatalogue.add(candidate.thumbnailId());
+                continue;
+            }
+
+            if (!excludedIds.contains(candidate.thumbnailId())) {
+                result.add(candidate);
+            }
+        }
+
+        removedFromCatalogue.forEach(this::remove);
+
+        return result;
+    }
+
+    private OptionalLong findUnrated(Set<Long> excludedIds, NavigableSet<Long> catalogue) {
+        Long id = catalogue.ceiling(unratedCursor);
+
+        while (id != null && pointsByThumbnailId.containsKey(id)) {
+            unratedCursor = id + 1;
+            id = catalogue.higher(id);
+        }
+
+        while (id != null && (pointsByThumbnailId.containsKey(id) || excludedIds.contains(id))) {
+            id = catalogue.higher(id);
+        }
+
+        return id == null ? OptionalLong.empty() : OptionalLong.of(id);
+    }
+
+    record Candidate(long thumbnailId, double points, int votes) {}
+
+    private record RatedThumbnail(double points, long thumbnailId) {}
+}
@@ -0,0 +1,86 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.rating;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Builder
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@Entity
+@Table(
+        name = "vote_event",
+        indexes = {
+                @Index(
+                        name = "vote_event_user_id_id_idx",
+                        columnList = "user_id, id"
+                ),
+                @Index(
+                        name = "vote_event_period_id_user_id_idx",
+                        columnList = "period_id, user_id"
+                ),
+                @Index(
+                        name = "vote_event_winner_id_loser_id_idx",
+                        columnList = "winner_id, loser_id"
+                )
+        }
+)
+public class VoteEvent {
+    @Id
+    @GeneratedValue(
+            strategy = GenerationType.SEQUENCE,
+            generator = "vote_event_gen"
+    )
+    @SequenceGenerator(
+            name = "vote_event_gen",
+            sequenceName = "vote_event_seq",
+            allocationSize = 50
+    )
+    @Column(
+            name = "id",
+            nullable = false,
+            updatable = false
+    )
+    @EqualsAndHashCode.Include
+    private Long id;
+
+    @Column(
+            name = "user_id",
+            nullable = false,
+            updatable = false
+    )
+    private Long userId;
+
+    @Column(
+            name = "winner_id",
+            nullable = false,
+            updatable = false
+    )
+    private Long winnerId;
+
+    @Column(
+            name = "loser_id",
+            nullable = false,
+            updatable = false
+    )
+    private Long loserId;
+
+    @Column(
+            name = "created_at",
+            nullable = false,
+            updatable = false
+    )
+    private LocalDateTime createdAt;
+
+    // set by VoteEventRepository.assignPeriod
+    @Column(
+            name = "period_id",
+            insertable = false,
+            updatable = false
+    )
+    private Long periodId;
+}
@@ -0,0 +1,121 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.rating;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface VoteEventRepository extends JpaRepository<VoteEvent, Long> {
+    @Query("""
+            SELECT MAX(event.id)
+            FROM VoteEvent event
+            """)
+    Optional<Long> findMaxId();
+
+    @Query("""
+            SELECT DISTINCT event.userId
+            FROM VoteEvent event
+            WHERE event.id <= :maxId
+            ORDER BY event.userId
+            """)
+    List<Long> findUserIds(@Param("maxId") Long maxId);
+
+    @Query("""
+            SELECT new com.github.karixdev.ratingyoutubethumbnailsapi.rating.VoteEventRow(
+                event.id, event.winnerId, event.loserId
+            )
+            FROM VoteEvent event
+            WHERE event.userId = :userId
+            AND event.id > :afterId
+            AND event.id <= :maxId
+            ORDER BY event.id
+            """)
+    List<VoteEventRow> findByUserIdAndIdBetween(
+            @Param("userId") Long userId,
+            @Param("afterId") Long afterId,
+            @Param("maxId") Long maxId,
+            Pageable pageable
+    );
+
+    boolean existsByPeriodIdIsNull();
+
+    // votes committed later are left for the next period
+    @Modifying
+    @Query("""
+            UPDATE VoteEvent event
+            SET event.periodId = :periodId
+            WHERE event.periodId IS NULL
+            """)
+    int assignPeriod(@Param("periodId") Long periodId);
+
+    @Query("""
+            SELECT DISTINCT event.userId
+            FROM VoteEvent event
+            WHERE event.periodId = :periodId
+            ORDER BY event.userId
+            """)
+    List<Long> findUserIdsByPeriodId(@Param("periodId") Long periodId);
+
+    @Query("""
+            SELECT new com.github.karixdev.ratingyoutubethumbnailsapi.rating.VoteEventRow(
+                event.id, event.winnerId, event.loserId
+            )
+            FROM VoteEvent event
+            WHERE event.periodId = :periodId
+            AND event.userId = :userId
+            AND event.id > :afterId
+            ORDER BY event.id
+            """)
+    List<VoteEventRow> findByPeriodIdAndUserIdAndIdAfter(
+            @Param("periodId") Long periodId,
+            @Param("userId") Long userId,
+            @Param("afterId") Long afterId,
+            Pageable pageable
+    );
+
+    @Query("""
+            SELECT MAX(event.winnerId)
+            FROM VoteEvent event
+            """)
+    Optional<Long> findMaxWinnerId();
+
+    @Query("""
+            SELECT new com.github.karixdev.ratingyoutubethumbnailsapi.rating.PairCount(
+                event.winnerId, event.loserId, COUNT(event)
+            )
+            FROM VoteEvent event
+            WHERE event.winnerId > :afterWinnerId
+            AND event.winnerId <= :toWinnerId
+            GROUP BY event.winnerId, event.loserId
+            """)
+    List<PairCount> findPairCounts(
+            @Param("afterWinnerId") Long afterWinnerId,
+            @Param("toWinnerId") Long toWinnerId
+    );
+
+    @Query("""
+            SELECT new com.github.karixdev.ratingyoutubethumbnailsapi.rating.ThumbnailVotes(
+                event.winnerId, COUNT(event)
+            )
+            FROM VoteEvent event
+            WHERE event.userId = :userId
+            GROUP BY event.winnerId
+            """)
+    List<ThumbnailVotes> findWinsByUserId(@Param("userId") Long userId);
+
+    @Query("""
+            SELECT new com.github.karixdev.ratingyoutubethumbnailsapi.rating.ThumbnailVotes(
+                event.loserId, COUNT(event)
+            )
+            FROM VoteEvent event
+            WHERE event.userId = :userId
+            GROUP BY event.loserId
+            """)
+    List<ThumbnailVotes> findLossesByUserId(@Param("userId") Long userId);
+}
@@ -0,0 +1,4 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.rating;
+
+// read by replays instead of VoteEvent, without the managed entity overhead
+public record VoteEventRow(long id, long winnerId, long loserId) {}
@@ -0,0 +1,11 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.rating.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidRatingHistoryResolutionException extends RuntimeException {
+    public InvalidRatingHistoryResolutionException() {
+        super("Resolution must be one of: minute, hour, day");
+    }
+}
@@ -0,0 +1,11 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.rating.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class RatingUpdateConflictException extends RuntimeException {
+    public RatingUpdateConflictException(Throwable cause) {
+        super("Ratings were updated concurrently, try again", cause);
+    }
+}
@@ -0,0 +1,21 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.rating.payload.request;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class RatingBatchRequest {
+    @JsonProperty("youtube_video_ids")
+    @NotEmpty
+    @Size(max = 500)
+    private List<@NotBlank String> youtubeVideoIds;
+}
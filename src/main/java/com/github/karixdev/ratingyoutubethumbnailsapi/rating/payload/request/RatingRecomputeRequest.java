@@ -0,0 +1,25 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.rating.payload.request;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class RatingRecomputeRequest {
+    @JsonProperty("base_points")
+    @Positive
+    private BigDecimal basePoints;
+
+    @JsonProperty("k_parameter")
+    @Positive
+    private Integer kParameter;
+
+    @JsonProperty("apply")
+    private boolean apply;
+}
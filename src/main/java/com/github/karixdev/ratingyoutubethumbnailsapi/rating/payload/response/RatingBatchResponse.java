@@ -0,0 +1,20 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.rating.payload.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RatingBatchResponse {
+    @JsonProperty("ratings")
+    private Map<String, RatingResponse> ratings;
+
+    @JsonProperty("not_found")
+    private List<String> notFound;
+}
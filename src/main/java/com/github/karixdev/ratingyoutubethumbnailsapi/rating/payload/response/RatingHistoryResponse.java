@@ -0,0 +1,35 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.rating.payload.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class RatingHistoryResponse {
+    @JsonProperty("bucket_start")
+    private LocalDateTime bucketStart;
+
+    // average points of the thumbnail at the end of the bucket
+    @JsonProperty("points")
+    private BigDecimal points;
+
+    @JsonProperty("min_points")
+    private BigDecimal minPoints;
+
+    @JsonProperty("max_points")
+    private BigDecimal maxPoints;
+
+    @JsonProperty("average_points")
+    private BigDecimal averagePoints;
+
+    @JsonProperty("samples")
+    private Long samples;
+}
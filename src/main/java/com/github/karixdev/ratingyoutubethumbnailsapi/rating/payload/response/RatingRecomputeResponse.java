@@ -0,0 +1,48 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.rating.payload.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class RatingRecomputeResponse {
+    @JsonProperty("base_points")
+    private BigDecimal basePoints;
+
+    @JsonProperty("k_parameter")
+    private Integer kParameter;
+
+    @JsonProperty("users")
+    private long users;
+
+    @JsonProperty("votes")
+    private long votes;
+
+    @JsonProperty("ratings")
+    private long ratings;
+
+    @JsonProperty("changed")
+    private long changed;
+
+    @JsonProperty("without_votes")
+    private long withoutVotes;
+
+    @JsonProperty("max_difference")
+    private BigDecimal maxDifference;
+
+    @JsonProperty("applied")
+    private long applied;
+
+    @JsonProperty("failed")
+    private long failed;
+
+    @JsonProperty("duration_millis")
+    private long durationMillis;
+}
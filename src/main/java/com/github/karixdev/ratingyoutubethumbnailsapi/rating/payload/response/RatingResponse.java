@@ -16,4 +16,12 @@ public class RatingResponse {
 
     @JsonProperty("user_rating_points")
     private BigDecimal userRatingPoints;
+
+    // null until the thumbnail is part of a Bradley-Terry fit
+    @JsonProperty("bradley_terry_points")
+    private BigDecimal bradleyTerryPoints;
+
+    public RatingResponse(BigDecimal globalRatingPoints, BigDecimal userRatingPoints) {
+        this(globalRatingPoints, userRatingPoints, null);
+    }
 }
@@ -4,6 +4,8 @@ import com.github.karixdev.ratingyoutubethumbnailsapi.game.Game;
 import com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail.Thumbnail;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
@@ -16,7 +18,13 @@ import java.util.UUID;
 @AllArgsConstructor
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
 @Entity
-@Table(name = "round")
+@Table(
+        name = "round",
+        indexes = @Index(
+                name = "round_game_id_created_at_id_idx",
+                columnList = "game_id, created_at, id"
+        )
+)
 public class Round {
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
@@ -32,6 +40,7 @@ public class Round {
     @ToString.Exclude
     @ManyToOne(optional = false)
     @JoinColumn(name = "game_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
     private Game game;
 
     @ToString.Exclude
@@ -44,6 +53,12 @@ public class Round {
     @JoinColumn(name = "thumbnail_2_id", nullable = false)
     private Thumbnail thumbnail2;
 
+    // set when the result of the round is sent
+    @ToString.Exclude
+    @ManyToOne
+    @JoinColumn(name = "winner_id")
+    private Thumbnail winner;
+
     @Column(
             name = "created_at",
             nullable = false
@@ -1,9 +1,74 @@
 package com.github.karixdev.ratingyoutubethumbnailsapi.round;
 
+import com.github.karixdev.ratingyoutubethumbnailsapi.game.Game;
+import com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail.Thumbnail;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 @Repository
-public interface RoundRepository extends JpaRepository<Round, UUID> {}
+public interface RoundRepository extends JpaRepository<Round, UUID> {
+    @Query("""
+            SELECT round
+            FROM Round round
+            WHERE round.game = :game
+            ORDER BY round.createdAt DESC, round.id DESC
+            """)
+    List<Round> findByGameOrderByCreatedAtDesc(
+            @Param("game") Game game,
+            Pageable pageable
+    );
+
+    @Query("""
+            SELECT round
+            FROM Round round
+            WHERE round.game = :game
+            AND (
+                round.createdAt < :createdAt
+                OR (round.createdAt = :createdAt AND round.id < :id)
+            )
+            ORDER BY round.createdAt DESC, round.id DESC
+            """)
+    List<Round> findByGameBeforeOrderByCreatedAtDesc(
+            @Param("game") Game game,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") UUID id,
+            Pageable pageable
+    );
+
+    @Query("""
+            SELECT CASE
+                WHEN round.thumbnail1.id = :thumbnailId THEN round.thumbnail2.id
+                ELSE round.thumbnail1.id
+            END
+            FROM Round round
+            WHERE round.game.id = :gameId
+            AND (round.thumbnail1.id = :thumbnailId OR round.thumbnail2.id = :thumbnailId)
+            """)
+    List<Long> findOpponentIdsOf(
+            @Param("gameId") Long gameId,
+            @Param("thumbnailId") Long thumbnailId
+    );
+
+    @Modifying(flushAutomatically = true)
+    @Query("""
+            UPDATE Round round
+            SET round.winner = :winner
+            WHERE round.id = (
+                SELECT game.currentRound.id
+                FROM Game game
+                WHERE game.id = :gameId
+            )
+            """)
+    void updateWinnerOfCurrentRound(
+            @Param("gameId") Long gameId,
+            @Param("winner") Thumbnail winner
+    );
+}
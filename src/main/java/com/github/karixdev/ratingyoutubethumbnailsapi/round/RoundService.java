@@ -1,25 +1,76 @@
 package com.github.karixdev.ratingyoutubethumbnailsapi.round;
 
 import com.github.karixdev.ratingyoutubethumbnailsapi.game.Game;
+import com.github.karixdev.ratingyoutubethumbnailsapi.shared.exception.ResourceNotFoundException;
 import com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail.Thumbnail;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
 @Service
 @RequiredArgsConstructor
 public class RoundService {
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final RoundRepository repository;
 
     @Transactional
-    public Round create(Game game, Thumbnail thumbnail1, Thumbnail thumbnail2) {
+    public Round create(Game game, Thumbnail thumbnail1, Thumbnail thumbnail2, LocalDateTime createdAt) {
         Round round = Round.builder()
                 .game(game)
                 .thumbnail1(thumbnail1)
                 .thumbnail2(thumbnail2)
+                .createdAt(createdAt)
                 .build();
 
         return repository.save(round);
     }
 
+    @Transactional
+    public List<Round> saveAll(List<Round> rounds) {
+        return repository.saveAll(rounds);
+    }
+
+    // before the game's current round is replaced
+    @Transactional
+    public void setWinnerOfCurrentRound(Long gameId, Thumbnail winner) {
+        repository.updateWinnerOfCurrentRound(gameId, winner);
+    }
+
+    public Optional<Round> findLatest(Game game) {
+        return repository.findByGameOrderByCreatedAtDesc(game, PageRequest.ofSize(1))
+                .stream()
+                .findFirst();
+    }
+
+    public List<Round> getHistory(Game game, UUID before, int size) {
+        PageRequest page = PageRequest.ofSize(Math.max(1, Math.min(size, MAX_PAGE_SIZE)));
+
+        if (before == null) {
+            return repository.findByGameOrderByCreatedAtDesc(game, page);
+        }
+
+        Round cursor = repository.findById(before)
+                .filter(round -> round.getGame().equals(game))
+                .orElseThrow(() -> new ResourceNotFoundException("Round with provided id was not found"));
+
+        return repository.findByGameBeforeOrderByCreatedAtDesc(
+                game,
+                cursor.getCreatedAt(),
+                cursor.getId(),
+                page
+        );
+    }
+
+    public Set<Long> getOpponentIdsOf(Long gameId, Long thumbnailId) {
+        return new HashSet<>(repository.findOpponentIdsOf(gameId, thumbnailId));
+    }
 }
@@ -0,0 +1,43 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.round.payload.response;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.github.karixdev.ratingyoutubethumbnailsapi.round.Round;
+import com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail.payload.response.ThumbnailResponse;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class RoundResponse {
+    @JsonProperty("id")
+    UUID id;
+
+    @JsonProperty("thumbnails")
+    @JsonIgnoreProperties({"youtube_video_id", "added_by"})
+    List<ThumbnailResponse> thumbnails;
+
+    @JsonProperty("winner_id")
+    Long winnerId;
+
+    @JsonProperty("created_at")
+    LocalDateTime createdAt;
+
+    public RoundResponse(Round round) {
+        this.id = round.getId();
+        this.thumbnails = List.of(
+                new ThumbnailResponse(round.getThumbnail1()),
+                new ThumbnailResponse(round.getThumbnail2())
+        );
+        this.winnerId = round.getWinner() == null ? null : round.getWinner().getId();
+        this.createdAt = round.getCreatedAt();
+    }
+}
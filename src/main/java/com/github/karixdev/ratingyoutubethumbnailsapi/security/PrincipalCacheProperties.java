@@ -0,0 +1,20 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.security;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+@Getter
+@Service
+public class PrincipalCacheProperties {
+    private final Long ttlSeconds;
+    private final Integer maxSize;
+
+    public PrincipalCacheProperties(
+            @Value("${principal-cache.ttl-seconds}") Long ttlSeconds,
+            @Value("${principal-cache.max-size}") Integer maxSize
+    ) {
+        this.ttlSeconds = ttlSeconds;
+        this.maxSize = maxSize;
+    }
+}
@@ -1,6 +1,7 @@
 package com.github.karixdev.ratingyoutubethumbnailsapi.security;
 
 import com.github.karixdev.ratingyoutubethumbnailsapi.jwt.JwtAuthFilter;
+import com.github.karixdev.ratingyoutubethumbnailsapi.user.UserRole;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -25,6 +26,7 @@ public class SecurityConfig {
     private final UserDetailsServiceImpl userDetailsService;
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
+    private final UserPrincipalCache principalCache;
 
     private static final String[] AUTH_WHITELIST = {
             // -- Swagger UI v2
@@ -49,8 +51,15 @@ public class SecurityConfig {
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/api/v1/auth/**").permitAll()
                         .requestMatchers("/api/v1/email-verification/**").permitAll()
+                        .requestMatchers("/api/v1/rating/recompute").hasAuthority(UserRole.ROLE_ADMIN.name())
                         .requestMatchers("/api/v1/rating/**").permitAll()
+                        .requestMatchers("/api/v1/leaderboard/me").authenticated()
+                        .requestMatchers("/api/v1/leaderboard", "/api/v1/leaderboard/*").permitAll()
                         .requestMatchers("/error").permitAll()
+                        .requestMatchers("/actuator/health").permitAll()
+                        .requestMatchers("/actuator/**").hasAuthority(UserRole.ROLE_ADMIN.name())
+                        .requestMatchers("/api/v1/thumbnail/import").hasAuthority(UserRole.ROLE_ADMIN.name())
+                        .requestMatchers("/api/v1/thumbnail/*/head-to-head").permitAll()
                         .requestMatchers(AUTH_WHITELIST).permitAll()
                         .anyRequest().authenticated()
                 )
@@ -66,7 +75,7 @@ public class SecurityConfig {
 
     @Bean
     JwtAuthFilter jwtAuthFilter() {
-        return new JwtAuthFilter(jwtService, userDetailsService);
+        return new JwtAuthFilter(jwtService, userDetailsService, principalCache);
     }
 
     @Bean
@@ -0,0 +1,127 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.security;
+
+import com.github.karixdev.ratingyoutubethumbnailsapi.user.User;
+import com.github.karixdev.ratingyoutubethumbnailsapi.user.UserRole;
+import com.github.karixdev.ratingyoutubethumbnailsapi.user.UserUpdatedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+// Caches an immutable snapshot of the user behind a token, every hit gets a principal with a new User,
+// so requests never share a mutable entity.
+@Component
+public class UserPrincipalCache {
+    private final Clock clock;
+    private final PrincipalCacheProperties properties;
+
+    private final Map<String, CachedPrincipal> principals;
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private final Counter hits;
+    private final Counter misses;
+
+    public UserPrincipalCache(Clock clock, PrincipalCacheProperties properties, MeterRegistry meterRegistry) {
+        this.clock = clock;
+        this.properties = properties;
+        this.principals = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedPrincipal> eldest) {
+                return size() > properties.getMaxSize();
+            }
+        });
+
+        this.hits = Counter.builder("principal.cache.requests")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("principal.cache.requests")
+                .tag("result", "miss")
+                .register(meterRegistry);
+
+        // every hit is a UserRepository.findByEmail query that was not sent
+        FunctionCounter.builder("principal.cache.user.queries.saved", hits, Counter::count)
+                .register(meterRegistry);
+        Gauge.builder("principal.cache.hit.ratio", this, UserPrincipalCache::getHitRatio)
+                .register(meterRegistry);
+        Gauge.builder("principal.cache.size", principals, Map::size)
+                .register(meterRegistry);
+    }
+
+    public UserPrincipal get(String email, Function<String, UserPrincipal> loader) {
+        Instant now = Instant.now(clock);
+        CachedPrincipal cached = principals.get(email);
+
+        if (cached != null && now.isBefore(cached.expiresAt())) {
+            hits.increment();
+            return cached.snapshot().toPrincipal();
+        }
+
+        misses.increment();
+
+        // an invalidation that happens while loading may have been missed by the loaded principal
+        long invalidationsBeforeLoad = invalidations.get();
+        UserPrincipal principal = loader.apply(email);
+
+        if (invalidations.get() == invalidationsBeforeLoad) {
+            principals.put(email, new CachedPrincipal(
+                    PrincipalSnapshot.of(principal.getUser()),
+                    now.plusSeconds(properties.getTtlSeconds())
+            ));
+        }
+
+        return principal;
+    }
+
+    public void invalidate(String email) {
+        invalidations.incrementAndGet();
+        principals.remove(email);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserUpdated(UserUpdatedEvent event) {
+        invalidate(event.email());
+    }
+
+    public double getHitRatio() {
+        double requests = hits.count() + misses.count();
+
+        return requests == 0 ? 0 : hits.count() / requests;
+    }
+
+    private record CachedPrincipal(PrincipalSnapshot snapshot, Instant expiresAt) {
+    }
+
+    // the password is left out, a cached principal only authenticates tokens
+    private record PrincipalSnapshot(Long id, String email, String username, UserRole userRole, boolean enabled) {
+        static PrincipalSnapshot of(User user) {
+            return new PrincipalSnapshot(
+                    user.getId(),
+                    user.getEmail(),
+                    user.getUsername(),
+                    user.getUserRole(),
+                    user.getIsEnabled()
+            );
+        }
+
+        // detached, associations to it are resolved by its id
+        UserPrincipal toPrincipal() {
+            return new UserPrincipal(User.builder()
+                    .id(id)
+                    .email(email)
+                    .username(username)
+                    .userRole(userRole)
+                    .isEnabled(enabled)
+                    .build());
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail;
+
+import com.github.karixdev.ratingyoutubethumbnailsapi.user.User;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Ids of the thumbnails rated by every user kept as compressed bitmaps.
+// Votes add to a cached bitmap after commit and collect the ids until a flush adds them to user_rated_thumbnails,
+// so the vote transactions never touch the table. The recently updated bitmaps are loaded on start.
+// A persisted bitmap whose size differs from the user's number of ratings is rebuilt from the ratings.
+// A cached bitmap is never mutated, writers replace it.
+@Slf4j
+@Component
+public class RatedThumbnailIndex {
+    private static final int WRITE_STRIPES = 64;
+
+    private final UserRatedThumbnailsRepository repository;
+    private final ThumbnailRepository thumbnailRepository;
+    private final ThumbnailCatalogue catalogue;
+    private final RatedThumbnailWriter writer;
+    private final ThumbnailProperties properties;
+
+    private final Map<Long, Roaring64Bitmap> bitmaps;
+    // incremented before a writer updates the cache, striped by user id
+    private final AtomicLongArray writes = new AtomicLongArray(WRITE_STRIPES);
+
+    // held while flushing, so a failed flush is put back before the next one starts
+    private final Object flushLock = new Object();
+
+    // guarded by this
+    private Map<Long, Roaring64Bitmap> pending = new HashMap<>();
+
+    public RatedThumbnailIndex(
+            UserRatedThumbnailsRepository repository,
+            ThumbnailRepository thumbnailRepository,
+            ThumbnailCatalogue catalogue,
+            RatedThumbnailWriter writer,
+            ThumbnailProperties properties
+    ) {
+        this.repository = repository;
+        this.thumbnailRepository = thumbnailRepository;
+        this.catalogue = catalogue;
+        this.writer = writer;
+        this.properties = properties;
+        this.bitmaps = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Roaring64Bitmap> eldest) {
+                return size() > properties.getRatedIndexMaxUsers();
+            }
+        });
+    }
+
+    public long[] findUnratedIds(User user) {
+        Roaring64Bitmap unrated = catalogue.getIdBitmap();
+        unrated.andNot(getRatedIds(user));
+
+        return unrated.toArray();
+    }
+
+    // called after the ratings of the thumbnails were committed
+    public void addRated(User user, Collection<Long> thumbnailIds) {
+        if (thumbnailIds.isEmpty()) {
+            return;
+        }
+
+        synchronized (this) {
+            Roaring64Bitmap added = pending.computeIfAbsent(user.getId(), userId -> new Roaring64Bitmap());
+            thumbnailIds.forEach(added::addLong);
+        }
+
+        writes.incrementAndGet(stripe(user.getId()));
+
+        bitmaps.computeIfPresent(user.getId(), (userId, cached) -> {
+            Roaring64Bitmap bitmap = cached.clone();
+            thumbnailIds.forEach(bitmap::addLong);
+            bitmap.runOptimize();
+
+            return bitmap;
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        long[] seenWrites = new long[WRITE_STRIPES];
+
+        for (int i = 0; i < WRITE_STRIPES; i++) {
+            seenWrites[i] = writes.get(i);
+        }
+
+        List<UserRatedThumbnails> rows = repository.findRecentlyUpdated(
+                PageRequest.of(0, properties.getRatedIndexMaxUsers()));
+
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        Map<Long, Long> ratingCounts = new HashMap<>();
+        thumbnailRepository.findRatingCountsByUserIdIn(rows.stream().map(UserRatedThumbnails::getUserId).toList())
+                .forEach(count -> ratingCounts.put(count.getUserId(), count.getRatingCount()));
+
+        // oldest first, so the most recently updated are the last to be evicted
+        for (int i = rows.size() - 1; i >= 0; i--) {
+            UserRatedThumbnails row = rows.get(i);
+            Roaring64Bitmap bitmap = deserialize(row.getBitmap());
+
+            if (bitmap.getLongCardinality() == ratingCounts.getOrDefault(row.getUserId(), 0L)) {
+                int stripe = stripe(row.getUserId());
+
+                bitmaps.compute(row.getUserId(), (userId, present) ->
+                        present != null || writes.get(stripe) != seenWrites[stripe] ? present : bitmap);
+            }
+        }
+    }
+
+    @Scheduled(
+            initialDelayString = "${thumbnail.rated-index.flush-interval-seconds}",
+            fixedDelayString = "${thumbnail.rated-index.flush-interval-seconds}",
+            timeUnit = TimeUnit.SECONDS
+    )
+    public void flush() {
+        synchronized (flushLock) {
+            Map<Long, Roaring64Bitmap> flushed;
+
+            synchronized (this) {
+                if (pending.isEmpty()) {
+                    return;
+                }
+
+                flushed = pending;
+                pending = new HashMap<>();
+            }
+
+            try {
+                writer.write(flushed);
+            } catch (RuntimeException e) {
+                log.warn("Could not flush rated thumbnails of {} users, they are kept for the next flush",
+                        flushed.size(), e);
+
+                synchronized (this) {
+                    flushed.forEach((userId, ids) -> pending.merge(userId, ids, (current, added) -> {
+                        current.or(added);
+                        return current;
+                    }));
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        flush();
+    }
+
+    Roaring64Bitmap getRatedIds(User user) {
+        Roaring64Bitmap cached = bitmaps.get(user.getId());
+
+        if (cached != null) {
+            return cached;
+        }
+
+        int stripe = stripe(user.getId());
+        long seenWrites = writes.get(stripe);
+
+        Roaring64Bitmap loaded = load(user.getId());
+
+        // not cached if a writer ran while it was loading, the ratings it added may be missing
+        Roaring64Bitmap current = bitmaps.compute(user.getId(), (userId, present) ->
+                present != null || writes.get(stripe) != seenWrites ? present : loaded);
+
+        return current == null ? loaded : current;
+    }
+
+    private Roaring64Bitmap load(Long userId) {
+        Optional<Roaring64Bitmap> persisted = repository.findById(userId)
+                .map(row -> deserialize(row.getBitmap()));
+
+        if (persisted.isPresent()
+                && persisted.get().getLongCardinality() == thumbnailRepository.countRatingsByUserId(userId)) {
+            return persisted.get();
+        }
+
+        Roaring64Bitmap rebuilt = bitmapOf(thumbnailRepository.findRatedThumbnailIdsByUserId(userId));
+
+        // the next flush replaces the persisted bitmap
+        if (persisted.isPresent() || !rebuilt.isEmpty()) {
+            synchronized (this) {
+                pending.computeIfAbsent(userId, id -> new Roaring64Bitmap());
+            }
+        }
+
+        return rebuilt;
+    }
+
+    private static int stripe(Long userId) {
+        return Math.floorMod(userId.hashCode(), WRITE_STRIPES);
+    }
+
+    static Roaring64Bitmap bitmapOf(Collection<Long> thumbnailIds) {
+        Roaring64Bitmap bitmap = new Roaring64Bitmap();
+        thumbnailIds.forEach(bitmap::addLong);
+        bitmap.runOptimize();
+
+        return bitmap;
+    }
+
+    static byte[] serialize(Roaring64Bitmap bitmap) {
+        ByteBuffer buffer = ByteBuffer.allocate((int) bitmap.serializedSizeInBytes());
+
+        try {
+            bitmap.serialize(buffer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return buffer.array();
+    }
+
+    static Roaring64Bitmap deserialize(byte[] bytes) {
+        Roaring64Bitmap bitmap = new Roaring64Bitmap();
+
+        try {
+            bitmap.deserialize(ByteBuffer.wrap(bytes));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return bitmap;
+    }
+}
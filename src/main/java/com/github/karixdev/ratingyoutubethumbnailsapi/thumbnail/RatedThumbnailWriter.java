@@ -0,0 +1,47 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail;
+
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Component
+@RequiredArgsConstructor
+class RatedThumbnailWriter {
+    private final UserRatedThumbnailsRepository repository;
+    private final ThumbnailRepository thumbnailRepository;
+    private final Clock clock;
+
+    // adds the ids to the persisted bitmaps, the row lock serializes instances flushing the same user
+    @Transactional
+    public void write(Map<Long, Roaring64Bitmap> addedIds) {
+        LocalDateTime now = LocalDateTime.now(clock);
+
+        addedIds.forEach((userId, ids) -> {
+            UserRatedThumbnails row = repository.findByUserIdForUpdate(userId)
+                    .orElseGet(() -> UserRatedThumbnails.builder()
+                            .userId(userId)
+                            .build());
+
+            Roaring64Bitmap bitmap = null;
+
+            if (row.getBitmap() != null) {
+                bitmap = RatedThumbnailIndex.deserialize(row.getBitmap());
+                bitmap.or(ids);
+            }
+
+            // new rows, and rows that missed ratings (e.g. lost by a crash before a flush) or kept deleted ones
+            if (bitmap == null || bitmap.getLongCardinality() != thumbnailRepository.countRatingsByUserId(userId)) {
+                bitmap = RatedThumbnailIndex.bitmapOf(thumbnailRepository.findRatedThumbnailIdsByUserId(userId));
+            }
+
+            row.setBitmap(RatedThumbnailIndex.serialize(bitmap));
+            row.setUpdatedAt(now);
+            repository.save(row);
+        });
+    }
+}
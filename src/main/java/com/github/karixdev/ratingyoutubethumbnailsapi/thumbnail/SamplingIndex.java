@@ -0,0 +1,154 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.random.RandomGenerator;
+
+// Dense array of thumbnail ids, removal swaps the last id into the freed slot.
+// A Fenwick tree over the slots holds 1 / (1 + number of ratings) of every thumbnail,
+// so the least rated thumbnails can be sampled in O(log n). Not thread safe.
+class SamplingIndex {
+    private long[] ids;
+    private long[] ratingCounts;
+    private double[] weights;
+    private double[] tree;
+
+    private final Map<Long, Integer> positions = new HashMap<>();
+    private int size;
+
+    SamplingIndex(int capacity) {
+        allocate(Math.max(capacity, 16));
+    }
+
+    int size() {
+        return size;
+    }
+
+    void add(long id, long ratingCount) {
+        if (positions.containsKey(id)) {
+            return;
+        }
+
+        if (size == ids.length) {
+            grow();
+        }
+
+        int position = size++;
+
+        ids[position] = id;
+        ratingCounts[position] = ratingCount;
+        weights[position] = weightOf(ratingCount);
+        positions.put(id, position);
+
+        updateTree(position, weights[position]);
+    }
+
+    void remove(long id) {
+        Integer position = positions.remove(id);
+
+        if (position == null) {
+            return;
+        }
+
+        int last = --size;
+
+        updateTree(position, -weights[position]);
+
+        if (position != last) {
+            updateTree(last, -weights[last]);
+
+            ids[position] = ids[last];
+            ratingCounts[position] = ratingCounts[last];
+            weights[position] = weights[last];
+            positions.put(ids[position], position);
+
+            updateTree(position, weights[position]);
+        }
+
+        weights[last] = 0;
+    }
+
+    void addRatings(long id, long count) {
+        Integer position = positions.get(id);
+
+        if (position == null) {
+            return;
+        }
+
+        double weight = weightOf(ratingCounts[position] += count);
+
+        updateTree(position, weight - weights[position]);
+        weights[position] = weight;
+    }
+
+    OptionalLong sampleUniform(RandomGenerator random) {
+        if (size == 0) {
+            return OptionalLong.empty();
+        }
+
+        return OptionalLong.of(ids[random.nextInt(size)]);
+    }
+
+    OptionalLong sampleLeastRated(RandomGenerator random) {
+        if (size == 0) {
+            return OptionalLong.empty();
+        }
+
+        double remaining = random.nextDouble() * prefixSum(size);
+        int position = 0;
+
+        for (int step = Integer.highestOneBit(tree.length - 1); step > 0; step >>= 1) {
+            int next = position + step;
+
+            if (next < tree.length && tree[next] <= remaining) {
+                remaining -= tree[next];
+                position = next;
+            }
+        }
+
+        // floating point drift may push the search past the last occupied slot
+        return OptionalLong.of(ids[Math.min(position, size - 1)]);
+    }
+
+    private static double weightOf(long ratingCount) {
+        return 1.0 / (1 + ratingCount);
+    }
+
+    private double prefixSum(int count) {
+        double sum = 0;
+
+        for (int i = count; i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+
+        return sum;
+    }
+
+    private void updateTree(int position, double delta) {
+        for (int i = position + 1; i < tree.length; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    private void allocate(int capacity) {
+        ids = new long[capacity];
+        ratingCounts = new long[capacity];
+        weights = new double[capacity];
+        tree = new double[capacity + 1];
+    }
+
+    private void grow() {
+        int capacity = ids.length * 2;
+
+        ids = Arrays.copyOf(ids, capacity);
+        ratingCounts = Arrays.copyOf(ratingCounts, capacity);
+        weights = Arrays.copyOf(weights, capacity);
+        tree = new double[capacity + 1];
+
+        for (int position = 0; position < size; position++) {
+            updateTree(position, weights[position]);
+        }
+    }
+}
@@ -27,7 +27,7 @@ public class Thumbnail {
     @SequenceGenerator(
             name = "thumbnail_gen",
             sequenceName = "thumbnail_seq",
-            allocationSize = 1
+            allocationSize = 50
     )
     @Column(
             name = "id",
@@ -0,0 +1,105 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail;
+
+import lombok.RequiredArgsConstructor;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+@RequiredArgsConstructor
+public class ThumbnailCatalogue {
+    private final ThumbnailRepository repository;
+
+    private final AtomicLong version = new AtomicLong();
+
+    private volatile NavigableSet<Long> ids;
+
+    // guarded by this
+    private SamplingIndex samplingIndex;
+    private Roaring64Bitmap idBitmap;
+
+    public NavigableSet<Long> getIds() {
+        NavigableSet<Long> current = ids;
+
+        if (current == null) {
+            return reload();
+        }
+
+        return current;
+    }
+
+    public long getVersion() {
+        return version.get();
+    }
+
+    public synchronized void add(Long id) {
+        getIds().add(id);
+        samplingIndex.add(id, 0);
+        idBitmap.addLong(id);
+        version.incrementAndGet();
+    }
+
+    public synchronized void remove(Long id) {
+        getIds().remove(id);
+        samplingIndex.remove(id);
+        idBitmap.removeLong(id);
+        version.incrementAndGet();
+    }
+
+    public synchronized void addRatings(Long id, int count) {
+        getIds();
+        samplingIndex.addRatings(id, count);
+    }
+
+    public synchronized OptionalLong sampleId() {
+        getIds();
+        return samplingIndex.sampleUniform(ThreadLocalRandom.current());
+    }
+
+    public synchronized OptionalLong sampleLeastRatedId() {
+        getIds();
+        return samplingIndex.sampleLeastRated(ThreadLocalRandom.current());
+    }
+
+    public synchronized Roaring64Bitmap getIdBitmap() {
+        getIds();
+        return idBitmap.clone();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        reload();
+    }
+
+    public synchronized NavigableSet<Long> reload() {
+        NavigableSet<Long> reloadedIds = new ConcurrentSkipListSet<>(repository.findAllIds());
+
+        Map<Long, Long> ratingCounts = new HashMap<>();
+        repository.findAllRatingCounts().forEach(ratingCount ->
+                ratingCounts.put(ratingCount.getThumbnailId(), ratingCount.getRatingCount()));
+
+        SamplingIndex reloadedIndex = new SamplingIndex(reloadedIds.size());
+        Roaring64Bitmap reloadedBitmap = new Roaring64Bitmap();
+
+        reloadedIds.forEach(id -> {
+            reloadedIndex.add(id, ratingCounts.getOrDefault(id, 0L));
+            reloadedBitmap.addLong(id);
+        });
+
+        samplingIndex = reloadedIndex;
+        idBitmap = reloadedBitmap;
+        ids = reloadedIds;
+        version.incrementAndGet();
+
+        return reloadedIds;
+    }
+}
@@ -4,28 +4,54 @@ import com.github.karixdev.ratingyoutubethumbnailsapi.security.CurrentUser;
 import com.github.karixdev.ratingyoutubethumbnailsapi.security.UserPrincipal;
 import com.github.karixdev.ratingyoutubethumbnailsapi.shared.payload.response.SuccessResponse;
 import com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail.payload.request.ThumbnailRequest;
+import com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail.payload.response.ThumbnailImportResponse;
 import com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail.payload.response.ThumbnailResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.HttpMediaTypeNotSupportedException;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping("/api/v1/thumbnail")
 @RequiredArgsConstructor
 public class ThumbnailController {
     private final ThumbnailService service;
+    private final ThumbnailImportService importService;
 
     @PostMapping
-    public ResponseEntity<ThumbnailResponse> add(
+    public CompletableFuture<ResponseEntity<ThumbnailResponse>> add(
             @Valid @RequestBody ThumbnailRequest payload,
             @CurrentUser UserPrincipal userPrincipal
     ) {
+        return service.add(payload, userPrincipal)
+                .thenApply(response -> new ResponseEntity<>(response, HttpStatus.CREATED));
+    }
+
+    @PostMapping(
+            path = "/import",
+            consumes = {MediaType.APPLICATION_NDJSON_VALUE, "text/csv"}
+    )
+    public ResponseEntity<ThumbnailImportResponse> importThumbnails(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            Reader body,
+            @CurrentUser UserPrincipal userPrincipal
+    ) throws IOException, HttpMediaTypeNotSupportedException {
         return new ResponseEntity<>(
-                service.add(payload, userPrincipal),
-                HttpStatus.CREATED
+                importService.importThumbnails(
+                        body,
+                        ThumbnailImportFormat.of(contentType),
+                        userPrincipal
+                ),
+                HttpStatus.OK
         );
     }
 
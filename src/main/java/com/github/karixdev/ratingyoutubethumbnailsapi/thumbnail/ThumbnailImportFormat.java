@@ -0,0 +1,28 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.HttpMediaTypeNotSupportedException;
+
+import java.util.List;
+
+public enum ThumbnailImportFormat {
+    NDJSON(MediaType.APPLICATION_NDJSON),
+    CSV(new MediaType("text", "csv"));
+
+    private final MediaType mediaType;
+
+    ThumbnailImportFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public static ThumbnailImportFormat of(MediaType contentType) throws HttpMediaTypeNotSupportedException {
+        for (ThumbnailImportFormat format : values()) {
+            if (format.mediaType.includes(contentType)) {
+                return format;
+            }
+        }
+
+        throw new HttpMediaTypeNotSupportedException(
+                contentType, List.of(NDJSON.mediaType, CSV.mediaType));
+    }
+}
@@ -0,0 +1,196 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.karixdev.ratingyoutubethumbnailsapi.security.UserPrincipal;
+import com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail.payload.response.ThumbnailImportChunkResponse;
+import com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail.payload.response.ThumbnailImportResponse;
+import com.github.karixdev.ratingyoutubethumbnailsapi.user.User;
+import com.github.karixdev.ratingyoutubethumbnailsapi.youtube.YoutubeVideoService;
+import com.github.karixdev.ratingyoutubethumbnailsapi.youtube.payload.request.ItemRequest;
+import com.github.karixdev.ratingyoutubethumbnailsapi.youtube.payload.request.MaxresRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.*;
+import java.util.regex.Pattern;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ThumbnailImportService {
+    private static final Pattern YOUTUBE_VIDEO_ID = Pattern.compile("[A-Za-z0-9_-]{5,}");
+    private static final String ID_FIELD = "youtube_video_id";
+
+    private final ThumbnailRepository repository;
+    private final YoutubeVideoService youtubeVideoService;
+    private final ThumbnailWriter writer;
+    private final ThumbnailProperties properties;
+    private final ObjectMapper mapper;
+
+    // reads the ids chunk by chunk, only the counts of earlier chunks are kept;
+    // ids repeated from an earlier chunk are skipped by the database lookup if they were imported
+    public ThumbnailImportResponse importThumbnails(
+            Reader reader,
+            ThumbnailImportFormat format,
+            UserPrincipal userPrincipal
+    ) throws IOException {
+        User user = userPrincipal.getUser();
+        BufferedReader lines = new BufferedReader(reader);
+
+        List<ThumbnailImportChunkResponse> chunks = new ArrayList<>();
+        List<String> chunk = new ArrayList<>();
+
+        String line;
+        while ((line = lines.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+
+            chunk.add(line);
+
+            if (chunk.size() == properties.getImportChunkSize()) {
+                chunks.add(importChunk(chunks.size() + 1, chunk, format, user));
+                chunk = new ArrayList<>();
+            }
+        }
+
+        if (!chunk.isEmpty()) {
+            chunks.add(importChunk(chunks.size() + 1, chunk, format, user));
+        }
+
+        return new ThumbnailImportResponse(chunks);
+    }
+
+    private ThumbnailImportChunkResponse importChunk(
+            int number,
+            List<String> lines,
+            ThumbnailImportFormat format,
+            User user
+    ) {
+        ThumbnailImportChunkResponse result = ThumbnailImportChunkResponse.builder()
+                .chunk(number)
+                .build();
+
+        Set<String> ids = new LinkedHashSet<>();
+
+        for (String line : lines) {
+            Optional<String> id = parse(line, format);
+
+            if (id.isEmpty()) {
+                result.setInvalid(result.getInvalid() + 1);
+            } else if (format == ThumbnailImportFormat.CSV && id.get().equals(ID_FIELD)) {
+                continue;
+            } else if (!ids.add(id.get())) {
+                result.setSkipped(result.getSkipped() + 1);
+            }
+
+            result.setReceived(result.getReceived() + 1);
+        }
+
+        try {
+            if (!ids.isEmpty()) {
+                List<String> existing = repository.findExistingYoutubeVideoIds(ids);
+                existing.forEach(ids::remove);
+                result.setSkipped(result.getSkipped() + existing.size());
+            }
+
+            List<Thumbnail> thumbnails = fetchThumbnails(ids, user);
+            // each chunk is written in its own transaction
+            List<Thumbnail> inserted = writer.insertAll(thumbnails);
+
+            result.setImported(inserted.size());
+            result.setSkipped(result.getSkipped() + thumbnails.size() - inserted.size());
+            result.setNotFound(ids.size() - thumbnails.size());
+        } catch (DataIntegrityViolationException e) {
+            // nothing of the chunk was written, ids inserted concurrently in the meantime are skipped
+            log.error("Thumbnail import chunk {} failed", number, e);
+
+            List<String> existing = repository.findExistingYoutubeVideoIds(ids);
+
+            result.setSkipped(result.getSkipped() + existing.size());
+            result.setFailed(ids.size() - existing.size());
+            result.setError(e.getMessage());
+        } catch (RuntimeException e) {
+            log.error("Thumbnail import chunk {} failed", number, e);
+
+            result.setFailed(ids.size());
+            result.setError(e.getMessage());
+        }
+
+        log.info("Thumbnail import chunk {}: {} received, {} imported, {} skipped, {} not found, {} invalid, {} failed",
+                number, result.getReceived(), result.getImported(), result.getSkipped(),
+                result.getNotFound(), result.getInvalid(), result.getFailed());
+
+        return result;
+    }
+
+    private List<Thumbnail> fetchThumbnails(Collection<String> ids, User user) {
+        List<List<String>> batches = new ArrayList<>();
+        List<String> idList = new ArrayList<>(ids);
+
+        for (int i = 0; i < idList.size(); i += YoutubeVideoService.MAX_IDS_PER_REQUEST) {
+            batches.add(idList.subList(i, Math.min(i + YoutubeVideoService.MAX_IDS_PER_REQUEST, idList.size())));
+        }
+
+        List<ItemRequest> items = Flux.fromIterable(batches)
+                .flatMap(youtubeVideoService::getVideosDetails, properties.getImportConcurrency())
+                .flatMapIterable(batch -> batch)
+                .collectList()
+                .block();
+
+        // videos without a maxres thumbnail are counted as not found
+        return items.stream()
+                .filter(item -> ids.contains(item.getId()))
+                .filter(item -> getMaxres(item) != null)
+                .map(item -> Thumbnail.builder()
+                        .youtubeVideoId(item.getId())
+                        .url(getMaxres(item).getUrl())
+                        .addedBy(user)
+                        .build())
+                .toList();
+    }
+
+    private static MaxresRequest getMaxres(ItemRequest item) {
+        if (item.getSnippet() == null || item.getSnippet().getThumbnails() == null) {
+            return null;
+        }
+
+        return item.getSnippet().getThumbnails().getMaxres();
+    }
+
+    private Optional<String> parse(String line, ThumbnailImportFormat format) {
+        String id = switch (format) {
+            case CSV -> line.split(",", 2)[0].trim().replace("\"", "");
+            case NDJSON -> parseJson(line);
+        };
+
+        if (id == null || !YOUTUBE_VIDEO_ID.matcher(id).matches()) {
+            return Optional.empty();
+        }
+
+        return Optional.of(id);
+    }
+
+    // a line is either a JSON string or an object with a youtube_video_id field
+    private String parseJson(String line) {
+        try {
+            JsonNode node = mapper.readTree(line);
+
+            if (node.isObject()) {
+                node = node.get(ID_FIELD);
+            }
+
+            return node != null && node.isTextual() ? node.asText() : null;
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+@Getter
+@Service
+public class ThumbnailProperties {
+    private final Boolean favourLeastRated;
+    private final Integer ratedIndexMaxUsers;
+    private final Integer importChunkSize;
+    private final Integer importConcurrency;
+
+    public ThumbnailProperties(
+            @Value("${thumbnail.sampling.favour-least-rated}") Boolean favourLeastRated,
+            @Value("${thumbnail.rated-index.max-users}") Integer ratedIndexMaxUsers,
+            @Value("${thumbnail.import.chunk-size}") Integer importChunkSize,
+            @Value("${thumbnail.import.concurrency}") Integer importConcurrency
+    ) {
+        this.favourLeastRated = favourLeastRated;
+        this.ratedIndexMaxUsers = ratedIndexMaxUsers;
+        this.importChunkSize = importChunkSize;
+        this.importConcurrency = importConcurrency;
+    }
+}
@@ -1,12 +1,11 @@
 package com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail;
 
-import com.github.karixdev.ratingyoutubethumbnailsapi.game.Game;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,6 +18,34 @@ public interface ThumbnailRepository extends JpaRepository<Thumbnail, Long> {
             """)
     Optional<Thumbnail> findByYoutubeVideoId(@Param("youtubeVideoId") String youtubeVideoId);
 
+    @Query("""
+            SELECT thumbnail
+            FROM Thumbnail thumbnail
+            WHERE thumbnail.youtubeVideoId IN :youtubeVideoIds
+            """)
+    List<Thumbnail> findByYoutubeVideoIdIn(@Param("youtubeVideoIds") Collection<String> youtubeVideoIds);
+
+    @Query("""
+            SELECT thumbnail.id
+            FROM Thumbnail thumbnail
+            WHERE thumbnail.youtubeVideoId = :youtubeVideoId
+            """)
+    Optional<Long> findIdByYoutubeVideoId(@Param("youtubeVideoId") String youtubeVideoId);
+
+    @Query("""
+            SELECT thumbnail.id AS id, thumbnail.youtubeVideoId AS youtubeVideoId
+            FROM Thumbnail thumbnail
+            WHERE thumbnail.youtubeVideoId IN :youtubeVideoIds
+            """)
+    List<ThumbnailYoutubeVideoId> findIdsByYoutubeVideoIdIn(@Param("youtubeVideoIds") Collection<String> youtubeVideoIds);
+
+    @Query("""
+            SELECT thumbnail.youtubeVideoId
+            FROM Thumbnail thumbnail
+            WHERE thumbnail.youtubeVideoId IN :youtubeVideoIds
+            """)
+    List<String> findExistingYoutubeVideoIds(@Param("youtubeVideoIds") Collection<String> youtubeVideoIds);
+
     @Query("""
             SELECT thumbnail
             FROM Thumbnail thumbnail
@@ -26,42 +53,38 @@ public interface ThumbnailRepository extends JpaRepository<Thumbnail, Long> {
             """)
     List<Thumbnail> findAllThumbnails();
 
-    @Query(value = """
-            SELECT t.*
-            FROM thumbnail t
-            LEFT JOIN (
-                SELECT * FROM round r WHERE r.game_id = :gameId
-            ) as r1 ON t.id = r1.thumbnail_2_id AND r1.thumbnail_1_id = :thumbnailId
-            LEFT JOIN (
-                SELECT * FROM round r WHERE r.game_id = :gameId
-            ) as r2 ON t.id = r2.thumbnail_1_id AND r2.thumbnail_2_id = :thumbnailId
-            INNER JOIN (
-                SELECT
-                    t.id AS thumbnail_id,
-                    CASE
-                        WHEN r.points IS NULL
-                            THEN :defaultPoints
-                        ELSE r.points
-                        END AS points
-                FROM rating r
-                         RIGHT JOIN
-                     thumbnail t ON r.thumbnail_id = t.id
-                WHERE
-                        r.user_id = :userId OR
-                    r.user_id IS NULL
-            ) AS r on r.thumbnail_id = t.id
-            WHERE
-                r1.id IS NULL AND
-                r2.id IS NULL AND
-                t.id != :thumbnailId
-            ORDER BY ABS(r.points - :points)
-            LIMIT 1;
-            """, nativeQuery = true)
-    Optional<Thumbnail> findThumbnailNotInGameWithClosestRating(
-            @Param("gameId") Long gameId,
-            @Param("userId") Long userId,
-            @Param("defaultPoints") BigDecimal defaultPoints,
-            @Param("thumbnailId") Long thumbnailId,
-            @Param("points") BigDecimal points
-    );
+    @Query("""
+            SELECT thumbnail.id
+            FROM Thumbnail thumbnail
+            """)
+    List<Long> findAllIds();
+
+    @Query("""
+            SELECT rating.thumbnail.id AS thumbnailId, COUNT(rating) AS ratingCount
+            FROM Rating rating
+            GROUP BY rating.thumbnail.id
+            """)
+    List<ThumbnailRatingCount> findAllRatingCounts();
+
+    @Query("""
+            SELECT rating.thumbnail.id
+            FROM Rating rating
+            WHERE rating.user.id = :userId
+            """)
+    List<Long> findRatedThumbnailIdsByUserId(@Param("userId") Long userId);
+
+    @Query("""
+            SELECT COUNT(rating)
+            FROM Rating rating
+            WHERE rating.user.id = :userId
+            """)
+    long countRatingsByUserId(@Param("userId") Long userId);
+
+    @Query("""
+            SELECT rating.user.id AS userId, COUNT(rating) AS ratingCount
+            FROM Rating rating
+            WHERE rating.user.id IN :userIds
+            GROUP BY rating.user.id
+            """)
+    List<UserRatingCount> findRatingCountsByUserIdIn(@Param("userIds") Collection<Long> userIds);
 }
@@ -1,7 +1,7 @@
 package com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail;
 
-import com.github.karixdev.ratingyoutubethumbnailsapi.game.Game;
 import com.github.karixdev.ratingyoutubethumbnailsapi.security.UserPrincipal;
+import com.github.karixdev.ratingyoutubethumbnailsapi.shared.TransactionCallbacks;
 import com.github.karixdev.ratingyoutubethumbnailsapi.shared.exception.PermissionDeniedException;
 import com.github.karixdev.ratingyoutubethumbnailsapi.shared.exception.ResourceNotFoundException;
 import com.github.karixdev.ratingyoutubethumbnailsapi.shared.payload.response.SuccessResponse;
@@ -15,42 +15,50 @@ import com.github.karixdev.ratingyoutubethumbnailsapi.youtube.YoutubeVideoServic
 import com.github.karixdev.ratingyoutubethumbnailsapi.youtube.payload.request.ItemRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import jakarta.transaction.Transactional;
 
-import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.Random;
+import java.util.OptionalLong;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class ThumbnailService {
     private final ThumbnailRepository repository;
     private final YoutubeVideoService youtubeVideoService;
-
-    @Transactional
-    public ThumbnailResponse add(ThumbnailRequest payload, UserPrincipal userPrincipal) {
+    private final ThumbnailCatalogue catalogue;
+    private final ThumbnailProperties properties;
+    private final RatedThumbnailIndex ratedThumbnailIndex;
+    private final ThumbnailWriter writer;
+
+    // The lookups run on boundedElastic and the YouTube call on the WebClient event loop.
+    // The request thread never touches the request-bound EntityManager, which would hold
+    // its connection until the response is written, and a connection is taken only for
+    // the existence check and the insert.
+    public CompletableFuture<ThumbnailResponse> add(ThumbnailRequest payload, UserPrincipal userPrincipal) {
         String youtubeVideoId = payload.getYoutubeVideoId();
 
-        if (repository.findByYoutubeVideoId(youtubeVideoId).isPresent()) {
-            throw new ThumbnailAlreadyExistsException();
-        }
-
-        ItemRequest videoDetails = youtubeVideoService.getVideoDetails(youtubeVideoId);
-        String maxresThumbnailUrl = videoDetails.getSnippet().getThumbnails()
-                .getMaxres()
-                .getUrl();
-
-        Thumbnail thumbnail = Thumbnail.builder()
-                .youtubeVideoId(youtubeVideoId)
-                .url(maxresThumbnailUrl)
-                .addedBy(userPrincipal.getUser())
-                .build();
-
-        thumbnail = repository.save(thumbnail);
-
-        return new ThumbnailResponse(thumbnail);
+        return Mono.fromCallable(() -> repository.findByYoutubeVideoId(youtubeVideoId).isPresent())
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(exists -> exists
+                        ? Mono.<ItemRequest>error(new ThumbnailAlreadyExistsException())
+                        : youtubeVideoService.getVideoDetailsAsync(youtubeVideoId))
+                .publishOn(Schedulers.boundedElastic())
+                .map(videoDetails -> writer.insert(
+                        youtubeVideoId,
+                        videoDetails.getSnippet().getThumbnails().getMaxres().getUrl(),
+                        userPrincipal.getUser()
+                ))
+                .toFuture();
     }
 
     @Transactional
@@ -68,6 +76,7 @@ public class ThumbnailService {
         }
 
         repository.delete(thumbnail);
+        TransactionCallbacks.afterCommit(() -> catalogue.remove(id));
 
         return new SuccessResponse();
     }
@@ -77,22 +86,45 @@ public class ThumbnailService {
             throw new EmptyThumbnailsListException();
         }
 
-        Random random = new Random();
-        int randomIdx = random.nextInt(thumbnails.size());
+        int randomIdx = ThreadLocalRandom.current().nextInt(thumbnails.size());
 
         return thumbnails.get(randomIdx);
     }
 
     public Thumbnail getRandomThumbnail() {
-        List<Thumbnail> thumbnails = repository.findAll();
-
-        return getRandomThumbnailFromList(thumbnails);
+        while (true) {
+            OptionalLong id = properties.getFavourLeastRated()
+                    ? catalogue.sampleLeastRatedId()
+                    : catalogue.sampleId();
+
+            if (id.isEmpty()) {
+                throw new EmptyThumbnailsListException();
+            }
+
+            Optional<Thumbnail> thumbnail = repository.findById(id.getAsLong());
+            if (thumbnail.isPresent()) {
+                return thumbnail.get();
+            }
+
+            // deleted without the catalogue being notified
+            catalogue.remove(id.getAsLong());
+        }
     }
 
     public List<Thumbnail> getThumbnailsWithoutUserRating(User user) {
-        return repository.findAllThumbnails().stream().filter(thumbnail ->
-                thumbnail.getRatings().stream().noneMatch(rating -> rating.getUser().equals(user)))
+        List<Long> unratedIds = Arrays.stream(ratedThumbnailIndex.findUnratedIds(user))
+                .boxed()
                 .toList();
+
+        return repository.findAllById(unratedIds);
+    }
+
+    public Optional<Thumbnail> findById(Long id) {
+        return repository.findById(id);
+    }
+
+    public List<Thumbnail> findAllById(Collection<Long> ids) {
+        return repository.findAllById(ids);
     }
 
     public Thumbnail getThumbnailByYoutubeVideoId(String youtubeVideoId) {
@@ -101,19 +133,21 @@ public class ThumbnailService {
                         "Thumbnail with provided youtube id not found"));
     }
 
-    public Optional<Thumbnail> getThumbnailNotInGameWithClosestRating(
-            Game game,
-            User user,
-            BigDecimal defaultPoints,
-            Thumbnail thumbnail,
-            BigDecimal points
-    ) {
-        return repository.findThumbnailNotInGameWithClosestRating(
-                game.getId(),
-                user.getId(),
-                defaultPoints,
-                thumbnail.getId(),
-                points
-        );
+    public Long getThumbnailIdByYoutubeVideoId(String youtubeVideoId) {
+        return repository.findIdByYoutubeVideoId(youtubeVideoId)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Thumbnail with provided youtube id not found"));
+    }
+
+    public Map<String, Long> getThumbnailIdsByYoutubeVideoIds(Collection<String> youtubeVideoIds) {
+        if (youtubeVideoIds.isEmpty()) {
+            return Map.of();
+        }
+
+        return repository.findIdsByYoutubeVideoIdIn(youtubeVideoIds).stream()
+                .collect(Collectors.toMap(
+                        ThumbnailYoutubeVideoId::getYoutubeVideoId,
+                        ThumbnailYoutubeVideoId::getId
+                ));
     }
 }
@@ -0,0 +1,61 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail;
+
+import com.github.karixdev.ratingyoutubethumbnailsapi.shared.TransactionCallbacks;
+import com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail.exception.ThumbnailAlreadyExistsException;
+import com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail.payload.response.ThumbnailResponse;
+import com.github.karixdev.ratingyoutubethumbnailsapi.user.User;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import jakarta.transaction.Transactional;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@Component
+@RequiredArgsConstructor
+class ThumbnailWriter {
+    private final ThumbnailRepository repository;
+    private final ThumbnailCatalogue catalogue;
+
+    @Transactional
+    public ThumbnailResponse insert(String youtubeVideoId, String url, User addedBy) {
+        // the thumbnail may have been added while its video details were fetched
+        if (repository.findByYoutubeVideoId(youtubeVideoId).isPresent()) {
+            throw new ThumbnailAlreadyExistsException();
+        }
+
+        Thumbnail thumbnail = repository.save(Thumbnail.builder()
+                .youtubeVideoId(youtubeVideoId)
+                .url(url)
+                .addedBy(addedBy)
+                .build());
+
+        Long thumbnailId = thumbnail.getId();
+        TransactionCallbacks.afterCommit(() -> catalogue.add(thumbnailId));
+
+        return new ThumbnailResponse(thumbnail);
+    }
+
+    // thumbnails added while their video details were fetched are left out
+    @Transactional
+    public List<Thumbnail> insertAll(List<Thumbnail> thumbnails) {
+        if (thumbnails.isEmpty()) {
+            return List.of();
+        }
+
+        Set<String> existing = new HashSet<>(repository.findExistingYoutubeVideoIds(
+                thumbnails.stream().map(Thumbnail::getYoutubeVideoId).toList()));
+
+        List<Thumbnail> inserted = thumbnails.stream()
+                .filter(thumbnail -> !existing.contains(thumbnail.getYoutubeVideoId()))
+                .toList();
+        repository.saveAll(inserted);
+
+        List<Long> thumbnailIds = inserted.stream().map(Thumbnail::getId).toList();
+        TransactionCallbacks.afterCommit(() -> thumbnailIds.forEach(catalogue::add));
+
+        return inserted;
+    }
+}
@@ -0,0 +1,7 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail;
+
+public interface ThumbnailYoutubeVideoId {
+    Long getId();
+
+    String getYoutubeVideoId();
+}
@@ -0,0 +1,39 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail;
+
+import lombok.*;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@Entity
+@Table(name = "user_rated_thumbnails")
+public class UserRatedThumbnails {
+    @Id
+    @Column(
+            name = "user_id",
+            nullable = false,
+            updatable = false
+    )
+    @EqualsAndHashCode.Include
+    private Long userId;
+
+    @Column(
+            name = "bitmap",
+            nullable = false,
+            length = 16777215
+    )
+    private byte[] bitmap;
+
+    @Column(
+            name = "updated_at",
+            nullable = false
+    )
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,30 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface UserRatedThumbnailsRepository extends JpaRepository<UserRatedThumbnails, Long> {
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+            SELECT ratedThumbnails
+            FROM UserRatedThumbnails ratedThumbnails
+            WHERE ratedThumbnails.userId = :userId
+            """)
+    Optional<UserRatedThumbnails> findByUserIdForUpdate(@Param("userId") Long userId);
+
+    @Query("""
+            SELECT ratedThumbnails
+            FROM UserRatedThumbnails ratedThumbnails
+            ORDER BY ratedThumbnails.updatedAt DESC
+            """)
+    List<UserRatedThumbnails> findRecentlyUpdated(Pageable pageable);
+}
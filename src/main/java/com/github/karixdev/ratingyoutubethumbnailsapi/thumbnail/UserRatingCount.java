@@ -0,0 +1,7 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail;
+
+public interface UserRatingCount {
+    Long getUserId();
+
+    Long getRatingCount();
+}
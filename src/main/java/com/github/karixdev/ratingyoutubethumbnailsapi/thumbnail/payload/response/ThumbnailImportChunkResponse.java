@@ -0,0 +1,39 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail.payload.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ThumbnailImportChunkResponse {
+    @JsonProperty("chunk")
+    private int chunk;
+
+    @JsonProperty("received")
+    private int received;
+
+    @JsonProperty("imported")
+    private int imported;
+
+    @JsonProperty("skipped")
+    private int skipped;
+
+    @JsonProperty("not_found")
+    private int notFound;
+
+    @JsonProperty("invalid")
+    private int invalid;
+
+    @JsonProperty("failed")
+    private int failed;
+
+    @JsonProperty("error")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String error;
+}
@@ -0,0 +1,43 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail.payload.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class ThumbnailImportResponse {
+    @JsonProperty("received")
+    private int received;
+
+    @JsonProperty("imported")
+    private int imported;
+
+    @JsonProperty("skipped")
+    private int skipped;
+
+    @JsonProperty("not_found")
+    private int notFound;
+
+    @JsonProperty("invalid")
+    private int invalid;
+
+    @JsonProperty("failed")
+    private int failed;
+
+    @JsonProperty("chunks")
+    private List<ThumbnailImportChunkResponse> chunks;
+
+    public ThumbnailImportResponse(List<ThumbnailImportChunkResponse> chunks) {
+        this.chunks = chunks;
+
+        chunks.forEach(chunk -> {
+            received += chunk.getReceived();
+            imported += chunk.getImported();
+            skipped += chunk.getSkipped();
+            notFound += chunk.getNotFound();
+            invalid += chunk.getInvalid();
+            failed += chunk.getFailed();
+        });
+    }
+}
@@ -35,7 +35,7 @@ public class User {
     @SequenceGenerator(
             name = "app_user_gen",
             sequenceName = "app_user_seq",
-            allocationSize = 1
+            allocationSize = 50
     )
     @Column(
             name = "id",
@@ -4,6 +4,7 @@ import com.github.karixdev.ratingyoutubethumbnailsapi.shared.exception.ResourceN
 import com.github.karixdev.ratingyoutubethumbnailsapi.user.exception.EmailNotAvailableException;
 import com.github.karixdev.ratingyoutubethumbnailsapi.user.exception.UsernameNotAvailableException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
@@ -14,6 +15,7 @@ import jakarta.transaction.Transactional;
 public class UserService {
     private final UserRepository repository;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
 
     public boolean isEmailAvailable(String email) {
         return repository.findByEmail(email).isEmpty();
@@ -49,6 +51,8 @@ public class UserService {
     public void enableUser(User user) {
         user.setIsEnabled(Boolean.TRUE);
         repository.save(user);
+
+        eventPublisher.publishEvent(new UserUpdatedEvent(user.getEmail()));
     }
 
     public User findByEmail(String email) {
@@ -0,0 +1,4 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.user;
+
+public record UserUpdatedEvent(String email) {
+}
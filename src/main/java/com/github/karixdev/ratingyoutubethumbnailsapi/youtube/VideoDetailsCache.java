@@ -0,0 +1,112 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.youtube;
+
+import com.github.karixdev.ratingyoutubethumbnailsapi.youtube.exception.YoutubeVideoNotFoundException;
+import com.github.karixdev.ratingyoutubethumbnailsapi.youtube.payload.request.ItemRequest;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+// Concurrent lookups of one video share a single in-flight request.
+// Found videos are cached for cache.ttl-seconds, not found ones for cache.not-found-ttl-seconds,
+// any other error is not cached.
+@Component
+class VideoDetailsCache {
+    private final Clock clock;
+    private final YoutubeApiProperties properties;
+
+    private final Map<String, Entry> entries;
+    private final Map<String, Mono<ItemRequest>> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter coalesced;
+
+    VideoDetailsCache(Clock clock, YoutubeApiProperties properties, MeterRegistry meterRegistry) {
+        this.clock = clock;
+        this.properties = properties;
+        this.entries = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > properties.getCacheMaxSize();
+            }
+        });
+
+        this.hits = requestCounter(meterRegistry, "hit");
+        this.misses = requestCounter(meterRegistry, "miss");
+        this.coalesced = requestCounter(meterRegistry, "coalesced");
+    }
+
+    ItemRequest get(String id, Function<String, Mono<ItemRequest>> loader) {
+        return getAsync(id, loader).block();
+    }
+
+    Mono<ItemRequest> getAsync(String id, Function<String, Mono<ItemRequest>> loader) {
+        Entry entry = entries.get(id);
+
+        if (entry != null && entry.expiresAt().isAfter(clock.instant())) {
+            hits.increment();
+            return Mono.fromSupplier(entry::unwrap);
+        }
+
+        boolean[] loading = {false};
+
+        Mono<ItemRequest> request = inFlight.computeIfAbsent(id, key -> {
+            loading[0] = true;
+            return load(key, loader);
+        });
+
+        (loading[0] ? misses : coalesced).increment();
+
+        return request;
+    }
+
+    private Mono<ItemRequest> load(String id, Function<String, Mono<ItemRequest>> loader) {
+        // the hooks run before the result reaches the waiting callers,
+        // so a lookup made right after a caller returns never joins a finished request
+        return Mono.defer(() -> loader.apply(id))
+                .doOnSuccess(item -> {
+                    if (item != null) {
+                        put(id, item, properties.getCacheTtlSeconds());
+                    }
+
+                    inFlight.remove(id);
+                })
+                .doOnError(e -> {
+                    if (e instanceof YoutubeVideoNotFoundException) {
+                        put(id, null, properties.getCacheNotFoundTtlSeconds());
+                    }
+
+                    inFlight.remove(id);
+                })
+                .cache();
+    }
+
+    private void put(String id, ItemRequest item, long ttlSeconds) {
+        entries.put(id, new Entry(item, clock.instant().plusSeconds(ttlSeconds)));
+    }
+
+    private static Counter requestCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("youtube.video.cache.requests")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private record Entry(ItemRequest item, Instant expiresAt) {
+        ItemRequest unwrap() {
+            if (item == null) {
+                throw new YoutubeVideoNotFoundException();
+            }
+
+            return item;
+        }
+    }
+}
@@ -9,12 +9,21 @@ import org.springframework.stereotype.Service;
 public class YoutubeApiProperties {
     private final String baseUrl;
     private final String apiKey;
+    private final Long cacheTtlSeconds;
+    private final Long cacheNotFoundTtlSeconds;
+    private final Integer cacheMaxSize;
 
     public YoutubeApiProperties(
             @Value("${youtube-api.base-url}") String baseUrl,
-            @Value("${youtube-api.key}") String apiKey
+            @Value("${youtube-api.key}") String apiKey,
+            @Value("${youtube-api.cache.ttl-seconds}") Long cacheTtlSeconds,
+            @Value("${youtube-api.cache.not-found-ttl-seconds}") Long cacheNotFoundTtlSeconds,
+            @Value("${youtube-api.cache.max-size}") Integer cacheMaxSize
     ) {
         this.baseUrl = baseUrl;
         this.apiKey = apiKey;
+        this.cacheTtlSeconds = cacheTtlSeconds;
+        this.cacheNotFoundTtlSeconds = cacheNotFoundTtlSeconds;
+        this.cacheMaxSize = cacheMaxSize;
     }
 }
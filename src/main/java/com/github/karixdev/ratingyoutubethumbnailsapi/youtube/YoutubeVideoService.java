@@ -9,43 +9,76 @@ import org.springframework.stereotype.Service;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 
+import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
 
 import static org.springframework.http.MediaType.APPLICATION_JSON;
 
 @RequiredArgsConstructor
 @Service
 public class YoutubeVideoService {
+    public static final int MAX_IDS_PER_REQUEST = 50;
+
     private final YoutubeApiService apiService;
     private final WebClient webClient;
+    private final VideoDetailsCache cache;
 
     public ItemRequest getVideoDetails(String id) {
+        return cache.get(id, this::fetchVideoDetails);
+    }
+
+    public Mono<ItemRequest> getVideoDetailsAsync(String id) {
+        return cache.getAsync(id, this::fetchVideoDetails);
+    }
+
+    // videos that YouTube doesn't know are missing from the returned list
+    public Mono<List<ItemRequest>> getVideosDetails(Collection<String> ids) {
+        if (ids.size() > MAX_IDS_PER_REQUEST) {
+            throw new IllegalArgumentException(
+                    "Cannot request more than " + MAX_IDS_PER_REQUEST + " videos at once");
+        }
+
         MultiValueMap<String, String> queryParams =
                 new LinkedMultiValueMap<>();
 
-        queryParams.add("id", id);
+        queryParams.add("id", String.join(",", ids));
         queryParams.add("part", "snippet");
-        queryParams.add("maxResults", "1");
+        queryParams.add("maxResults", String.valueOf(MAX_IDS_PER_REQUEST));
 
         String uri = apiService.createUri("/videos", queryParams);
 
-        Optional<YoutubeApiVideoListRequest> optionalResponse = webClient.get().uri(uri)
+        return webClient.get().uri(uri)
                 .accept(APPLICATION_JSON)
                 .retrieve()
                 .bodyToMono(YoutubeApiVideoListRequest.class)
-                .blockOptional();
+                .switchIfEmpty(Mono.error(YoutubeApiEmptyResponseException::new))
+                .map(YoutubeApiVideoListRequest::getItems);
+    }
+
+    private Mono<ItemRequest> fetchVideoDetails(String id) {
+        MultiValueMap<String, String> queryParams =
+                new LinkedMultiValueMap<>();
 
-        YoutubeApiVideoListRequest response = optionalResponse.orElseThrow(() -> {
-            throw new YoutubeApiEmptyResponseException();
-        });
+        queryParams.add("id", id);
+        queryParams.add("part", "snippet");
+        queryParams.add("maxResults", "1");
 
-        List<ItemRequest> items = response.getItems();
-        if (items.isEmpty()) {
-            throw new YoutubeVideoNotFoundException();
-        }
+        String uri = apiService.createUri("/videos", queryParams);
+
+        return webClient.get().uri(uri)
+                .accept(APPLICATION_JSON)
+                .retrieve()
+                .bodyToMono(YoutubeApiVideoListRequest.class)
+                .switchIfEmpty(Mono.error(YoutubeApiEmptyResponseException::new))
+                .map(response -> {
+                    List<ItemRequest> items = response.getItems();
+                    if (items.isEmpty()) {
+                        throw new YoutubeVideoNotFoundException();
+                    }
 
-        return items.get(0);
+                    return items.get(0);
+                });
     }
 }
@@ -0,0 +1,21 @@
+-- Rounds are deleted with their game (Round.game is @OnDelete(CASCADE)), the constraint generated by Hibernate is replaced.
+ALTER TABLE round DROP FOREIGN KEY FKppxonwn9e98lccy46m2eve67m;
+ALTER TABLE round
+    ADD CONSTRAINT round_game_id_fk FOREIGN KEY (game_id) REFERENCES game (id) ON DELETE CASCADE;
+
+-- Latest round of a game, moved together with last_activity when a round is played, see GameService.
+ALTER TABLE game ADD COLUMN current_round_id BINARY(16);
+
+-- games started before the column was added
+UPDATE game
+SET current_round_id = (
+    SELECT round.id
+    FROM round
+    WHERE round.game_id = game.id
+    ORDER BY round.created_at DESC, round.id DESC
+    LIMIT 1
+);
+
+ALTER TABLE game ADD CONSTRAINT game_current_round_id_unique UNIQUE (current_round_id);
+ALTER TABLE game
+    ADD CONSTRAINT game_current_round_id_fk FOREIGN KEY (current_round_id) REFERENCES round (id) ON DELETE SET NULL;
@@ -0,0 +1,77 @@
+-- Schema as it was generated by Hibernate (ddl-auto: update) before migrations were introduced.
+-- Existing databases are baselined at this version (spring.flyway.baseline-on-migrate).
+-- MySQL has no sequences, Hibernate emulates them with single row tables.
+CREATE TABLE app_user_seq (next_val BIGINT) ENGINE = InnoDB;
+INSERT INTO app_user_seq VALUES (1);
+CREATE TABLE email_verification_token_seq (next_val BIGINT) ENGINE = InnoDB;
+INSERT INTO email_verification_token_seq VALUES (1);
+CREATE TABLE game_seq (next_val BIGINT) ENGINE = InnoDB;
+INSERT INTO game_seq VALUES (1);
+CREATE TABLE rating_seq (next_val BIGINT) ENGINE = InnoDB;
+INSERT INTO rating_seq VALUES (1);
+CREATE TABLE thumbnail_seq (next_val BIGINT) ENGINE = InnoDB;
+INSERT INTO thumbnail_seq VALUES (1);
+
+CREATE TABLE app_user (
+    id BIGINT NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    is_enabled BIT NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    user_role ENUM ('ROLE_ADMIN', 'ROLE_USER') NOT NULL,
+    username VARCHAR(255) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT app_user_email_unique UNIQUE (email),
+    CONSTRAINT app_user_username_unique UNIQUE (username)
+) ENGINE = InnoDB;
+
+CREATE TABLE email_verification_token (
+    id BIGINT NOT NULL,
+    confirmed_at DATETIME(6),
+    created_at DATETIME(6) NOT NULL,
+    expires_at DATETIME(6) NOT NULL,
+    token VARCHAR(255) NOT NULL,
+    user_id BIGINT NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT email_confirmation_token_token_unique UNIQUE (token),
+    CONSTRAINT email_verification_token_user_id_fk FOREIGN KEY (user_id) REFERENCES app_user (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE thumbnail (
+    id BIGINT NOT NULL,
+    url VARCHAR(255) NOT NULL,
+    youtube_video_id VARCHAR(255) NOT NULL,
+    added_by_id BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT added_by_id_fk FOREIGN KEY (added_by_id) REFERENCES app_user (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE rating (
+    id BIGINT NOT NULL,
+    points DECIMAL(19, 2) NOT NULL,
+    thumbnail_id BIGINT,
+    user_id BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT rating_thumbnail_id_fk FOREIGN KEY (thumbnail_id) REFERENCES thumbnail (id),
+    CONSTRAINT rating_user_id_fk FOREIGN KEY (user_id) REFERENCES app_user (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE game (
+    id BIGINT NOT NULL,
+    has_ended BIT,
+    last_activity DATETIME(6) NOT NULL,
+    user_id BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT game_user_id_fk FOREIGN KEY (user_id) REFERENCES app_user (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE round (
+    id BINARY(16) NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    game_id BIGINT NOT NULL,
+    thumbnail_1_id BIGINT NOT NULL,
+    thumbnail_2_id BIGINT NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT FKppxonwn9e98lccy46m2eve67m FOREIGN KEY (game_id) REFERENCES game (id),
+    CONSTRAINT FKnusi6pchw19e2fhpagr1errhv FOREIGN KEY (thumbnail_1_id) REFERENCES thumbnail (id),
+    CONSTRAINT FKi28m468f2w53soecfsetcmg0o FOREIGN KEY (thumbnail_2_id) REFERENCES thumbnail (id)
+) ENGINE = InnoDB;
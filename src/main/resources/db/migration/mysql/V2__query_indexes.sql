@@ -0,0 +1,35 @@
+-- A user has at most one rating per thumbnail, the most recent duplicate is kept.
+DELETE duplicate
+FROM rating duplicate
+JOIN rating latest
+  ON duplicate.user_id = latest.user_id
+ AND duplicate.thumbnail_id = latest.thumbnail_id
+ AND duplicate.id < latest.id;
+
+-- RatingRepository: findByThumbnailAndUser, findByUserAndThumbnailNot, findThumbnailPointsByUser,
+-- findAveragePointsByThumbnailAndUser
+ALTER TABLE rating
+    ADD CONSTRAINT rating_user_id_thumbnail_id_unique UNIQUE (user_id, thumbnail_id);
+
+-- RatingRepository: findAveragePointsByThumbnail, ThumbnailRepository: findAllThumbnails
+CREATE INDEX rating_thumbnail_id_points_idx ON rating (thumbnail_id, points);
+
+-- GameRepository: findFirstByUserOrderByLastActivityDesc
+CREATE INDEX game_user_id_last_activity_idx ON game (user_id, last_activity);
+
+-- GameRepository: findByUserAndHasEndedOrderByLastActivityDesc
+CREATE INDEX game_user_id_has_ended_last_activity_idx ON game (user_id, has_ended, last_activity);
+
+-- RoundRepository: findByGameOrderByCreatedAtDesc, findByGameBeforeOrderByCreatedAtDesc (keyset on created_at, id)
+CREATE INDEX round_game_id_created_at_id_idx ON round (game_id, created_at, id);
+
+-- RoundRepository: findOpponentIdsOf (thumbnail_1_id = :id OR thumbnail_2_id = :id)
+CREATE INDEX round_game_id_thumbnail_1_id_thumbnail_2_id_idx ON round (game_id, thumbnail_1_id, thumbnail_2_id);
+CREATE INDEX round_game_id_thumbnail_2_id_idx ON round (game_id, thumbnail_2_id);
+
+-- ThumbnailRepository: findByYoutubeVideoId, findByYoutubeVideoIdIn
+CREATE INDEX thumbnail_youtube_video_id_idx ON thumbnail (youtube_video_id);
+
+-- EmailVerificationTokenRepository: findByUserOrderByCreatedAtDesc
+-- (findByToken is served by email_confirmation_token_token_unique)
+CREATE INDEX email_verification_token_user_id_created_at_idx ON email_verification_token (user_id, created_at);
@@ -0,0 +1,10 @@
+-- Serialized Roaring64Bitmap of the ids of thumbnails rated by the user, see RatedThumbnailIndex.
+CREATE TABLE user_rated_thumbnails (
+    user_id BIGINT NOT NULL,
+    bitmap MEDIUMBLOB NOT NULL,
+    updated_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (user_id),
+    -- UserRatedThumbnailsRepository: findRecentlyUpdated (loaded on start)
+    INDEX user_rated_thumbnails_updated_at_idx (updated_at),
+    CONSTRAINT user_rated_thumbnails_user_id_fk FOREIGN KEY (user_id) REFERENCES app_user (id) ON DELETE CASCADE
+) ENGINE = InnoDB;
@@ -0,0 +1,16 @@
+-- Append-only log of votes, see VoteEvent and RatingRecomputeService.
+-- Ids are not foreign keys, so the history outlives deleted thumbnails and users.
+CREATE TABLE vote_event_seq (next_val BIGINT) ENGINE = InnoDB;
+INSERT INTO vote_event_seq VALUES (1);
+
+CREATE TABLE vote_event (
+    id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    winner_id BIGINT NOT NULL,
+    loser_id BIGINT NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+-- VoteEventRepository: findUserIds, findByUserIdAndIdBetween (keyset on id)
+CREATE INDEX vote_event_user_id_id_idx ON vote_event (user_id, id);
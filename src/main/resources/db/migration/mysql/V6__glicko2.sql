@@ -0,0 +1,18 @@
+-- Glicko-2 state of ratings, see Glicko2RatingEngine. Not used while rating.algorithm is elo.
+-- period_id is the last rating period that updated the rating, 0 if none did.
+ALTER TABLE rating ADD COLUMN deviation DOUBLE NOT NULL DEFAULT 350;
+ALTER TABLE rating ADD COLUMN volatility DOUBLE NOT NULL DEFAULT 0.06;
+ALTER TABLE rating ADD COLUMN period_id BIGINT NOT NULL DEFAULT 0;
+
+-- Rating periods of Glicko2PeriodProcessor, ids are consecutive.
+CREATE TABLE rating_period (
+    id BIGINT NOT NULL,
+    started_at DATETIME(6) NOT NULL,
+    completed_at DATETIME(6),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+-- the period a vote was rated in, null until its period is started
+ALTER TABLE vote_event ADD COLUMN period_id BIGINT;
+
+CREATE INDEX vote_event_period_id_user_id_idx ON vote_event (period_id, user_id);
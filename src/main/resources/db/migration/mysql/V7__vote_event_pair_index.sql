@@ -0,0 +1,2 @@
+-- VoteEventRepository: findMaxWinnerId, findPairCounts (Bradley-Terry ranking)
+CREATE INDEX vote_event_winner_id_loser_id_idx ON vote_event (winner_id, loser_id);
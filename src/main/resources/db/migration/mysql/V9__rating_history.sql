@@ -0,0 +1,35 @@
+-- Average points of a thumbnail after every change of its ratings, appended by RatingHistory.
+-- Kept for rating.history.raw-retention-hours, history is served from the rollups.
+-- Ids are not foreign keys, as in vote_event.
+CREATE TABLE rating_history_sample_seq (next_val BIGINT) ENGINE = InnoDB;
+INSERT INTO rating_history_sample_seq VALUES (1);
+
+CREATE TABLE rating_history_sample (
+    id BIGINT NOT NULL,
+    thumbnail_id BIGINT NOT NULL,
+    points DECIMAL(19, 2) NOT NULL,
+    recorded_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+-- RatingHistorySampleRepository: deleteRecordedBefore
+CREATE INDEX rating_history_sample_recorded_at_idx ON rating_history_sample (recorded_at);
+
+-- Samples of a thumbnail within a minute, hour or day, see RatingHistoryWriter.
+-- last_points is the points of the latest sample, recorded at last_recorded_at.
+-- Minutes are kept for rating.history.minute-retention-days, hours and days are not evicted.
+CREATE TABLE rating_history_rollup (
+    thumbnail_id BIGINT NOT NULL,
+    resolution ENUM ('MINUTE', 'HOUR', 'DAY') NOT NULL,
+    bucket_start DATETIME(6) NOT NULL,
+    min_points DECIMAL(19, 2) NOT NULL,
+    max_points DECIMAL(19, 2) NOT NULL,
+    points_sum DECIMAL(19, 2) NOT NULL,
+    sample_count BIGINT NOT NULL,
+    last_points DECIMAL(19, 2) NOT NULL,
+    last_recorded_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (thumbnail_id, resolution, bucket_start)
+) ENGINE = InnoDB;
+
+-- RatingHistoryRollupRepository: deleteBucketsBefore
+CREATE INDEX rating_history_rollup_resolution_bucket_start_idx ON rating_history_rollup (resolution, bucket_start);
@@ -0,0 +1,71 @@
+-- Schema as it was generated by Hibernate (ddl-auto: update) before migrations were introduced.
+-- Existing databases are baselined at this version (spring.flyway.baseline-on-migrate).
+CREATE SEQUENCE app_user_seq START WITH 1 INCREMENT BY 1;
+CREATE SEQUENCE email_verification_token_seq START WITH 1 INCREMENT BY 1;
+CREATE SEQUENCE game_seq START WITH 1 INCREMENT BY 1;
+CREATE SEQUENCE rating_seq START WITH 1 INCREMENT BY 1;
+CREATE SEQUENCE thumbnail_seq START WITH 1 INCREMENT BY 1;
+
+CREATE TABLE app_user (
+    id BIGINT NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    is_enabled BOOLEAN NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    user_role VARCHAR(255) NOT NULL CHECK (user_role IN ('ROLE_USER', 'ROLE_ADMIN')),
+    username VARCHAR(255) NOT NULL,
+    CONSTRAINT app_user_pkey PRIMARY KEY (id),
+    CONSTRAINT app_user_email_unique UNIQUE (email),
+    CONSTRAINT app_user_username_unique UNIQUE (username)
+);
+
+CREATE TABLE email_verification_token (
+    id BIGINT NOT NULL,
+    confirmed_at TIMESTAMP(6),
+    created_at TIMESTAMP(6) NOT NULL,
+    expires_at TIMESTAMP(6) NOT NULL,
+    token VARCHAR(255) NOT NULL,
+    user_id BIGINT NOT NULL,
+    CONSTRAINT email_verification_token_pkey PRIMARY KEY (id),
+    CONSTRAINT email_confirmation_token_token_unique UNIQUE (token),
+    CONSTRAINT email_verification_token_user_id_fk FOREIGN KEY (user_id) REFERENCES app_user (id)
+);
+
+CREATE TABLE thumbnail (
+    id BIGINT NOT NULL,
+    url VARCHAR(255) NOT NULL,
+    youtube_video_id VARCHAR(255) NOT NULL,
+    added_by_id BIGINT,
+    CONSTRAINT thumbnail_pkey PRIMARY KEY (id),
+    CONSTRAINT added_by_id_fk FOREIGN KEY (added_by_id) REFERENCES app_user (id)
+);
+
+CREATE TABLE rating (
+    id BIGINT NOT NULL,
+    points NUMERIC(19, 2) NOT NULL,
+    thumbnail_id BIGINT,
+    user_id BIGINT,
+    CONSTRAINT rating_pkey PRIMARY KEY (id),
+    CONSTRAINT rating_thumbnail_id_fk FOREIGN KEY (thumbnail_id) REFERENCES thumbnail (id),
+    CONSTRAINT rating_user_id_fk FOREIGN KEY (user_id) REFERENCES app_user (id)
+);
+
+CREATE TABLE game (
+    id BIGINT NOT NULL,
+    has_ended BOOLEAN,
+    last_activity TIMESTAMP(6) NOT NULL,
+    user_id BIGINT,
+    CONSTRAINT game_pkey PRIMARY KEY (id),
+    CONSTRAINT game_user_id_fk FOREIGN KEY (user_id) REFERENCES app_user (id)
+);
+
+CREATE TABLE round (
+    id UUID NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    game_id BIGINT NOT NULL,
+    thumbnail_1_id BIGINT NOT NULL,
+    thumbnail_2_id BIGINT NOT NULL,
+    CONSTRAINT round_pkey PRIMARY KEY (id),
+    CONSTRAINT FKppxonwn9e98lccy46m2eve67m FOREIGN KEY (game_id) REFERENCES game (id),
+    CONSTRAINT FKnusi6pchw19e2fhpagr1errhv FOREIGN KEY (thumbnail_1_id) REFERENCES thumbnail (id),
+    CONSTRAINT FKi28m468f2w53soecfsetcmg0o FOREIGN KEY (thumbnail_2_id) REFERENCES thumbnail (id)
+);
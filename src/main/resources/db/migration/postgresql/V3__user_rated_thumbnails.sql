@@ -0,0 +1,11 @@
+-- Serialized Roaring64Bitmap of the ids of thumbnails rated by the user, see RatedThumbnailIndex.
+CREATE TABLE user_rated_thumbnails (
+    user_id BIGINT NOT NULL,
+    bitmap BYTEA NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT user_rated_thumbnails_pkey PRIMARY KEY (user_id),
+    CONSTRAINT user_rated_thumbnails_user_id_fk FOREIGN KEY (user_id) REFERENCES app_user (id) ON DELETE CASCADE
+);
+
+-- UserRatedThumbnailsRepository: findRecentlyUpdated (loaded on start)
+CREATE INDEX user_rated_thumbnails_updated_at_idx ON user_rated_thumbnails (updated_at);
@@ -0,0 +1,2 @@
+-- Optimistic locking of Rating, see RatingLocks and RatingUpdateRetry.
+ALTER TABLE rating ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,15 @@
+-- Append-only log of votes, see VoteEvent and RatingRecomputeService.
+-- Ids are not foreign keys, so the history outlives deleted thumbnails and users.
+CREATE SEQUENCE vote_event_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE vote_event (
+    id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    winner_id BIGINT NOT NULL,
+    loser_id BIGINT NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT vote_event_pkey PRIMARY KEY (id)
+);
+
+-- VoteEventRepository: findUserIds, findByUserIdAndIdBetween (keyset on id)
+CREATE INDEX vote_event_user_id_id_idx ON vote_event (user_id, id);
@@ -0,0 +1,23 @@
+-- Winner of a round, set when its result is sent. Null for the current round of a game
+-- and for rounds played before the column was added.
+ALTER TABLE round ADD COLUMN winner_id BIGINT;
+ALTER TABLE round ADD CONSTRAINT round_winner_id_fk FOREIGN KEY (winner_id) REFERENCES thumbnail (id);
+
+-- Wins of both thumbnails of a pair, thumbnail_1_id < thumbnail_2_id, see HeadToHeadIndex.
+-- Ids are not foreign keys, as in vote_event.
+CREATE TABLE head_to_head (
+    thumbnail_1_id BIGINT NOT NULL,
+    thumbnail_2_id BIGINT NOT NULL,
+    thumbnail_1_wins INTEGER NOT NULL,
+    thumbnail_2_wins INTEGER NOT NULL,
+    CONSTRAINT head_to_head_pkey PRIMARY KEY (thumbnail_1_id, thumbnail_2_id)
+);
+
+-- votes logged so far
+INSERT INTO head_to_head (thumbnail_1_id, thumbnail_2_id, thumbnail_1_wins, thumbnail_2_wins)
+SELECT LEAST(winner_id, loser_id),
+       GREATEST(winner_id, loser_id),
+       SUM(CASE WHEN winner_id < loser_id THEN 1 ELSE 0 END),
+       SUM(CASE WHEN winner_id > loser_id THEN 1 ELSE 0 END)
+FROM vote_event
+GROUP BY LEAST(winner_id, loser_id), GREATEST(winner_id, loser_id);
@@ -0,0 +1,34 @@
+-- Average points of a thumbnail after every change of its ratings, appended by RatingHistory.
+-- Kept for rating.history.raw-retention-hours, history is served from the rollups.
+-- Ids are not foreign keys, as in vote_event.
+CREATE SEQUENCE rating_history_sample_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE rating_history_sample (
+    id BIGINT NOT NULL,
+    thumbnail_id BIGINT NOT NULL,
+    points NUMERIC(19, 2) NOT NULL,
+    recorded_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT rating_history_sample_pkey PRIMARY KEY (id)
+);
+
+-- RatingHistorySampleRepository: deleteRecordedBefore
+CREATE INDEX rating_history_sample_recorded_at_idx ON rating_history_sample (recorded_at);
+
+-- Samples of a thumbnail within a minute, hour or day, see RatingHistoryWriter.
+-- last_points is the points of the latest sample, recorded at last_recorded_at.
+-- Minutes are kept for rating.history.minute-retention-days, hours and days are not evicted.
+CREATE TABLE rating_history_rollup (
+    thumbnail_id BIGINT NOT NULL,
+    resolution VARCHAR(255) NOT NULL,
+    bucket_start TIMESTAMP(6) NOT NULL,
+    min_points NUMERIC(19, 2) NOT NULL,
+    max_points NUMERIC(19, 2) NOT NULL,
+    points_sum NUMERIC(19, 2) NOT NULL,
+    sample_count BIGINT NOT NULL,
+    last_points NUMERIC(19, 2) NOT NULL,
+    last_recorded_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT rating_history_rollup_pkey PRIMARY KEY (thumbnail_id, resolution, bucket_start)
+);
+
+-- RatingHistoryRollupRepository: deleteBucketsBefore
+CREATE INDEX rating_history_rollup_resolution_bucket_start_idx ON rating_history_rollup (resolution, bucket_start);
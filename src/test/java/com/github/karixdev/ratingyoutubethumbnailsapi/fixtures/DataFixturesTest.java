@@ -8,12 +8,16 @@ import com.github.karixdev.ratingyoutubethumbnailsapi.user.UserRole;
 import com.github.karixdev.ratingyoutubethumbnailsapi.user.UserService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.List;
 import java.util.Optional;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
@@ -35,6 +39,9 @@ public class DataFixturesTest {
     @Mock
     FixturesProperties properties;
 
+    @Captor
+    ArgumentCaptor<List<Thumbnail>> thumbnailsCaptor;
+
     @Test
     void shouldNotLoadDataFixtures() {
         verify(userRepository, never()).findByEmail(any());
@@ -138,17 +145,18 @@ public class DataFixturesTest {
         when(userService.createUser(any(), any(), any(), any(), any()))
                 .thenReturn(user);
 
-        when(thumbnailRepository.findByYoutubeVideoId(any()))
-                .thenReturn(Optional.of(Thumbnail.builder()
-                        .id(1L)
-                        .addedBy(user)
-                        .url("thumbnail-url")
-                        .youtubeVideoId("youtube-id")
-                        .build()));
+        when(thumbnailRepository.findByYoutubeVideoIdIn(any()))
+                .thenAnswer(invocation -> invocation.<List<String>>getArgument(0).stream()
+                        .map(youtubeVideoId -> Thumbnail.builder()
+                                .addedBy(user)
+                                .url("thumbnail-url")
+                                .youtubeVideoId(youtubeVideoId)
+                                .build())
+                        .toList());
 
         underTest.run();
 
-        verify(thumbnailRepository, never()).save(any());
+        verify(thumbnailRepository).saveAll(eq(List.of()));
     }
 
     @Test
@@ -173,11 +181,20 @@ public class DataFixturesTest {
         when(userService.createUser(any(), any(), any(), any(), any()))
                 .thenReturn(user);
 
-        when(thumbnailRepository.findByYoutubeVideoId(any()))
-                .thenReturn(Optional.empty());
+        when(thumbnailRepository.findByYoutubeVideoIdIn(any()))
+                .thenReturn(List.of(Thumbnail.builder()
+                        .id(1L)
+                        .addedBy(user)
+                        .youtubeVideoId("e-fA-gBCkj0")
+                        .build()));
 
         underTest.run();
 
-        verify(thumbnailRepository, times(7)).save(any());
+        verify(thumbnailRepository).saveAll(thumbnailsCaptor.capture());
+        assertThat(thumbnailsCaptor.getValue())
+                .hasSize(3)
+                .allSatisfy(thumbnail -> assertThat(thumbnail.getAddedBy()).isEqualTo(user))
+                .extracting(Thumbnail::getYoutubeVideoId)
+                .doesNotContain("e-fA-gBCkj0");
     }
 }
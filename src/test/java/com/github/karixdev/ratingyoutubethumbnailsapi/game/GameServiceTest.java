@@ -1,11 +1,20 @@
 package com.github.karixdev.ratingyoutubethumbnailsapi.game;
 
 import com.github.karixdev.ratingyoutubethumbnailsapi.game.exception.GameHasAlreadyEndedException;
+import com.github.karixdev.ratingyoutubethumbnailsapi.game.exception.GameHasEndedException;
 import com.github.karixdev.ratingyoutubethumbnailsapi.game.exception.InvalidWinnerIdException;
+import com.github.karixdev.ratingyoutubethumbnailsapi.game.exception.StaleGameSessionException;
+import com.github.karixdev.ratingyoutubethumbnailsapi.game.payload.request.GameBatchResultRequest;
 import com.github.karixdev.ratingyoutubethumbnailsapi.game.payload.request.GameResultRequest;
+import com.github.karixdev.ratingyoutubethumbnailsapi.game.payload.response.GameBatchResponse;
 import com.github.karixdev.ratingyoutubethumbnailsapi.game.payload.response.GameResponse;
+import com.github.karixdev.ratingyoutubethumbnailsapi.headtohead.HeadToHeadIndex;
+import com.github.karixdev.ratingyoutubethumbnailsapi.rating.OpponentCandidates;
+import com.github.karixdev.ratingyoutubethumbnailsapi.rating.RatingBatch;
 import com.github.karixdev.ratingyoutubethumbnailsapi.rating.RatingService;
 import com.github.karixdev.ratingyoutubethumbnailsapi.round.Round;
+import com.github.karixdev.ratingyoutubethumbnailsapi.round.RoundService;
+import com.github.karixdev.ratingyoutubethumbnailsapi.round.payload.response.RoundResponse;
 import com.github.karixdev.ratingyoutubethumbnailsapi.security.UserPrincipal;
 import com.github.karixdev.ratingyoutubethumbnailsapi.shared.exception.PermissionDeniedException;
 import com.github.karixdev.ratingyoutubethumbnailsapi.shared.exception.ResourceNotFoundException;
@@ -18,10 +27,15 @@ import com.github.karixdev.ratingyoutubethumbnailsapi.user.UserRole;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.math.BigDecimal;
 import java.time.Clock;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
@@ -30,8 +44,14 @@ import java.util.*;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -54,6 +74,24 @@ public class GameServiceTest {
     @Mock
     GameProperties properties;
 
+    @Mock
+    GameSessionCache sessionCache;
+
+    @Mock
+    RoundService roundService;
+
+    @Mock
+    MatchupPrefetcher matchupPrefetcher;
+
+    @Mock
+    HeadToHeadIndex headToHeadIndex;
+
+    @Mock
+    RatingBatch ratingBatch;
+
+    @Captor
+    ArgumentCaptor<List<Round>> roundsCaptor;
+
     User user;
 
     Thumbnail thumbnail1;
@@ -102,8 +140,8 @@ public class GameServiceTest {
         User user = createUser();
         UserPrincipal userPrincipal = new UserPrincipal(user);
 
-        when(repository.findByUserOrderByLastActivityDesc(eq(user)))
-                .thenReturn(List.of());
+        when(repository.findFirstByUserOrderByLastActivityDesc(eq(user)))
+                .thenReturn(Optional.empty());
 
         when(clock.getZone()).thenReturn(NOW.getZone());
         when(clock.instant()).thenReturn(NOW.toInstant());
@@ -117,15 +155,24 @@ public class GameServiceTest {
         when(thumbnailService.getRandomThumbnail())
                 .thenReturn(thumbnail1);
 
-        Thumbnail thumbnail2 = createThumbnail(1L, "url-2", "yt-id-2", user);
-        when(ratingService.pickOpponent(eq(game), eq(thumbnail1), eq(user)))
+        Thumbnail thumbnail2 = createThumbnail(2L, "url-2", "yt-id-2", user);
+        when(ratingService.pickOpponent(eq(thumbnail1), eq(user), eq(Set.of())))
                 .thenReturn(thumbnail2);
 
+        Round round = createRound(game, thumbnail1, thumbnail2);
+        when(roundService.create(eq(game), eq(thumbnail1), eq(thumbnail2), eq(NOW.toLocalDateTime())))
+                .thenReturn(round);
+
         // When
-        underTest.play(userPrincipal, null);
+        GameResponse result = underTest.play(userPrincipal, null);
 
         // Then
         verify(repository).save(eq(game));
+        verify(sessionCache).put(eq(user), any());
+        verify(matchupPrefetcher).prefetch(any(), eq(user));
+
+        assertThat(result.getThumbnails().stream().map(ThumbnailResponse::getId))
+                .containsExactly(thumbnail1.getId(), thumbnail2.getId());
     }
 
     @Test
@@ -134,8 +181,8 @@ public class GameServiceTest {
         User user = createUser();
         UserPrincipal userPrincipal = new UserPrincipal(user);
 
-        when(repository.findByUserOrderByLastActivityDesc(eq(user)))
-                .thenReturn(List.of(Game.builder().id(1L).hasEnded(true).build()));
+        when(repository.findFirstByUserOrderByLastActivityDesc(eq(user)))
+                .thenReturn(Optional.of(Game.builder().id(1L).hasEnded(true).build()));
 
         when(clock.getZone()).thenReturn(NOW.getZone());
         when(clock.instant()).thenReturn(NOW.toInstant());
@@ -149,15 +196,19 @@ public class GameServiceTest {
         when(thumbnailService.getRandomThumbnail())
                 .thenReturn(thumbnail1);
 
-        Thumbnail thumbnail2 = createThumbnail(1L, "url-2", "yt-id-2", user);
-        when(ratingService.pickOpponent(eq(game), eq(thumbnail1), eq(user)))
+        Thumbnail thumbnail2 = createThumbnail(2L, "url-2", "yt-id-2", user);
+        when(ratingService.pickOpponent(eq(thumbnail1), eq(user), eq(Set.of())))
                 .thenReturn(thumbnail2);
 
+        when(roundService.create(eq(game), eq(thumbnail1), eq(thumbnail2), eq(NOW.toLocalDateTime())))
+                .thenReturn(createRound(game, thumbnail1, thumbnail2));
+
         // When
         underTest.play(userPrincipal, null);
 
         // Then
         verify(repository).save(eq(game));
+        verify(sessionCache).put(eq(user), any());
     }
 
     @Test
@@ -176,12 +227,12 @@ public class GameServiceTest {
                 .hasEnded(false)
                 .lastActivity(NOW.toLocalDateTime().minusMinutes(1))
                 .build();
-        game.addRound(thumbnail1, thumbnail2, clock);
+        game.setCurrentRound(createRound(game, thumbnail1, thumbnail2));
 
         when(properties.getDuration()).thenReturn(10);
 
-        when(repository.findByUserOrderByLastActivityDesc(eq(user)))
-                .thenReturn(List.of(game));
+        when(repository.findFirstByUserOrderByLastActivityDesc(eq(user)))
+                .thenReturn(Optional.of(game));
 
         // When
         GameResponse result = underTest.play(userPrincipal, null);
@@ -190,6 +241,161 @@ public class GameServiceTest {
         assertThat(result.getId()).isEqualTo(1L);
         assertThat(result.getThumbnails().stream().map(ThumbnailResponse::getId))
                 .containsExactly(thumbnail1.getId(), thumbnail2.getId());
+
+        verify(sessionCache).put(eq(user), any());
+        verifyNoInteractions(roundService);
+    }
+
+    @Test
+    void GivenActiveGameResumedInTransaction_WhenPlay_ThenSessionIsNotCachedBeforeCommit() {
+        // Given
+        User user = createUser();
+        UserPrincipal userPrincipal = new UserPrincipal(user);
+
+        when(clock.getZone()).thenReturn(NOW.getZone());
+        when(clock.instant()).thenReturn(NOW.toInstant());
+
+        Thumbnail thumbnail1 = createThumbnail(1L, "url-1", "yt-id-1", user);
+        Thumbnail thumbnail2 = createThumbnail(2L, "url-2", "yt-id-2", user);
+        Game game = Game.builder()
+                .id(1L)
+                .hasEnded(false)
+                .lastActivity(NOW.toLocalDateTime().minusMinutes(1))
+                .build();
+        game.setCurrentRound(createRound(game, thumbnail1, thumbnail2));
+
+        when(properties.getDuration()).thenReturn(10);
+
+        when(repository.findFirstByUserOrderByLastActivityDesc(eq(user)))
+                .thenReturn(Optional.of(game));
+
+        TransactionSynchronizationManager.initSynchronization();
+
+        try {
+            // When
+            underTest.play(userPrincipal, null);
+
+            // Then
+            verify(sessionCache, never()).put(any(), any());
+            assertThat(TransactionSynchronizationManager.getSynchronizations()).hasSize(1);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void GivenUserWithActiveGameWithoutCurrentRound_WhenPlay_ThenLatestRoundIsLoadedAndStoredAsCurrentRound() {
+        // Given
+        User user = createUser();
+        UserPrincipal userPrincipal = new UserPrincipal(user);
+
+        when(clock.getZone()).thenReturn(NOW.getZone());
+        when(clock.instant()).thenReturn(NOW.toInstant());
+
+        Thumbnail thumbnail1 = createThumbnail(1L, "url-1", "yt-id-1", user);
+        Thumbnail thumbnail2 = createThumbnail(2L, "url-2", "yt-id-2", user);
+        Game game = Game.builder()
+                .id(1L)
+                .hasEnded(false)
+                .lastActivity(NOW.toLocalDateTime().minusMinutes(1))
+                .build();
+        Round round = createRound(game, thumbnail1, thumbnail2);
+
+        when(properties.getDuration()).thenReturn(10);
+
+        when(repository.findFirstByUserOrderByLastActivityDesc(eq(user)))
+                .thenReturn(Optional.of(game));
+
+        when(roundService.findLatest(eq(game)))
+                .thenReturn(Optional.of(round));
+
+        // When
+        GameResponse result = underTest.play(userPrincipal, null);
+
+        // Then
+        assertThat(result.getThumbnails().stream().map(ThumbnailResponse::getId))
+                .containsExactly(thumbnail1.getId(), thumbnail2.getId());
+        assertThat(game.getCurrentRound()).isEqualTo(round);
+    }
+
+    @Test
+    void GivenUserWithCurrentCachedGameSessionAndNullGameResultRequest_WhenPlay_ThenReturnsResponseWithoutLoadingGame() {
+        // Given
+        User user = createUser();
+        UserPrincipal userPrincipal = new UserPrincipal(user);
+
+        Thumbnail thumbnail1 = createThumbnail(1L, "url-1", "yt-id-1", user);
+        Thumbnail thumbnail2 = createThumbnail(2L, "url-2", "yt-id-2", user);
+        Game game = Game.builder()
+                .id(1L)
+                .hasEnded(false)
+                .lastActivity(NOW.toLocalDateTime().minusMinutes(1))
+                .build();
+
+        Round round = createRound(game, thumbnail1, thumbnail2);
+
+        when(sessionCache.get(eq(user)))
+                .thenReturn(Optional.of(GameSession.started(game, round)));
+
+        when(repository.findCurrentRoundIdOfActiveGame(eq(1L)))
+                .thenReturn(Optional.of(round.getId()));
+
+        // When
+        GameResponse result = underTest.play(userPrincipal, null);
+
+        // Then
+        assertThat(result.getId()).isEqualTo(1L);
+        assertThat(result.getThumbnails().stream().map(ThumbnailResponse::getId))
+                .containsExactly(thumbnail1.getId(), thumbnail2.getId());
+
+        verify(repository).findCurrentRoundIdOfActiveGame(eq(1L));
+        verifyNoMoreInteractions(repository);
+        verifyNoInteractions(roundService);
+    }
+
+    @Test
+    void GivenCachedGameSessionWhoseRoundWasPlayedElsewhere_WhenPlay_ThenEvictsItAndResumesGameFromDatabase() {
+        // Given
+        User user = createUser();
+        UserPrincipal userPrincipal = new UserPrincipal(user);
+
+        when(clock.getZone()).thenReturn(NOW.getZone());
+        when(clock.instant()).thenReturn(NOW.toInstant());
+
+        Thumbnail thumbnail1 = createThumbnail(1L, "url-1", "yt-id-1", user);
+        Thumbnail thumbnail2 = createThumbnail(2L, "url-2", "yt-id-2", user);
+        Thumbnail thumbnail3 = createThumbnail(3L, "url-3", "yt-id-3", user);
+        Game game = Game.builder()
+                .id(1L)
+                .hasEnded(false)
+                .lastActivity(NOW.toLocalDateTime().minusMinutes(1))
+                .build();
+
+        GameSession cached = GameSession.started(game, createRound(game, thumbnail1, thumbnail2));
+        Round currentRound = createRound(game, thumbnail1, thumbnail3);
+        game.setCurrentRound(currentRound);
+
+        when(sessionCache.get(eq(user)))
+                .thenReturn(Optional.of(cached));
+
+        when(repository.findCurrentRoundIdOfActiveGame(eq(1L)))
+                .thenReturn(Optional.of(currentRound.getId()));
+
+        when(properties.getDuration()).thenReturn(10);
+
+        when(repository.findFirstByUserOrderByLastActivityDesc(eq(user)))
+                .thenReturn(Optional.of(game));
+
+        // When
+        GameResponse result = underTest.play(userPrincipal, null);
+
+        // Then
+        assertThat(result.getThumbnails().stream().map(ThumbnailResponse::getId))
+                .containsExactly(thumbnail1.getId(), thumbnail3.getId());
+
+        verify(sessionCache).evict(eq(user), eq(1L));
+        verify(sessionCache).put(eq(user), argThat(session -> session != cached
+                && session.getLatestRound().roundId().equals(currentRound.getId())));
     }
 
     @Test
@@ -210,12 +416,12 @@ public class GameServiceTest {
                 .hasEnded(false)
                 .lastActivity(NOW.toLocalDateTime().minusMinutes(1))
                 .build();
-        game.addRound(thumbnail1, thumbnail2, clock);
+        game.setCurrentRound(createRound(game, thumbnail1, thumbnail2));
 
         when(properties.getDuration()).thenReturn(10);
 
-        when(repository.findByUserOrderByLastActivityDesc(eq(user)))
-                .thenReturn(List.of(game));
+        when(repository.findFirstByUserOrderByLastActivityDesc(eq(user)))
+                .thenReturn(Optional.of(game));
 
         // When & Then
         assertThatThrownBy(() -> underTest.play(userPrincipal, payload))
@@ -241,32 +447,350 @@ public class GameServiceTest {
                 .lastActivity(NOW.toLocalDateTime().minusMinutes(1))
                 .build();
 
-        Set<Round> rounds = new HashSet<>();
-        rounds.add(createRound(game, thumbnail1, thumbnail2));
-        game.setRounds(rounds);
+        GameSession session = GameSession.started(game, createRound(game, thumbnail1, thumbnail2));
+        when(sessionCache.get(eq(user)))
+                .thenReturn(Optional.of(session));
 
-        when(properties.getDuration()).thenReturn(10);
+        when(thumbnailService.findById(eq(1L)))
+                .thenReturn(Optional.of(thumbnail1));
+        when(thumbnailService.findById(eq(2L)))
+                .thenReturn(Optional.of(thumbnail2));
+
+        when(repository.getReferenceById(eq(1L)))
+                .thenReturn(game);
+        when(repository.updateCurrentRound(eq(1L), eq(session.getLatestRound().roundId()), any(), any()))
+                .thenReturn(1);
 
-        when(repository.findByUserOrderByLastActivityDesc(eq(user)))
-                .thenReturn(List.of(game));
+        when(ratingService.startBatch(eq(user)))
+                .thenReturn(ratingBatch);
 
         Thumbnail thumbnail3 = createThumbnail(3L, "url-3", "yt-id-3", user);
-        when(ratingService.pickOpponent(eq(game), eq(thumbnail1), eq(user)))
+        when(ratingBatch.pickOpponent(eq(thumbnail1), eq(Set.of(2L)), isNull()))
+                .thenReturn(thumbnail3);
+
+        // When
+        GameResponse result = underTest.play(userPrincipal, payload);
+
+        // Then
+        verify(ratingBatch).recordWin(eq(thumbnail1), eq(thumbnail2));
+        verify(ratingBatch).save();
+
+        verify(roundService).saveAll(roundsCaptor.capture());
+        Round round = roundsCaptor.getValue().get(0);
+
+        assertThat(round.getThumbnail1()).isEqualTo(thumbnail1);
+        assertThat(round.getThumbnail2()).isEqualTo(thumbnail3);
+        assertThat(round.getCreatedAt()).isEqualTo(NOW.toLocalDateTime());
+
+        verify(repository).updateCurrentRound(eq(1L), any(), eq(round), eq(NOW.toLocalDateTime()));
+        verify(repository, never()).findCurrentRoundIdOfActiveGame(any());
+        verify(repository, never()).findFirstByUserOrderByLastActivityDesc(any());
+
+        assertThat(result.getThumbnails().stream().map(ThumbnailResponse::getId))
+                .containsExactly(thumbnail1.getId(), thumbnail3.getId());
+
+        assertThat(session.getLatestRound().response()).isEqualTo(result);
+        assertThat(session.findOpponentIdsOf(1L)).contains(Set.of(2L, 3L));
+        assertThat(session.getLastActivity()).isEqualTo(NOW.toLocalDateTime());
+    }
+
+    @Test
+    void GivenGameSessionWithPrefetchedMatchup_WhenPlay_ThenPrefetchedCandidatesArePassedToRatingBatchAndNextMatchupIsPrefetched() {
+        // Given
+        User user = createUser();
+        UserPrincipal userPrincipal = new UserPrincipal(user);
+
+        GameResultRequest payload = new GameResultRequest(1L);
+
+        when(clock.getZone()).thenReturn(NOW.getZone());
+        when(clock.instant()).thenReturn(NOW.toInstant());
+
+        Thumbnail thumbnail1 = createThumbnail(1L, "url-1", "yt-id-1", user);
+        Thumbnail thumbnail2 = createThumbnail(2L, "url-2", "yt-id-2", user);
+        Thumbnail thumbnail3 = createThumbnail(3L, "url-3", "yt-id-3", user);
+        Game game = Game.builder()
+                .id(1L)
+                .hasEnded(false)
+                .lastActivity(NOW.toLocalDateTime().minusMinutes(1))
+                .build();
+
+        GameSession session = GameSession.started(game, createRound(game, thumbnail1, thumbnail2));
+        OpponentCandidates candidates = new OpponentCandidates(
+                1L, new BigDecimal("1416.00"), Set.of(2L), List.of(thumbnail3), 1L, 1L);
+        session.putMatchups(session.getLatestRound(), Map.of(1L, candidates));
+
+        when(sessionCache.get(eq(user)))
+                .thenReturn(Optional.of(session));
+
+        when(thumbnailService.findById(eq(1L)))
+                .thenReturn(Optional.of(thumbnail1));
+        when(thumbnailService.findById(eq(2L)))
+                .thenReturn(Optional.of(thumbnail2));
+
+        when(repository.getReferenceById(eq(1L)))
+                .thenReturn(game);
+        when(repository.updateCurrentRound(eq(1L), eq(session.getLatestRound().roundId()), any(), any()))
+                .thenReturn(1);
+
+        when(ratingService.startBatch(eq(user)))
+                .thenReturn(ratingBatch);
+
+        when(ratingBatch.pickOpponent(eq(thumbnail1), eq(Set.of(2L)), eq(candidates)))
+                .thenReturn(thumbnail3);
+
+        // When
+        GameResponse result = underTest.play(userPrincipal, payload);
+
+        // Then
+        assertThat(result.getThumbnails().stream().map(ThumbnailResponse::getId))
+                .containsExactly(thumbnail1.getId(), thumbnail3.getId());
+
+        verify(matchupPrefetcher).prefetch(eq(session), eq(user));
+        assertThat(session.findMatchup(1L)).isEmpty();
+    }
+
+    @Test
+    void GivenResumedGameSessionAndNotNullRequest_WhenPlay_ThenOpponentsOfWinnerAreLoadedFromRounds() {
+        // Given
+        User user = createUser();
+        UserPrincipal userPrincipal = new UserPrincipal(user);
+
+        GameResultRequest payload = new GameResultRequest(1L);
+
+        when(clock.getZone()).thenReturn(NOW.getZone());
+        when(clock.instant()).thenReturn(NOW.toInstant());
+
+        Thumbnail thumbnail1 = createThumbnail(1L, "url-1", "yt-id-1", user);
+        Thumbnail thumbnail2 = createThumbnail(2L, "url-2", "yt-id-2", user);
+        Game game = Game.builder()
+                .id(1L)
+                .hasEnded(false)
+                .lastActivity(NOW.toLocalDateTime().minusMinutes(1))
+                .build();
+
+        GameSession session = GameSession.resumed(game, createRound(game, thumbnail1, thumbnail2));
+        when(sessionCache.get(eq(user)))
+                .thenReturn(Optional.of(session));
+
+        when(thumbnailService.findById(eq(1L)))
+                .thenReturn(Optional.of(thumbnail1));
+        when(thumbnailService.findById(eq(2L)))
+                .thenReturn(Optional.of(thumbnail2));
+
+        when(roundService.getOpponentIdsOf(eq(1L), eq(1L)))
+                .thenReturn(Set.of(2L, 4L));
+
+        when(repository.getReferenceById(eq(1L)))
+                .thenReturn(game);
+        when(repository.updateCurrentRound(eq(1L), eq(session.getLatestRound().roundId()), any(), any()))
+                .thenReturn(1);
+
+        when(ratingService.startBatch(eq(user)))
+                .thenReturn(ratingBatch);
+
+        Thumbnail thumbnail3 = createThumbnail(3L, "url-3", "yt-id-3", user);
+        when(ratingBatch.pickOpponent(eq(thumbnail1), eq(Set.of(2L, 4L)), isNull()))
                 .thenReturn(thumbnail3);
 
         // When
         underTest.play(userPrincipal, payload);
 
         // Then
-        verify(ratingService).updateRatings(
-                eq(thumbnail1),
-                eq(thumbnail2),
-                eq(user)
-        );
-
-        Round latestRound = game.getLatestRound();
-        assertThat(latestRound.getThumbnail1()).isEqualTo(thumbnail1);
-        assertThat(latestRound.getThumbnail2()).isEqualTo(thumbnail3);
+        assertThat(session.findOpponentIdsOf(1L)).contains(Set.of(2L, 3L, 4L));
+        assertThat(session.findOpponentIdsOf(3L)).isEmpty();
+    }
+
+    @Test
+    void GivenCurrentRoundChangedWhilePlaying_WhenPlay_ThenThrowsStaleGameSessionExceptionAndEvictsSession() {
+        // Given
+        User user = createUser();
+        UserPrincipal userPrincipal = new UserPrincipal(user);
+
+        GameResultRequest payload = new GameResultRequest(1L);
+
+        when(clock.getZone()).thenReturn(NOW.getZone());
+        when(clock.instant()).thenReturn(NOW.toInstant());
+
+        Thumbnail thumbnail1 = createThumbnail(1L, "url-1", "yt-id-1", user);
+        Thumbnail thumbnail2 = createThumbnail(2L, "url-2", "yt-id-2", user);
+        Thumbnail thumbnail3 = createThumbnail(3L, "url-3", "yt-id-3", user);
+        Game game = Game.builder()
+                .id(1L)
+                .hasEnded(false)
+                .lastActivity(NOW.toLocalDateTime().minusMinutes(1))
+                .build();
+
+        GameSession session = GameSession.started(game, createRound(game, thumbnail1, thumbnail2));
+        GameSession.LatestRound latestRound = session.getLatestRound();
+
+        when(sessionCache.get(eq(user)))
+                .thenReturn(Optional.of(session));
+
+        when(thumbnailService.findById(eq(1L)))
+                .thenReturn(Optional.of(thumbnail1));
+        when(thumbnailService.findById(eq(2L)))
+                .thenReturn(Optional.of(thumbnail2));
+
+        when(repository.getReferenceById(eq(1L)))
+                .thenReturn(game);
+        when(repository.updateCurrentRound(eq(1L), eq(latestRound.roundId()), any(), any()))
+                .thenReturn(0);
+
+        when(ratingService.startBatch(eq(user)))
+                .thenReturn(ratingBatch);
+        when(ratingBatch.pickOpponent(eq(thumbnail1), eq(Set.of(2L)), isNull()))
+                .thenReturn(thumbnail3);
+
+        // When & Then
+        assertThatThrownBy(() -> underTest.play(userPrincipal, payload))
+                .isInstanceOf(StaleGameSessionException.class);
+
+        verify(sessionCache).evict(eq(user), eq(1L));
+        verifyNoInteractions(headToHeadIndex, matchupPrefetcher);
+        assertThat(session.getLatestRound()).isSameAs(latestRound);
+    }
+
+    @Test
+    void GivenNoActiveGame_WhenPlayBatch_ThenThrowsGameHasEndedException() {
+        // Given
+        User user = createUser();
+        UserPrincipal userPrincipal = new UserPrincipal(user);
+
+        GameBatchResultRequest payload = new GameBatchResultRequest(List.of(1L));
+
+        when(repository.findFirstByUserOrderByLastActivityDesc(eq(user)))
+                .thenReturn(Optional.empty());
+
+        // When & Then
+        assertThatThrownBy(() -> underTest.playBatch(userPrincipal, payload))
+                .isInstanceOf(GameHasEndedException.class);
+    }
+
+    @Test
+    void GivenBatchWithWinnerNotInCurrentPair_WhenPlayBatch_ThenThrowsInvalidWinnerIdExceptionAndSavesNothing() {
+        // Given
+        User user = createUser();
+        UserPrincipal userPrincipal = new UserPrincipal(user);
+
+        // second vote refers to thumbnail2, which is no longer in the pair after the first vote
+        GameBatchResultRequest payload = new GameBatchResultRequest(List.of(1L, 2L));
+
+        when(clock.getZone()).thenReturn(NOW.getZone());
+        when(clock.instant()).thenReturn(NOW.toInstant());
+
+        Thumbnail thumbnail1 = createThumbnail(1L, "url-1", "yt-id-1", user);
+        Thumbnail thumbnail2 = createThumbnail(2L, "url-2", "yt-id-2", user);
+        Game game = Game.builder()
+                .id(1L)
+                .hasEnded(false)
+                .lastActivity(NOW.toLocalDateTime().minusMinutes(1))
+                .build();
+
+        GameSession session = GameSession.started(game, createRound(game, thumbnail1, thumbnail2));
+        when(sessionCache.get(eq(user)))
+                .thenReturn(Optional.of(session));
+
+        when(thumbnailService.findById(eq(1L)))
+                .thenReturn(Optional.of(thumbnail1));
+        when(thumbnailService.findById(eq(2L)))
+                .thenReturn(Optional.of(thumbnail2));
+
+        when(repository.getReferenceById(eq(1L)))
+                .thenReturn(game);
+
+        when(ratingService.startBatch(eq(user)))
+                .thenReturn(ratingBatch);
+
+        Thumbnail thumbnail3 = createThumbnail(3L, "url-3", "yt-id-3", user);
+        when(ratingBatch.pickOpponent(eq(thumbnail1), eq(Set.of(2L)), isNull()))
+                .thenReturn(thumbnail3);
+
+        // When & Then
+        assertThatThrownBy(() -> underTest.playBatch(userPrincipal, payload))
+                .isInstanceOf(InvalidWinnerIdException.class);
+
+        verify(ratingBatch, never()).save();
+        verify(roundService, never()).saveAll(any());
+        verify(repository, never()).updateCurrentRound(any(), any(), any(), any());
+        assertThat(session.getLatestRound().thumbnail2Id()).isEqualTo(2L);
+    }
+
+    @Test
+    void GivenBatchOfValidWinnerIds_WhenPlayBatch_ThenAppliesVotesInOrderAndReturnsFinalPairWithOpponents() {
+        // Given
+        User user = createUser();
+        UserPrincipal userPrincipal = new UserPrincipal(user);
+
+        GameBatchResultRequest payload = new GameBatchResultRequest(List.of(1L, 3L));
+
+        when(clock.getZone()).thenReturn(NOW.getZone());
+        when(clock.instant()).thenReturn(NOW.toInstant());
+
+        Thumbnail thumbnail1 = createThumbnail(1L, "url-1", "yt-id-1", user);
+        Thumbnail thumbnail2 = createThumbnail(2L, "url-2", "yt-id-2", user);
+        Thumbnail thumbnail3 = createThumbnail(3L, "url-3", "yt-id-3", user);
+        Thumbnail thumbnail4 = createThumbnail(4L, "url-4", "yt-id-4", user);
+        Game game = Game.builder()
+                .id(1L)
+                .hasEnded(false)
+                .lastActivity(NOW.toLocalDateTime().minusMinutes(1))
+                .build();
+
+        GameSession session = GameSession.started(game, createRound(game, thumbnail1, thumbnail2));
+        when(sessionCache.get(eq(user)))
+                .thenReturn(Optional.of(session));
+
+        when(thumbnailService.findById(eq(1L)))
+                .thenReturn(Optional.of(thumbnail1));
+        when(thumbnailService.findById(eq(2L)))
+                .thenReturn(Optional.of(thumbnail2));
+        when(thumbnailService.findById(eq(3L)))
+                .thenReturn(Optional.of(thumbnail3));
+
+        when(repository.getReferenceById(eq(1L)))
+                .thenReturn(game);
+        when(repository.updateCurrentRound(eq(1L), eq(session.getLatestRound().roundId()), any(), any()))
+                .thenReturn(1);
+
+        when(ratingService.startBatch(eq(user)))
+                .thenReturn(ratingBatch);
+
+        when(ratingBatch.pickOpponent(eq(thumbnail1), eq(Set.of(2L)), isNull()))
+                .thenReturn(thumbnail3);
+        when(ratingBatch.pickOpponent(eq(thumbnail3), eq(Set.of(1L)), isNull()))
+                .thenReturn(thumbnail4);
+
+        // When
+        GameBatchResponse result = underTest.playBatch(userPrincipal, payload);
+
+        // Then
+        InOrder inOrder = inOrder(ratingBatch);
+        inOrder.verify(ratingBatch).recordWin(eq(thumbnail1), eq(thumbnail2));
+        inOrder.verify(ratingBatch).recordWin(eq(thumbnail3), eq(thumbnail1));
+        inOrder.verify(ratingBatch).save();
+
+        verify(roundService).saveAll(roundsCaptor.capture());
+        List<Round> rounds = roundsCaptor.getValue();
+
+        assertThat(rounds).hasSize(2);
+        assertThat(rounds.get(1).getCreatedAt()).isAfter(rounds.get(0).getCreatedAt());
+        assertThat(rounds.get(0).getWinner()).isEqualTo(thumbnail3);
+        assertThat(rounds.get(1).getWinner()).isNull();
+
+        verify(roundService).setWinnerOfCurrentRound(eq(1L), eq(thumbnail1));
+        verify(headToHeadIndex).recordWin(eq(1L), eq(2L));
+        verify(headToHeadIndex).recordWin(eq(3L), eq(1L));
+
+        verify(repository).updateCurrentRound(eq(1L), any(), eq(rounds.get(1)), eq(rounds.get(1).getCreatedAt()));
+
+        assertThat(result.getId()).isEqualTo(1L);
+        assertThat(result.getThumbnails().stream().map(ThumbnailResponse::getId))
+                .containsExactly(3L, 4L);
+        assertThat(result.getOpponents().stream().map(ThumbnailResponse::getId))
+                .containsExactly(3L, 4L);
+
+        assertThat(session.getLatestRound().thumbnail2Id()).isEqualTo(4L);
+        assertThat(session.findOpponentIdsOf(3L)).contains(Set.of(1L, 4L));
     }
 
     @Test
@@ -309,6 +833,57 @@ public class GameServiceTest {
         // Then
         assertThat(game.getHasEnded()).isTrue();
         verify(repository).save(game);
+        verify(sessionCache).evict(eq(user), eq(gameId));
+    }
+
+    @Test
+    void GivenGameIdOfOtherUsersGame_WhenGetRounds_ThenThrowsPermissionDeniedException() {
+        // Given
+        Long gameId = 1L;
+        User otherUser = createUser();
+
+        Game game = Game.builder()
+                .id(gameId)
+                .user(otherUser)
+                .lastActivity(NOW.toLocalDateTime())
+                .build();
+
+        when(repository.findById(eq(gameId)))
+                .thenReturn(Optional.of(game));
+
+        // When & Then
+        assertThatThrownBy(() -> underTest.getRounds(gameId, null, 20, new UserPrincipal(user)))
+                .isInstanceOf(PermissionDeniedException.class)
+                .hasMessage("You are not the owner of the game");
+    }
+
+    @Test
+    void GivenGameIdAndCursor_WhenGetRounds_ThenReturnsPageOfRoundsFromRoundService() {
+        // Given
+        Long gameId = 1L;
+        UUID before = UUID.randomUUID();
+
+        Game game = Game.builder()
+                .id(gameId)
+                .user(user)
+                .lastActivity(NOW.toLocalDateTime())
+                .build();
+
+        when(repository.findById(eq(gameId)))
+                .thenReturn(Optional.of(game));
+
+        Round round = createRound(game, thumbnail1, thumbnail2);
+        when(roundService.getHistory(eq(game), eq(before), eq(20)))
+                .thenReturn(List.of(round));
+
+        // When
+        List<RoundResponse> result = underTest.getRounds(gameId, before, 20, new UserPrincipal(user));
+
+        // Then
+        assertThat(result).hasSize(1);
+        assertThat(result.get(0).getId()).isEqualTo(round.getId());
+        assertThat(result.get(0).getThumbnails().stream().map(ThumbnailResponse::getId))
+                .containsExactly(thumbnail1.getId(), thumbnail2.getId());
     }
 
     private static Round createRound(Game game, Thumbnail thumbnail1, Thumbnail thumbnail2) {
@@ -0,0 +1,132 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.game;
+
+import com.github.karixdev.ratingyoutubethumbnailsapi.round.Round;
+import com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail.Thumbnail;
+import com.github.karixdev.ratingyoutubethumbnailsapi.user.User;
+import com.github.karixdev.ratingyoutubethumbnailsapi.user.UserRole;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class GameSessionCacheTest {
+    private static final LocalDateTime NOW = LocalDateTime.of(2023, 1, 1, 1, 0);
+
+    GameSessionCache underTest;
+
+    @BeforeEach
+    void setUp() {
+        Clock clock = Clock.fixed(NOW.toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+
+        underTest = new GameSessionCache(clock, new GameProperties(10, 2, 3));
+    }
+
+    @Test
+    void GivenCachedSessionWithRecentActivity_WhenGet_ThenReturnsSession() {
+        // Given
+        User user = createUser(1L);
+        GameSession session = createSession(1L, NOW.minusMinutes(9));
+
+        underTest.put(user, session);
+
+        // When
+        Optional<GameSession> result = underTest.get(user);
+
+        // Then
+        assertThat(result).contains(session);
+    }
+
+    @Test
+    void GivenCachedSessionWithActivityOlderThanDuration_WhenGet_ThenReturnsEmptyOptionalAndEvictsSession() {
+        // Given
+        User user = createUser(1L);
+
+        underTest.put(user, createSession(1L, NOW.minusMinutes(11)));
+
+        // When
+        Optional<GameSession> result = underTest.get(user);
+
+        // Then
+        assertThat(result).isEmpty();
+    }
+
+    @Test
+    void GivenMoreSessionsThanMaxSize_WhenPut_ThenEvictsLeastRecentlyUsedSession() {
+        // Given
+        User user1 = createUser(1L);
+        User user2 = createUser(2L);
+        User user3 = createUser(3L);
+
+        underTest.put(user1, createSession(1L, NOW));
+        underTest.put(user2, createSession(2L, NOW));
+        underTest.get(user1);
+
+        // When
+        underTest.put(user3, createSession(3L, NOW));
+
+        // Then
+        assertThat(underTest.get(user1)).isNotEmpty();
+        assertThat(underTest.get(user2)).isEmpty();
+        assertThat(underTest.get(user3)).isNotEmpty();
+    }
+
+    @Test
+    void GivenGameIdOfOtherGame_WhenEvict_ThenKeepsSession() {
+        // Given
+        User user = createUser(1L);
+
+        underTest.put(user, createSession(1L, NOW));
+
+        // When
+        underTest.evict(user, 2L);
+
+        // Then
+        assertThat(underTest.get(user)).isNotEmpty();
+    }
+
+    @Test
+    void GivenGameIdOfCachedGame_WhenEvict_ThenRemovesSession() {
+        // Given
+        User user = createUser(1L);
+
+        underTest.put(user, createSession(1L, NOW));
+
+        // When
+        underTest.evict(user, 1L);
+
+        // Then
+        assertThat(underTest.get(user)).isEmpty();
+    }
+
+    private static GameSession createSession(Long gameId, LocalDateTime lastActivity) {
+        User user = createUser(gameId);
+
+        Game game = Game.builder()
+                .id(gameId)
+                .lastActivity(lastActivity)
+                .build();
+
+        return GameSession.started(game, Round.builder()
+                .game(game)
+                .thumbnail1(Thumbnail.builder().id(1L).addedBy(user).build())
+                .thumbnail2(Thumbnail.builder().id(2L).addedBy(user).build())
+                .createdAt(lastActivity)
+                .build());
+    }
+
+    private static User createUser(Long id) {
+        return User.builder()
+                .id(id)
+                .email("email@email.com")
+                .password("password")
+                .username("username")
+                .userRole(UserRole.ROLE_USER)
+                .isEnabled(Boolean.TRUE)
+                .build();
+    }
+}
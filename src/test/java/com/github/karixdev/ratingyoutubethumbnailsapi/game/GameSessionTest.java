@@ -0,0 +1,179 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.game;
+
+import com.github.karixdev.ratingyoutubethumbnailsapi.game.payload.response.GameResponse;
+import com.github.karixdev.ratingyoutubethumbnailsapi.rating.OpponentCandidates;
+import com.github.karixdev.ratingyoutubethumbnailsapi.round.Round;
+import com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail.Thumbnail;
+import com.github.karixdev.ratingyoutubethumbnailsapi.user.User;
+import com.github.karixdev.ratingyoutubethumbnailsapi.user.UserRole;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class GameSessionTest {
+    private static final LocalDateTime NOW = LocalDateTime.of(2023, 1, 1, 1, 0);
+
+    Thumbnail thumbnail1;
+    Thumbnail thumbnail2;
+    Thumbnail thumbnail3;
+    Thumbnail thumbnail4;
+
+    @BeforeEach
+    void setUp() {
+        User user = User.builder()
+                .id(1L)
+                .email("email@email.com")
+                .password("password")
+                .username("username")
+                .userRole(UserRole.ROLE_USER)
+                .isEnabled(Boolean.TRUE)
+                .build();
+
+        thumbnail1 = Thumbnail.builder().id(1L).addedBy(user).build();
+        thumbnail2 = Thumbnail.builder().id(2L).addedBy(user).build();
+        thumbnail3 = Thumbnail.builder().id(3L).addedBy(user).build();
+        thumbnail4 = Thumbnail.builder().id(4L).addedBy(user).build();
+    }
+
+    @Test
+    void GivenNewGameAndItsFirstRound_WhenStarted_ThenSessionKnowsAllOpponentsFacedInGame() {
+        // Given
+        Game game = Game.builder()
+                .id(1L)
+                .lastActivity(NOW)
+                .build();
+
+        // When
+        GameSession result = GameSession.started(game, createRound(thumbnail1, thumbnail2, NOW));
+
+        // Then
+        assertThat(result.getGameId()).isEqualTo(1L);
+        assertThat(result.getLastActivity()).isEqualTo(NOW);
+
+        assertThat(result.getLatestRound().thumbnail1Id()).isEqualTo(1L);
+        assertThat(result.getLatestRound().thumbnail2Id()).isEqualTo(2L);
+        assertThat(result.getLatestRound().response().getId()).isEqualTo(1L);
+
+        assertThat(result.findOpponentIdsOf(1L)).contains(Set.of(2L));
+        assertThat(result.findOpponentIdsOf(2L)).contains(Set.of(1L));
+        assertThat(result.findOpponentIdsOf(3L)).contains(Set.of());
+    }
+
+    @Test
+    void GivenStartedSession_WhenRecordRound_ThenUpdatesLatestRoundAndOpponents() {
+        // Given
+        Game game = Game.builder()
+                .id(1L)
+                .lastActivity(NOW.minusMinutes(1))
+                .build();
+
+        GameSession underTest = GameSession.started(game, createRound(thumbnail1, thumbnail2, NOW.minusMinutes(1)));
+        GameResponse response = new GameResponse(1L, thumbnail1, thumbnail3);
+        UUID roundId = UUID.randomUUID();
+
+        // When
+        underTest.recordRound(roundId, 1L, 3L, response, NOW);
+
+        // Then
+        assertThat(underTest.getLatestRound().roundId()).isEqualTo(roundId);
+        assertThat(underTest.getLatestRound().contains(3L)).isTrue();
+        assertThat(underTest.getLatestRound().contains(2L)).isFalse();
+        assertThat(underTest.getLatestRound().opponentOf(1L)).isEqualTo(3L);
+        assertThat(underTest.getLatestRound().response()).isEqualTo(response);
+
+        assertThat(underTest.findOpponentIdsOf(1L)).contains(Set.of(2L, 3L));
+        assertThat(underTest.findOpponentIdsOf(3L)).contains(Set.of(1L));
+        assertThat(underTest.getLastActivity()).isEqualTo(NOW);
+    }
+
+    @Test
+    void GivenResumedSession_WhenFindOpponentIdsOf_ThenReturnsOnlyLoadedOpponents() {
+        // Given
+        Game game = Game.builder()
+                .id(1L)
+                .lastActivity(NOW.minusMinutes(1))
+                .build();
+
+        GameSession underTest = GameSession.resumed(game, createRound(thumbnail3, thumbnail4, NOW.minusMinutes(1)));
+        underTest.putOpponentIdsOf(1L, Set.of(2L));
+
+        // When
+        underTest.recordRound(UUID.randomUUID(), 1L, 3L, new GameResponse(1L, thumbnail1, thumbnail3), NOW);
+
+        // Then
+        assertThat(underTest.findOpponentIdsOf(1L)).contains(Set.of(2L, 3L));
+        assertThat(underTest.findOpponentIdsOf(3L)).isEmpty();
+        assertThat(underTest.findOpponentIdsOf(4L)).isEmpty();
+    }
+
+    @Test
+    void GivenMatchupsPrefetchedForLatestRound_WhenFindMatchup_ThenReturnsCandidatesOfWinner() {
+        // Given
+        Game game = Game.builder()
+                .id(1L)
+                .lastActivity(NOW)
+                .build();
+
+        GameSession underTest = GameSession.started(game, createRound(thumbnail1, thumbnail2, NOW));
+        OpponentCandidates candidates = createCandidates(1L, thumbnail3);
+
+        underTest.putMatchups(underTest.getLatestRound(), Map.of(1L, candidates));
+
+        // When
+        Optional<OpponentCandidates> result = underTest.findMatchup(1L);
+
+        // Then
+        assertThat(result).contains(candidates);
+        assertThat(underTest.findMatchup(2L)).isEmpty();
+    }
+
+    @Test
+    void GivenMatchupsPrefetchedForPreviousRound_WhenFindMatchup_ThenReturnsEmptyOptional() {
+        // Given
+        Game game = Game.builder()
+                .id(1L)
+                .lastActivity(NOW)
+                .build();
+
+        GameSession underTest = GameSession.started(game, createRound(thumbnail1, thumbnail2, NOW));
+        GameSession.LatestRound previousRound = underTest.getLatestRound();
+
+        underTest.putMatchups(previousRound, Map.of(1L, createCandidates(1L, thumbnail3)));
+        underTest.recordRound(UUID.randomUUID(), 1L, 3L, new GameResponse(1L, thumbnail1, thumbnail3), NOW);
+
+        // When
+        underTest.putMatchups(previousRound, Map.of(1L, createCandidates(1L, thumbnail4)));
+
+        // Then
+        assertThat(underTest.findMatchup(1L)).isEmpty();
+    }
+
+    private static OpponentCandidates createCandidates(Long thumbnailId, Thumbnail opponent) {
+        return new OpponentCandidates(
+                thumbnailId,
+                new BigDecimal(1400),
+                Set.of(),
+                List.of(opponent),
+                1L,
+                1L
+        );
+    }
+
+    private static Round createRound(Thumbnail thumbnail1, Thumbnail thumbnail2, LocalDateTime createdAt) {
+        return Round.builder()
+                .id(UUID.randomUUID())
+                .thumbnail1(thumbnail1)
+                .thumbnail2(thumbnail2)
+                .createdAt(createdAt)
+                .build();
+    }
+}
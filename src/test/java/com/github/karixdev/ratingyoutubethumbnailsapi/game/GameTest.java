@@ -1,12 +1,8 @@
 package com.github.karixdev.ratingyoutubethumbnailsapi.game;
 
-import com.github.karixdev.ratingyoutubethumbnailsapi.UnitTestDataUtil;
 import com.github.karixdev.ratingyoutubethumbnailsapi.game.exception.GameHasAlreadyEndedException;
-import com.github.karixdev.ratingyoutubethumbnailsapi.round.Round;
-import com.github.karixdev.ratingyoutubethumbnailsapi.round.exception.EmptyRoundSetException;
 import com.github.karixdev.ratingyoutubethumbnailsapi.security.UserPrincipal;
 import com.github.karixdev.ratingyoutubethumbnailsapi.shared.exception.PermissionDeniedException;
-import com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail.Thumbnail;
 import com.github.karixdev.ratingyoutubethumbnailsapi.user.User;
 import com.github.karixdev.ratingyoutubethumbnailsapi.user.UserRole;
 import org.junit.jupiter.api.Test;
@@ -19,8 +15,6 @@ import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.ZoneOffset;
 import java.util.Optional;
-import java.util.Set;
-import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -32,70 +26,6 @@ class GameTest {
     @Mock
     Clock clock;
 
-    @Test
-    void GivenThumbnailsAndClock_WhenAddRound_ThenCorrectRoundIsCreatedAndAddedToSet() {
-        // Given
-        Game underTest = Game.builder().id(1L).build();
-
-        Thumbnail thumbnail1 = Thumbnail.builder().id(1L).build();
-        Thumbnail thumbnail2 = Thumbnail.builder().id(1L).build();
-
-        when(clock.getZone()).thenReturn(UnitTestDataUtil.createZonedDateTime().getZone());
-        when(clock.instant()).thenReturn(UnitTestDataUtil.createZonedDateTime().toInstant());
-
-        // When
-        underTest.addRound(thumbnail1, thumbnail2, clock);
-
-        // Then
-        assertThat(underTest.getRounds()).hasSize(1);
-
-        Round round = underTest.getRounds().stream().toList().get(0);
-
-        assertThat(round.getThumbnail1()).isEqualTo(thumbnail1);
-        assertThat(round.getThumbnail2()).isEqualTo(thumbnail2);
-        assertThat(round.getGame()).isEqualTo(underTest);
-        assertThat(round.getCreatedAt()).isEqualTo(LocalDateTime.of(
-                2022,
-                11,
-                23,
-                13,
-                44,
-                30
-        ));
-    }
-
-    @Test
-    void WhenGetLatestRound_ThenThrowsEmptyRoundSetExceptionIfSetIsEmpty() {
-        // When & Then
-        assertThatThrownBy(() -> new Game().getLatestRound())
-                .isInstanceOf(EmptyRoundSetException.class);
-    }
-
-    @Test
-    void WhenGetLatestRound_ThenReturnsLatestRound() {
-        LocalDateTime dt = LocalDateTime.of(2023, 1, 1, 1, 1);
-
-        Round round1 = Round.builder()
-                .id(UUID.randomUUID())
-                .createdAt(dt)
-                .build();
-
-        Round round2 = Round.builder()
-                .id(UUID.randomUUID())
-                .createdAt(dt.plusHours(10))
-                .build();
-
-        Game underTest = Game.builder()
-                .rounds(Set.of(round1, round2))
-                .build();
-
-        // When
-        Round result = underTest.getLatestRound();
-
-        // Then
-        assertThat(result).isEqualTo(round2);
-    }
-
     @Test
     void GivenClockAndMaxTimeOfNoGameUpdate_WhenIsGameExpired_ThenReturnsTrueIfGameHasEnded() {
         // Given
@@ -0,0 +1,167 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.game;
+
+import com.github.karixdev.ratingyoutubethumbnailsapi.rating.OpponentCandidates;
+import com.github.karixdev.ratingyoutubethumbnailsapi.rating.RatingService;
+import com.github.karixdev.ratingyoutubethumbnailsapi.round.Round;
+import com.github.karixdev.ratingyoutubethumbnailsapi.round.RoundService;
+import com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail.Thumbnail;
+import com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail.ThumbnailService;
+import com.github.karixdev.ratingyoutubethumbnailsapi.user.User;
+import com.github.karixdev.ratingyoutubethumbnailsapi.user.UserRole;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class MatchupPrefetcherTest {
+    private static final LocalDateTime NOW = LocalDateTime.of(2023, 1, 1, 1, 0);
+
+    @InjectMocks
+    MatchupPrefetcher underTest;
+
+    @Mock
+    RatingService ratingService;
+
+    @Mock
+    ThumbnailService thumbnailService;
+
+    @Mock
+    RoundService roundService;
+
+    @Mock
+    GameProperties properties;
+
+    User user;
+
+    Thumbnail thumbnail1;
+
+    Thumbnail thumbnail2;
+
+    Game game;
+
+    @BeforeEach
+    void setUp() {
+        user = User.builder()
+                .id(1L)
+                .email("email@email.com")
+                .password("password")
+                .username("username")
+                .userRole(UserRole.ROLE_USER)
+                .isEnabled(Boolean.TRUE)
+                .build();
+
+        thumbnail1 = Thumbnail.builder().id(1L).addedBy(user).build();
+        thumbnail2 = Thumbnail.builder().id(2L).addedBy(user).build();
+
+        game = Game.builder()
+                .id(1L)
+                .user(user)
+                .lastActivity(NOW)
+                .build();
+    }
+
+    @Test
+    void GivenQueueDepthOfZero_WhenPrefetch_ThenDoesNothing() {
+        // Given
+        GameSession session = GameSession.started(game, createRound());
+
+        when(properties.getMatchupQueueDepth()).thenReturn(0);
+
+        // When
+        underTest.prefetch(session, user);
+
+        // Then
+        verifyNoInteractions(thumbnailService, ratingService, roundService);
+    }
+
+    @Test
+    void GivenStartedSession_WhenPrefetch_ThenStoresCandidatesForBothPossibleWinners() {
+        // Given
+        GameSession session = GameSession.started(game, createRound());
+
+        when(properties.getMatchupQueueDepth()).thenReturn(3);
+
+        when(thumbnailService.findById(eq(1L))).thenReturn(Optional.of(thumbnail1));
+        when(thumbnailService.findById(eq(2L))).thenReturn(Optional.of(thumbnail2));
+
+        OpponentCandidates candidates1 = createCandidates(1L);
+        when(ratingService.prefetchOpponents(eq(user), eq(thumbnail1), eq(thumbnail2), eq(Set.of(2L)), eq(3)))
+                .thenReturn(candidates1);
+
+        OpponentCandidates candidates2 = createCandidates(2L);
+        when(ratingService.prefetchOpponents(eq(user), eq(thumbnail2), eq(thumbnail1), eq(Set.of(1L)), eq(3)))
+                .thenReturn(candidates2);
+
+        // When
+        underTest.prefetch(session, user);
+
+        // Then
+        assertThat(session.findMatchup(1L)).contains(candidates1);
+        assertThat(session.findMatchup(2L)).contains(candidates2);
+        verifyNoInteractions(roundService);
+    }
+
+    @Test
+    void GivenResumedSession_WhenPrefetch_ThenLoadsOpponentsFromRoundsWithoutStoringThemInSession() {
+        // Given
+        GameSession session = GameSession.resumed(game, createRound());
+
+        when(properties.getMatchupQueueDepth()).thenReturn(3);
+
+        when(thumbnailService.findById(eq(1L))).thenReturn(Optional.of(thumbnail1));
+        when(thumbnailService.findById(eq(2L))).thenReturn(Optional.of(thumbnail2));
+
+        when(roundService.getOpponentIdsOf(eq(1L), eq(1L))).thenReturn(Set.of(2L, 5L));
+        when(roundService.getOpponentIdsOf(eq(1L), eq(2L))).thenReturn(Set.of(1L));
+
+        OpponentCandidates candidates1 = createCandidates(1L);
+        when(ratingService.prefetchOpponents(eq(user), eq(thumbnail1), eq(thumbnail2), eq(Set.of(2L, 5L)), eq(3)))
+                .thenReturn(candidates1);
+
+        when(ratingService.prefetchOpponents(eq(user), eq(thumbnail2), eq(thumbnail1), eq(Set.of(1L)), eq(3)))
+                .thenReturn(createCandidates(2L));
+
+        // When
+        underTest.prefetch(session, user);
+
+        // Then
+        assertThat(session.findMatchup(1L)).contains(candidates1);
+        assertThat(session.findOpponentIdsOf(1L)).isEmpty();
+    }
+
+    private Round createRound() {
+        return Round.builder()
+                .id(UUID.randomUUID())
+                .game(game)
+                .thumbnail1(thumbnail1)
+                .thumbnail2(thumbnail2)
+                .createdAt(NOW)
+                .build();
+    }
+
+    private static OpponentCandidates createCandidates(Long thumbnailId) {
+        return new OpponentCandidates(
+                thumbnailId,
+                new BigDecimal(1400),
+                Set.of(),
+                List.of(Thumbnail.builder().id(3L).build()),
+                1L,
+                1L
+        );
+    }
+}
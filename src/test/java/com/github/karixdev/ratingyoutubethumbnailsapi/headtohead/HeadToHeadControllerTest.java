@@ -0,0 +1,79 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.headtohead;
+
+import com.github.karixdev.ratingyoutubethumbnailsapi.headtohead.payload.response.HeadToHeadResponse;
+import com.github.karixdev.ratingyoutubethumbnailsapi.shared.exception.ResourceNotFoundException;
+import com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail.Thumbnail;
+import com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail.payload.response.ThumbnailResponse;
+import com.github.karixdev.ratingyoutubethumbnailsapi.user.User;
+import com.github.karixdev.ratingyoutubethumbnailsapi.user.UserRole;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(
+        controllers = HeadToHeadController.class,
+        excludeAutoConfiguration = SecurityAutoConfiguration.class
+)
+public class HeadToHeadControllerTest {
+    @Autowired
+    MockMvc mockMvc;
+
+    @MockBean
+    HeadToHeadService headToHeadService;
+
+    @Test
+    void GivenSize_WhenGetHeadToHead_ThenRespondsWithRivals() throws Exception {
+        User user = User.builder()
+                .id(1L)
+                .email("email@email.com")
+                .password("password")
+                .username("username")
+                .userRole(UserRole.ROLE_USER)
+                .isEnabled(Boolean.TRUE)
+                .build();
+
+        Thumbnail thumbnail = Thumbnail.builder()
+                .id(2L)
+                .url("thumbnail-url")
+                .youtubeVideoId("youtube-id")
+                .addedBy(user)
+                .build();
+
+        when(headToHeadService.getHeadToHead(eq(1L), isNull(), eq(5)))
+                .thenReturn(List.of(new HeadToHeadResponse(new ThumbnailResponse(thumbnail), 3, 1)));
+
+        mockMvc.perform(get("/api/v1/thumbnail/1/head-to-head")
+                        .param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpectAll(
+                        jsonPath("$[0].opponent.youtube_video_id").value("youtube-id"),
+                        jsonPath("$[0].opponent.added_by").doesNotExist(),
+                        jsonPath("$[0].wins").value(3),
+                        jsonPath("$[0].losses").value(1)
+                );
+    }
+
+    @Test
+    void GivenNotExistingThumbnail_WhenGetHeadToHead_ThenRespondsWithNotFoundStatus() throws Exception {
+        doThrow(ResourceNotFoundException.class)
+                .when(headToHeadService)
+                .getHeadToHead(any(), any(), any());
+
+        mockMvc.perform(get("/api/v1/thumbnail/1/head-to-head").param("opponent", "2"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,105 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.headtohead;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class HeadToHeadIndexTest {
+    HeadToHeadIndex underTest;
+
+    @Mock
+    HeadToHeadRepository repository;
+
+    @Mock
+    HeadToHeadWriter writer;
+
+    @Captor
+    ArgumentCaptor<HeadToHeadMatrix> matrixCaptor;
+
+    @BeforeEach
+    void setUp() {
+        underTest = new HeadToHeadIndex(repository, writer);
+    }
+
+    @Test
+    void GivenPersistedRowsAndWinRecordedBeforeLoad_WhenGetRecord_ThenReturnsBothOfThem() {
+        // Given
+        when(repository.findAll()).thenReturn(List.of(row(1L, 2L, 3, 4)));
+
+        underTest.recordWin(2L, 1L);
+
+        // When
+        HeadToHeadRecord result = underTest.getRecord(1L, 2L);
+
+        // Then
+        assertThat(result).isEqualTo(new HeadToHeadRecord(2L, 3, 5));
+    }
+
+    @Test
+    void GivenLoadedMatrix_WhenRecordWin_ThenGetRecordReturnsItWithoutQueryingDatabase() {
+        // Given
+        when(repository.findAll()).thenReturn(List.of());
+        underTest.onApplicationReady();
+
+        // When
+        underTest.recordWin(1L, 2L);
+
+        // Then
+        assertThat(underTest.getRivals(1L, 10)).containsExactly(new HeadToHeadRecord(2L, 1, 0));
+        verify(repository).findAll();
+    }
+
+    @Test
+    void GivenRecordedWins_WhenFlush_ThenWritesThemOnce() {
+        // Given
+        underTest.recordWin(1L, 2L);
+        underTest.recordWin(3L, 2L);
+
+        // When
+        underTest.flush();
+        underTest.flush();
+
+        // Then
+        verify(writer).write(matrixCaptor.capture());
+        assertThat(matrixCaptor.getValue().get(2L, 1L)).isEqualTo(new HeadToHeadRecord(1L, 0, 1));
+        assertThat(matrixCaptor.getValue().get(2L, 3L)).isEqualTo(new HeadToHeadRecord(3L, 0, 1));
+    }
+
+    @Test
+    void GivenFailingWrite_WhenFlush_ThenKeepsWinsForNextFlush() {
+        // Given
+        underTest.recordWin(1L, 2L);
+
+        doThrow(new IllegalStateException("duplicate key"))
+                .doNothing()
+                .when(writer).write(any());
+
+        // When
+        underTest.flush();
+        underTest.recordWin(1L, 2L);
+        underTest.flush();
+
+        // Then
+        verify(writer, times(2)).write(matrixCaptor.capture());
+        assertThat(matrixCaptor.getValue().get(1L, 2L)).isEqualTo(new HeadToHeadRecord(2L, 2, 0));
+    }
+
+    private static HeadToHead row(Long thumbnail1Id, Long thumbnail2Id, int thumbnail1Wins, int thumbnail2Wins) {
+        return HeadToHead.builder()
+                .id(new HeadToHeadId(thumbnail1Id, thumbnail2Id))
+                .thumbnail1Wins(thumbnail1Wins)
+                .thumbnail2Wins(thumbnail2Wins)
+                .build();
+    }
+}
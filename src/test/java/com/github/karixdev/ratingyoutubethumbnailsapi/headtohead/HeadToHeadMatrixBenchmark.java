@@ -0,0 +1,81 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.headtohead;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Pairs of 10^4 thumbnails, every thumbnail has pairs / 10^4 * 2 opponents on average.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HeadToHeadMatrixBenchmark {
+    private static final int THUMBNAILS = 10_000;
+
+    @Param({"100000", "1000000"})
+    int pairs;
+
+    HeadToHeadMatrix matrix;
+    long[][] probes;
+    int probeIdx;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        matrix = new HeadToHeadMatrix();
+
+        while (matrix.size() < pairs) {
+            long thumbnail1Id = 1 + random.nextInt(THUMBNAILS);
+            long thumbnail2Id = 1 + random.nextInt(THUMBNAILS);
+
+            if (thumbnail1Id != thumbnail2Id) {
+                matrix.add(thumbnail1Id, thumbnail2Id, random.nextInt(10), random.nextInt(10));
+            }
+        }
+
+        probes = new long[1024][];
+        int[] index = {0};
+        matrix.forEach((thumbnail1Id, thumbnail2Id, thumbnail1Wins, thumbnail2Wins) -> {
+            if (index[0] < probes.length && random.nextInt(pairs / probes.length) == 0) {
+                probes[index[0]++] = new long[]{thumbnail1Id, thumbnail2Id};
+            }
+        });
+
+        while (index[0] < probes.length) {
+            probes[index[0]] = probes[random.nextInt(index[0])];
+            index[0]++;
+        }
+    }
+
+    @Benchmark
+    public HeadToHeadRecord get() {
+        long[] probe = probes[probeIdx++ & (probes.length - 1)];
+        return matrix.get(probe[1], probe[0]);
+    }
+
+    @Benchmark
+    public void recordWin() {
+        long[] probe = probes[probeIdx++ & (probes.length - 1)];
+        matrix.add(probe[0], probe[1], 1, 0);
+    }
+
+    @Benchmark
+    public List<HeadToHeadRecord> topTenRivals() {
+        long[] probe = probes[probeIdx++ & (probes.length - 1)];
+        return matrix.getRivals(probe[0], 10);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(HeadToHeadMatrixBenchmark.class.getSimpleName())
+                .build()
+        ).run();
+    }
+}
@@ -0,0 +1,101 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.headtohead;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class HeadToHeadMatrixTest {
+    HeadToHeadMatrix underTest;
+
+    @BeforeEach
+    void setUp() {
+        underTest = new HeadToHeadMatrix();
+    }
+
+    @Test
+    void GivenWinsOfBothThumbnails_WhenGet_ThenReturnsWinsAndLossesFromEitherSide() {
+        // Given
+        underTest.add(2L, 1L, 1, 0);
+        underTest.add(2L, 1L, 1, 0);
+        underTest.add(1L, 2L, 1, 0);
+
+        // When & Then
+        assertThat(underTest.get(2L, 1L)).isEqualTo(new HeadToHeadRecord(1L, 2, 1));
+        assertThat(underTest.get(1L, 2L)).isEqualTo(new HeadToHeadRecord(2L, 1, 2));
+        assertThat(underTest.size()).isEqualTo(1);
+    }
+
+    @Test
+    void GivenPairNeverPlayed_WhenGet_ThenReturnsNoWinsAndLosses() {
+        assertThat(underTest.get(1L, 2L)).isEqualTo(new HeadToHeadRecord(2L, 0, 0));
+    }
+
+    @Test
+    void GivenSameThumbnailTwice_WhenAdd_ThenThrowsIllegalArgumentException() {
+        assertThatThrownBy(() -> underTest.add(1L, 1L, 1, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void GivenMorePairsThanInitialCapacity_WhenAdd_ThenKeepsAllOfThem() {
+        // Given
+        for (long i = 1; i <= 1000; i++) {
+            underTest.add(i, i + 1, (int) i, 1);
+        }
+
+        // When & Then
+        assertThat(underTest.size()).isEqualTo(1000);
+
+        for (long i = 1; i <= 1000; i++) {
+            assertThat(underTest.get(i, i + 1)).isEqualTo(new HeadToHeadRecord(i + 1, (int) i, 1));
+        }
+    }
+
+    @Test
+    void GivenOpponentsWithDifferentNumberOfGames_WhenGetRivals_ThenReturnsMostPlayedOnesFirst() {
+        // Given
+        underTest.add(1L, 2L, 1, 0);
+        underTest.add(1L, 3L, 2, 2);
+        underTest.add(4L, 1L, 3, 0);
+        underTest.add(1L, 5L, 0, 3);
+        underTest.add(2L, 3L, 9, 9);
+
+        // When
+        List<HeadToHeadRecord> result = underTest.getRivals(1L, 3);
+
+        // Then
+        assertThat(result).containsExactly(
+                new HeadToHeadRecord(3L, 2, 2),
+                new HeadToHeadRecord(4L, 0, 3),
+                new HeadToHeadRecord(5L, 0, 3)
+        );
+    }
+
+    @Test
+    void GivenOtherMatrix_WhenAddAll_ThenSumsWinsOfEveryPair() {
+        // Given
+        HeadToHeadMatrix other = new HeadToHeadMatrix();
+        other.add(1L, 2L, 1, 2);
+        other.add(3L, 2L, 1, 0);
+
+        underTest.add(2L, 1L, 1, 0);
+
+        // When
+        underTest.addAll(other);
+
+        // Then
+        List<long[]> pairs = new ArrayList<>();
+        underTest.forEach((thumbnail1Id, thumbnail2Id, thumbnail1Wins, thumbnail2Wins) ->
+                pairs.add(new long[]{thumbnail1Id, thumbnail2Id, thumbnail1Wins, thumbnail2Wins}));
+
+        assertThat(pairs).containsExactlyInAnyOrder(
+                new long[]{1L, 2L, 1, 3},
+                new long[]{2L, 3L, 0, 1}
+        );
+    }
+}
@@ -0,0 +1,133 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.headtohead;
+
+import com.github.karixdev.ratingyoutubethumbnailsapi.headtohead.payload.response.HeadToHeadResponse;
+import com.github.karixdev.ratingyoutubethumbnailsapi.shared.exception.ResourceNotFoundException;
+import com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail.Thumbnail;
+import com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail.ThumbnailService;
+import com.github.karixdev.ratingyoutubethumbnailsapi.user.User;
+import com.github.karixdev.ratingyoutubethumbnailsapi.user.UserRole;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class HeadToHeadServiceTest {
+    @InjectMocks
+    HeadToHeadService underTest;
+
+    @Mock
+    HeadToHeadIndex index;
+
+    @Mock
+    ThumbnailService thumbnailService;
+
+    User user;
+
+    @BeforeEach
+    void setUp() {
+        user = User.builder()
+                .id(1L)
+                .email("email@email.com")
+                .password("password")
+                .username("username")
+                .userRole(UserRole.ROLE_USER)
+                .isEnabled(Boolean.TRUE)
+                .build();
+    }
+
+    @Test
+    void GivenNotExistingThumbnail_WhenGetHeadToHead_ThenThrowsResourceNotFoundException() {
+        // Given
+        when(thumbnailService.findById(eq(1L)))
+                .thenReturn(Optional.empty());
+
+        // When & Then
+        assertThatThrownBy(() -> underTest.getHeadToHead(1L, null, 10))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessage("Thumbnail with provided id was not found");
+        verifyNoInteractions(index);
+    }
+
+    @Test
+    void GivenRivalsWithDeletedOpponent_WhenGetHeadToHead_ThenReturnsExistingOpponentsInOrder() {
+        // Given
+        when(thumbnailService.findById(eq(1L)))
+                .thenReturn(Optional.of(thumbnail(1L)));
+
+        when(index.getRivals(eq(1L), eq(10)))
+                .thenReturn(List.of(
+                        new HeadToHeadRecord(3L, 4, 2),
+                        new HeadToHeadRecord(2L, 1, 3),
+                        new HeadToHeadRecord(4L, 1, 0)
+                ));
+
+        when(thumbnailService.findAllById(eq(List.of(3L, 2L, 4L))))
+                .thenReturn(List.of(thumbnail(2L), thumbnail(3L)));
+
+        // When
+        List<HeadToHeadResponse> result = underTest.getHeadToHead(1L, null, 10);
+
+        // Then
+        assertThat(result)
+                .extracting(entry -> entry.getOpponent().getId(), HeadToHeadResponse::getWins, HeadToHeadResponse::getLosses)
+                .containsExactly(tuple(3L, 4, 2), tuple(2L, 1, 3));
+    }
+
+    @Test
+    void GivenTooLargeSize_WhenGetHeadToHead_ThenReadsAtMostOneHundredRivals() {
+        // Given
+        when(thumbnailService.findById(eq(1L)))
+                .thenReturn(Optional.of(thumbnail(1L)));
+
+        when(index.getRivals(eq(1L), eq(100)))
+                .thenReturn(List.of());
+
+        // When
+        List<HeadToHeadResponse> result = underTest.getHeadToHead(1L, null, 1000);
+
+        // Then
+        assertThat(result).isEmpty();
+    }
+
+    @Test
+    void GivenOpponent_WhenGetHeadToHead_ThenReturnsRecordAgainstIt() {
+        // Given
+        when(thumbnailService.findById(eq(1L)))
+                .thenReturn(Optional.of(thumbnail(1L)));
+        when(thumbnailService.findById(eq(2L)))
+                .thenReturn(Optional.of(thumbnail(2L)));
+
+        when(index.getRecord(eq(1L), eq(2L)))
+                .thenReturn(new HeadToHeadRecord(2L, 0, 0));
+
+        // When
+        List<HeadToHeadResponse> result = underTest.getHeadToHead(1L, 2L, 10);
+
+        // Then
+        assertThat(result)
+                .extracting(entry -> entry.getOpponent().getId(), HeadToHeadResponse::getWins, HeadToHeadResponse::getLosses)
+                .containsExactly(tuple(2L, 0, 0));
+    }
+
+    private Thumbnail thumbnail(Long id) {
+        return Thumbnail.builder()
+                .id(id)
+                .url("thumbnail-url-" + id)
+                .youtubeVideoId("youtube-id-" + id)
+                .addedBy(user)
+                .build();
+    }
+}
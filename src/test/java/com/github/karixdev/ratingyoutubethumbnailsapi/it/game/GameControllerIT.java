@@ -407,6 +407,106 @@ public class GameControllerIT extends ContainersEnvironment {
         assertThat(optionalGame.get().getHasEnded()).isTrue();
     }
 
+    @Test
+    void shouldPlayBatchOfRoundsInOrder() {
+        User user = userRepository.save(createUser());
+        String jwt = jwtService.createToken(new UserPrincipal(user));
+
+        Thumbnail thumbnail1 = createThumbnail("thumbnail-url1", "yt-id1", user);
+        thumbnail1.addRating(createRating(user, thumbnail1, 1450));
+
+        Thumbnail thumbnail2 = createThumbnail("thumbnail-url2", "yt-id2", user);
+        thumbnail2.addRating(createRating(user, thumbnail2, 1500));
+
+        Thumbnail thumbnail3 = createThumbnail("thumbnail-url3", "yt-id3", user);
+        thumbnail3.addRating(createRating(user, thumbnail3, 1800));
+
+        Thumbnail thumbnail4 = createThumbnail("thumbnail-url4", "yt-id4", user);
+        thumbnail4.addRating(createRating(user, thumbnail4, 1450));
+
+        thumbnailRepository.saveAll(List.of(thumbnail1, thumbnail2, thumbnail3, thumbnail4));
+
+        Game game = gameRepository.save(Game.builder()
+                .user(user)
+                .lastActivity(LocalDateTime.now(clock).minusSeconds(45))
+                .build());
+
+        roundRepository.save(Round.builder()
+                .thumbnail1(thumbnail1)
+                .thumbnail2(thumbnail4)
+                .game(game)
+                .createdAt(LocalDateTime.now(clock).minusSeconds(30))
+                .build());
+
+        String payload = """
+                {
+                    "winner_ids": [%d, %d]
+                }
+                """.formatted(thumbnail1.getId(), thumbnail1.getId());
+
+        webClient.post().uri("/api/v1/game/batch")
+                .header("Authorization", "Bearer " + jwt)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(payload)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(game.getId())
+                .jsonPath("$.opponents.[0].id").isEqualTo(thumbnail2.getId())
+                .jsonPath("$.opponents.[1].id").isEqualTo(thumbnail3.getId())
+                .jsonPath("$.thumbnails.[0].id").isEqualTo(thumbnail1.getId())
+                .jsonPath("$.thumbnails.[1].id").isEqualTo(thumbnail3.getId());
+
+        assertThat(roundRepository.findAll()).hasSize(3);
+    }
+
+    @Test
+    void shouldRejectWholeBatchWhenOneOfWinnerIdsIsInvalid() {
+        User user = userRepository.save(createUser());
+        String jwt = jwtService.createToken(new UserPrincipal(user));
+
+        Thumbnail thumbnail1 = createThumbnail("thumbnail-url1", "yt-id1", user);
+        thumbnail1.addRating(createRating(user, thumbnail1, 1450));
+
+        Thumbnail thumbnail2 = createThumbnail("thumbnail-url2", "yt-id2", user);
+        thumbnail2.addRating(createRating(user, thumbnail2, 1500));
+
+        Thumbnail thumbnail3 = createThumbnail("thumbnail-url3", "yt-id3", user);
+        thumbnail3.addRating(createRating(user, thumbnail3, 1800));
+
+        thumbnailRepository.saveAll(List.of(thumbnail1, thumbnail2, thumbnail3));
+
+        Game game = gameRepository.save(Game.builder()
+                .user(user)
+                .lastActivity(LocalDateTime.now(clock).minusSeconds(45))
+                .build());
+
+        roundRepository.save(Round.builder()
+                .thumbnail1(thumbnail1)
+                .thumbnail2(thumbnail2)
+                .game(game)
+                .createdAt(LocalDateTime.now(clock).minusSeconds(30))
+                .build());
+
+        String payload = """
+                {
+                    "winner_ids": [%d, %d]
+                }
+                """.formatted(thumbnail1.getId(), thumbnail2.getId());
+
+        webClient.post().uri("/api/v1/game/batch")
+                .header("Authorization", "Bearer " + jwt)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(payload)
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        assertThat(roundRepository.findAll()).hasSize(1);
+        assertThat(ratingRepository.findByThumbnailAndUser(thumbnail1, user))
+                .map(Rating::getPoints)
+                .hasValueSatisfying(points -> assertThat(points).isEqualByComparingTo("1450"));
+    }
+
     @Test
     void shouldRespondWith404WhenTryingToEndNotExistingGame() {
         User user = userRepository.save(createUser());
@@ -479,6 +579,69 @@ public class GameControllerIT extends ContainersEnvironment {
         assertThat(game.getHasEnded()).isTrue();
     }
 
+    @Test
+    void shouldRespondWith403WhenUserTriesToGetRoundsOfNotHisGame() {
+        User user = userRepository.save(createUser());
+        String jwt = jwtService.createToken(new UserPrincipal(user));
+
+        Game game = gameRepository.save(Game.builder()
+                .lastActivity(LocalDateTime.now(clock))
+                .user(userRepository.save(craeteOtherUser()))
+                .build());
+
+        webClient.get().uri("/api/v1/game/" + game.getId() + "/rounds")
+                .header("Authorization", "Bearer " + jwt)
+                .exchange()
+                .expectStatus().isForbidden();
+    }
+
+    @Test
+    void shouldGetRoundsOfGameStartingFromLatest() {
+        User user = userRepository.save(createUser());
+        String jwt = jwtService.createToken(new UserPrincipal(user));
+
+        Thumbnail thumbnail1 = createThumbnail("url-1", "yt-id-1", user);
+        Thumbnail thumbnail2 = createThumbnail("url-2", "yt-id-2", user);
+        Thumbnail thumbnail3 = createThumbnail("url-3", "yt-id-3", user);
+
+        thumbnailRepository.saveAll(List.of(thumbnail1, thumbnail2, thumbnail3));
+
+        Game game = gameRepository.save(Game.builder()
+                .user(user)
+                .lastActivity(LocalDateTime.now(clock))
+                .build());
+
+        Round round1 = roundRepository.save(Round.builder()
+                .thumbnail1(thumbnail1)
+                .thumbnail2(thumbnail2)
+                .game(game)
+                .createdAt(LocalDateTime.now(clock).minusSeconds(30))
+                .build());
+
+        Round round2 = roundRepository.save(Round.builder()
+                .thumbnail1(thumbnail2)
+                .thumbnail2(thumbnail3)
+                .game(game)
+                .createdAt(LocalDateTime.now(clock).minusSeconds(15))
+                .build());
+
+        webClient.get().uri("/api/v1/game/" + game.getId() + "/rounds?size=1")
+                .header("Authorization", "Bearer " + jwt)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$.[0].id").isEqualTo(round2.getId().toString());
+
+        webClient.get().uri("/api/v1/game/" + game.getId() + "/rounds?size=1&before=" + round2.getId())
+                .header("Authorization", "Bearer " + jwt)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$.[0].id").isEqualTo(round1.getId().toString());
+    }
+
     private static Rating createRating(User user, Thumbnail thumbnail, double points) {
         return Rating.builder()
                 .user(user)
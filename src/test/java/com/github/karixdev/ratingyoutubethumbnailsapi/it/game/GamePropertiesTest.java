@@ -18,4 +18,14 @@ public class GamePropertiesTest extends ContainersEnvironment {
     void shouldLoadDuration() {
         assertThat(underTest.getDuration()).isEqualTo(10);
     }
+
+    @Test
+    void shouldLoadSessionCacheMaxSize() {
+        assertThat(underTest.getSessionCacheMaxSize()).isEqualTo(100);
+    }
+
+    @Test
+    void shouldLoadMatchupQueueDepth() {
+        assertThat(underTest.getMatchupQueueDepth()).isEqualTo(3);
+    }
 }
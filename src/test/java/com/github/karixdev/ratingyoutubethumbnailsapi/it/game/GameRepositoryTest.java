@@ -3,6 +3,7 @@ package com.github.karixdev.ratingyoutubethumbnailsapi.it.game;
 import com.github.karixdev.ratingyoutubethumbnailsapi.it.ContainersEnvironment;
 import com.github.karixdev.ratingyoutubethumbnailsapi.game.Game;
 import com.github.karixdev.ratingyoutubethumbnailsapi.game.GameRepository;
+import com.github.karixdev.ratingyoutubethumbnailsapi.round.Round;
 import com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail.Thumbnail;
 import com.github.karixdev.ratingyoutubethumbnailsapi.user.User;
 import com.github.karixdev.ratingyoutubethumbnailsapi.user.UserRole;
@@ -15,6 +16,7 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -64,7 +66,7 @@ public class GameRepositoryTest extends ContainersEnvironment {
     }
 
     @Test
-    void GivenUserThatHasNoGames_WhenFindByUserOrderByLastActivityDesc_ThenEmptyList() {
+    void GivenUserThatHasNoGames_WhenFindFirstByUserOrderByLastActivityDesc_ThenEmptyOptional() {
         // Given
         User otherUser = em.persistAndFlush(User.builder()
                 .email("email-2@email.com")
@@ -75,27 +77,83 @@ public class GameRepositoryTest extends ContainersEnvironment {
                 .build());
 
         // When
-        List<Game> result = underTest.findByUserOrderByLastActivityDesc(otherUser);
+        Optional<Game> result = underTest.findFirstByUserOrderByLastActivityDesc(otherUser);
 
         // Then
         assertThat(result).isEmpty();
     }
 
     @Test
-    void GivenUser_WhenFindByUserOrderByLastActivityDesc_ThenReturnsProperlySortedList() {
-        em.persistAndFlush(Game.builder()
+    void GivenUser_WhenFindFirstByUserOrderByLastActivityDesc_ThenReturnsMostRecentlyActiveGame() {
+        // Given
+        Game latestGame = em.persistAndFlush(Game.builder()
                 .user(user)
                 .lastActivity(LocalDateTime.now().plusMinutes(20))
                 .build());
 
         // When
-        List<Game> result = underTest.findByUserOrderByLastActivityDesc(user);
+        Optional<Game> result = underTest.findFirstByUserOrderByLastActivityDesc(user);
 
         // Then
-        assertThat(result).hasSize(2);
+        assertThat(result).contains(latestGame);
+    }
 
-        assertThat(result.get(0).getLastActivity())
-                .isAfter(result.get(1).getLastActivity());
+    @Test
+    void GivenGameIdAndExpectedRound_WhenUpdateCurrentRound_ThenUpdatesCurrentRoundAndLastActivity() {
+        // Given
+        Round previousRound = persistCurrentRound(game.getLastActivity());
+        LocalDateTime lastActivity = game.getLastActivity().plusMinutes(5);
+
+        Round round = em.persist(Round.builder()
+                .game(game)
+                .thumbnail1(thumbnail1)
+                .thumbnail2(thumbnail2)
+                .createdAt(lastActivity)
+                .build());
+
+        // When
+        int updated = underTest.updateCurrentRound(game.getId(), previousRound.getId(), round, lastActivity);
+        em.clear();
+
+        // Then
+        Game result = em.find(Game.class, game.getId());
+
+        assertThat(updated).isEqualTo(1);
+        assertThat(result.getCurrentRound().getId()).isEqualTo(round.getId());
+        assertThat(result.getLastActivity()).isEqualToIgnoringNanos(lastActivity);
+        assertThat(underTest.findCurrentRoundIdOfActiveGame(game.getId())).contains(round.getId());
+    }
+
+    @Test
+    void GivenRoundThatIsNoLongerCurrent_WhenUpdateCurrentRound_ThenUpdatesNothing() {
+        // Given
+        Round currentRound = persistCurrentRound(game.getLastActivity());
+
+        Round round = em.persist(Round.builder()
+                .game(game)
+                .thumbnail1(thumbnail1)
+                .thumbnail2(thumbnail2)
+                .createdAt(game.getLastActivity().plusMinutes(5))
+                .build());
+
+        // When
+        int updated = underTest.updateCurrentRound(game.getId(), round.getId(), round, round.getCreatedAt());
+        em.clear();
+
+        // Then
+        assertThat(updated).isZero();
+        assertThat(em.find(Game.class, game.getId()).getCurrentRound().getId()).isEqualTo(currentRound.getId());
+    }
+
+    @Test
+    void GivenEndedGame_WhenFindCurrentRoundIdOfActiveGame_ThenReturnsEmptyOptional() {
+        // Given
+        persistCurrentRound(game.getLastActivity());
+        game.setHasEnded(true);
+        em.flush();
+
+        // When & Then
+        assertThat(underTest.findCurrentRoundIdOfActiveGame(game.getId())).isEmpty();
     }
 
     @Test
@@ -138,4 +196,18 @@ public class GameRepositoryTest extends ContainersEnvironment {
         assertThat(result.get(0).getLastActivity())
                 .isAfter(result.get(1).getLastActivity());
     }
+
+    private Round persistCurrentRound(LocalDateTime createdAt) {
+        Round round = em.persist(Round.builder()
+                .game(game)
+                .thumbnail1(thumbnail1)
+                .thumbnail2(thumbnail2)
+                .createdAt(createdAt)
+                .build());
+
+        game.setCurrentRound(round);
+        em.flush();
+
+        return round;
+    }
 }
@@ -0,0 +1,51 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.it.headtohead;
+
+import com.github.karixdev.ratingyoutubethumbnailsapi.headtohead.HeadToHead;
+import com.github.karixdev.ratingyoutubethumbnailsapi.headtohead.HeadToHeadId;
+import com.github.karixdev.ratingyoutubethumbnailsapi.headtohead.HeadToHeadRepository;
+import com.github.karixdev.ratingyoutubethumbnailsapi.it.ContainersEnvironment;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class HeadToHeadRepositoryTest extends ContainersEnvironment {
+    @Autowired
+    HeadToHeadRepository underTest;
+
+    @Autowired
+    TestEntityManager em;
+
+    @Test
+    void GivenPersistedPair_WhenAddWins_ThenAddsThemToPersistedOnes() {
+        // Given
+        underTest.saveAndFlush(HeadToHead.builder()
+                .id(new HeadToHeadId(1L, 2L))
+                .thumbnail1Wins(3)
+                .thumbnail2Wins(4)
+                .build());
+        em.clear();
+
+        // When
+        int updated = underTest.addWins(1L, 2L, 1, 2);
+        em.clear();
+
+        // Then
+        assertThat(updated).isEqualTo(1);
+        assertThat(underTest.findById(new HeadToHeadId(1L, 2L)))
+                .hasValueSatisfying(headToHead -> {
+                    assertThat(headToHead.getThumbnail1Wins()).isEqualTo(4);
+                    assertThat(headToHead.getThumbnail2Wins()).isEqualTo(6);
+                });
+    }
+
+    @Test
+    void GivenPairNotPersisted_WhenAddWins_ThenUpdatesNothing() {
+        assertThat(underTest.addWins(1L, 2L, 1, 0)).isZero();
+    }
+}
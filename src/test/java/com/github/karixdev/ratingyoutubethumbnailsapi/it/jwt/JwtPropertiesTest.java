@@ -26,6 +26,18 @@ public class JwtPropertiesTest extends ContainersEnvironment {
                 .isEqualTo(1);
     }
 
+    @Test
+    void shouldLoadCorrectVerifiedTokenCacheTtlSeconds() {
+        assertThat(underTest.getVerifiedTokenCacheTtlSeconds())
+                .isEqualTo(300);
+    }
+
+    @Test
+    void shouldLoadCorrectVerifiedTokenCacheMaxSize() {
+        assertThat(underTest.getVerifiedTokenCacheMaxSize())
+                .isEqualTo(10000);
+    }
+
     @Test
     void shouldCreateCorrectAlgorithm() {
         assertThat(underTest.getAlgorithm().getName())
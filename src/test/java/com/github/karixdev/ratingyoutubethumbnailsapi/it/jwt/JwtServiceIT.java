@@ -44,4 +44,22 @@ public class JwtServiceIT extends ContainersEnvironment {
         assertThat(underTest.getEmailFromToken(token))
                 .isEqualTo("email@email.com");
     }
+
+    @Test
+    void shouldGetEmailFromAlreadyVerifiedToken() {
+        String token = underTest.createToken(userPrincipal);
+        underTest.getEmailFromValidToken(token);
+
+        assertThat(underTest.getEmailFromValidToken(token))
+                .contains("email@email.com");
+    }
+
+    @Test
+    void shouldNotGetEmailFromTamperedToken() {
+        String token = underTest.createToken(userPrincipal);
+        underTest.getEmailFromValidToken(token);
+
+        assertThat(underTest.getEmailFromValidToken(token + "x"))
+                .isEmpty();
+    }
 }
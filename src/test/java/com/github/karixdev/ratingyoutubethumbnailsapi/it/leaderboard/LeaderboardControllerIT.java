@@ -0,0 +1,121 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.it.leaderboard;
+
+import com.github.karixdev.ratingyoutubethumbnailsapi.it.ContainersEnvironment;
+import com.github.karixdev.ratingyoutubethumbnailsapi.rating.Rating;
+import com.github.karixdev.ratingyoutubethumbnailsapi.rating.RatingAggregates;
+import com.github.karixdev.ratingyoutubethumbnailsapi.rating.RatingRepository;
+import com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail.Thumbnail;
+import com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail.ThumbnailRepository;
+import com.github.karixdev.ratingyoutubethumbnailsapi.user.User;
+import com.github.karixdev.ratingyoutubethumbnailsapi.user.UserRepository;
+import com.github.karixdev.ratingyoutubethumbnailsapi.user.UserRole;
+import com.github.karixdev.ratingyoutubethumbnailsapi.user.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.math.BigDecimal;
+
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+
+@SpringBootTest(webEnvironment = RANDOM_PORT)
+public class LeaderboardControllerIT extends ContainersEnvironment {
+    @Autowired
+    WebTestClient webClient;
+
+    @Autowired
+    UserService userService;
+
+    @Autowired
+    ThumbnailRepository thumbnailRepository;
+
+    @Autowired
+    RatingRepository ratingRepository;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    RatingAggregates ratingAggregates;
+
+    @AfterEach
+    void tearDown() {
+        ratingRepository.deleteAll();
+        thumbnailRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void shouldRespondWith200AndThumbnailsOrderedByAveragePoints() {
+        User user = userService.createUser(
+                "email@email.pl",
+                "username",
+                "password",
+                UserRole.ROLE_USER,
+                Boolean.TRUE
+        );
+
+        Thumbnail thumbnail1 = thumbnailRepository.save(Thumbnail.builder()
+                .url("thumbnail-url-1")
+                .youtubeVideoId("youtube-id-1")
+                .addedBy(user)
+                .build());
+
+        Thumbnail thumbnail2 = thumbnailRepository.save(Thumbnail.builder()
+                .url("thumbnail-url-2")
+                .youtubeVideoId("youtube-id-2")
+                .addedBy(user)
+                .build());
+
+        ratingRepository.save(Rating.builder()
+                .thumbnail(thumbnail1)
+                .user(user)
+                .points(new BigDecimal(1400))
+                .build());
+
+        ratingRepository.save(Rating.builder()
+                .thumbnail(thumbnail2)
+                .user(user)
+                .points(new BigDecimal(1600))
+                .build());
+
+        // the ratings were saved without a rating batch
+        ratingAggregates.reconcile();
+
+        webClient.get().uri("/api/v1/leaderboard")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[0].rank").isEqualTo(1)
+                .jsonPath("$[0].thumbnail.youtube_video_id").isEqualTo("youtube-id-2")
+                .jsonPath("$[1].thumbnail.youtube_video_id").isEqualTo("youtube-id-1");
+
+        webClient.get().uri("/api/v1/leaderboard?after=" + thumbnail2.getId())
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$[0].rank").isEqualTo(2);
+
+        webClient.get().uri("/api/v1/leaderboard/youtube-id-1")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.rank").isEqualTo(2);
+    }
+
+    @Test
+    void shouldRespondWith401WhenGettingUserLeaderboardWithoutToken() {
+        webClient.get().uri("/api/v1/leaderboard/me")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+}
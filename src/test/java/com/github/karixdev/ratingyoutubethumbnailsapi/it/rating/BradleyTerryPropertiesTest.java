@@ -0,0 +1,52 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.it.rating;
+
+import com.github.karixdev.ratingyoutubethumbnailsapi.it.ContainersEnvironment;
+import com.github.karixdev.ratingyoutubethumbnailsapi.rating.BradleyTerryProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.NONE;
+
+@SpringBootTest(webEnvironment = NONE)
+public class BradleyTerryPropertiesTest extends ContainersEnvironment {
+    @Autowired
+    BradleyTerryProperties underTest;
+
+    @Test
+    void shouldLoadIntervalSeconds() {
+        assertThat(underTest.getIntervalSeconds())
+                .isEqualTo(3600);
+    }
+
+    @Test
+    void shouldLoadParallelism() {
+        assertThat(underTest.getParallelism())
+                .isEqualTo(2);
+    }
+
+    @Test
+    void shouldLoadMaxIterations() {
+        assertThat(underTest.getMaxIterations())
+                .isEqualTo(200);
+    }
+
+    @Test
+    void shouldLoadTolerance() {
+        assertThat(underTest.getTolerance())
+                .isEqualTo(0.000001);
+    }
+
+    @Test
+    void shouldLoadPriorWins() {
+        assertThat(underTest.getPriorWins())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void shouldLoadLoadWinnerRange() {
+        assertThat(underTest.getLoadWinnerRange())
+                .isEqualTo(1000L);
+    }
+}
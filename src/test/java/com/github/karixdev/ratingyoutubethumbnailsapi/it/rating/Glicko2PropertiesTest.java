@@ -0,0 +1,34 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.it.rating;
+
+import com.github.karixdev.ratingyoutubethumbnailsapi.it.ContainersEnvironment;
+import com.github.karixdev.ratingyoutubethumbnailsapi.rating.Glicko2Properties;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.NONE;
+
+@SpringBootTest(webEnvironment = NONE)
+public class Glicko2PropertiesTest extends ContainersEnvironment {
+    @Autowired
+    Glicko2Properties underTest;
+
+    @Test
+    void shouldLoadTau() {
+        assertThat(underTest.getTau())
+                .isEqualTo(0.5);
+    }
+
+    @Test
+    void shouldLoadPeriodSeconds() {
+        assertThat(underTest.getPeriodSeconds())
+                .isEqualTo(3600);
+    }
+
+    @Test
+    void shouldLoadParallelism() {
+        assertThat(underTest.getParallelism())
+                .isEqualTo(2);
+    }
+}
@@ -0,0 +1,34 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.it.rating;
+
+import com.github.karixdev.ratingyoutubethumbnailsapi.it.ContainersEnvironment;
+import com.github.karixdev.ratingyoutubethumbnailsapi.rating.MatchmakingProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.NONE;
+
+@SpringBootTest(webEnvironment = NONE)
+public class MatchmakingPropertiesTest extends ContainersEnvironment {
+    @Autowired
+    MatchmakingProperties underTest;
+
+    @Test
+    void shouldLoadStrategy() {
+        assertThat(underTest.getStrategy())
+                .isEqualTo("closest");
+    }
+
+    @Test
+    void shouldLoadBandPoints() {
+        assertThat(underTest.getBandPoints())
+                .isEqualTo(200);
+    }
+
+    @Test
+    void shouldLoadCandidates() {
+        assertThat(underTest.getCandidates())
+                .isEqualTo(32);
+    }
+}
@@ -3,6 +3,7 @@ package com.github.karixdev.ratingyoutubethumbnailsapi.it.rating;
 import com.github.karixdev.ratingyoutubethumbnailsapi.it.ContainersEnvironment;
 import com.github.karixdev.ratingyoutubethumbnailsapi.jwt.JwtService;
 import com.github.karixdev.ratingyoutubethumbnailsapi.rating.Rating;
+import com.github.karixdev.ratingyoutubethumbnailsapi.rating.RatingAggregates;
 import com.github.karixdev.ratingyoutubethumbnailsapi.rating.RatingProperties;
 import com.github.karixdev.ratingyoutubethumbnailsapi.rating.RatingRepository;
 import com.github.karixdev.ratingyoutubethumbnailsapi.security.UserPrincipal;
@@ -16,10 +17,12 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.CacheControl;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.reactive.server.WebTestClient;
 
 import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
 
 import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
 
@@ -46,6 +49,9 @@ public class RatingControllerIT extends ContainersEnvironment {
     @Autowired
     RatingProperties ratingProperties;
 
+    @Autowired
+    RatingAggregates ratingAggregates;
+
     @AfterEach
     void tearDown() {
         ratingRepository.deleteAll();
@@ -141,6 +147,9 @@ public class RatingControllerIT extends ContainersEnvironment {
                 .points(new BigDecimal(1600))
                 .build());
 
+        // the ratings were saved without a rating batch
+        ratingAggregates.reconcile();
+
         webClient.get().uri("/api/v1/rating/youtube-id")
                 .header("Authorization", "Bearer " + token)
                 .accept(MediaType.APPLICATION_JSON)
@@ -188,6 +197,9 @@ public class RatingControllerIT extends ContainersEnvironment {
                 .points(new BigDecimal(1600))
                 .build());
 
+        // the ratings were saved without a rating batch
+        ratingAggregates.reconcile();
+
         webClient.get().uri("/api/v1/rating/youtube-id")
                 .accept(MediaType.APPLICATION_JSON)
                 .exchange()
@@ -196,4 +208,88 @@ public class RatingControllerIT extends ContainersEnvironment {
                 .jsonPath("$.global_rating_points").isEqualTo(new BigDecimal("1500.0"))
                 .jsonPath("$.user_rating_points").isEmpty();
     }
+
+    @Test
+    void shouldRespondWith304IfRatingHasNotChanged() {
+        User user = userService.createUser(
+                "email@email.pl",
+                "username",
+                "password",
+                UserRole.ROLE_USER,
+                Boolean.TRUE
+        );
+
+        thumbnailRepository.save(Thumbnail.builder()
+                .url("thumbnail-url")
+                .youtubeVideoId("youtube-id")
+                .addedBy(user)
+                .build());
+
+        String eTag = webClient.get().uri("/api/v1/rating/youtube-id")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().cacheControl(CacheControl.maxAge(
+                        ratingProperties.getCacheMaxAgeSeconds(), TimeUnit.SECONDS).cachePublic())
+                .returnResult(String.class)
+                .getResponseHeaders()
+                .getETag();
+
+        webClient.get().uri("/api/v1/rating/youtube-id")
+                .header("If-None-Match", eTag)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectBody().isEmpty();
+    }
+
+    @Test
+    void shouldRespondWith200AndRatingsOfRequestedThumbnails() {
+        UserPrincipal userPrincipal = new UserPrincipal(
+                userService.createUser(
+                        "email@email.pl",
+                        "username",
+                        "password",
+                        UserRole.ROLE_USER,
+                        Boolean.TRUE
+                ));
+
+        String token = jwtService.createToken(userPrincipal);
+
+        Thumbnail thumbnail = thumbnailRepository.save(Thumbnail.builder()
+                .url("thumbnail-url")
+                .youtubeVideoId("youtube-id")
+                .addedBy(userPrincipal.getUser())
+                .build());
+
+        thumbnailRepository.save(Thumbnail.builder()
+                .url("thumbnail-url-2")
+                .youtubeVideoId("youtube-id-2")
+                .addedBy(userPrincipal.getUser())
+                .build());
+
+        ratingRepository.save(Rating.builder()
+                .thumbnail(thumbnail)
+                .user(userPrincipal.getUser())
+                .points(new BigDecimal(1600))
+                .build());
+
+        ratingAggregates.reconcile();
+
+        webClient.post().uri("/api/v1/rating/batch")
+                .header("Authorization", "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("""
+                        {
+                            "youtube_video_ids": ["youtube-id", "youtube-id-2", "missing"]
+                        }
+                        """)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.ratings.youtube-id.global_rating_points").isEqualTo(new BigDecimal("1600.0"))
+                .jsonPath("$.ratings.youtube-id.user_rating_points").isEqualTo(new BigDecimal("1600.0"))
+                .jsonPath("$.ratings.youtube-id-2.global_rating_points").isEqualTo(ratingProperties.getBasePoints())
+                .jsonPath("$.not_found[0]").isEqualTo("missing");
+    }
 }
@@ -0,0 +1,40 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.it.rating;
+
+import com.github.karixdev.ratingyoutubethumbnailsapi.it.ContainersEnvironment;
+import com.github.karixdev.ratingyoutubethumbnailsapi.rating.RatingHistoryProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.NONE;
+
+@SpringBootTest(webEnvironment = NONE)
+public class RatingHistoryPropertiesTest extends ContainersEnvironment {
+    @Autowired
+    RatingHistoryProperties underTest;
+
+    @Test
+    void shouldLoadQueueCapacity() {
+        assertThat(underTest.getQueueCapacity())
+                .isEqualTo(10000);
+    }
+
+    @Test
+    void shouldLoadFlushBatchSize() {
+        assertThat(underTest.getFlushBatchSize())
+                .isEqualTo(1000);
+    }
+
+    @Test
+    void shouldLoadRawRetentionHours() {
+        assertThat(underTest.getRawRetentionHours())
+                .isEqualTo(48);
+    }
+
+    @Test
+    void shouldLoadMinuteRetentionDays() {
+        assertThat(underTest.getMinuteRetentionDays())
+                .isEqualTo(7);
+    }
+}
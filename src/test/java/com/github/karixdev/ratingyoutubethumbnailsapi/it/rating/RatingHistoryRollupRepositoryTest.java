@@ -0,0 +1,162 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.it.rating;
+
+import com.github.karixdev.ratingyoutubethumbnailsapi.it.ContainersEnvironment;
+import com.github.karixdev.ratingyoutubethumbnailsapi.rating.RatingHistoryResolution;
+import com.github.karixdev.ratingyoutubethumbnailsapi.rating.RatingHistoryRollup;
+import com.github.karixdev.ratingyoutubethumbnailsapi.rating.RatingHistoryRollupId;
+import com.github.karixdev.ratingyoutubethumbnailsapi.rating.RatingHistoryRollupRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class RatingHistoryRollupRepositoryTest extends ContainersEnvironment {
+    @Autowired
+    RatingHistoryRollupRepository underTest;
+
+    @Autowired
+    TestEntityManager em;
+
+    static final LocalDateTime HOUR = LocalDateTime.of(2023, 9, 1, 12, 0);
+
+    @Test
+    void GivenPersistedBucket_WhenAddSamples_ThenMergesThemWithPersistedOnes() {
+        // Given
+        underTest.saveAndFlush(rollup(RatingHistoryResolution.HOUR, HOUR, "1450.00"));
+        em.clear();
+
+        // When
+        int updated = underTest.addSamples(
+                1L,
+                RatingHistoryResolution.HOUR,
+                HOUR,
+                new BigDecimal("1300.00"),
+                new BigDecimal("1400.00"),
+                new BigDecimal("2700.00"),
+                2L,
+                new BigDecimal("1300.00"),
+                HOUR.plusMinutes(40)
+        );
+        em.clear();
+
+        // Then
+        assertThat(updated).isEqualTo(1);
+        assertThat(underTest.findById(new RatingHistoryRollupId(1L, RatingHistoryResolution.HOUR, HOUR)))
+                .hasValueSatisfying(rollup -> {
+                    assertThat(rollup.getMinPoints()).isEqualByComparingTo("1300.00");
+                    assertThat(rollup.getMaxPoints()).isEqualByComparingTo("1450.00");
+                    assertThat(rollup.getPointsSum()).isEqualByComparingTo("4150.00");
+                    assertThat(rollup.getSampleCount()).isEqualTo(3);
+                    assertThat(rollup.getLastPoints()).isEqualByComparingTo("1300.00");
+                    assertThat(rollup.getLastRecordedAt()).isEqualTo(HOUR.plusMinutes(40));
+                });
+    }
+
+    @Test
+    void GivenSamplesOlderThanLastOne_WhenAddSamples_ThenKeepsLastPoints() {
+        // Given
+        underTest.saveAndFlush(rollup(RatingHistoryResolution.HOUR, HOUR, "1450.00"));
+        em.clear();
+
+        // When
+        underTest.addSamples(
+                1L,
+                RatingHistoryResolution.HOUR,
+                HOUR,
+                new BigDecimal("1500.00"),
+                new BigDecimal("1500.00"),
+                new BigDecimal("1500.00"),
+                1L,
+                new BigDecimal("1500.00"),
+                HOUR.plusMinutes(10)
+        );
+        em.clear();
+
+        // Then
+        assertThat(underTest.findById(new RatingHistoryRollupId(1L, RatingHistoryResolution.HOUR, HOUR)))
+                .hasValueSatisfying(rollup -> {
+                    assertThat(rollup.getLastPoints()).isEqualByComparingTo("1450.00");
+                    assertThat(rollup.getLastRecordedAt()).isEqualTo(HOUR.plusMinutes(20));
+                });
+    }
+
+    @Test
+    void GivenBucketNotPersisted_WhenAddSamples_ThenUpdatesNothing() {
+        assertThat(underTest.addSamples(
+                1L,
+                RatingHistoryResolution.DAY,
+                HOUR,
+                BigDecimal.ONE,
+                BigDecimal.ONE,
+                BigDecimal.ONE,
+                1L,
+                BigDecimal.ONE,
+                HOUR
+        )).isZero();
+    }
+
+    @Test
+    void GivenBucketsOfResolutions_WhenFindBefore_ThenReturnsOlderBucketsOfResolutionLatestFirst() {
+        // Given
+        underTest.save(rollup(RatingHistoryResolution.HOUR, HOUR.minusHours(2), "1400.00"));
+        underTest.save(rollup(RatingHistoryResolution.HOUR, HOUR.minusHours(1), "1400.00"));
+        underTest.save(rollup(RatingHistoryResolution.HOUR, HOUR, "1400.00"));
+        underTest.save(rollup(RatingHistoryResolution.MINUTE, HOUR.minusMinutes(1), "1400.00"));
+        em.flush();
+
+        // When & Then
+        assertThat(underTest.findBefore(1L, RatingHistoryResolution.HOUR, HOUR, PageRequest.ofSize(10)))
+                .extracting(rollup -> rollup.getId().getBucketStart())
+                .containsExactly(HOUR.minusHours(1), HOUR.minusHours(2));
+        assertThat(underTest.findLatest(1L, RatingHistoryResolution.HOUR, PageRequest.ofSize(1)))
+                .extracting(rollup -> rollup.getId().getBucketStart())
+                .containsExactly(HOUR);
+    }
+
+    @Test
+    void GivenOldMinuteAndHourBuckets_WhenDeleteBucketsBefore_ThenDeletesOnlyOldMinutes() {
+        // Given
+        underTest.save(rollup(RatingHistoryResolution.MINUTE, HOUR.minusDays(8), "1400.00"));
+        underTest.save(rollup(RatingHistoryResolution.MINUTE, HOUR, "1400.00"));
+        underTest.save(rollup(RatingHistoryResolution.HOUR, HOUR.minusDays(8), "1400.00"));
+        em.flush();
+
+        // When
+        int deleted = underTest.deleteBucketsBefore(RatingHistoryResolution.MINUTE, HOUR.minusDays(7));
+        em.clear();
+
+        // Then
+        assertThat(deleted).isEqualTo(1);
+        assertThat(underTest.findAll())
+                .extracting(RatingHistoryRollup::getId)
+                .containsExactlyInAnyOrder(
+                        new RatingHistoryRollupId(1L, RatingHistoryResolution.MINUTE, HOUR),
+                        new RatingHistoryRollupId(1L, RatingHistoryResolution.HOUR, HOUR.minusDays(8))
+                );
+    }
+
+    private static RatingHistoryRollup rollup(
+            RatingHistoryResolution resolution,
+            LocalDateTime bucketStart,
+            String points
+    ) {
+        return RatingHistoryRollup.builder()
+                .id(new RatingHistoryRollupId(1L, resolution, bucketStart))
+                .minPoints(new BigDecimal(points))
+                .maxPoints(new BigDecimal(points))
+                .pointsSum(new BigDecimal(points))
+                .sampleCount(1L)
+                .lastPoints(new BigDecimal(points))
+                .lastRecordedAt(bucketStart.plusMinutes(20))
+                .build();
+    }
+}
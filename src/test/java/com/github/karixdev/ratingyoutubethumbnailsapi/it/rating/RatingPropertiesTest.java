@@ -27,4 +27,28 @@ public class RatingPropertiesTest extends ContainersEnvironment {
         assertThat(underTest.getKParameter())
                 .isEqualTo(32);
     }
+
+    @Test
+    void shouldLoadCacheMaxAgeSeconds() {
+        assertThat(underTest.getCacheMaxAgeSeconds())
+                .isEqualTo(30);
+    }
+
+    @Test
+    void shouldLoadLockStripes() {
+        assertThat(underTest.getLockStripes())
+                .isEqualTo(64);
+    }
+
+    @Test
+    void shouldLoadLockTimeoutMillis() {
+        assertThat(underTest.getLockTimeoutMillis())
+                .isEqualTo(500L);
+    }
+
+    @Test
+    void shouldLoadUpdateMaxAttempts() {
+        assertThat(underTest.getUpdateMaxAttempts())
+                .isEqualTo(3);
+    }
 }
@@ -3,6 +3,8 @@ package com.github.karixdev.ratingyoutubethumbnailsapi.it.rating;
 import com.github.karixdev.ratingyoutubethumbnailsapi.it.ContainersEnvironment;
 import com.github.karixdev.ratingyoutubethumbnailsapi.rating.Rating;
 import com.github.karixdev.ratingyoutubethumbnailsapi.rating.RatingRepository;
+import com.github.karixdev.ratingyoutubethumbnailsapi.rating.ThumbnailPoints;
+import com.github.karixdev.ratingyoutubethumbnailsapi.rating.ThumbnailPointsSum;
 import com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail.Thumbnail;
 import com.github.karixdev.ratingyoutubethumbnailsapi.user.User;
 import com.github.karixdev.ratingyoutubethumbnailsapi.user.UserRole;
@@ -93,7 +95,7 @@ public class RatingRepositoryTest extends ContainersEnvironment {
     }
 
     @Test
-    void GivenNotExistingThumbnailWhoHasZeroRatings_WhenFindAveragePointsByThumbnail_ThenReturnsEmptyOptional() {
+    void GivenThumbnailWhoHasZeroRatings_WhenFindAllPointsSums_ThenDoesNotReturnThumbnail() {
         // Given
         Thumbnail otherThumbnail = em.persistAndFlush(Thumbnail.builder()
                 .url("thumbnail-url-2")
@@ -102,15 +104,16 @@ public class RatingRepositoryTest extends ContainersEnvironment {
                 .build());
 
         // When
-        Optional<BigDecimal> result =
-                underTest.findAveragePointsByThumbnail(otherThumbnail);
+        List<ThumbnailPointsSum> result = underTest.findAllPointsSums();
 
         // Then
-        assertThat(result).isEmpty();
+        assertThat(result)
+                .extracting(ThumbnailPointsSum::getThumbnailId)
+                .containsExactly(thumbnail.getId());
     }
 
     @Test
-    void GivenThumbnail_WhenFindAveragePointsByThumbnail_ThenReturnsOptionalWithCorrectValue() {
+    void GivenThumbnail_WhenFindAllPointsSums_ThenReturnsSumAndCountOfItsRatings() {
         User otherUser = em.persist(User.builder()
                 .email("abc-2@abc.pl")
                 .username("username-2")
@@ -126,16 +129,17 @@ public class RatingRepositoryTest extends ContainersEnvironment {
                 .build());
 
         // When
-        Optional<BigDecimal> result =
-                underTest.findAveragePointsByThumbnail(thumbnail);
+        List<ThumbnailPointsSum> result = underTest.findAllPointsSums();
 
         // Then
-        assertThat(result).isPresent();
-        assertThat(result.get()).isEqualTo(new BigDecimal("1500.0"));
+        assertThat(result).hasSize(1);
+        assertThat(result.get(0).getThumbnailId()).isEqualTo(thumbnail.getId());
+        assertThat(result.get(0).getPointsSum()).isEqualByComparingTo(new BigDecimal(3000));
+        assertThat(result.get(0).getRatingCount()).isEqualTo(2L);
     }
 
     @Test
-    void GivenThumbnailAndUserWhoHasNotRatedThumbnail_WhenFindAveragePointsByThumbnailAndUser_ThenReturnsEmptyOptional() {
+    void GivenThumbnailsAndUserWhoHasRatedOneOfThem_WhenFindThumbnailPointsByUserAndThumbnailIdIn_ThenReturnsOnlyRatedThumbnail() {
         // Given
         Thumbnail otherThumbnail = em.persistAndFlush(Thumbnail.builder()
                 .url("thumbnail-url-2")
@@ -143,17 +147,6 @@ public class RatingRepositoryTest extends ContainersEnvironment {
                 .addedBy(user)
                 .build());
 
-        // When
-        Optional<BigDecimal> result =
-                underTest.findAveragePointsByThumbnailAndUser(
-                        otherThumbnail, user);
-
-        // Then
-        assertThat(result).isEmpty();
-    }
-
-    @Test
-    void GivenThumbnailAndUser_WhenFindAveragePointsByThumbnailAndUser_ThenReturnsOptionalWithCorrectValue() {
         User otherUser = em.persist(User.builder()
                 .email("abc-2@abc.pl")
                 .username("username-2")
@@ -165,15 +158,16 @@ public class RatingRepositoryTest extends ContainersEnvironment {
         em.persistAndFlush(Rating.builder()
                 .points(new BigDecimal(1600))
                 .user(otherUser)
-                .thumbnail(thumbnail)
+                .thumbnail(otherThumbnail)
                 .build());
 
         // When
-        Optional<BigDecimal> result =
-                underTest.findAveragePointsByThumbnailAndUser(thumbnail, user);
+        List<ThumbnailPoints> result = underTest.findThumbnailPointsByUserAndThumbnailIdIn(
+                user, List.of(thumbnail.getId(), otherThumbnail.getId()));
 
         // Then
-        assertThat(result).isPresent();
-        assertThat(result.get()).isEqualTo(new BigDecimal("1400.0"));
+        assertThat(result).hasSize(1);
+        assertThat(result.get(0).getThumbnailId()).isEqualTo(thumbnail.getId());
+        assertThat(result.get(0).getPoints()).isEqualByComparingTo(new BigDecimal(1400));
     }
 }
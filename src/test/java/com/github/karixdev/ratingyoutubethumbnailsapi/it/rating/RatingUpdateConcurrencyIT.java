@@ -0,0 +1,123 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.it.rating;
+
+import com.github.karixdev.ratingyoutubethumbnailsapi.it.ContainersEnvironment;
+import com.github.karixdev.ratingyoutubethumbnailsapi.rating.Rating;
+import com.github.karixdev.ratingyoutubethumbnailsapi.rating.RatingRepository;
+import com.github.karixdev.ratingyoutubethumbnailsapi.rating.RatingService;
+import com.github.karixdev.ratingyoutubethumbnailsapi.rating.RatingUpdateRetry;
+import com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail.Thumbnail;
+import com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail.ThumbnailRepository;
+import com.github.karixdev.ratingyoutubethumbnailsapi.user.User;
+import com.github.karixdev.ratingyoutubethumbnailsapi.user.UserRepository;
+import com.github.karixdev.ratingyoutubethumbnailsapi.user.UserRole;
+import com.github.karixdev.ratingyoutubethumbnailsapi.user.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.NONE;
+
+// Votes of one user between a few thumbnails from many threads, as if the user played on several devices.
+// Each vote moves points from the loser to the winner and gives both ratings a new version,
+// so a lost update shows up in the total of points or of versions.
+@SpringBootTest(webEnvironment = NONE)
+public class RatingUpdateConcurrencyIT extends ContainersEnvironment {
+    private static final int THREADS = 8;
+    private static final int VOTES_PER_THREAD = 25;
+    private static final int THUMBNAILS = 4;
+
+    @Autowired
+    RatingService ratingService;
+
+    @Autowired
+    RatingUpdateRetry ratingUpdateRetry;
+
+    @Autowired
+    UserService userService;
+
+    @Autowired
+    ThumbnailRepository thumbnailRepository;
+
+    @Autowired
+    RatingRepository ratingRepository;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @AfterEach
+    void tearDown() {
+        ratingRepository.deleteAll();
+        thumbnailRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void shouldConservePointsOfConcurrentVotes() throws Exception {
+        User user = userService.createUser(
+                "email@email.pl",
+                "username",
+                "password",
+                UserRole.ROLE_USER,
+                Boolean.TRUE
+        );
+
+        List<Thumbnail> thumbnails = new ArrayList<>();
+        for (int i = 0; i < THUMBNAILS; i++) {
+            thumbnails.add(thumbnailRepository.save(Thumbnail.builder()
+                    .url("thumbnail-url-" + i)
+                    .youtubeVideoId("youtube-id-" + i)
+                    .addedBy(user)
+                    .build()));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> results = new ArrayList<>();
+
+        for (int i = 0; i < THREADS; i++) {
+            results.add(executor.submit(() -> {
+                for (int vote = 0; vote < VOTES_PER_THREAD; vote++) {
+                    int winner = ThreadLocalRandom.current().nextInt(THUMBNAILS);
+                    int loser = (winner + 1 + ThreadLocalRandom.current().nextInt(THUMBNAILS - 1)) % THUMBNAILS;
+
+                    ratingUpdateRetry.run(() -> {
+                        ratingService.updateRatings(thumbnails.get(winner), thumbnails.get(loser), user);
+                        return null;
+                    });
+                }
+            }));
+        }
+
+        for (Future<?> result : results) {
+            result.get(60, TimeUnit.SECONDS);
+        }
+
+        executor.shutdown();
+
+        List<Rating> ratings = ratingRepository.findAll();
+
+        BigDecimal totalPoints = ratings.stream()
+                .map(Rating::getPoints)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+
+        long totalVersions = ratings.stream()
+                .mapToLong(Rating::getVersion)
+                .sum();
+
+        assertThat(ratings).hasSize(THUMBNAILS);
+        assertThat(totalPoints).isEqualByComparingTo(new BigDecimal(1400 * THUMBNAILS));
+
+        // the first vote of a thumbnail inserts its rating with version 0
+        assertThat(totalVersions).isEqualTo(2L * THREADS * VOTES_PER_THREAD - THUMBNAILS);
+    }
+}
@@ -0,0 +1,163 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.it.rating;
+
+import com.github.karixdev.ratingyoutubethumbnailsapi.it.ContainersEnvironment;
+import com.github.karixdev.ratingyoutubethumbnailsapi.rating.PairCount;
+import com.github.karixdev.ratingyoutubethumbnailsapi.rating.ThumbnailVotes;
+import com.github.karixdev.ratingyoutubethumbnailsapi.rating.VoteEvent;
+import com.github.karixdev.ratingyoutubethumbnailsapi.rating.VoteEventRepository;
+import com.github.karixdev.ratingyoutubethumbnailsapi.rating.VoteEventRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class VoteEventRepositoryTest extends ContainersEnvironment {
+    @Autowired
+    VoteEventRepository underTest;
+
+    @Autowired
+    TestEntityManager em;
+
+    List<VoteEvent> events;
+
+    @BeforeEach
+    void setUp() {
+        events = new ArrayList<>();
+
+        for (long i = 0; i < 6; i++) {
+            events.add(em.persist(VoteEvent.builder()
+                    .userId(i % 2 + 1)
+                    .winnerId(10 + i)
+                    .loserId(20 + i)
+                    .createdAt(LocalDateTime.of(2023, 9, 1, 12, 0))
+                    .build()));
+        }
+
+        em.flush();
+    }
+
+    @Test
+    void GivenEvents_WhenFindMaxIdAndUserIds_ThenReturnsUsersOfEventsUpToMaxId() {
+        // When
+        Long maxId = underTest.findMaxId().orElseThrow();
+
+        // Then
+        assertThat(maxId).isEqualTo(events.get(5).getId());
+        assertThat(underTest.findUserIds(maxId)).containsExactly(1L, 2L);
+        assertThat(underTest.findUserIds(events.get(0).getId())).containsExactly(1L);
+    }
+
+    @Test
+    void GivenEventsOfUser_WhenFindByUserIdAndIdBetween_ThenReturnsPageOrderedById() {
+        // When
+        List<VoteEventRow> first = underTest.findByUserIdAndIdBetween(
+                1L, 0L, Long.MAX_VALUE, PageRequest.ofSize(2));
+        List<VoteEventRow> second = underTest.findByUserIdAndIdBetween(
+                1L, first.get(1).id(), events.get(4).getId(), PageRequest.ofSize(2));
+
+        // Then
+        assertThat(first).containsExactly(
+                new VoteEventRow(events.get(0).getId(), 10, 20),
+                new VoteEventRow(events.get(2).getId(), 12, 22)
+        );
+        assertThat(second).containsExactly(
+                new VoteEventRow(events.get(4).getId(), 14, 24)
+        );
+    }
+
+    @Test
+    void GivenEventsWithoutPeriod_WhenAssignPeriod_ThenAssignsAllOfThem() {
+        // When
+        int assigned = underTest.assignPeriod(1L);
+
+        // Then
+        assertThat(assigned).isEqualTo(6);
+        assertThat(underTest.existsByPeriodIdIsNull()).isFalse();
+        assertThat(underTest.assignPeriod(2L)).isZero();
+        assertThat(underTest.findUserIdsByPeriodId(1L)).containsExactly(1L, 2L);
+        assertThat(underTest.findUserIdsByPeriodId(2L)).isEmpty();
+    }
+
+    @Test
+    void GivenEventsOfPeriod_WhenFindByPeriodIdAndUserIdAndIdAfter_ThenReturnsPageOrderedById() {
+        // Given
+        underTest.assignPeriod(1L);
+
+        // When
+        List<VoteEventRow> first = underTest.findByPeriodIdAndUserIdAndIdAfter(
+                1L, 2L, 0L, PageRequest.ofSize(2));
+        List<VoteEventRow> second = underTest.findByPeriodIdAndUserIdAndIdAfter(
+                1L, 2L, first.get(1).id(), PageRequest.ofSize(2));
+
+        // Then
+        assertThat(first).containsExactly(
+                new VoteEventRow(events.get(1).getId(), 11, 21),
+                new VoteEventRow(events.get(3).getId(), 13, 23)
+        );
+        assertThat(second).containsExactly(
+                new VoteEventRow(events.get(5).getId(), 15, 25)
+        );
+    }
+
+    @Test
+    void GivenRepeatedPairs_WhenFindPairCounts_ThenCountsVotesOfEveryWinnerAndLoserInRange() {
+        // Given
+        for (int i = 0; i < 3; i++) {
+            em.persist(VoteEvent.builder()
+                    .userId(3L)
+                    .winnerId(10L)
+                    .loserId(20L)
+                    .createdAt(LocalDateTime.of(2023, 9, 1, 12, 0))
+                    .build());
+        }
+
+        em.flush();
+
+        // When & Then
+        assertThat(underTest.findMaxWinnerId()).contains(15L);
+        assertThat(underTest.findPairCounts(9L, 11L)).containsExactlyInAnyOrder(
+                new PairCount(10, 20, 4),
+                new PairCount(11, 21, 1)
+        );
+        assertThat(underTest.findPairCounts(15L, 1000L)).isEmpty();
+    }
+
+    @Test
+    void GivenRepeatedVotesOfUser_WhenFindWinsAndLossesByUserId_ThenCountsVotesOfEveryThumbnail() {
+        // Given
+        for (int i = 0; i < 2; i++) {
+            em.persist(VoteEvent.builder()
+                    .userId(1L)
+                    .winnerId(10L)
+                    .loserId(22L)
+                    .createdAt(LocalDateTime.of(2023, 9, 1, 12, 0))
+                    .build());
+        }
+
+        em.flush();
+
+        // When & Then
+        assertThat(underTest.findWinsByUserId(1L)).containsExactlyInAnyOrder(
+                new ThumbnailVotes(10, 3),
+                new ThumbnailVotes(12, 1),
+                new ThumbnailVotes(14, 1)
+        );
+        assertThat(underTest.findLossesByUserId(1L)).containsExactlyInAnyOrder(
+                new ThumbnailVotes(20, 1),
+                new ThumbnailVotes(22, 3),
+                new ThumbnailVotes(24, 1)
+        );
+        assertThat(underTest.findWinsByUserId(3L)).isEmpty();
+    }
+}
@@ -0,0 +1,135 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.it.round;
+
+import com.github.karixdev.ratingyoutubethumbnailsapi.game.Game;
+import com.github.karixdev.ratingyoutubethumbnailsapi.it.ContainersEnvironment;
+import com.github.karixdev.ratingyoutubethumbnailsapi.round.Round;
+import com.github.karixdev.ratingyoutubethumbnailsapi.round.RoundRepository;
+import com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail.Thumbnail;
+import com.github.karixdev.ratingyoutubethumbnailsapi.user.User;
+import com.github.karixdev.ratingyoutubethumbnailsapi.user.UserRole;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class RoundRepositoryTest extends ContainersEnvironment {
+    @Autowired
+    RoundRepository underTest;
+
+    @Autowired
+    TestEntityManager em;
+
+    Game game;
+
+    List<Thumbnail> thumbnails;
+
+    List<Round> rounds;
+
+    @BeforeEach
+    void setUp() {
+        User user = em.persist(User.builder()
+                .email("email@email.com")
+                .password("password")
+                .username("username")
+                .userRole(UserRole.ROLE_USER)
+                .isEnabled(Boolean.TRUE)
+                .build());
+
+        thumbnails = new ArrayList<>();
+        for (int i = 1; i <= 4; i++) {
+            thumbnails.add(em.persist(Thumbnail.builder()
+                    .addedBy(user)
+                    .url("thumbnail-url-" + i)
+                    .youtubeVideoId("youtube-id-" + i)
+                    .build()));
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+
+        game = em.persist(Game.builder()
+                .user(user)
+                .lastActivity(now)
+                .build());
+
+        rounds = new ArrayList<>();
+        rounds.add(createRound(thumbnails.get(0), thumbnails.get(1), now.minusMinutes(3)));
+        rounds.add(createRound(thumbnails.get(0), thumbnails.get(2), now.minusMinutes(2)));
+        rounds.add(createRound(thumbnails.get(3), thumbnails.get(0), now.minusMinutes(1)));
+
+        em.flush();
+    }
+
+    @Test
+    void GivenGameAndPageSize_WhenFindByGameOrderByCreatedAtDesc_ThenReturnsLatestRounds() {
+        // When
+        List<Round> result = underTest.findByGameOrderByCreatedAtDesc(game, PageRequest.ofSize(2));
+
+        // Then
+        assertThat(result).containsExactly(rounds.get(2), rounds.get(1));
+    }
+
+    @Test
+    void GivenCursor_WhenFindByGameBeforeOrderByCreatedAtDesc_ThenReturnsRoundsOlderThanCursor() {
+        // Given
+        Round cursor = rounds.get(1);
+
+        // When
+        List<Round> result = underTest.findByGameBeforeOrderByCreatedAtDesc(
+                game,
+                cursor.getCreatedAt(),
+                cursor.getId(),
+                PageRequest.ofSize(2)
+        );
+
+        // Then
+        assertThat(result).containsExactly(rounds.get(0));
+    }
+
+    @Test
+    void GivenGameWithCurrentRound_WhenUpdateWinnerOfCurrentRound_ThenSetsWinnerOfThatRoundOnly() {
+        // Given
+        game.setCurrentRound(rounds.get(2));
+        em.flush();
+
+        // When
+        underTest.updateWinnerOfCurrentRound(game.getId(), thumbnails.get(3));
+        em.clear();
+
+        // Then
+        assertThat(em.find(Round.class, rounds.get(2).getId()).getWinner()).isEqualTo(thumbnails.get(3));
+        assertThat(em.find(Round.class, rounds.get(1).getId()).getWinner()).isNull();
+    }
+
+    @Test
+    void GivenGameIdAndThumbnailId_WhenFindOpponentIdsOf_ThenReturnsIdsOfThumbnailsItFacedInGame() {
+        // When
+        List<Long> result = underTest.findOpponentIdsOf(game.getId(), thumbnails.get(0).getId());
+
+        // Then
+        assertThat(result).containsExactlyInAnyOrder(
+                thumbnails.get(1).getId(),
+                thumbnails.get(2).getId(),
+                thumbnails.get(3).getId()
+        );
+    }
+
+    private Round createRound(Thumbnail thumbnail1, Thumbnail thumbnail2, LocalDateTime createdAt) {
+        return em.persist(Round.builder()
+                .game(game)
+                .thumbnail1(thumbnail1)
+                .thumbnail2(thumbnail2)
+                .createdAt(createdAt)
+                .build());
+    }
+}
@@ -0,0 +1,26 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.it.security;
+
+import com.github.karixdev.ratingyoutubethumbnailsapi.it.ContainersEnvironment;
+import com.github.karixdev.ratingyoutubethumbnailsapi.security.PrincipalCacheProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.NONE;
+
+@SpringBootTest(webEnvironment = NONE)
+public class PrincipalCachePropertiesTest extends ContainersEnvironment {
+    @Autowired
+    PrincipalCacheProperties underTest;
+
+    @Test
+    void shouldLoadTtlSeconds() {
+        assertThat(underTest.getTtlSeconds()).isEqualTo(60L);
+    }
+
+    @Test
+    void shouldLoadMaxSize() {
+        assertThat(underTest.getMaxSize()).isEqualTo(100);
+    }
+}
@@ -0,0 +1,131 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.it.shared;
+
+import com.github.karixdev.ratingyoutubethumbnailsapi.fixtures.DataFixtures;
+import com.github.karixdev.ratingyoutubethumbnailsapi.game.GameRepository;
+import com.github.karixdev.ratingyoutubethumbnailsapi.game.GameService;
+import com.github.karixdev.ratingyoutubethumbnailsapi.game.payload.request.GameBatchResultRequest;
+import com.github.karixdev.ratingyoutubethumbnailsapi.game.payload.response.GameBatchResponse;
+import com.github.karixdev.ratingyoutubethumbnailsapi.game.payload.response.GameResponse;
+import com.github.karixdev.ratingyoutubethumbnailsapi.it.ContainersEnvironment;
+import com.github.karixdev.ratingyoutubethumbnailsapi.rating.RatingRepository;
+import com.github.karixdev.ratingyoutubethumbnailsapi.round.RoundRepository;
+import com.github.karixdev.ratingyoutubethumbnailsapi.security.UserPrincipal;
+import com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail.Thumbnail;
+import com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail.ThumbnailRepository;
+import com.github.karixdev.ratingyoutubethumbnailsapi.user.User;
+import com.github.karixdev.ratingyoutubethumbnailsapi.user.UserRepository;
+import com.github.karixdev.ratingyoutubethumbnailsapi.user.UserRole;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.NONE;
+
+@SpringBootTest(
+        webEnvironment = NONE,
+        properties = {
+                "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+                        "com.github.karixdev.ratingyoutubethumbnailsapi.it.shared.StatementCounter",
+                "fixtures.load=true"
+        }
+)
+public class BatchedWritesIT extends ContainersEnvironment {
+    @Autowired
+    DataFixtures dataFixtures;
+
+    @Autowired
+    GameService gameService;
+
+    @Autowired
+    GameRepository gameRepository;
+
+    @Autowired
+    RoundRepository roundRepository;
+
+    @Autowired
+    RatingRepository ratingRepository;
+
+    @Autowired
+    ThumbnailRepository thumbnailRepository;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        // fixtures are loaded on startup as well
+        tearDown();
+    }
+
+    @AfterEach
+    void tearDown() {
+        roundRepository.deleteAll();
+        gameRepository.deleteAll();
+        ratingRepository.deleteAll();
+        thumbnailRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void shouldLoadFixturesWithOneInsertStatementPerTable() {
+        StatementCounter.reset();
+
+        dataFixtures.run();
+
+        assertThat(thumbnailRepository.findAll()).hasSize(4);
+
+        // app_user and thumbnail, ids come from at most one block per sequence
+        assertThat(StatementCounter.getInserts()).isEqualTo(2);
+        assertThat(StatementCounter.getSequenceCalls()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void shouldWriteBatchOfRoundsWithOneInsertStatementPerTable() {
+        User user = userRepository.save(createUser());
+        thumbnailRepository.saveAll(IntStream.range(0, 22)
+                .mapToObj(i -> createThumbnail("thumbnail-url" + i, "yt-id" + i, user))
+                .toList());
+
+        UserPrincipal userPrincipal = new UserPrincipal(user);
+
+        GameResponse game = gameService.play(userPrincipal, null);
+        Long winnerId = game.getThumbnails().get(0).getId();
+
+        StatementCounter.reset();
+
+        GameBatchResponse result = gameService.playBatch(
+                userPrincipal, new GameBatchResultRequest(Collections.nCopies(20, winnerId)));
+
+        assertThat(result.getOpponents()).hasSize(20);
+        assertThat(roundRepository.findAll()).hasSize(21);
+
+        // round, rating and vote_event
+        assertThat(StatementCounter.getInserts()).isEqualTo(3);
+        assertThat(StatementCounter.getSequenceCalls()).isLessThanOrEqualTo(2);
+    }
+
+    private static Thumbnail createThumbnail(String url, String ytId, User user) {
+        return Thumbnail.builder()
+                .url(url)
+                .youtubeVideoId(ytId)
+                .addedBy(user)
+                .build();
+    }
+
+    private static User createUser() {
+        return User.builder()
+                .email("email@email.com")
+                .username("username")
+                .password("password")
+                .userRole(UserRole.ROLE_USER)
+                .isEnabled(true)
+                .build();
+    }
+}
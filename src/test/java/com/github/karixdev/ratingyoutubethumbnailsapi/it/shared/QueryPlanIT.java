@@ -0,0 +1,196 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.it.shared;
+
+import com.github.karixdev.ratingyoutubethumbnailsapi.it.ContainersEnvironment;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Runs EXPLAIN for the SQL behind every repository @Query against the schema created by the migrations.
+// Data is rolled back after each test.
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class QueryPlanIT extends ContainersEnvironment {
+    private static final long OFFSET = 1_000_000;
+
+    private static final long USER_ID = OFFSET + 1;
+    private static final long THUMBNAIL_ID = OFFSET + 1;
+    private static final long GAME_ID = OFFSET + 1;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("""
+                INSERT INTO app_user (id, email, is_enabled, password, user_role, username)
+                SELECT ? + g, 'plan-' || g || '@email.com', TRUE, 'password', 'ROLE_USER', 'plan-' || g
+                FROM generate_series(1, 100) g
+                """, OFFSET);
+
+        jdbcTemplate.update("""
+                INSERT INTO thumbnail (id, url, youtube_video_id, added_by_id)
+                SELECT ? + g, 'url-' || g, 'plan-video-' || g, ?
+                FROM generate_series(1, 200) g
+                """, OFFSET, USER_ID);
+
+        jdbcTemplate.update("""
+                INSERT INTO rating (id, points, thumbnail_id, user_id)
+                SELECT ? + (u - 1) * 200 + t, 1400 + t, ? + t, ? + u
+                FROM generate_series(1, 100) u, generate_series(1, 200) t
+                """, OFFSET, OFFSET, OFFSET);
+
+        jdbcTemplate.update("""
+                INSERT INTO game (id, has_ended, last_activity, user_id)
+                SELECT ? + g, g % 2 = 0, LOCALTIMESTAMP - g * INTERVAL '1 minute', ? + g % 100 + 1
+                FROM generate_series(1, 1000) g
+                """, OFFSET, OFFSET);
+
+        jdbcTemplate.update("""
+                INSERT INTO round (id, created_at, game_id, thumbnail_1_id, thumbnail_2_id)
+                SELECT gen_random_uuid(), LOCALTIMESTAMP - r * INTERVAL '1 second', ? + g, ? + r % 200 + 1, ? + (r + 7) % 200 + 1
+                FROM generate_series(1, 20) g, generate_series(1, 1500) r
+                """, OFFSET, OFFSET, OFFSET);
+
+        jdbcTemplate.update("""
+                INSERT INTO email_verification_token (id, created_at, expires_at, token, user_id)
+                SELECT ? + g, LOCALTIMESTAMP, LOCALTIMESTAMP + INTERVAL '1 day', 'plan-token-' || g, ? + g % 100 + 1
+                FROM generate_series(1, 1000) g
+                """, OFFSET, OFFSET);
+
+        jdbcTemplate.execute("ANALYZE");
+        jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+    }
+
+    @Test
+    void shouldUseRatingUniqueConstraintForRatingByThumbnailAndUser() {
+        String plan = explain("""
+                SELECT * FROM rating WHERE thumbnail_id = ? AND user_id = ?
+                """, THUMBNAIL_ID, USER_ID);
+
+        assertThat(plan).contains("rating_user_id_thumbnail_id_unique");
+    }
+
+    @Test
+    void shouldUseRatingUniqueConstraintForRatingsOfUser() {
+        String plan = explain("""
+                SELECT thumbnail_id, points FROM rating WHERE user_id = ?
+                """, USER_ID);
+
+        assertThat(plan).contains("rating_user_id_thumbnail_id_unique");
+    }
+
+    @Test
+    void shouldUseRatingThumbnailIndexForAveragePointsOfThumbnail() {
+        String plan = explain("""
+                SELECT AVG(points) FROM rating WHERE thumbnail_id = ?
+                """, THUMBNAIL_ID);
+
+        assertThat(plan).contains("rating_thumbnail_id_points_idx");
+    }
+
+    @Test
+    void shouldUseGameUserLastActivityIndexForLatestGameOfUser() {
+        String plan = explain("""
+                SELECT * FROM game WHERE user_id = ? ORDER BY last_activity DESC LIMIT 1
+                """, USER_ID);
+
+        assertThat(plan)
+                .contains("game_user_id_last_activity_idx")
+                .doesNotContain("Sort");
+    }
+
+    @Test
+    void shouldUseGameUserHasEndedIndexForActiveGamesOfUser() {
+        String plan = explain("""
+                SELECT * FROM game WHERE user_id = ? AND has_ended = ? ORDER BY last_activity DESC
+                """, USER_ID, false);
+
+        assertThat(plan)
+                .contains("game_user_id_has_ended_last_activity_idx")
+                .doesNotContain("Sort");
+    }
+
+    @Test
+    void shouldUseRoundKeysetIndexForRoundsOfGame() {
+        String plan = explain("""
+                SELECT * FROM round
+                WHERE game_id = ?
+                AND (created_at < ? OR (created_at = ? AND id < ?))
+                ORDER BY created_at DESC, id DESC
+                LIMIT 10
+                """, GAME_ID, LocalDateTime.now(), LocalDateTime.now(), UUID.randomUUID());
+
+        assertThat(plan)
+                .contains("round_game_id_created_at_id_idx")
+                .doesNotContain("Sort");
+    }
+
+    @Test
+    void shouldUseRoundThumbnailIndexesForOpponentsOfThumbnail() {
+        String plan = explain("""
+                SELECT CASE WHEN thumbnail_1_id = ? THEN thumbnail_2_id ELSE thumbnail_1_id END
+                FROM round
+                WHERE game_id = ?
+                AND (thumbnail_1_id = ? OR thumbnail_2_id = ?)
+                """, THUMBNAIL_ID, GAME_ID, THUMBNAIL_ID, THUMBNAIL_ID);
+
+        assertThat(plan)
+                .contains("round_game_id_thumbnail_1_id_thumbnail_2_id_idx")
+                .contains("round_game_id_thumbnail_2_id_idx");
+    }
+
+    @Test
+    void shouldUseThumbnailYoutubeVideoIdIndexForThumbnailByYoutubeVideoId() {
+        String plan = explain("""
+                SELECT * FROM thumbnail WHERE youtube_video_id = ?
+                """, "plan-video-1");
+
+        assertThat(plan).contains("thumbnail_youtube_video_id_idx");
+    }
+
+    @Test
+    void shouldUseTokenUniqueConstraintForTokenByValue() {
+        String plan = explain("""
+                SELECT * FROM email_verification_token WHERE token = ?
+                """, "plan-token-1");
+
+        assertThat(plan).contains("email_confirmation_token_token_unique");
+    }
+
+    @Test
+    void shouldUseTokenUserCreatedAtIndexForTokensOfUser() {
+        String plan = explain("""
+                SELECT * FROM email_verification_token WHERE user_id = ? ORDER BY created_at DESC
+                """, USER_ID);
+
+        assertThat(plan)
+                .contains("email_verification_token_user_id_created_at_idx")
+                .doesNotContain("Sort");
+    }
+
+    @Test
+    void shouldUseUserUniqueConstraintsForUserByEmailAndUsername() {
+        String emailPlan = explain("""
+                SELECT * FROM app_user WHERE email = ?
+                """, "plan-1@email.com");
+
+        String usernamePlan = explain("""
+                SELECT * FROM app_user WHERE username = ?
+                """, "plan-1");
+
+        assertThat(emailPlan).contains("app_user_email_unique");
+        assertThat(usernamePlan).contains("app_user_username_unique");
+    }
+
+    private String explain(String sql, Object... args) {
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class, args));
+    }
+}
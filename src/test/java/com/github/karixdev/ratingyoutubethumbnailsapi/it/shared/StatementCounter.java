@@ -0,0 +1,46 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.it.shared;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// registered through hibernate.session_factory.statement_inspector, sees every prepared statement once
+public class StatementCounter implements StatementInspector {
+    private static final AtomicInteger statements = new AtomicInteger();
+    private static final AtomicInteger inserts = new AtomicInteger();
+    private static final AtomicInteger sequenceCalls = new AtomicInteger();
+
+    @Override
+    public String inspect(String sql) {
+        String normalized = sql.strip().toLowerCase(Locale.ROOT);
+
+        statements.incrementAndGet();
+
+        if (normalized.startsWith("insert")) {
+            inserts.incrementAndGet();
+        } else if (normalized.contains("nextval")) {
+            sequenceCalls.incrementAndGet();
+        }
+
+        return sql;
+    }
+
+    public static void reset() {
+        statements.set(0);
+        inserts.set(0);
+        sequenceCalls.set(0);
+    }
+
+    public static int getStatements() {
+        return statements.get();
+    }
+
+    public static int getInserts() {
+        return inserts.get();
+    }
+
+    public static int getSequenceCalls() {
+        return sequenceCalls.get();
+    }
+}
@@ -0,0 +1,36 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.it.thumbnail;
+
+import com.github.karixdev.ratingyoutubethumbnailsapi.it.ContainersEnvironment;
+import com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail.ThumbnailProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.NONE;
+
+@SpringBootTest(webEnvironment = NONE)
+public class ThumbnailPropertiesTest extends ContainersEnvironment {
+    @Autowired
+    ThumbnailProperties underTest;
+
+    @Test
+    void shouldLoadFavourLeastRated() {
+        assertThat(underTest.getFavourLeastRated()).isFalse();
+    }
+
+    @Test
+    void shouldLoadRatedIndexMaxUsers() {
+        assertThat(underTest.getRatedIndexMaxUsers()).isEqualTo(100);
+    }
+
+    @Test
+    void shouldLoadImportChunkSize() {
+        assertThat(underTest.getImportChunkSize()).isEqualTo(100);
+    }
+
+    @Test
+    void shouldLoadImportConcurrency() {
+        assertThat(underTest.getImportConcurrency()).isEqualTo(2);
+    }
+}
@@ -1,11 +1,11 @@
 package com.github.karixdev.ratingyoutubethumbnailsapi.it.thumbnail;
 
-import com.github.karixdev.ratingyoutubethumbnailsapi.game.Game;
 import com.github.karixdev.ratingyoutubethumbnailsapi.it.ContainersEnvironment;
 import com.github.karixdev.ratingyoutubethumbnailsapi.rating.Rating;
-import com.github.karixdev.ratingyoutubethumbnailsapi.round.Round;
 import com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail.Thumbnail;
+import com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail.ThumbnailRatingCount;
 import com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail.ThumbnailRepository;
+import com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail.UserRatingCount;
 import com.github.karixdev.ratingyoutubethumbnailsapi.user.User;
 import com.github.karixdev.ratingyoutubethumbnailsapi.user.UserRole;
 import org.junit.jupiter.api.BeforeEach;
@@ -16,7 +16,6 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 
 import java.math.BigDecimal;
-import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -72,229 +71,181 @@ public class ThumbnailRepositoryTest extends ContainersEnvironment {
     }
 
     @Test
-    void WhenFindAllThumbnails_ThenReturnsCorrectList() {
+    void GivenYoutubeIdsOfWhichSomeExist_WhenFindByYoutubeVideoIdIn_ThenReturnsOnlyExistingThumbnails() {
+        // Given
         User user = createUser();
         em.persist(user);
 
         Thumbnail thumbnail = createThumbnail("thumbnail-url", "yt-id", user);
         em.persist(thumbnail);
+        em.persist(createThumbnail("thumbnail-url-2", "yt-id-2", user));
 
         // When
-        List<Thumbnail> result = underTest.findAllThumbnails();
+        List<Thumbnail> result = underTest.findByYoutubeVideoIdIn(List.of("yt-id", "i-do-not-exist"));
 
         // Then
-        assertThat(result).hasSize(1);
-        assertThat(result.get(0)).isEqualTo(thumbnail);
+        assertThat(result).containsExactly(thumbnail);
     }
 
     @Test
-    void GivenThumbnailsWithRatingsWhereNoneWereInGame_WhenFindThumbnailNotInGameWithClosestRating_ThenReturnsThumbnailWithClosestRating() {
+    void GivenYoutubeIdsOfWhichSomeExist_WhenFindExistingYoutubeVideoIds_ThenReturnsOnlyExistingIds() {
         // Given
         User user = createUser();
         em.persist(user);
 
-        Thumbnail thumbnail1 = createThumbnail("thumbnail-url1", "yt-id1", user);
-        Rating rating1 = createRating(user, thumbnail1, 1500);
-
-        Thumbnail thumbnail2 = createThumbnail("thumbnail-url2", "yt-id2", user);
-        createRating(user, thumbnail2, 1450);
+        em.persist(createThumbnail("thumbnail-url", "yt-id", user));
+        em.persist(createThumbnail("thumbnail-url-2", "yt-id-2", user));
 
-        Thumbnail thumbnail3 = createThumbnail("thumbnail-url3", "yt-id3", user);
-        createRating(user, thumbnail3, 1800);
+        // When
+        List<String> result = underTest.findExistingYoutubeVideoIds(List.of("yt-id", "i-do-not-exist"));
 
-        em.persist(thumbnail1);
-        em.persist(thumbnail2);
-        em.persist(thumbnail3);
+        // Then
+        assertThat(result).containsExactly("yt-id");
+    }
 
-        Game game = Game.builder()
-                .user(user)
-                .lastActivity(LocalDateTime.now())
-                .build();
+    @Test
+    void WhenFindAllThumbnails_ThenReturnsCorrectList() {
+        User user = createUser();
+        em.persist(user);
 
-        em.persist(game);
+        Thumbnail thumbnail = createThumbnail("thumbnail-url", "yt-id", user);
+        em.persist(thumbnail);
 
         // When
-        Optional<Thumbnail> result = underTest.findThumbnailNotInGameWithClosestRating(
-                game.getId(),
-                user.getId(),
-                BigDecimal.valueOf(1400),
-                thumbnail1.getId(),
-                rating1.getPoints()
-        );
+        List<Thumbnail> result = underTest.findAllThumbnails();
 
         // Then
-        assertThat(result).isNotEmpty();
-        assertThat(result.get()).isEqualTo(thumbnail2);
+        assertThat(result).hasSize(1);
+        assertThat(result.get(0)).isEqualTo(thumbnail);
     }
 
     @Test
-    void GivenThumbnailsWhereTwoWereAlreadyInRound_WhenFindThumbnailNotInGameWithClosestRating_ThenOptionalWithCorrectThumbnailIsReturned() {
+    void WhenFindAllIds_ThenReturnsIdsOfAllThumbnails() {
         // Given
         User user = createUser();
         em.persist(user);
 
         Thumbnail thumbnail1 = createThumbnail("thumbnail-url1", "yt-id1", user);
-        Rating rating1 = createRating(user, thumbnail1, 1500);
-        em.persist(thumbnail1);
-
         Thumbnail thumbnail2 = createThumbnail("thumbnail-url2", "yt-id2", user);
-        createRating(user, thumbnail2, 1450);
-        em.persist(thumbnail2);
-
-        Game game = Game.builder()
-                .user(user)
-                .lastActivity(LocalDateTime.now())
-                .build();
-        em.persist(game);
-
-        Round round = createRound(game, thumbnail1, thumbnail2);
-        em.persist(round);
 
-        Thumbnail thumbnail3 = createThumbnail("thumbnail-url3", "yt-id3", user);
-        createRating(user, thumbnail3, 1800);
-        em.persist(thumbnail3);
+        em.persist(thumbnail1);
+        em.persist(thumbnail2);
 
         // When
-        Optional<Thumbnail> result = underTest.findThumbnailNotInGameWithClosestRating(
-                game.getId(),
-                user.getId(),
-                BigDecimal.valueOf(1400),
-                thumbnail1.getId(),
-                rating1.getPoints()
-        );
+        List<Long> result = underTest.findAllIds();
 
         // Then
-        assertThat(result).isNotEmpty();
-        assertThat(result.get()).isEqualTo(thumbnail3);
+        assertThat(result).containsExactlyInAnyOrder(
+                thumbnail1.getId(),
+                thumbnail2.getId()
+        );
     }
 
     @Test
-    void GivenThumbnailsWhereOneWasInAllCombinations_WhenFindThumbnailNotInGameWithClosestRating_ThenEmptyOptionalIsReturned() {
+    void WhenFindAllRatingCounts_ThenReturnsNumberOfRatingsOfRatedThumbnails() {
         // Given
         User user = createUser();
         em.persist(user);
 
-        Thumbnail thumbnail1 = createThumbnail("thumbnail-url1", "yt-id1", user);
-        Rating rating1 = createRating(user, thumbnail1, 1500);
-        em.persist(thumbnail1);
+        User otherUser = User.builder()
+                .email("abc-2@abc.pl")
+                .username("username-2")
+                .password("secret-password")
+                .userRole(UserRole.ROLE_USER)
+                .isEnabled(Boolean.TRUE)
+                .build();
+        em.persist(otherUser);
 
+        Thumbnail thumbnail1 = createThumbnail("thumbnail-url1", "yt-id1", user);
         Thumbnail thumbnail2 = createThumbnail("thumbnail-url2", "yt-id2", user);
-        createRating(user, thumbnail2, 1450);
-        em.persist(thumbnail2);
-
-        Game game = Game.builder()
-                .user(user)
-                .lastActivity(LocalDateTime.now())
-                .build();
-        em.persist(game);
 
-        Thumbnail thumbnail3 = createThumbnail("thumbnail-url3", "yt-id3", user);
-        createRating(user, thumbnail3, 1800);
-        em.persist(thumbnail3);
+        em.persist(thumbnail1);
+        em.persist(thumbnail2);
 
-        em.persist(createRound(game, thumbnail1, thumbnail2));
-        em.persist(createRound(game, thumbnail3, thumbnail1));
+        em.persist(Rating.builder().user(user).thumbnail(thumbnail1).points(new BigDecimal(1400)).build());
+        em.persist(Rating.builder().user(otherUser).thumbnail(thumbnail1).points(new BigDecimal(1400)).build());
+        em.flush();
 
         // When
-        Optional<Thumbnail> result = underTest.findThumbnailNotInGameWithClosestRating(
-                game.getId(),
-                user.getId(),
-                BigDecimal.valueOf(1400),
-                thumbnail1.getId(),
-                rating1.getPoints()
-        );
+        List<ThumbnailRatingCount> result = underTest.findAllRatingCounts();
 
         // Then
-        assertThat(result).isEmpty();
+        assertThat(result)
+                .singleElement()
+                .satisfies(ratingCount -> {
+                    assertThat(ratingCount.getThumbnailId()).isEqualTo(thumbnail1.getId());
+                    assertThat(ratingCount.getRatingCount()).isEqualTo(2L);
+                });
     }
 
     @Test
-    void GivenThumbnailsWhereOneWasInAllCombinations_WhenFindThumbnailNotInGameWithClosestRating_ThenOptionalWithCorrectThumbnailIsReturnedForOtherThumbnail() {
+    void GivenUser_WhenFindRatedThumbnailIdsByUserId_ThenReturnsIdsOfThumbnailsRatedByUserOnly() {
         // Given
         User user = createUser();
         em.persist(user);
 
-        Thumbnail thumbnail1 = createThumbnail("thumbnail-url1", "yt-id1", user);
-        createRating(user, thumbnail1, 1500);
-        em.persist(thumbnail1);
+        User otherUser = User.builder()
+                .email("abc-2@abc.pl")
+                .username("username-2")
+                .password("secret-password")
+                .userRole(UserRole.ROLE_USER)
+                .isEnabled(Boolean.TRUE)
+                .build();
+        em.persist(otherUser);
 
+        Thumbnail thumbnail1 = createThumbnail("thumbnail-url1", "yt-id1", user);
         Thumbnail thumbnail2 = createThumbnail("thumbnail-url2", "yt-id2", user);
-        Rating rating2 = createRating(user, thumbnail2, 1450);
-        em.persist(thumbnail2);
 
-        Game game = Game.builder()
-                .user(user)
-                .lastActivity(LocalDateTime.now())
-                .build();
-        em.persist(game);
-
-        Round round = createRound(game, thumbnail1, thumbnail2);
-        em.persist(round);
+        em.persist(thumbnail1);
+        em.persist(thumbnail2);
 
-        Thumbnail thumbnail3 = createThumbnail("thumbnail-url3", "yt-id3", user);
-        createRating(user, thumbnail3, 1800);
-        em.persist(thumbnail3);
+        em.persist(Rating.builder().user(user).thumbnail(thumbnail1).points(new BigDecimal(1400)).build());
+        em.persist(Rating.builder().user(otherUser).thumbnail(thumbnail2).points(new BigDecimal(1400)).build());
+        em.flush();
 
         // When
-        Optional<Thumbnail> result = underTest.findThumbnailNotInGameWithClosestRating(
-                game.getId(),
-                user.getId(),
-                BigDecimal.valueOf(1400),
-                thumbnail2.getId(),
-                rating2.getPoints()
-        );
+        List<Long> result = underTest.findRatedThumbnailIdsByUserId(user.getId());
 
         // Then
-        assertThat(result).isNotEmpty();
-        assertThat(result.get()).isEqualTo(thumbnail3);
+        assertThat(result).containsExactly(thumbnail1.getId());
+        assertThat(underTest.countRatingsByUserId(user.getId())).isEqualTo(1L);
     }
 
     @Test
-    void GivenThumbnailsWhereOneHasNotBeenRatedYetByUserAndDefaultRatingIsClosestIToPickedThumbnail_WhenFindThumbnailNotInGameWithClosestRating_ThenOptionalWithCorrectThumbnailIsReturned() {
+    void GivenRatingsOfUsers_WhenFindRatingCountsByUserIdIn_ThenReturnsCountsOfRequestedUsersWithRatings() {
         // Given
         User user = createUser();
         em.persist(user);
 
-        Thumbnail thumbnail1 = createThumbnail("thumbnail-url1", "yt-id1", user);
-        Rating rating1 = createRating(user, thumbnail1, 1500);
+        User otherUser = User.builder()
+                .email("abc-2@abc.pl")
+                .username("username-2")
+                .password("secret-password")
+                .userRole(UserRole.ROLE_USER)
+                .isEnabled(Boolean.TRUE)
+                .build();
+        em.persist(otherUser);
 
+        Thumbnail thumbnail1 = createThumbnail("thumbnail-url1", "yt-id1", user);
         Thumbnail thumbnail2 = createThumbnail("thumbnail-url2", "yt-id2", user);
 
-        Thumbnail thumbnail3 = createThumbnail("thumbnail-url3", "yt-id3", user);
-        createRating(user, thumbnail3, 1800);
-
         em.persist(thumbnail1);
         em.persist(thumbnail2);
-        em.persist(thumbnail3);
 
-        Game game = Game.builder()
-                .user(user)
-                .lastActivity(LocalDateTime.now())
-                .build();
-
-        em.persist(game);
+        em.persist(Rating.builder().user(user).thumbnail(thumbnail1).points(new BigDecimal(1400)).build());
+        em.persist(Rating.builder().user(user).thumbnail(thumbnail2).points(new BigDecimal(1400)).build());
+        em.flush();
 
         // When
-        Optional<Thumbnail> result = underTest.findThumbnailNotInGameWithClosestRating(
-                game.getId(),
-                user.getId(),
-                BigDecimal.valueOf(1400),
-                thumbnail1.getId(),
-                rating1.getPoints()
-        );
+        List<UserRatingCount> result = underTest.findRatingCountsByUserIdIn(List.of(user.getId(), otherUser.getId()));
 
         // Then
-        assertThat(result).isNotEmpty();
-        assertThat(result.get()).isEqualTo(thumbnail2);
-    }
-
-    private static Round createRound(Game game, Thumbnail thumbnail1, Thumbnail thumbnail2) {
-        return Round.builder()
-                .game(game)
-                .thumbnail1(thumbnail1)
-                .thumbnail2(thumbnail2)
-                .createdAt(LocalDateTime.now())
-                .build();
+        assertThat(result)
+                .singleElement()
+                .satisfies(ratingCount -> {
+                    assertThat(ratingCount.getUserId()).isEqualTo(user.getId());
+                    assertThat(ratingCount.getRatingCount()).isEqualTo(2L);
+                });
     }
 
     private static User createUser() {
@@ -314,12 +265,4 @@ public class ThumbnailRepositoryTest extends ContainersEnvironment {
                 .addedBy(user)
                 .build();
     }
-
-    private static Rating createRating(User user, Thumbnail thumbnail, double points) {
-        return Rating.builder()
-                .user(user)
-                .thumbnail(thumbnail)
-                .points(BigDecimal.valueOf(points))
-                .build();
-    }
 }
@@ -0,0 +1,161 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.it.thumbnail;
+
+import com.github.karixdev.ratingyoutubethumbnailsapi.it.ContainersEnvironment;
+import com.github.karixdev.ratingyoutubethumbnailsapi.jwt.JwtService;
+import com.github.karixdev.ratingyoutubethumbnailsapi.security.UserPrincipal;
+import com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail.ThumbnailRepository;
+import com.github.karixdev.ratingyoutubethumbnailsapi.user.UserRepository;
+import com.github.karixdev.ratingyoutubethumbnailsapi.user.UserRole;
+import com.github.karixdev.ratingyoutubethumbnailsapi.user.UserService;
+import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+
+// Submits a burst of thumbnails while YouTube answers slowly and the pool has two connections.
+// When the YouTube call ran inside the insert transaction every submission held a connection
+// for the whole round trip, and the requests that waited longer than the connection timeout failed.
+@WireMockTest(httpPort = 8888)
+@SpringBootTest(webEnvironment = RANDOM_PORT)
+public class ThumbnailSubmissionBurstIT extends ContainersEnvironment {
+    private static final int SUBMISSIONS = 20;
+    private static final int YOUTUBE_DELAY_MILLIS = 1500;
+
+    @Autowired
+    WebTestClient webClient;
+
+    @Autowired
+    JwtService jwtService;
+
+    @Autowired
+    UserService userService;
+
+    @Autowired
+    ThumbnailRepository thumbnailRepository;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    DataSource dataSource;
+
+    @DynamicPropertySource
+    static void overrideProperties(DynamicPropertyRegistry dynamicPropertyRegistry) {
+        dynamicPropertyRegistry.add("youtube-api.base-url", () -> "http://localhost:8888");
+        dynamicPropertyRegistry.add("spring.datasource.hikari.maximum-pool-size", () -> 2);
+        dynamicPropertyRegistry.add("spring.datasource.hikari.connection-timeout", () -> 1000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        thumbnailRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void shouldAddBurstOfThumbnailsWithoutExhaustingConnectionPool() throws Exception {
+        String token = jwtService.createToken(new UserPrincipal(
+                userService.createUser(
+                        "email@email.pl",
+                        "username",
+                        "password",
+                        UserRole.ROLE_USER,
+                        Boolean.TRUE
+                )));
+
+        stubFor(get(urlPathEqualTo("/videos"))
+                .willReturn(okJson("""
+                        {
+                            "items": [
+                                {
+                                    "id": "video",
+                                    "snippet": {
+                                        "thumbnails": {
+                                            "maxres": {
+                                                "url": "https://i.ytimg.com/vi/video/maxresdefault.jpg"
+                                            }
+                                        }
+                                    }
+                                }
+                            ]
+                        }
+                        """)
+                        .withFixedDelay(YOUTUBE_DELAY_MILLIS))
+        );
+
+        HikariPoolMXBean pool = ((HikariDataSource) dataSource).getHikariPoolMXBean();
+        AtomicInteger maxPending = new AtomicInteger();
+
+        ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+        sampler.scheduleAtFixedRate(
+                () -> maxPending.accumulateAndGet(pool.getThreadsAwaitingConnection(), Math::max),
+                0, 10, TimeUnit.MILLISECONDS
+        );
+
+        WebTestClient client = webClient.mutate()
+                .responseTimeout(Duration.ofSeconds(30))
+                .build();
+
+        ExecutorService executor = Executors.newFixedThreadPool(SUBMISSIONS);
+        List<Future<HttpStatusCode>> statuses = new ArrayList<>();
+
+        long start = System.nanoTime();
+
+        for (int i = 0; i < SUBMISSIONS; i++) {
+            String payload = """
+                    {
+                        "youtube_video_id": "video-%d"
+                    }
+                    """.formatted(i);
+
+            statuses.add(executor.submit(() -> client.post().uri("/api/v1/thumbnail")
+                    .header("Authorization", String.format("Bearer %s", token))
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .accept(MediaType.APPLICATION_JSON)
+                    .bodyValue(payload)
+                    .exchange()
+                    .returnResult(String.class)
+                    .getStatus()));
+        }
+
+        List<HttpStatusCode> result = new ArrayList<>();
+        for (Future<HttpStatusCode> status : statuses) {
+            result.add(status.get(60, TimeUnit.SECONDS));
+        }
+
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        executor.shutdown();
+        sampler.shutdown();
+
+        System.out.printf(
+                "%d submissions, pool of 2, YouTube delay %d ms: %d ms, max threads awaiting connection %d%n",
+                SUBMISSIONS, YOUTUBE_DELAY_MILLIS, elapsedMillis, maxPending.get()
+        );
+
+        assertThat(result).allMatch(status -> status.value() == 201);
+        assertThat(thumbnailRepository.count()).isEqualTo(SUBMISSIONS);
+
+        // every submission waits for YouTube concurrently instead of for a connection
+        assertThat(elapsedMillis).isLessThan(YOUTUBE_DELAY_MILLIS * 3L);
+    }
+}
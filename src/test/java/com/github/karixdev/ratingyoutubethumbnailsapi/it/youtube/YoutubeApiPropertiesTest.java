@@ -25,4 +25,22 @@ public class YoutubeApiPropertiesTest extends ContainersEnvironment {
         assertThat(underTest.getApiKey())
                 .isEqualTo("api-key");
     }
+
+    @Test
+    void shouldLoadCacheTtlSeconds() {
+        assertThat(underTest.getCacheTtlSeconds())
+                .isEqualTo(3600L);
+    }
+
+    @Test
+    void shouldLoadCacheNotFoundTtlSeconds() {
+        assertThat(underTest.getCacheNotFoundTtlSeconds())
+                .isEqualTo(300L);
+    }
+
+    @Test
+    void shouldLoadCacheMaxSize() {
+        assertThat(underTest.getCacheMaxSize())
+                .isEqualTo(100);
+    }
 }
@@ -2,6 +2,7 @@ package com.github.karixdev.ratingyoutubethumbnailsapi.jwt;
 
 import com.github.karixdev.ratingyoutubethumbnailsapi.security.UserDetailsServiceImpl;
 import com.github.karixdev.ratingyoutubethumbnailsapi.security.UserPrincipal;
+import com.github.karixdev.ratingyoutubethumbnailsapi.security.UserPrincipalCache;
 import com.github.karixdev.ratingyoutubethumbnailsapi.user.User;
 import com.github.karixdev.ratingyoutubethumbnailsapi.user.UserRole;
 import org.junit.jupiter.api.BeforeEach;
@@ -14,14 +15,16 @@ import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletRequest;
 import jakarta.servlet.ServletResponse;
 import jakarta.servlet.http.HttpServletResponse;
+import java.util.Optional;
+import java.util.function.Function;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -35,6 +38,9 @@ public class JwtAuthFilterTest {
     @Mock
     JwtService jwtService;
 
+    @Mock
+    UserPrincipalCache principalCache;
+
     @Mock
     HttpServletResponse servletResponse;
 
@@ -70,8 +76,8 @@ public class JwtAuthFilterTest {
         MockHttpServletRequest servletRequest = new MockHttpServletRequest();
         servletRequest.addHeader("Authorization", "Bearer token");
 
-        when(jwtService.isTokenValid(any(String.class)))
-                .thenReturn(false);
+        when(jwtService.getEmailFromValidToken(any(String.class)))
+                .thenReturn(Optional.empty());
 
         // When
         underTest.doFilterInternal(servletRequest, servletResponse, filterChain);
@@ -89,13 +95,10 @@ public class JwtAuthFilterTest {
         MockHttpServletRequest servletRequest = new MockHttpServletRequest();
         servletRequest.addHeader("Authorization", "Bearer token");
 
-        when(jwtService.isTokenValid(any(String.class)))
-                .thenReturn(true);
+        when(jwtService.getEmailFromValidToken("token"))
+                .thenReturn(Optional.of("email@email.com"));
 
-        when(jwtService.getEmailFromToken(any(String.class)))
-                .thenReturn("email@email.com");
-
-        UserDetails userDetails = new UserPrincipal(User.builder()
+        UserPrincipal userDetails = new UserPrincipal(User.builder()
                 .email("email@email.com")
                 .username("username")
                 .password("password")
@@ -106,10 +109,15 @@ public class JwtAuthFilterTest {
         when(userDetailsService.loadUserByUsername(any(String.class)))
                 .thenReturn(userDetails);
 
+        when(principalCache.get(any(String.class), any()))
+                .thenAnswer(invocation -> invocation.<Function<String, UserPrincipal>>getArgument(1)
+                        .apply(invocation.getArgument(0)));
+
         // When
         underTest.doFilterInternal(servletRequest, servletResponse, filterChain);
 
         // Then
+        verify(principalCache).get(eq("email@email.com"), any());
         verify(userDetailsService).loadUserByUsername(any(String.class));
         verify(SecurityContextHolder.getContext()).setAuthentication(any(Authentication.class));
         verify(filterChain).doFilter(
@@ -0,0 +1,84 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.jwt;
+
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.github.karixdev.ratingyoutubethumbnailsapi.security.UserPrincipal;
+import com.github.karixdev.ratingyoutubethumbnailsapi.user.User;
+import com.github.karixdev.ratingyoutubethumbnailsapi.user.UserRole;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Clock;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtVerifyBenchmark {
+    JwtProperties properties;
+    JwtService jwtService;
+    String token;
+
+    @Setup
+    public void setUp() throws NoSuchAlgorithmException {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        KeyPair keyPair = generator.generateKeyPair();
+
+        properties = new JwtProperties(
+                "issuer",
+                1L,
+                (RSAPublicKey) keyPair.getPublic(),
+                (RSAPrivateKey) keyPair.getPrivate(),
+                300L,
+                10000
+        );
+        jwtService = new JwtService(properties, Clock.systemUTC(), new VerifiedTokenCache(properties));
+
+        token = jwtService.createToken(new UserPrincipal(User.builder()
+                .email("email@email.com")
+                .username("username")
+                .password("password")
+                .userRole(UserRole.ROLE_USER)
+                .isEnabled(true)
+                .build()));
+
+        jwtService.getEmailFromValidToken(token);
+    }
+
+    // previous JwtAuthFilter flow: isTokenValid and getEmailFromToken each verified the signature
+    @Benchmark
+    public String verifyTwice() {
+        properties.getJwtVerifier().verify(token);
+        DecodedJWT decoded = properties.getJwtVerifier().verify(token);
+
+        return decoded.getSubject();
+    }
+
+    @Benchmark
+    public String verifyOnce() {
+        return properties.getJwtVerifier().verify(token).getSubject();
+    }
+
+    @Benchmark
+    public Optional<String> verifiedTokenCache() {
+        return jwtService.getEmailFromValidToken(token);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtVerifyBenchmark.class.getSimpleName())
+                .build()
+        ).run();
+    }
+}
@@ -0,0 +1,92 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.jwt;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.lenient;
+
+@ExtendWith(MockitoExtension.class)
+public class VerifiedTokenCacheTest {
+    private static final Instant NOW = Instant.parse("2023-01-01T01:00:00Z");
+
+    VerifiedTokenCache underTest;
+
+    @Mock
+    JwtProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(properties.getVerifiedTokenCacheTtlSeconds()).thenReturn(300L);
+        lenient().when(properties.getVerifiedTokenCacheMaxSize()).thenReturn(2);
+
+        underTest = new VerifiedTokenCache(properties);
+    }
+
+    @Test
+    void GivenNotCachedToken_WhenGetEmail_ThenReturnsEmptyOptional() {
+        // When
+        Optional<String> result = underTest.getEmail("token", NOW);
+
+        // Then
+        assertThat(result).isEmpty();
+    }
+
+    @Test
+    void GivenCachedToken_WhenGetEmail_ThenReturnsEmail() {
+        // Given
+        underTest.put("token", "email@email.com", NOW.plusSeconds(3600), NOW);
+
+        // When
+        Optional<String> result = underTest.getEmail("token", NOW.plusSeconds(299));
+
+        // Then
+        assertThat(result).contains("email@email.com");
+    }
+
+    @Test
+    void GivenCachedTokenOlderThanTtl_WhenGetEmail_ThenReturnsEmptyOptional() {
+        // Given
+        underTest.put("token", "email@email.com", NOW.plusSeconds(3600), NOW);
+
+        // When
+        Optional<String> result = underTest.getEmail("token", NOW.plusSeconds(300));
+
+        // Then
+        assertThat(result).isEmpty();
+    }
+
+    @Test
+    void GivenCachedTokenExpiringBeforeTtl_WhenGetEmailAfterTokenExpiration_ThenReturnsEmptyOptional() {
+        // Given
+        underTest.put("token", "email@email.com", NOW.plusSeconds(10), NOW);
+
+        // When
+        Optional<String> result = underTest.getEmail("token", NOW.plusSeconds(10));
+
+        // Then
+        assertThat(result).isEmpty();
+    }
+
+    @Test
+    void GivenMoreTokensThanMaxSize_WhenPut_ThenEvictsLeastRecentlyUsedToken() {
+        // Given
+        underTest.put("token-1", "email-1@email.com", NOW.plusSeconds(3600), NOW);
+        underTest.put("token-2", "email-2@email.com", NOW.plusSeconds(3600), NOW);
+        underTest.getEmail("token-1", NOW);
+
+        // When
+        underTest.put("token-3", "email-3@email.com", NOW.plusSeconds(3600), NOW);
+
+        // Then
+        assertThat(underTest.getEmail("token-1", NOW)).contains("email-1@email.com");
+        assertThat(underTest.getEmail("token-2", NOW)).isEmpty();
+        assertThat(underTest.getEmail("token-3", NOW)).contains("email-3@email.com");
+    }
+}
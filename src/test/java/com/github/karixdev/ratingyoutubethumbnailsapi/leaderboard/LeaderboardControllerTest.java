@@ -0,0 +1,91 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.leaderboard;
+
+import com.github.karixdev.ratingyoutubethumbnailsapi.leaderboard.payload.response.LeaderboardEntryResponse;
+import com.github.karixdev.ratingyoutubethumbnailsapi.shared.exception.ResourceNotFoundException;
+import com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail.Thumbnail;
+import com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail.payload.response.ThumbnailResponse;
+import com.github.karixdev.ratingyoutubethumbnailsapi.user.User;
+import com.github.karixdev.ratingyoutubethumbnailsapi.user.UserRole;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(
+        controllers = LeaderboardController.class,
+        excludeAutoConfiguration = SecurityAutoConfiguration.class
+)
+public class LeaderboardControllerTest {
+    @Autowired
+    MockMvc mockMvc;
+
+    @MockBean
+    LeaderboardService leaderboardService;
+
+    @Test
+    void GivenAfterAndSize_WhenGetGlobal_ThenRespondsWithPage() throws Exception {
+        User user = User.builder()
+                .id(1L)
+                .email("email@email.com")
+                .password("password")
+                .username("username")
+                .userRole(UserRole.ROLE_USER)
+                .isEnabled(Boolean.TRUE)
+                .build();
+
+        Thumbnail thumbnail = Thumbnail.builder()
+                .id(2L)
+                .url("thumbnail-url")
+                .youtubeVideoId("youtube-id")
+                .addedBy(user)
+                .build();
+
+        when(leaderboardService.getGlobal(eq(5L), eq(10)))
+                .thenReturn(List.of(new LeaderboardEntryResponse(
+                        3L, new BigDecimal("1500.00"), new ThumbnailResponse(thumbnail))));
+
+        mockMvc.perform(get("/api/v1/leaderboard")
+                        .param("after", "5")
+                        .param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpectAll(
+                        jsonPath("$[0].rank").value(3),
+                        jsonPath("$[0].points").value(1500.0),
+                        jsonPath("$[0].thumbnail.youtube_video_id").value("youtube-id"),
+                        jsonPath("$[0].thumbnail.added_by").doesNotExist()
+                );
+    }
+
+    @Test
+    void GivenCursorNotOnLeaderboard_WhenGetGlobal_ThenRespondsWithNotFoundStatus() throws Exception {
+        doThrow(ResourceNotFoundException.class)
+                .when(leaderboardService)
+                .getGlobal(any(), any());
+
+        mockMvc.perform(get("/api/v1/leaderboard").param("after", "5"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void GivenNotRatedThumbnail_WhenGetThumbnailRank_ThenRespondsWithNotFoundStatus() throws Exception {
+        doThrow(ResourceNotFoundException.class)
+                .when(leaderboardService)
+                .getThumbnailRank(eq("youtube-id"));
+
+        mockMvc.perform(get("/api/v1/leaderboard/youtube-id"))
+                .andExpect(status().isNotFound());
+    }
+}
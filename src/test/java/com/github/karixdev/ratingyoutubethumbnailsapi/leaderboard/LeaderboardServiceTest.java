@@ -0,0 +1,150 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.leaderboard;
+
+import com.github.karixdev.ratingyoutubethumbnailsapi.leaderboard.payload.response.LeaderboardEntryResponse;
+import com.github.karixdev.ratingyoutubethumbnailsapi.rating.OpponentIndex;
+import com.github.karixdev.ratingyoutubethumbnailsapi.rating.RankedThumbnail;
+import com.github.karixdev.ratingyoutubethumbnailsapi.rating.RatingAggregates;
+import com.github.karixdev.ratingyoutubethumbnailsapi.security.UserPrincipal;
+import com.github.karixdev.ratingyoutubethumbnailsapi.shared.exception.ResourceNotFoundException;
+import com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail.Thumbnail;
+import com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail.ThumbnailService;
+import com.github.karixdev.ratingyoutubethumbnailsapi.user.User;
+import com.github.karixdev.ratingyoutubethumbnailsapi.user.UserRole;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class LeaderboardServiceTest {
+    @InjectMocks
+    LeaderboardService underTest;
+
+    @Mock
+    RatingAggregates aggregates;
+
+    @Mock
+    OpponentIndex opponentIndex;
+
+    @Mock
+    ThumbnailService thumbnailService;
+
+    User user;
+
+    @BeforeEach
+    void setUp() {
+        user = User.builder()
+                .id(1L)
+                .email("email@email.com")
+                .password("password")
+                .username("username")
+                .userRole(UserRole.ROLE_USER)
+                .isEnabled(Boolean.TRUE)
+                .build();
+    }
+
+    @Test
+    void GivenRankingWithDeletedThumbnail_WhenGetGlobal_ThenReturnsExistingThumbnailsInRankOrder() {
+        // Given
+        when(aggregates.getRanking(eq(null), eq(20)))
+                .thenReturn(Optional.of(List.of(
+                        new RankedThumbnail(1, 2L, new BigDecimal("1600.00")),
+                        new RankedThumbnail(2, 3L, new BigDecimal("1500.00")),
+                        new RankedThumbnail(3, 1L, new BigDecimal("1400.00"))
+                )));
+
+        when(thumbnailService.findAllById(eq(List.of(2L, 3L, 1L))))
+                .thenReturn(List.of(thumbnail(1L), thumbnail(2L)));
+
+        // When
+        List<LeaderboardEntryResponse> result = underTest.getGlobal(null, 20);
+
+        // Then
+        assertThat(result)
+                .extracting(LeaderboardEntryResponse::getRank, entry -> entry.getThumbnail().getId())
+                .containsExactly(tuple(1L, 2L), tuple(3L, 1L));
+    }
+
+    @Test
+    void GivenTooLargeSize_WhenGetUser_ThenReadsAtMostOneHundredThumbnails() {
+        // Given
+        when(opponentIndex.getRanking(eq(user), eq(5L), eq(100)))
+                .thenReturn(Optional.of(List.of()));
+
+        // When
+        List<LeaderboardEntryResponse> result = underTest.getUser(5L, 1000, new UserPrincipal(user));
+
+        // Then
+        assertThat(result).isEmpty();
+    }
+
+    @Test
+    void GivenCursorNotOnLeaderboard_WhenGetGlobal_ThenThrowsResourceNotFoundException() {
+        // Given
+        when(aggregates.getRanking(eq(7L), eq(20)))
+                .thenReturn(Optional.empty());
+
+        // When & Then
+        assertThatThrownBy(() -> underTest.getGlobal(7L, 20))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessage("Thumbnail with provided id is not on the leaderboard");
+    }
+
+    @Test
+    void GivenNotRatedThumbnail_WhenGetThumbnailRank_ThenThrowsResourceNotFoundException() {
+        // Given
+        when(thumbnailService.getThumbnailIdByYoutubeVideoId(eq("youtube-id")))
+                .thenReturn(1L);
+
+        when(aggregates.getRank(eq(1L)))
+                .thenReturn(Optional.empty());
+
+        // When & Then
+        assertThatThrownBy(() -> underTest.getThumbnailRank("youtube-id"))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessage("Thumbnail with provided youtube id has not been rated yet");
+    }
+
+    @Test
+    void GivenRatedThumbnail_WhenGetThumbnailRank_ThenReturnsItsRank() {
+        // Given
+        when(thumbnailService.getThumbnailIdByYoutubeVideoId(eq("youtube-id")))
+                .thenReturn(1L);
+
+        when(aggregates.getRank(eq(1L)))
+                .thenReturn(Optional.of(new RankedThumbnail(4, 1L, new BigDecimal("1450.00"))));
+
+        when(thumbnailService.findAllById(any()))
+                .thenReturn(List.of(thumbnail(1L)));
+
+        // When
+        LeaderboardEntryResponse result = underTest.getThumbnailRank("youtube-id");
+
+        // Then
+        assertThat(result.getRank()).isEqualTo(4L);
+        assertThat(result.getPoints()).isEqualTo(new BigDecimal("1450.00"));
+        assertThat(result.getThumbnail().getYoutubeVideoId()).isEqualTo("youtube-id-1");
+    }
+
+    private Thumbnail thumbnail(Long id) {
+        return Thumbnail.builder()
+                .id(id)
+                .url("thumbnail-url-" + id)
+                .youtubeVideoId("youtube-id-" + id)
+                .addedBy(user)
+                .build();
+    }
+}
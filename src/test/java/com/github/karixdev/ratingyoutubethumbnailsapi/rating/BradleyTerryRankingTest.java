@@ -0,0 +1,103 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.rating;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class BradleyTerryRankingTest {
+    BradleyTerryRanking underTest;
+
+    @Mock
+    VoteEventRepository voteEventRepository;
+
+    @BeforeEach
+    void setUp() {
+        underTest = new BradleyTerryRanking(
+                voteEventRepository,
+                new BradleyTerryProperties(600, 2, 200, 1e-9, 1.0, 1000L),
+                new RatingProperties(new BigDecimal(1400), 32, 100, 30, 64, 500L, 3, 2, 10000)
+        );
+    }
+
+    @Test
+    void GivenNoFit_WhenGetPoints_ThenReturnsEmpty() {
+        assertThat(underTest.getPoints(1L)).isEmpty();
+        assertThat(underTest.getVersion()).isEqualTo("0");
+    }
+
+    @Test
+    void GivenVotes_WhenRefresh_ThenLoadsPairCountsByWinnerRangesAndPublishesPoints() {
+        // Given
+        when(voteEventRepository.count()).thenReturn(4L);
+        when(voteEventRepository.findMaxWinnerId()).thenReturn(Optional.of(2500L));
+        when(voteEventRepository.findPairCounts(eq(0L), eq(1000L)))
+                .thenReturn(List.of(new PairCount(7, 2001, 1)));
+        when(voteEventRepository.findPairCounts(eq(1000L), eq(2000L)))
+                .thenReturn(List.of());
+        when(voteEventRepository.findPairCounts(eq(2000L), eq(3000L)))
+                .thenReturn(List.of(new PairCount(2001, 7, 3)));
+
+        // When
+        underTest.refresh();
+
+        // Then
+        BigDecimal winner = underTest.getPoints(2001L).orElseThrow();
+        BigDecimal loser = underTest.getPoints(7L).orElseThrow();
+
+        assertThat(winner).isGreaterThan(new BigDecimal(1400));
+        assertThat(winner.add(loser)).isEqualByComparingTo(new BigDecimal("2800.00"));
+        assertThat(underTest.getPoints(8L)).isEmpty();
+        assertThat(underTest.getVersion()).isEqualTo("4");
+
+        verify(voteEventRepository, times(3)).findPairCounts(anyLong(), anyLong());
+    }
+
+    @Test
+    void GivenNoVotes_WhenRefresh_ThenPublishesEmptySnapshot() {
+        // Given
+        when(voteEventRepository.count()).thenReturn(0L);
+        when(voteEventRepository.findMaxWinnerId()).thenReturn(Optional.empty());
+
+        // When
+        underTest.refresh();
+
+        // Then
+        assertThat(underTest.getPoints(1L)).isEmpty();
+        verify(voteEventRepository, never()).findPairCounts(anyLong(), anyLong());
+    }
+
+    @Test
+    void GivenNoVotesSinceLastFit_WhenRefresh_ThenKeepsSnapshotAndVersion() {
+        // Given
+        when(voteEventRepository.count()).thenReturn(1L);
+        when(voteEventRepository.findMaxWinnerId()).thenReturn(Optional.of(2L));
+        when(voteEventRepository.findPairCounts(eq(0L), eq(1000L)))
+                .thenReturn(List.of(new PairCount(2, 1, 1)));
+
+        underTest.refresh();
+
+        BigDecimal points = underTest.getPoints(2L).orElseThrow();
+        String version = underTest.getVersion();
+
+        // When
+        underTest.refresh();
+
+        // Then
+        assertThat(underTest.getPoints(2L)).contains(points);
+        assertThat(underTest.getVersion()).isEqualTo(version).isEqualTo("1");
+
+        verify(voteEventRepository, times(1)).findMaxWinnerId();
+        verify(voteEventRepository, times(1)).findPairCounts(anyLong(), anyLong());
+    }
+}
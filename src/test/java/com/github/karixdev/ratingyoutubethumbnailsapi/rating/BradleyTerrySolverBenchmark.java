@@ -0,0 +1,82 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.rating;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+// 10^5 thumbnails and 10^7 distinct pairs with 10 votes each, 10^8 votes in total.
+// Measures building the sparse rows and one iteration of the fit.
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class BradleyTerrySolverBenchmark {
+    @Param({"100000"})
+    int thumbnails;
+
+    @Param({"10000000"})
+    int pairs;
+
+    @Param({"10"})
+    int votesPerPair;
+
+    @Param({"4"})
+    int parallelism;
+
+    long[] winners;
+    long[] losers;
+
+    BradleyTerrySolver solver;
+
+    ForkJoinPool pool;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+
+        winners = new long[pairs];
+        losers = new long[pairs];
+
+        for (int i = 0; i < pairs; i++) {
+            winners[i] = random.nextInt(thumbnails) + 1;
+            losers[i] = (winners[i] + random.nextInt(thumbnails - 1)) % thumbnails + 1;
+        }
+
+        solver = build();
+        pool = new ForkJoinPool(parallelism);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public BradleyTerrySolver build() {
+        BradleyTerrySolver.Builder builder = BradleyTerrySolver.builder();
+
+        for (int i = 0; i < pairs; i++) {
+            builder.add(winners[i], losers[i], votesPerPair);
+        }
+
+        return builder.build();
+    }
+
+    @Benchmark
+    public BradleyTerrySolver.Result iteration() {
+        return solver.solve(pool, 1, 0, 1);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(BradleyTerrySolverBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
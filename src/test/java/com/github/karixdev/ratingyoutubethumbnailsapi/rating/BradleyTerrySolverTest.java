@@ -0,0 +1,99 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.rating;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+public class BradleyTerrySolverTest {
+    ForkJoinPool pool;
+
+    @BeforeEach
+    void setUp() {
+        pool = new ForkJoinPool(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    void GivenVotesOfTwoThumbnails_WhenSolve_ThenRatioOfStrengthsIsRatioOfWins() {
+        // Given
+        BradleyTerrySolver underTest = BradleyTerrySolver.builder()
+                .add(10, 20, 3)
+                .add(20, 10, 1)
+                .build();
+
+        // When
+        BradleyTerrySolver.Result result = underTest.solve(pool, 100, 1e-9, 0);
+
+        // Then
+        assertThat(underTest.getThumbnailIds()).containsExactly(10, 20);
+        assertThat(underTest.getComparisons()).isEqualTo(4);
+        assertThat(result.strengths()[0] / result.strengths()[1]).isCloseTo(3.0, within(1e-9));
+    }
+
+    @Test
+    void GivenExpectedWinsOfKnownStrengths_WhenSolve_ThenRecoversStrengths() {
+        // Given
+        double[] strengths = {1, 2, 4, 0.5, 8};
+        BradleyTerrySolver.Builder builder = BradleyTerrySolver.builder();
+
+        for (int i = 0; i < strengths.length; i++) {
+            for (int j = 0; j < strengths.length; j++) {
+                if (i != j) {
+                    // 2000 comparisons of every pair, split between both orders
+                    builder.add(i, j, Math.round(1000 * strengths[i] / (strengths[i] + strengths[j])));
+                }
+            }
+        }
+
+        BradleyTerrySolver underTest = builder.build();
+
+        // When
+        BradleyTerrySolver.Result result = underTest.solve(pool, 1000, 1e-12, 0);
+
+        // Then
+        for (int i = 0; i < strengths.length; i++) {
+            assertThat(result.strengths()[i] / result.strengths()[0])
+                    .isCloseTo(strengths[i], within(strengths[i] * 0.01));
+        }
+
+        assertThat(result.iterations()).isLessThan(1000);
+    }
+
+    @Test
+    void GivenThumbnailThatNeverLost_WhenSolveWithPriorWins_ThenStrengthsStayFinite() {
+        // Given
+        BradleyTerrySolver underTest = BradleyTerrySolver.builder()
+                .add(1, 2, 5)
+                .build();
+
+        // When
+        BradleyTerrySolver.Result result = underTest.solve(pool, 1000, 1e-12, 1);
+
+        // Then
+        assertThat(result.strengths()[0]).isGreaterThan(1).isFinite();
+        assertThat(result.strengths()[1]).isLessThan(1).isPositive();
+        assertThat(Math.log(result.strengths()[0])).isCloseTo(-Math.log(result.strengths()[1]), within(1e-6));
+    }
+
+    @Test
+    void GivenVotesOfThumbnailAgainstItself_WhenBuild_ThenIgnoresThem() {
+        // When
+        BradleyTerrySolver underTest = BradleyTerrySolver.builder()
+                .add(1, 1, 5)
+                .add(1, 2, 0)
+                .build();
+
+        // Then
+        assertThat(underTest.size()).isZero();
+        assertThat(underTest.getComparisons()).isZero();
+    }
+}
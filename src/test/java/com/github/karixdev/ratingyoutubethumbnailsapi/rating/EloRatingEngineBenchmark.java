@@ -0,0 +1,102 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.rating;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EloRatingEngineBenchmark {
+    private static final int K_PARAMETER = 32;
+
+    @Param({"10000"})
+    int votes;
+
+    EloRatingEngine engine;
+
+    double[] points;
+    int[] winners;
+    int[] losers;
+
+    double winnerPrimitivePoints;
+    double loserPrimitivePoints;
+
+    BigDecimal winnerPoints;
+    BigDecimal loserPoints;
+
+    @Setup
+    public void setUp() {
+        engine = new EloRatingEngine(new RatingProperties(new BigDecimal(1400), K_PARAMETER, 100, 30, 64, 500L, 3, 2, 10000));
+
+        Random random = new Random(42);
+        int thumbnails = 1000;
+
+        points = new double[thumbnails];
+        Arrays.fill(points, 1400);
+        winners = new int[votes];
+        losers = new int[votes];
+
+        for (int i = 0; i < votes; i++) {
+            winners[i] = random.nextInt(thumbnails);
+            losers[i] = (winners[i] + 1 + random.nextInt(thumbnails - 1)) % thumbnails;
+        }
+
+        winnerPrimitivePoints = 1437.25;
+        loserPrimitivePoints = 1381.90;
+
+        winnerPoints = new BigDecimal("1437.25");
+        loserPoints = new BigDecimal("1381.90");
+    }
+
+    @Benchmark
+    public double singleUpdate() {
+        return engine.pointsExchanged(winnerPrimitivePoints, loserPrimitivePoints);
+    }
+
+    @Benchmark
+    public BigDecimal singleUpdateAtPersistenceBoundary() {
+        BigDecimal exchanged = EloRatingEngine.toPoints(engine.pointsExchanged(
+                EloRatingEngine.fromPoints(winnerPoints),
+                EloRatingEngine.fromPoints(loserPoints)
+        ));
+
+        return winnerPoints.add(exchanged);
+    }
+
+    // previous RatingService arithmetic, kept as the baseline
+    @Benchmark
+    public BigDecimal singleUpdateBigDecimal() {
+        double inverse = 1 / (Math.pow(10.0, loserPoints.subtract(winnerPoints).doubleValue() / 400.0) + 1.0);
+        BigDecimal probability = new BigDecimal(inverse).setScale(2, RoundingMode.HALF_UP);
+
+        return new BigDecimal(K_PARAMETER)
+                .multiply(BigDecimal.ONE.subtract(probability))
+                .add(winnerPoints);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(10000)
+    public double[] bulkUpdate() {
+        engine.updateAll(points, winners, losers, votes);
+        return points;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(EloRatingEngineBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build()
+        ).run();
+    }
+}
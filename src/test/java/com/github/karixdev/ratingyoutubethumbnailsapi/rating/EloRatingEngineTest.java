@@ -0,0 +1,65 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.rating;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+public class EloRatingEngineTest {
+    EloRatingEngine underTest;
+
+    @BeforeEach
+    void setUp() {
+        underTest = new EloRatingEngine(new RatingProperties(new BigDecimal(1400), 32, 100, 30, 64, 500L, 3, 2, 10000));
+    }
+
+    @Test
+    void GivenEqualPoints_WhenExpectedScore_ThenReturnsHalf() {
+        assertThat(underTest.expectedScore(1400, 1400)).isEqualTo(0.5);
+    }
+
+    @Test
+    void GivenPoints_WhenExpectedScore_ThenScoresOfBothSidesSumUpToOne() {
+        double result = underTest.expectedScore(1500, 1300) + underTest.expectedScore(1300, 1500);
+
+        assertThat(result).isCloseTo(1.0, within(1e-12));
+    }
+
+    @Test
+    void GivenPoints_WhenExpectedScore_ThenDoesNotRoundResult() {
+        assertThat(underTest.expectedScore(1400, 1300)).isCloseTo(0.6400649998, within(1e-10));
+    }
+
+    @Test
+    void GivenWinnerWithMorePoints_WhenPointsExchanged_ThenReturnsLessThanHalfOfKParameter() {
+        double result = underTest.pointsExchanged(1400, 1300);
+
+        assertThat(result).isCloseTo(11.5179, within(1e-4));
+    }
+
+    @Test
+    void GivenVotes_WhenUpdateAll_ThenUpdatesPointsAndKeepsTheirSum() {
+        // Given
+        double[] points = {1400, 1400, 1400};
+        int[] winners = {0, 0, 2, 1};
+        int[] losers = {1, 2, 1, 0};
+
+        // When
+        underTest.updateAll(points, winners, losers, 3);
+
+        // Then
+        assertThat(points[0]).isGreaterThan(points[2]);
+        assertThat(points[2]).isGreaterThan(points[1]);
+        assertThat(Arrays.stream(points).sum()).isCloseTo(4200, within(1e-9));
+    }
+
+    @Test
+    void GivenDouble_WhenToPoints_ThenRoundsToPersistedScale() {
+        assertThat(EloRatingEngine.toPoints(1411.517912))
+                .isEqualTo(new BigDecimal("1411.52"));
+    }
+}
@@ -0,0 +1,153 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.rating;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class Glicko2PeriodProcessorTest {
+    Glicko2PeriodProcessor underTest;
+
+    @Mock
+    RatingPeriodRepository periodRepository;
+
+    @Mock
+    VoteEventRepository voteEventRepository;
+
+    @Mock
+    Glicko2PeriodWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        RatingProperties properties = new RatingProperties(new BigDecimal(1400), 32, 100, 30, 64, 500L, 3, 2, 10000);
+
+        underTest = new Glicko2PeriodProcessor(
+                periodRepository,
+                voteEventRepository,
+                writer,
+                new Glicko2Properties(0.5, 300, 2),
+                new RatingUpdateRetry(properties, new SimpleMeterRegistry())
+        );
+    }
+
+    @Test
+    void GivenCompletedPeriodAndNewVotes_WhenProcess_ThenStartsNextPeriodAndCompletesItAfterUpdatingItsUsers() {
+        // Given
+        RatingPeriod next = period(5L, null);
+
+        when(periodRepository.findFirstByOrderByIdDesc())
+                .thenReturn(Optional.of(period(4L, LocalDateTime.of(2023, 9, 1, 12, 0))));
+        when(voteEventRepository.existsByPeriodIdIsNull()).thenReturn(true);
+        when(writer.start(eq(5L))).thenReturn(next);
+        when(voteEventRepository.findUserIdsByPeriodId(eq(5L))).thenReturn(List.of(1L, 2L, 3L));
+        when(writer.apply(any(), eq(5L))).thenReturn(2);
+
+        // When
+        underTest.process();
+
+        // Then
+        verify(writer).apply(eq(1L), eq(5L));
+        verify(writer).apply(eq(2L), eq(5L));
+        verify(writer).apply(eq(3L), eq(5L));
+        verify(writer).complete(eq(next));
+    }
+
+    @Test
+    void GivenNoPeriods_WhenProcess_ThenStartsFirstPeriod() {
+        // Given
+        when(periodRepository.findFirstByOrderByIdDesc()).thenReturn(Optional.empty());
+        when(voteEventRepository.existsByPeriodIdIsNull()).thenReturn(true);
+        when(writer.start(eq(1L))).thenReturn(period(1L, null));
+        when(voteEventRepository.findUserIdsByPeriodId(eq(1L))).thenReturn(List.of());
+
+        // When
+        underTest.process();
+
+        // Then
+        verify(writer).complete(any());
+    }
+
+    @Test
+    void GivenIncompletePeriod_WhenProcess_ThenResumesIt() {
+        // Given
+        RatingPeriod incomplete = period(4L, null);
+
+        when(periodRepository.findFirstByOrderByIdDesc()).thenReturn(Optional.of(incomplete));
+        when(voteEventRepository.findUserIdsByPeriodId(eq(4L))).thenReturn(List.of(1L));
+        when(writer.apply(eq(1L), eq(4L))).thenReturn(0);
+
+        // When
+        underTest.process();
+
+        // Then
+        verify(writer, never()).start(any());
+        verify(writer).complete(eq(incomplete));
+    }
+
+    @Test
+    void GivenNoNewVotes_WhenProcess_ThenDoesNotStartPeriod() {
+        // Given
+        when(periodRepository.findFirstByOrderByIdDesc())
+                .thenReturn(Optional.of(period(4L, LocalDateTime.of(2023, 9, 1, 12, 0))));
+        when(voteEventRepository.existsByPeriodIdIsNull()).thenReturn(false);
+
+        // When
+        underTest.process();
+
+        // Then
+        verifyNoInteractions(writer);
+    }
+
+    @Test
+    void GivenPeriodStartedByAnotherInstance_WhenProcess_ThenDoesNotProcessIt() {
+        // Given
+        when(periodRepository.findFirstByOrderByIdDesc()).thenReturn(Optional.empty());
+        when(voteEventRepository.existsByPeriodIdIsNull()).thenReturn(true);
+        when(writer.start(eq(1L))).thenThrow(new DataIntegrityViolationException("rating_period_pkey"));
+
+        // When
+        underTest.process();
+
+        // Then
+        verify(voteEventRepository, never()).findUserIdsByPeriodId(any());
+        verify(writer, never()).complete(any());
+    }
+
+    @Test
+    void GivenUserWhoseRatingsKeepConflicting_WhenProcess_ThenLeavesPeriodIncomplete() {
+        // Given
+        when(periodRepository.findFirstByOrderByIdDesc()).thenReturn(Optional.of(period(4L, null)));
+        when(voteEventRepository.findUserIdsByPeriodId(eq(4L))).thenReturn(List.of(1L, 2L));
+        when(writer.apply(eq(1L), eq(4L))).thenReturn(1);
+        when(writer.apply(eq(2L), eq(4L))).thenThrow(new ObjectOptimisticLockingFailureException(Rating.class, 102L));
+
+        // When
+        underTest.process();
+
+        // Then
+        verify(writer, times(3)).apply(eq(2L), eq(4L));
+        verify(writer, never()).complete(any());
+    }
+
+    private static RatingPeriod period(Long id, LocalDateTime completedAt) {
+        return RatingPeriod.builder()
+                .id(id)
+                .startedAt(LocalDateTime.of(2023, 9, 1, 11, 55))
+                .completedAt(completedAt)
+                .build();
+    }
+}
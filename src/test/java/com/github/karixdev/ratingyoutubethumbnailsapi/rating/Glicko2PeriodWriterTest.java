@@ -0,0 +1,165 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.rating;
+
+import com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail.Thumbnail;
+import com.github.karixdev.ratingyoutubethumbnailsapi.user.User;
+import com.github.karixdev.ratingyoutubethumbnailsapi.user.UserRole;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class Glicko2PeriodWriterTest {
+    Glicko2PeriodWriter underTest;
+
+    @Mock
+    RatingPeriodRepository periodRepository;
+
+    @Mock
+    VoteEventRepository voteEventRepository;
+
+    @Mock
+    RatingRepository repository;
+
+    @Mock
+    OpponentIndex opponentIndex;
+
+    @Mock
+    RatingAggregates aggregates;
+
+    Glicko2RatingEngine ratingEngine = new Glicko2RatingEngine(1400, 0.5);
+
+    User user;
+
+    @BeforeEach
+    void setUp() {
+        underTest = new Glicko2PeriodWriter(
+                periodRepository,
+                voteEventRepository,
+                repository,
+                new RatingProperties(new BigDecimal(1400), 32, 100, 30, 64, 500L, 3, 2, 10000),
+                ratingEngine,
+                opponentIndex,
+                aggregates,
+                Clock.fixed(Instant.parse("2023-09-01T12:00:00Z"), ZoneOffset.UTC)
+        );
+
+        user = User.builder()
+                .id(1L)
+                .email("email@email.com")
+                .password("password")
+                .username("username")
+                .userRole(UserRole.ROLE_USER)
+                .isEnabled(Boolean.TRUE)
+                .build();
+    }
+
+    @Test
+    void GivenPeriodId_WhenStart_ThenSavesPeriodAndAssignsVotesWithoutPeriod() {
+        // Given
+        when(periodRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        RatingPeriod result = underTest.start(3L);
+
+        // Then
+        assertThat(result.getId()).isEqualTo(3L);
+        assertThat(result.getStartedAt()).isEqualTo(LocalDateTime.of(2023, 9, 1, 12, 0));
+        assertThat(result.isCompleted()).isFalse();
+        assertThat(result.isNew()).isTrue();
+
+        verify(voteEventRepository).assignPeriod(eq(3L));
+    }
+
+    @Test
+    void GivenVotesOfPeriod_WhenApply_ThenUpdatesRatingsAgainstOpponentsFromStartOfPeriod() {
+        // Given
+        Rating first = rating(1L, "1400", 350, 0L);
+        Rating second = rating(2L, "1450", 50, 1L);
+        Rating untouched = rating(3L, "1500", 100, 2L);
+
+        when(repository.findByUserIdWithOptimisticLock(eq(1L))).thenReturn(List.of(first, second, untouched));
+        when(voteEventRepository.findByPeriodIdAndUserIdAndIdAfter(eq(3L), eq(1L), eq(0L), any()))
+                .thenReturn(List.of(new VoteEventRow(10, 1, 2), new VoteEventRow(11, 1, 2)));
+
+        // the second rating missed period 2
+        Glicko2Rating firstBefore = new Glicko2Rating(1400, 350, 0.06);
+        Glicko2Rating secondBefore = ratingEngine.inflate(new Glicko2Rating(1450, 50, 0.06), 1);
+
+        Glicko2Rating firstAfter = ratingEngine.update(firstBefore, List.of(
+                new Glicko2Result(secondBefore, 1), new Glicko2Result(secondBefore, 1)));
+        Glicko2Rating secondAfter = ratingEngine.update(secondBefore, List.of(
+                new Glicko2Result(firstBefore, 0), new Glicko2Result(firstBefore, 0)));
+
+        // When
+        int result = underTest.apply(1L, 3L);
+
+        // Then
+        assertThat(result).isEqualTo(2);
+
+        assertThat(first.getPoints()).isEqualTo(EloRatingEngine.toPoints(firstAfter.points()));
+        assertThat(first.getDeviation()).isEqualTo(firstAfter.deviation());
+        assertThat(first.getVolatility()).isEqualTo(firstAfter.volatility());
+        assertThat(first.getPeriodId()).isEqualTo(3L);
+
+        assertThat(second.getPoints()).isEqualTo(EloRatingEngine.toPoints(secondAfter.points()));
+        assertThat(second.getDeviation()).isEqualTo(secondAfter.deviation());
+        assertThat(second.getPeriodId()).isEqualTo(3L);
+
+        assertThat(untouched.getPoints()).isEqualTo(new BigDecimal("1500"));
+        assertThat(untouched.getPeriodId()).isEqualTo(2L);
+
+        verify(opponentIndex).update(eq(user), eq(1L), eq(first.getPoints()));
+        verify(aggregates).addAfterCommit(eq(1L), eq(first.getPoints().subtract(new BigDecimal("1400"))), eq(0L));
+        verify(aggregates).addAfterCommit(eq(2L), eq(second.getPoints().subtract(new BigDecimal("1450"))), eq(0L));
+        verify(aggregates, never()).addAfterCommit(eq(3L), any(), anyLong());
+    }
+
+    @Test
+    void GivenRatingsAlreadyUpdatedInPeriod_WhenApply_ThenSkipsUser() {
+        // Given
+        when(repository.findByUserIdWithOptimisticLock(eq(1L))).thenReturn(List.of(
+                rating(1L, "1410", 300, 3L),
+                rating(2L, "1390", 300, 0L)
+        ));
+
+        // When
+        int result = underTest.apply(1L, 3L);
+
+        // Then
+        assertThat(result).isZero();
+
+        verifyNoInteractions(voteEventRepository, opponentIndex, aggregates);
+    }
+
+    private Rating rating(Long thumbnailId, String points, double deviation, Long periodId) {
+        Thumbnail thumbnail = Thumbnail.builder()
+                .id(thumbnailId)
+                .addedBy(user)
+                .url("thumbnail-url-" + thumbnailId)
+                .youtubeVideoId("youtube-id-" + thumbnailId)
+                .build();
+
+        return Rating.builder()
+                .id(100 + thumbnailId)
+                .user(user)
+                .thumbnail(thumbnail)
+                .points(new BigDecimal(points))
+                .deviation(deviation)
+                .periodId(periodId)
+                .build();
+    }
+}
@@ -0,0 +1,81 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.rating;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+public class Glicko2RatingEngineTest {
+    Glicko2RatingEngine underTest;
+
+    @BeforeEach
+    void setUp() {
+        underTest = new Glicko2RatingEngine(1500, 0.5);
+    }
+
+    // the example from Glickman's "Example of the Glicko-2 system"
+    @Test
+    void GivenResultsOfPeriod_WhenUpdate_ThenReturnsRatingFromGlickmansExample() {
+        // Given
+        Glicko2Rating rating = new Glicko2Rating(1500, 200, 0.06);
+        List<Glicko2Result> results = List.of(
+                new Glicko2Result(new Glicko2Rating(1400, 30, 0.06), 1),
+                new Glicko2Result(new Glicko2Rating(1550, 100, 0.06), 0),
+                new Glicko2Result(new Glicko2Rating(1700, 300, 0.06), 0)
+        );
+
+        // When
+        Glicko2Rating result = underTest.update(rating, results);
+
+        // Then
+        assertThat(result.points()).isCloseTo(1464.06, within(0.01));
+        assertThat(result.deviation()).isCloseTo(151.52, within(0.01));
+        assertThat(result.volatility()).isCloseTo(0.05999, within(0.00001));
+    }
+
+    @Test
+    void GivenNoResults_WhenUpdate_ThenOnlyIncreasesDeviation() {
+        // Given
+        Glicko2Rating rating = new Glicko2Rating(1600, 50, 0.06);
+
+        // When
+        Glicko2Rating result = underTest.update(rating, List.of());
+
+        // Then
+        assertThat(result.points()).isEqualTo(1600);
+        assertThat(result.deviation()).isCloseTo(51.0, within(0.1));
+        assertThat(result.volatility()).isEqualTo(0.06);
+    }
+
+    @Test
+    void GivenPeriodsWithoutGames_WhenInflate_ThenIncreasesDeviationUpToInitialOne() {
+        // Given
+        Glicko2Rating rating = new Glicko2Rating(1600, 50, 0.06);
+
+        // When & Then
+        assertThat(underTest.inflate(rating, 0)).isEqualTo(rating);
+        assertThat(underTest.inflate(rating, 1).deviation())
+                .isEqualTo(underTest.update(rating, List.of()).deviation());
+        assertThat(underTest.inflate(rating, 10).deviation()).isCloseTo(59.89, within(0.01));
+        assertThat(underTest.inflate(rating, 100_000).deviation())
+                .isEqualTo(Glicko2RatingEngine.INITIAL_DEVIATION, within(1e-9));
+    }
+
+    @Test
+    void GivenNewRatings_WhenUpdate_ThenWinnerGainsWhatLoserLoses() {
+        // Given
+        Glicko2Rating rating = new Glicko2Rating(1500, 350, 0.06);
+
+        // When
+        Glicko2Rating winner = underTest.update(rating, List.of(new Glicko2Result(rating, 1)));
+        Glicko2Rating loser = underTest.update(rating, List.of(new Glicko2Result(rating, 0)));
+
+        // Then
+        assertThat(winner.points() - 1500).isCloseTo(1500 - loser.points(), within(1e-9));
+        assertThat(winner.points()).isGreaterThan(1600);
+        assertThat(winner.deviation()).isLessThan(Glicko2RatingEngine.INITIAL_DEVIATION);
+    }
+}
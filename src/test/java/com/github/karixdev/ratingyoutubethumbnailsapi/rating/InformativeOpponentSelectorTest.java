@@ -0,0 +1,80 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.rating;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+public class InformativeOpponentSelectorTest {
+    InformativeOpponentSelector underTest;
+
+    UserRatingIndex index;
+
+    @BeforeEach
+    void setUp() {
+        underTest = new InformativeOpponentSelector(200, 32);
+        index = new UserRatingIndex();
+    }
+
+    @Test
+    void GivenNoVotes_WhenVariance_ThenReturnsInitialDeviationSquared() {
+        assertThat(InformativeOpponentSelector.variance(0)).isCloseTo(350.0 * 350.0, within(1e-6));
+    }
+
+    @Test
+    void GivenEqualPoints_WhenInformationGain_ThenGainsMoreFromOpponentWithFewerVotes() {
+        double fewVotes = InformativeOpponentSelector.informationGain(
+                1500, InformativeOpponentSelector.variance(10), 1500, InformativeOpponentSelector.variance(1));
+        double manyVotes = InformativeOpponentSelector.informationGain(
+                1500, InformativeOpponentSelector.variance(10), 1500, InformativeOpponentSelector.variance(50));
+
+        assertThat(fewVotes).isGreaterThan(manyVotes);
+    }
+
+    @Test
+    void GivenCloserThumbnailWithManyVotesAndUnratedOneWithinBand_WhenSelect_ThenReturnsUnratedThumbnail() {
+        // Given
+        index.put(1L, 1500);
+        index.put(2L, 1500);
+        index.addVotes(2L, 30);
+
+        // When
+        OptionalLong result = underTest.select(index, 1L, 1500, Set.of(1L), new TreeSet<>(Set.of(1L, 2L, 3L)), 1400);
+
+        // Then
+        assertThat(result).hasValue(3L);
+    }
+
+    @Test
+    void GivenUnratedThumbnailExcluded_WhenSelect_ThenReturnsRatedThumbnailWithinBand() {
+        // Given
+        index.put(1L, 1500);
+        index.put(2L, 1500);
+        index.addVotes(2L, 30);
+
+        // When
+        OptionalLong result = underTest.select(index, 1L, 1500, Set.of(1L, 3L), new TreeSet<>(Set.of(1L, 2L, 3L)), 1400);
+
+        // Then
+        assertThat(result).hasValue(2L);
+    }
+
+    @Test
+    void GivenNoThumbnailWithinBand_WhenSelect_ThenReturnsClosestThumbnail() {
+        // Given
+        index.put(1L, 1700);
+        index.put(2L, 2000);
+        index.put(3L, 2100);
+
+        // When
+        OptionalLong result = underTest.select(index, 1L, 1700, Set.of(1L), new TreeSet<>(Set.of(1L, 2L, 3L)), 1400);
+
+        // Then
+        assertThat(result).hasValue(2L);
+    }
+}
@@ -0,0 +1,123 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.rating;
+
+import java.util.*;
+import java.util.stream.LongStream;
+
+// Not a JMH benchmark, it counts rounds instead of measuring time.
+// Like RatingConvergenceBenchmark, but the opponent is picked by an OpponentSelector over a UserRatingIndex
+// and the points are Elo ones. Games last GAME_ROUNDS rounds, the winner stays and does not meet a thumbnail
+// it has already met in the game, as GameService excludes them.
+public class MatchmakingConvergenceBenchmark {
+    private static final int THUMBNAILS = 100;
+    private static final int ROUNDS = 4000;
+    private static final int RUNS = 30;
+    private static final int GAME_ROUNDS = 20;
+    private static final double[] TARGETS = {0.8, 0.9};
+    private static final double BASE_POINTS = 1400;
+
+    public static void main(String[] args) {
+        Map<String, OpponentSelector> selectors = new LinkedHashMap<>();
+        selectors.put("closest", new ClosestOpponentSelector());
+        selectors.put("information band=100", new InformativeOpponentSelector(100, 32));
+        selectors.put("information band=200", new InformativeOpponentSelector(200, 32));
+        selectors.put("information band=400", new InformativeOpponentSelector(400, 32));
+
+        System.out.printf("%d thumbnails, %d rounds, %d runs, median (p90) rounds until correlation stays above%n",
+                THUMBNAILS, ROUNDS, RUNS);
+        System.out.printf("%-22s%s%n", "", Arrays.toString(TARGETS));
+
+        selectors.forEach((name, selector) -> {
+            int[][] rounds = new int[TARGETS.length][RUNS];
+
+            for (int run = 0; run < RUNS; run++) {
+                double[] correlations = simulate(selector, new Random(run));
+
+                for (int t = 0; t < TARGETS.length; t++) {
+                    rounds[t][run] = roundsUntilStable(correlations, TARGETS[t]);
+                }
+            }
+
+            StringBuilder line = new StringBuilder(String.format("%-22s", name));
+
+            for (int[] targetRounds : rounds) {
+                Arrays.sort(targetRounds);
+                line.append(String.format("%6s (%s)",
+                        format(targetRounds[RUNS / 2]), format(targetRounds[RUNS * 9 / 10])));
+            }
+
+            System.out.println(line);
+        });
+    }
+
+    private static double[] simulate(OpponentSelector selector, Random random) {
+        double[] strengths = new double[THUMBNAILS];
+
+        for (int i = 0; i < THUMBNAILS; i++) {
+            strengths[i] = random.nextGaussian();
+        }
+
+        EloRatingEngine engine = new EloRatingEngine(32);
+        UserRatingIndex index = new UserRatingIndex();
+        NavigableSet<Long> catalogue = new TreeSet<>(LongStream.range(0, THUMBNAILS).boxed().toList());
+
+        double[] points = new double[THUMBNAILS];
+        Arrays.fill(points, BASE_POINTS);
+
+        double[] correlations = new double[ROUNDS];
+        // the thumbnail itself and opponents met in the current game, by thumbnail
+        Map<Integer, Set<Long>> met = new HashMap<>();
+        int current = 0;
+
+        for (int round = 0; round < ROUNDS; round++) {
+            if (round % GAME_ROUNDS == 0) {
+                current = random.nextInt(THUMBNAILS);
+                met.clear();
+            }
+
+            Set<Long> excludedIds = met.computeIfAbsent(current, thumbnail -> new HashSet<>(Set.of((long) thumbnail)));
+
+            OptionalLong selected = selector.select(
+                    index, current, points[current], excludedIds, catalogue, BASE_POINTS);
+
+            if (selected.isEmpty()) {
+                throw new IllegalStateException("no opponent left");
+            }
+
+            int opponent = (int) selected.getAsLong();
+            excludedIds.add((long) opponent);
+            met.computeIfAbsent(opponent, thumbnail -> new HashSet<>(Set.of((long) thumbnail))).add((long) current);
+
+            double probability = 1.0 / (1.0 + Math.exp(strengths[opponent] - strengths[current]));
+
+            int winner = random.nextDouble() < probability ? current : opponent;
+            int loser = winner == current ? opponent : current;
+
+            engine.updateAll(points, new int[]{winner}, new int[]{loser}, 1);
+            index.put(winner, points[winner]);
+            index.put(loser, points[loser]);
+            index.addVotes(winner, 1);
+            index.addVotes(loser, 1);
+
+            correlations[round] = RatingConvergenceBenchmark.spearman(points, strengths);
+
+            current = winner;
+        }
+
+        return correlations;
+    }
+
+    // ROUNDS + 1 if the target was not reached
+    private static int roundsUntilStable(double[] correlations, double target) {
+        int round = correlations.length;
+
+        while (round > 0 && correlations[round - 1] >= target) {
+            round--;
+        }
+
+        return round == correlations.length ? ROUNDS + 1 : round + 1;
+    }
+
+    private static String format(int rounds) {
+        return rounds > ROUNDS ? "-" : Integer.toString(rounds);
+    }
+}
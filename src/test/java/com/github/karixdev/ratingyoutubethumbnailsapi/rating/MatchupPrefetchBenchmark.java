@@ -0,0 +1,124 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.rating;
+
+import com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail.Thumbnail;
+import com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail.ThumbnailCatalogue;
+import com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail.ThumbnailRepository;
+import com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail.ThumbnailService;
+import com.github.karixdev.ratingyoutubethumbnailsapi.user.User;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.LongStream;
+
+import static org.mockito.Mockito.when;
+
+// opponent selection of a vote, with thumbnail lookups taking queryMicros like a database round trip
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MatchupPrefetchBenchmark {
+    private static final double BASE_POINTS = 1400;
+
+    @Param({"10000"})
+    int thumbnails;
+
+    @Param({"0", "300"})
+    long queryMicros;
+
+    OpponentIndex index;
+    User user;
+    Thumbnail winner;
+    BigDecimal points;
+    Set<Long> excludedIds;
+    OpponentCandidates candidates;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+
+        ThumbnailRepository thumbnailRepository = Mockito.mock(ThumbnailRepository.class);
+        when(thumbnailRepository.findAllIds())
+                .thenReturn(LongStream.range(0, thumbnails).boxed().toList());
+
+        List<ThumbnailPoints> ratedPoints = new ArrayList<>();
+        for (long id = 0; id < thumbnails; id++) {
+            ratedPoints.add(points(id, BASE_POINTS + random.nextGaussian() * 200));
+        }
+
+        RatingRepository ratingRepository = Mockito.mock(RatingRepository.class);
+        user = User.builder().id(1L).build();
+        when(ratingRepository.findThumbnailPointsByUser(user)).thenReturn(ratedPoints);
+
+        ThumbnailCatalogue catalogue = new ThumbnailCatalogue(thumbnailRepository);
+        ThumbnailService thumbnailService = new ThumbnailService(null, null, catalogue, null, null, null) {
+            @Override
+            public Optional<Thumbnail> findById(Long id) {
+                if (queryMicros > 0) {
+                    LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(queryMicros));
+                }
+
+                return Optional.of(Thumbnail.builder().id(id).build());
+            }
+        };
+
+        index = new OpponentIndex(
+                ratingRepository,
+                thumbnailService,
+                catalogue,
+                new RatingProperties(new BigDecimal(1400), 32, 10, 30, 64, 500L, 3, 2, 10000),
+                Mockito.mock(VoteEventRepository.class),
+                new ClosestOpponentSelector()
+        );
+
+        winner = Thumbnail.builder().id(0L).build();
+        points = new BigDecimal("1416.00");
+
+        excludedIds = new HashSet<>();
+        while (excludedIds.size() < 20) {
+            excludedIds.add((long) random.nextInt(thumbnails));
+        }
+
+        candidates = index.findCandidates(user, winner, points, excludedIds, 3);
+    }
+
+    @Benchmark
+    public Optional<Thumbnail> onDemand() {
+        return index.findClosest(user, winner, points, excludedIds);
+    }
+
+    @Benchmark
+    public Optional<Thumbnail> prefetched() {
+        return index.findPrefetched(user, candidates, winner, points, excludedIds);
+    }
+
+    private static ThumbnailPoints points(Long thumbnailId, double points) {
+        return new ThumbnailPoints() {
+            @Override
+            public Long getThumbnailId() {
+                return thumbnailId;
+            }
+
+            @Override
+            public BigDecimal getPoints() {
+                return BigDecimal.valueOf(points);
+            }
+        };
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(MatchupPrefetchBenchmark.class.getSimpleName())
+                .build()
+        ).run();
+    }
+}
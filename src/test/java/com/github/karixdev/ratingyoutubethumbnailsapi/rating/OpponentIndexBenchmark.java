@@ -0,0 +1,99 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.rating;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OpponentIndexBenchmark {
+    private static final double BASE_POINTS = 1400;
+
+    @Param({"1000", "10000", "100000"})
+    int thumbnails;
+
+    @Param({"0.5"})
+    double ratedFraction;
+
+    UserRatingIndex index;
+    NavigableSet<Long> catalogue;
+    double[] pointsByThumbnail;
+    Set<Long> excludedIds;
+    double[] probes;
+    int probeIdx;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+
+        index = new UserRatingIndex();
+        catalogue = new ConcurrentSkipListSet<>();
+        pointsByThumbnail = new double[thumbnails];
+
+        for (int i = 0; i < thumbnails; i++) {
+            catalogue.add((long) i);
+            pointsByThumbnail[i] = BASE_POINTS;
+
+            if (random.nextDouble() < ratedFraction) {
+                double points = BASE_POINTS + random.nextGaussian() * 200;
+                pointsByThumbnail[i] = points;
+                index.put(i, points);
+            }
+        }
+
+        excludedIds = new HashSet<>();
+        while (excludedIds.size() < 20) {
+            excludedIds.add((long) random.nextInt(thumbnails));
+        }
+
+        probes = new double[1024];
+        for (int i = 0; i < probes.length; i++) {
+            probes[i] = BASE_POINTS + random.nextGaussian() * 200;
+        }
+    }
+
+    @Benchmark
+    public OptionalLong opponentIndex() {
+        double points = probes[probeIdx++ & (probes.length - 1)];
+        return index.findClosest(points, excludedIds, catalogue, BASE_POINTS);
+    }
+
+    // mirrors the removed native query: every thumbnail is visited and ranked by ABS(points - :points)
+    @Benchmark
+    public long fullScan() {
+        double points = probes[probeIdx++ & (probes.length - 1)];
+
+        long closestId = -1;
+        double closestDistance = Double.POSITIVE_INFINITY;
+
+        for (int i = 0; i < pointsByThumbnail.length; i++) {
+            if (excludedIds.contains((long) i)) {
+                continue;
+            }
+
+            double distance = Math.abs(pointsByThumbnail[i] - points);
+            if (distance < closestDistance) {
+                closestDistance = distance;
+                closestId = i;
+            }
+        }
+
+        return closestId;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(OpponentIndexBenchmark.class.getSimpleName())
+                .build()
+        ).run();
+    }
+}
@@ -0,0 +1,451 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.rating;
+
+import com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail.Thumbnail;
+import com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail.ThumbnailCatalogue;
+import com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail.ThumbnailRepository;
+import com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail.ThumbnailService;
+import com.github.karixdev.ratingyoutubethumbnailsapi.user.User;
+import com.github.karixdev.ratingyoutubethumbnailsapi.user.UserRole;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class OpponentIndexTest {
+    OpponentIndex underTest;
+
+    @Mock
+    RatingRepository ratingRepository;
+
+    @Mock
+    ThumbnailRepository thumbnailRepository;
+
+    @Mock
+    ThumbnailService thumbnailService;
+
+    @Mock
+    VoteEventRepository voteEventRepository;
+
+    User user;
+
+    Thumbnail thumbnail1;
+
+    ThumbnailCatalogue catalogue;
+
+    @BeforeEach
+    void setUp() {
+        RatingProperties properties = new RatingProperties(new BigDecimal(1400), 32, 10, 30, 64, 500L, 3, 2, 10000);
+        catalogue = new ThumbnailCatalogue(thumbnailRepository);
+
+        underTest = new OpponentIndex(
+                ratingRepository,
+                thumbnailService,
+                catalogue,
+                properties,
+                voteEventRepository,
+                new ClosestOpponentSelector()
+        );
+
+        user = User.builder()
+                .id(1L)
+                .email("email@email.com")
+                .password("password")
+                .username("username")
+                .userRole(UserRole.ROLE_USER)
+                .isEnabled(Boolean.TRUE)
+                .build();
+
+        thumbnail1 = Thumbnail.builder().id(1L).build();
+
+        lenient().when(thumbnailService.findById(any()))
+                .thenAnswer(invocation -> Optional.of(
+                        Thumbnail.builder().id(invocation.getArgument(0)).build()));
+    }
+
+    @Test
+    void GivenRatedThumbnailsWhereNoneWereInGame_WhenFindClosest_ThenReturnsThumbnailWithClosestRating() {
+        // Given
+        when(thumbnailRepository.findAllIds()).thenReturn(List.of(1L, 2L, 3L));
+        when(ratingRepository.findThumbnailPointsByUser(eq(user)))
+                .thenReturn(List.of(points(1L, 1500), points(2L, 1450), points(3L, 1800)));
+
+        // When
+        Optional<Thumbnail> result = underTest.findClosest(
+                user, thumbnail1, BigDecimal.valueOf(1500), Set.of());
+
+        // Then
+        assertThat(result).map(Thumbnail::getId).contains(2L);
+    }
+
+    @Test
+    void GivenClosestThumbnailAlreadyFacedInGame_WhenFindClosest_ThenReturnsNextClosestThumbnail() {
+        // Given
+        when(thumbnailRepository.findAllIds()).thenReturn(List.of(1L, 2L, 3L));
+        when(ratingRepository.findThumbnailPointsByUser(eq(user)))
+                .thenReturn(List.of(points(1L, 1500), points(2L, 1450), points(3L, 1800)));
+
+        // When
+        Optional<Thumbnail> result = underTest.findClosest(
+                user, thumbnail1, BigDecimal.valueOf(1500), Set.of(2L));
+
+        // Then
+        assertThat(result).map(Thumbnail::getId).contains(3L);
+    }
+
+    @Test
+    void GivenAllThumbnailsAlreadyFacedInGame_WhenFindClosest_ThenReloadsCatalogueAndReturnsEmptyOptional() {
+        // Given
+        when(thumbnailRepository.findAllIds()).thenReturn(List.of(1L, 2L, 3L));
+        when(ratingRepository.findThumbnailPointsByUser(eq(user)))
+                .thenReturn(List.of(points(1L, 1500), points(2L, 1450), points(3L, 1800)));
+
+        // When
+        Optional<Thumbnail> result = underTest.findClosest(
+                user, thumbnail1, BigDecimal.valueOf(1500), Set.of(2L, 3L));
+
+        // Then
+        assertThat(result).isEmpty();
+        verify(thumbnailRepository, times(2)).findAllIds();
+    }
+
+    @Test
+    void GivenThumbnailNotRatedByUserWithBasePointsClosestToPoints_WhenFindClosest_ThenReturnsUnratedThumbnail() {
+        // Given
+        when(thumbnailRepository.findAllIds()).thenReturn(List.of(1L, 2L, 3L));
+        when(ratingRepository.findThumbnailPointsByUser(eq(user)))
+                .thenReturn(List.of(points(1L, 1500), points(3L, 1800)));
+
+        // When
+        Optional<Thumbnail> result = underTest.findClosest(
+                user, thumbnail1, BigDecimal.valueOf(1500), Set.of());
+
+        // Then
+        assertThat(result).map(Thumbnail::getId).contains(2L);
+    }
+
+    @Test
+    void GivenUnratedThumbnailFacedInGame_WhenFindClosest_ThenSkipsItAndReturnsNextUnratedThumbnail() {
+        // Given
+        when(thumbnailRepository.findAllIds()).thenReturn(List.of(1L, 2L, 3L, 4L));
+        when(ratingRepository.findThumbnailPointsByUser(eq(user)))
+                .thenReturn(List.of(points(1L, 1400), points(3L, 1800)));
+
+        // When
+        Optional<Thumbnail> result = underTest.findClosest(
+                user, thumbnail1, BigDecimal.valueOf(1400), Set.of(2L));
+
+        // Then
+        assertThat(result).map(Thumbnail::getId).contains(4L);
+    }
+
+    @Test
+    void GivenUnratedThumbnailAddedWithIdBelowRatedOnes_WhenFindClosest_ThenReturnsIt() {
+        // Given
+        Thumbnail thumbnail = Thumbnail.builder().id(100L).build();
+
+        when(thumbnailRepository.findAllIds()).thenReturn(List.of(2L, 3L, 4L, 10L));
+        when(ratingRepository.findThumbnailPointsByUser(eq(user)))
+                .thenReturn(List.of(points(2L, 1800), points(3L, 1800), points(4L, 1800)));
+
+        Optional<Thumbnail> beforeAdding = underTest.findClosest(
+                user, thumbnail, BigDecimal.valueOf(1400), Set.of());
+
+        // When
+        catalogue.add(1L);
+        Optional<Thumbnail> result = underTest.findClosest(
+                user, thumbnail, BigDecimal.valueOf(1400), Set.of());
+
+        // Then
+        assertThat(beforeAdding).map(Thumbnail::getId).contains(10L);
+        assertThat(result).map(Thumbnail::getId).contains(1L);
+    }
+
+    @Test
+    void GivenUpdatedRating_WhenFindClosest_ThenUsesUpdatedPoints() {
+        // Given
+        when(thumbnailRepository.findAllIds()).thenReturn(List.of(1L, 2L, 3L));
+        when(ratingRepository.findThumbnailPointsByUser(eq(user)))
+                .thenReturn(List.of(points(1L, 1500), points(2L, 1450), points(3L, 1800)));
+
+        underTest.findClosest(user, thumbnail1, BigDecimal.valueOf(1500), Set.of());
+
+        // When
+        underTest.update(user, 3L, BigDecimal.valueOf(1490));
+        Optional<Thumbnail> result = underTest.findClosest(
+                user, thumbnail1, BigDecimal.valueOf(1500), Set.of());
+
+        // Then
+        assertThat(result).map(Thumbnail::getId).contains(3L);
+        verify(ratingRepository).findThumbnailPointsByUser(eq(user));
+    }
+
+    @Test
+    void GivenRatingUpdatedWhileIndexIsLoading_WhenFindClosest_ThenReloadsIndexWithUpdatedPoints() {
+        // Given
+        when(thumbnailRepository.findAllIds()).thenReturn(List.of(1L, 2L, 3L));
+        when(ratingRepository.findThumbnailPointsByUser(eq(user)))
+                .thenAnswer(invocation -> {
+                    underTest.update(user, 3L, BigDecimal.valueOf(1490));
+                    return List.of(points(1L, 1500), points(2L, 1450), points(3L, 1800));
+                })
+                .thenReturn(List.of(points(1L, 1500), points(2L, 1450), points(3L, 1490)));
+
+        underTest.findClosest(user, thumbnail1, BigDecimal.valueOf(1500), Set.of());
+
+        // When
+        Optional<Thumbnail> result = underTest.findClosest(
+                user, thumbnail1, BigDecimal.valueOf(1500), Set.of());
+
+        // Then
+        assertThat(result).map(Thumbnail::getId).contains(3L);
+        verify(ratingRepository, times(2)).findThumbnailPointsByUser(eq(user));
+    }
+
+    @Test
+    void GivenRatingUpdatedBeforeIndexWasLoaded_WhenFindClosest_ThenLoadsAndCachesIndexOnce() {
+        // Given
+        when(thumbnailRepository.findAllIds()).thenReturn(List.of(1L, 2L, 3L));
+        when(ratingRepository.findThumbnailPointsByUser(eq(user)))
+                .thenReturn(List.of(points(1L, 1500), points(2L, 1450), points(3L, 1490)));
+
+        underTest.update(user, 3L, BigDecimal.valueOf(1490));
+
+        // When
+        underTest.findClosest(user, thumbnail1, BigDecimal.valueOf(1500), Set.of());
+        Optional<Thumbnail> result = underTest.findClosest(
+                user, thumbnail1, BigDecimal.valueOf(1500), Set.of());
+
+        // Then
+        assertThat(result).map(Thumbnail::getId).contains(3L);
+        verify(ratingRepository).findThumbnailPointsByUser(eq(user));
+    }
+
+    @Test
+    void GivenClosestThumbnailDeletedFromDatabase_WhenFindClosest_ThenSkipsItAndReturnsNextClosestThumbnail() {
+        // Given
+        when(thumbnailRepository.findAllIds()).thenReturn(List.of(1L, 2L, 3L));
+        when(ratingRepository.findThumbnailPointsByUser(eq(user)))
+                .thenReturn(List.of(points(1L, 1500), points(2L, 1450), points(3L, 1800)));
+        when(thumbnailService.findById(eq(2L))).thenReturn(Optional.empty());
+
+        // When
+        Optional<Thumbnail> result = underTest.findClosest(
+                user, thumbnail1, BigDecimal.valueOf(1500), Set.of());
+
+        // Then
+        assertThat(result).map(Thumbnail::getId).contains(3L);
+    }
+
+    @Test
+    void GivenThumbnailMissingFromCatalogue_WhenFindClosest_ThenReloadsCatalogueAndReturnsIt() {
+        // Given
+        when(thumbnailRepository.findAllIds())
+                .thenReturn(List.of(1L))
+                .thenReturn(List.of(1L, 2L));
+        when(ratingRepository.findThumbnailPointsByUser(eq(user)))
+                .thenReturn(List.of(points(1L, 1500)));
+
+        // When
+        Optional<Thumbnail> result = underTest.findClosest(
+                user, thumbnail1, BigDecimal.valueOf(1500), Set.of());
+
+        // Then
+        assertThat(result).map(Thumbnail::getId).contains(2L);
+    }
+
+    @Test
+    void GivenInformativeSelectorAndVotesOfClosestThumbnail_WhenFindClosest_ThenReturnsLessVotedThumbnailWithinBand() {
+        // Given
+        underTest = informativeOpponentIndex();
+
+        when(thumbnailRepository.findAllIds()).thenReturn(List.of(1L, 2L, 3L));
+        when(ratingRepository.findThumbnailPointsByUser(eq(user)))
+                .thenReturn(List.of(points(1L, 1500), points(2L, 1490), points(3L, 1530)));
+        when(voteEventRepository.findWinsByUserId(eq(1L)))
+                .thenReturn(List.of(new ThumbnailVotes(2L, 12)));
+        when(voteEventRepository.findLossesByUserId(eq(1L)))
+                .thenReturn(List.of(new ThumbnailVotes(2L, 8)));
+
+        // When
+        Optional<Thumbnail> result = underTest.findClosest(
+                user, thumbnail1, BigDecimal.valueOf(1500), Set.of());
+
+        // Then
+        assertThat(result).map(Thumbnail::getId).contains(3L);
+    }
+
+    @Test
+    void GivenInformativeSelectorAndRecordedVotes_WhenFindClosest_ThenCountsRecordedVotes() {
+        // Given
+        underTest = informativeOpponentIndex();
+
+        when(thumbnailRepository.findAllIds()).thenReturn(List.of(1L, 2L, 3L));
+        when(ratingRepository.findThumbnailPointsByUser(eq(user)))
+                .thenReturn(List.of(points(1L, 1500), points(2L, 1490), points(3L, 1530)));
+
+        Optional<Thumbnail> first = underTest.findClosest(
+                user, thumbnail1, BigDecimal.valueOf(1500), Set.of());
+
+        // When
+        for (int i = 0; i < 20; i++) {
+            underTest.recordVote(user, 2L, 1L);
+        }
+
+        Optional<Thumbnail> result = underTest.findClosest(
+                user, thumbnail1, BigDecimal.valueOf(1500), Set.of());
+
+        // Then
+        assertThat(first).map(Thumbnail::getId).contains(2L);
+        assertThat(result).map(Thumbnail::getId).contains(3L);
+    }
+
+    @Test
+    void GivenRatedThumbnails_WhenFindCandidates_ThenReturnsClosestThumbnailsOrderedByDistance() {
+        // Given
+        when(thumbnailRepository.findAllIds()).thenReturn(List.of(1L, 2L, 3L, 4L));
+        when(ratingRepository.findThumbnailPointsByUser(eq(user)))
+                .thenReturn(List.of(points(1L, 1500), points(2L, 1450), points(3L, 1800), points(4L, 1560)));
+
+        // When
+        OpponentCandidates result = underTest.findCandidates(
+                user, thumbnail1, BigDecimal.valueOf(1500), Set.of(2L), 2);
+
+        // Then
+        assertThat(result.opponents()).map(Thumbnail::getId).containsExactly(4L, 3L);
+        assertThat(result.excludedIds()).containsExactly(2L);
+    }
+
+    @Test
+    void GivenCandidatesWithClosestOneExcludedSince_WhenFindPrefetched_ThenReturnsNextCandidate() {
+        // Given
+        when(thumbnailRepository.findAllIds()).thenReturn(List.of(1L, 2L, 3L, 4L));
+        when(ratingRepository.findThumbnailPointsByUser(eq(user)))
+                .thenReturn(List.of(points(1L, 1500), points(2L, 1450), points(3L, 1800), points(4L, 1560)));
+
+        OpponentCandidates candidates = underTest.findCandidates(
+                user, thumbnail1, BigDecimal.valueOf(1500), Set.of(), 2);
+
+        // When
+        Optional<Thumbnail> result = underTest.findPrefetched(
+                user, candidates, thumbnail1, BigDecimal.valueOf(1500), Set.of(2L));
+
+        // Then
+        assertThat(result).map(Thumbnail::getId).contains(4L);
+    }
+
+    @Test
+    void GivenRatingUpdatedAfterCandidatesWereFound_WhenFindPrefetched_ThenReturnsEmptyOptional() {
+        // Given
+        when(thumbnailRepository.findAllIds()).thenReturn(List.of(1L, 2L, 3L));
+        when(ratingRepository.findThumbnailPointsByUser(eq(user)))
+                .thenReturn(List.of(points(1L, 1500), points(2L, 1450), points(3L, 1800)));
+
+        OpponentCandidates candidates = underTest.findCandidates(
+                user, thumbnail1, BigDecimal.valueOf(1500), Set.of(), 2);
+
+        underTest.update(user, 3L, BigDecimal.valueOf(1490));
+
+        // When
+        Optional<Thumbnail> result = underTest.findPrefetched(
+                user, candidates, thumbnail1, BigDecimal.valueOf(1500), Set.of());
+
+        // Then
+        assertThat(result).isEmpty();
+    }
+
+    @Test
+    void GivenCandidatesFoundForOtherPoints_WhenFindPrefetched_ThenReturnsEmptyOptional() {
+        // Given
+        when(thumbnailRepository.findAllIds()).thenReturn(List.of(1L, 2L, 3L));
+        when(ratingRepository.findThumbnailPointsByUser(eq(user)))
+                .thenReturn(List.of(points(1L, 1500), points(2L, 1450), points(3L, 1800)));
+
+        OpponentCandidates candidates = underTest.findCandidates(
+                user, thumbnail1, BigDecimal.valueOf(1500), Set.of(), 2);
+
+        // When
+        Optional<Thumbnail> result = underTest.findPrefetched(
+                user, candidates, thumbnail1, BigDecimal.valueOf(1700), Set.of());
+
+        // Then
+        assertThat(result).isEmpty();
+    }
+
+    @Test
+    void GivenThumbnailAddedToCatalogueAfterCandidatesWereFound_WhenFindPrefetched_ThenReturnsEmptyOptional() {
+        // Given
+        when(thumbnailRepository.findAllIds()).thenReturn(List.of(1L, 2L, 3L));
+        when(ratingRepository.findThumbnailPointsByUser(eq(user)))
+                .thenReturn(List.of(points(1L, 1500), points(2L, 1450), points(3L, 1800)));
+
+        OpponentCandidates candidates = underTest.findCandidates(
+                user, thumbnail1, BigDecimal.valueOf(1500), Set.of(), 2);
+
+        catalogue.add(4L);
+
+        // When
+        Optional<Thumbnail> result = underTest.findPrefetched(
+                user, candidates, thumbnail1, BigDecimal.valueOf(1500), Set.of());
+
+        // Then
+        assertThat(result).isEmpty();
+    }
+
+    @Test
+    void GivenRatedThumbnails_WhenGetRanking_ThenReturnsUserRatingsFromHighestPointsAfterCursor() {
+        // Given
+        when(ratingRepository.findThumbnailPointsByUser(eq(user)))
+                .thenReturn(List.of(points(1L, 1500), points(2L, 1450), points(3L, 1800)));
+
+        // When
+        Optional<List<RankedThumbnail>> first = underTest.getRanking(user, null, 2);
+        Optional<List<RankedThumbnail>> second = underTest.getRanking(user, 1L, 2);
+
+        // Then
+        assertThat(first).contains(List.of(
+                new RankedThumbnail(1, 3L, new BigDecimal("1800.00")),
+                new RankedThumbnail(2, 1L, new BigDecimal("1500.00"))
+        ));
+        assertThat(second).contains(List.of(
+                new RankedThumbnail(3, 2L, new BigDecimal("1450.00"))
+        ));
+        assertThat(underTest.getRanking(user, 4L, 2)).isEmpty();
+    }
+
+    private OpponentIndex informativeOpponentIndex() {
+        return new OpponentIndex(
+                ratingRepository,
+                thumbnailService,
+                catalogue,
+                new RatingProperties(new BigDecimal(1400), 32, 10, 30, 64, 500L, 3, 2, 10000),
+                voteEventRepository,
+                new InformativeOpponentSelector(200, 32)
+        );
+    }
+
+    private static ThumbnailPoints points(Long thumbnailId, double points) {
+        return new ThumbnailPoints() {
+            @Override
+            public Long getThumbnailId() {
+                return thumbnailId;
+            }
+
+            @Override
+            public BigDecimal getPoints() {
+                return BigDecimal.valueOf(points);
+            }
+        };
+    }
+}
@@ -0,0 +1,97 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.rating;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RankTreeTest {
+    RankTree<Integer> underTest;
+
+    @BeforeEach
+    void setUp() {
+        underTest = new RankTree<>(Comparator.reverseOrder());
+    }
+
+    @Test
+    void GivenEmptyTree_WhenIndexOfAndRange_ThenFindsNothing() {
+        // When & Then
+        assertThat(underTest.size()).isZero();
+        assertThat(underTest.indexOf(1)).isEqualTo(-1);
+        assertThat(underTest.range(0, 10)).isEmpty();
+    }
+
+    @Test
+    void GivenElements_WhenIndexOf_ThenReturnsPositionInComparatorOrder() {
+        // Given
+        List.of(5, 1, 9, 3, 7).forEach(underTest::add);
+
+        // When & Then
+        assertThat(underTest.indexOf(9)).isZero();
+        assertThat(underTest.indexOf(5)).isEqualTo(2);
+        assertThat(underTest.indexOf(1)).isEqualTo(4);
+        assertThat(underTest.indexOf(4)).isEqualTo(-1);
+    }
+
+    @Test
+    void GivenElements_WhenRange_ThenReturnsPageStartingAtIndex() {
+        // Given
+        List.of(5, 1, 9, 3, 7).forEach(underTest::add);
+
+        // When & Then
+        assertThat(underTest.range(0, 2)).containsExactly(9, 7);
+        assertThat(underTest.range(2, 2)).containsExactly(5, 3);
+        assertThat(underTest.range(4, 2)).containsExactly(1);
+        assertThat(underTest.range(5, 2)).isEmpty();
+    }
+
+    @Test
+    void GivenMissingElement_WhenRemove_ThenKeepsTreeUnchanged() {
+        // Given
+        List.of(5, 1, 9).forEach(underTest::add);
+
+        // When
+        boolean result = underTest.remove(4);
+
+        // Then
+        assertThat(result).isFalse();
+        assertThat(underTest.range(0, 10)).containsExactly(9, 5, 1);
+    }
+
+    @Test
+    void GivenRandomAddsAndRemoves_WhenQueried_ThenMatchesSortedSet() {
+        // Given
+        Random random = new Random(42);
+        TreeSet<Integer> expected = new TreeSet<>(Comparator.reverseOrder());
+
+        for (int i = 0; i < 10_000; i++) {
+            int value = random.nextInt(2_000);
+
+            if (expected.contains(value)) {
+                assertThat(underTest.remove(value)).isTrue();
+                expected.remove(value);
+            } else {
+                underTest.add(value);
+                expected.add(value);
+            }
+        }
+
+        // When & Then
+        List<Integer> ordered = new ArrayList<>(expected);
+
+        assertThat(underTest.size()).isEqualTo(expected.size());
+        assertThat(underTest.range(0, Integer.MAX_VALUE)).isEqualTo(ordered);
+
+        for (int index = 0; index < ordered.size(); index += 37) {
+            assertThat(underTest.indexOf(ordered.get(index))).isEqualTo(index);
+            assertThat(underTest.range(index, 3))
+                    .isEqualTo(ordered.subList(index, Math.min(index + 3, ordered.size())));
+        }
+    }
+}
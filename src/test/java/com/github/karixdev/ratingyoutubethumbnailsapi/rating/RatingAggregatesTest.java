@@ -0,0 +1,298 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.rating;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class RatingAggregatesTest {
+    RatingAggregates underTest;
+
+    @Mock
+    RatingRepository repository;
+
+    @Mock
+    RatingHistory history;
+
+    SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        underTest = new RatingAggregates(
+                repository,
+                history,
+                Clock.fixed(Instant.ofEpochMilli(36), ZoneOffset.UTC),
+                meterRegistry
+        );
+    }
+
+    @Test
+    void GivenRatings_WhenGetAveragePoints_ThenReturnsAverageOfLoadedSums() {
+        // Given
+        when(repository.findAllPointsSums()).thenReturn(List.of(
+                pointsSum(1L, "3000", 2),
+                pointsSum(2L, "4000", 3)
+        ));
+
+        // When & Then
+        assertThat(underTest.getAveragePoints(1L)).contains(new BigDecimal("1500.00"));
+        assertThat(underTest.getAveragePoints(2L)).contains(new BigDecimal("1333.33"));
+        assertThat(underTest.getAveragePoints(3L)).isEmpty();
+
+        verify(repository, times(1)).findAllPointsSums();
+    }
+
+    @Test
+    void GivenLoadedAggregates_WhenAdd_ThenAppliesDeltas() {
+        // Given
+        when(repository.findAllPointsSums()).thenReturn(List.of(pointsSum(1L, "3000", 2)));
+        underTest.getAveragePoints(1L);
+
+        // When
+        underTest.addAfterCommit(1L, new BigDecimal("-100"), 0);
+        underTest.addAfterCommit(2L, new BigDecimal("1400"), 1);
+        underTest.addAfterCommit(1L, new BigDecimal("1600"), 1);
+
+        // Then
+        assertThat(underTest.getAveragePoints(1L)).contains(new BigDecimal("1500.00"));
+        assertThat(underTest.getAveragePoints(2L)).contains(new BigDecimal("1400.00"));
+    }
+
+    @Test
+    void GivenLoadedAggregates_WhenAdd_ThenRecordsChangedAveragePointsInHistory() {
+        // Given
+        when(repository.findAllPointsSums()).thenReturn(List.of(pointsSum(1L, "3000", 2)));
+        underTest.getAveragePoints(1L);
+
+        // When
+        underTest.addAfterCommit(1L, new BigDecimal("1600"), 1);
+        underTest.addAfterCommit(2L, new BigDecimal("0"), 0);
+
+        // Then
+        verify(history).record(1L, new BigDecimal("1533.33"));
+        verifyNoMoreInteractions(history);
+    }
+
+    @Test
+    void GivenLoadedAggregates_WhenAdd_ThenChangesOnlyVersionOfUpdatedThumbnail() {
+        // Given
+        when(repository.findAllPointsSums()).thenReturn(List.of(pointsSum(1L, "3000", 2), pointsSum(2L, "1400", 1)));
+
+        String first = underTest.getVersion(1L);
+        String second = underTest.getVersion(2L);
+
+        // When
+        underTest.addAfterCommit(1L, new BigDecimal("10"), 0);
+
+        // Then
+        assertThat(first).startsWith("10-");
+        assertThat(underTest.getVersion(1L)).isNotEqualTo(first);
+        assertThat(underTest.getVersion(2L)).isEqualTo(second);
+        assertThat(underTest.getVersion(3L)).isEqualTo("10-0");
+    }
+
+    @Test
+    void GivenNotLoadedAggregates_WhenAdd_ThenIgnoresDeltaAlreadyIncludedInLoad() {
+        // Given
+        when(repository.findAllPointsSums()).thenReturn(List.of(pointsSum(1L, "1400", 1)));
+
+        // When
+        underTest.addAfterCommit(1L, new BigDecimal("1400"), 1);
+
+        // Then
+        assertThat(underTest.getAveragePoints(1L)).contains(new BigDecimal("1400.00"));
+    }
+
+    @Test
+    void GivenDriftedAggregates_WhenReconcile_ThenReplacesThemWithRatingTotals() {
+        // Given
+        when(repository.findAllPointsSums())
+                .thenReturn(List.of(pointsSum(1L, "3000", 2), pointsSum(2L, "1400", 1)))
+                .thenReturn(List.of(pointsSum(1L, "3000", 2), pointsSum(3L, "1500", 1)));
+        underTest.getAveragePoints(1L);
+
+        underTest.addAfterCommit(1L, new BigDecimal("10"), 0);
+
+        // When
+        underTest.reconcile();
+
+        // Then
+        assertThat(underTest.getAveragePoints(1L)).contains(new BigDecimal("1500.00"));
+        assertThat(underTest.getAveragePoints(2L)).isEmpty();
+        assertThat(underTest.getAveragePoints(3L)).contains(new BigDecimal("1500.00"));
+
+        assertThat(meterRegistry.counter("rating.aggregates.drift").count()).isEqualTo(3);
+    }
+
+    @Test
+    void GivenMatchingAggregates_WhenReconcile_ThenDoesNotCountDrift() {
+        // Given
+        when(repository.findAllPointsSums())
+                .thenReturn(List.of(pointsSum(1L, "3000", 2)))
+                .thenReturn(List.of(pointsSum(1L, "3000.00", 2)));
+
+        // When
+        underTest.reconcile();
+
+        // Then
+        assertThat(underTest.getAveragePoints(1L)).contains(new BigDecimal("1500.00"));
+        assertThat(meterRegistry.counter("rating.aggregates.drift").count()).isZero();
+    }
+
+    @Test
+    void GivenDeltaInFlightWhileTotalsAreQueried_WhenReconcile_ThenDoesNotCountItTwice() {
+        // Given
+        when(repository.findAllPointsSums())
+                .thenReturn(List.of(pointsSum(1L, "1400", 1)))
+                .thenReturn(List.of(pointsSum(1L, "1500", 1)));
+        underTest.getAveragePoints(1L);
+
+        TransactionSynchronizationManager.initSynchronization();
+
+        try {
+            underTest.addAfterCommit(1L, new BigDecimal("100"), 0);
+
+            // When
+            underTest.reconcile();
+            commit();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Then
+        assertThat(underTest.getAveragePoints(1L)).contains(new BigDecimal("1500.00"));
+        assertThat(meterRegistry.counter("rating.aggregates.drift").count()).isZero();
+    }
+
+    @Test
+    void GivenDeltaInFlightBeforeInitialLoad_WhenGetAveragePoints_ThenLoadsAfterTransactionCompletes() throws Exception {
+        // Given
+        when(repository.findAllPointsSums()).thenReturn(List.of(pointsSum(1L, "1400", 1)));
+
+        CompletableFuture<Optional<BigDecimal>> averagePoints;
+
+        TransactionSynchronizationManager.initSynchronization();
+
+        try {
+            underTest.addAfterCommit(1L, new BigDecimal("1400"), 1);
+
+            // When
+            averagePoints = CompletableFuture.supplyAsync(() -> underTest.getAveragePoints(1L));
+
+            verify(repository, after(100).never()).findAllPointsSums();
+            commit();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Then
+        assertThat(averagePoints.get(5, TimeUnit.SECONDS)).contains(new BigDecimal("1400.00"));
+    }
+
+    @Test
+    void GivenRatings_WhenGetRanking_ThenReturnsThumbnailsByAveragePointsAfterCursor() {
+        // Given
+        when(repository.findAllPointsSums()).thenReturn(List.of(
+                pointsSum(1L, "1400", 1),
+                pointsSum(2L, "3200", 2),
+                pointsSum(3L, "1400", 1),
+                pointsSum(4L, "1500", 1)
+        ));
+
+        // When
+        Optional<List<RankedThumbnail>> first = underTest.getRanking(null, 2);
+        Optional<List<RankedThumbnail>> second = underTest.getRanking(4L, 2);
+
+        // Then
+        assertThat(first).contains(List.of(
+                new RankedThumbnail(1, 2L, new BigDecimal("1600.00")),
+                new RankedThumbnail(2, 4L, new BigDecimal("1500.00"))
+        ));
+        assertThat(second).contains(List.of(
+                new RankedThumbnail(3, 1L, new BigDecimal("1400.00")),
+                new RankedThumbnail(4, 3L, new BigDecimal("1400.00"))
+        ));
+        assertThat(underTest.getRanking(5L, 2)).isEmpty();
+    }
+
+    @Test
+    void GivenLoadedAggregates_WhenAdd_ThenMovesThumbnailInRanking() {
+        // Given
+        when(repository.findAllPointsSums()).thenReturn(List.of(
+                pointsSum(1L, "1400", 1),
+                pointsSum(2L, "1500", 1)
+        ));
+        underTest.getRank(1L);
+
+        // When
+        underTest.addAfterCommit(1L, new BigDecimal("200"), 0);
+        underTest.addAfterCommit(3L, new BigDecimal("1450"), 1);
+
+        // Then
+        assertThat(underTest.getRank(1L)).contains(new RankedThumbnail(1, 1L, new BigDecimal("1600.00")));
+        assertThat(underTest.getRank(2L)).contains(new RankedThumbnail(2, 2L, new BigDecimal("1500.00")));
+        assertThat(underTest.getRank(3L)).contains(new RankedThumbnail(3, 3L, new BigDecimal("1450.00")));
+    }
+
+    @Test
+    void GivenDriftedAggregates_WhenReconcile_ThenRanksThumbnailsByRatingTotals() {
+        // Given
+        when(repository.findAllPointsSums())
+                .thenReturn(List.of(pointsSum(1L, "1400", 1), pointsSum(2L, "1500", 1)))
+                .thenReturn(List.of(pointsSum(1L, "1600", 1)));
+        underTest.getRank(1L);
+
+        // When
+        underTest.reconcile();
+
+        // Then
+        assertThat(underTest.getRanking(null, 10))
+                .contains(List.of(new RankedThumbnail(1, 1L, new BigDecimal("1600.00"))));
+        assertThat(underTest.getRank(2L)).isEmpty();
+    }
+
+    private static void commit() {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+        synchronizations.forEach(synchronization ->
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+    }
+
+    private static ThumbnailPointsSum pointsSum(Long thumbnailId, String pointsSum, long ratingCount) {
+        return new ThumbnailPointsSum() {
+            @Override
+            public Long getThumbnailId() {
+                return thumbnailId;
+            }
+
+            @Override
+            public BigDecimal getPointsSum() {
+                return new BigDecimal(pointsSum);
+            }
+
+            @Override
+            public Long getRatingCount() {
+                return ratingCount;
+            }
+        };
+    }
+}
@@ -0,0 +1,205 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.rating;
+
+import com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail.RatedThumbnailIndex;
+import com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail.Thumbnail;
+import com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail.ThumbnailCatalogue;
+import com.github.karixdev.ratingyoutubethumbnailsapi.user.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// Many threads play votes of one user between a few thumbnails against a repository that checks rating versions
+// like the database does. Every vote moves points from the loser to the winner, so the total never changes
+// and every rating gets a new version per vote, unless an update is lost.
+public class RatingBatchConcurrencyTest {
+    private static final int THREADS = 8;
+    private static final int VOTES_PER_THREAD = 250;
+    private static final int THUMBNAILS = 4;
+
+    RatingProperties properties = new RatingProperties(new BigDecimal(1400), 32, 100, 30, 64, 50L, 100, 2, 10000);
+
+    SimpleMeterRegistry meterRegistry;
+
+    RatingService ratingService;
+
+    RatingUpdateRetry retry;
+
+    // committed ratings by thumbnail id
+    final Map<Long, Rating> committed = new HashMap<>();
+
+    User user;
+
+    List<Thumbnail> thumbnails;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        RatingRepository repository = mock(RatingRepository.class);
+
+        when(repository.findByThumbnailAndUser(any(), any())).thenAnswer(invocation -> {
+            Thumbnail thumbnail = invocation.getArgument(0);
+
+            synchronized (committed) {
+                return Optional.ofNullable(committed.get(thumbnail.getId())).map(this::copy);
+            }
+        });
+
+        when(repository.saveAll(any())).thenAnswer(invocation -> {
+            Collection<Rating> ratings = invocation.getArgument(0);
+            save(ratings);
+
+            return new ArrayList<>(ratings);
+        });
+
+        ratingService = new RatingService(
+                properties,
+                repository,
+                null,
+                mock(OpponentIndex.class),
+                new EloRatingAlgorithm(new EloRatingEngine(properties)),
+                mock(ThumbnailCatalogue.class),
+                mock(RatedThumbnailIndex.class),
+                mock(RatingAggregates.class),
+                mock(BradleyTerryRanking.class),
+                new RatingLocks(properties, meterRegistry),
+                mock(VoteEventRepository.class),
+                Clock.systemUTC()
+        );
+        retry = new RatingUpdateRetry(properties, meterRegistry);
+
+        user = User.builder()
+                .id(1L)
+                .build();
+
+        thumbnails = new ArrayList<>();
+        for (long id = 1; id <= THUMBNAILS; id++) {
+            thumbnails.add(Thumbnail.builder()
+                    .id(id)
+                    .build());
+        }
+    }
+
+    @Test
+    void GivenConcurrentVotesOfOneUser_WhenUpdateRatings_ThenNoPointsAndNoUpdatesAreLost() throws Exception {
+        // Given
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> results = new ArrayList<>();
+
+        // When
+        for (int i = 0; i < THREADS; i++) {
+            results.add(executor.submit(() -> {
+                for (int vote = 0; vote < VOTES_PER_THREAD; vote++) {
+                    int winner = ThreadLocalRandom.current().nextInt(THUMBNAILS);
+                    int loser = (winner + 1 + ThreadLocalRandom.current().nextInt(THUMBNAILS - 1)) % THUMBNAILS;
+
+                    retry.run(() -> inTransaction(() -> {
+                        RatingBatch batch = ratingService.startBatch(user);
+                        batch.recordWin(thumbnails.get(winner), thumbnails.get(loser));
+                        batch.save();
+                    }));
+                }
+            }));
+        }
+
+        for (Future<?> result : results) {
+            result.get(60, TimeUnit.SECONDS);
+        }
+
+        executor.shutdown();
+
+        // Then
+        BigDecimal totalPoints = committed.values().stream()
+                .map(Rating::getPoints)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+
+        long totalVersions = committed.values().stream()
+                .mapToLong(Rating::getVersion)
+                .sum();
+
+        assertThat(committed).hasSize(THUMBNAILS);
+        assertThat(totalPoints).isEqualByComparingTo(new BigDecimal(1400 * THUMBNAILS));
+
+        // the first vote of a thumbnail inserts its rating with version 0
+        assertThat(totalVersions).isEqualTo(2L * THREADS * VOTES_PER_THREAD - THUMBNAILS);
+
+        assertThat(meterRegistry.counter("rating.update.retries", "cause", "version").count()).isZero();
+    }
+
+    private void save(Collection<Rating> ratings) {
+        synchronized (committed) {
+            for (Rating rating : ratings) {
+                Rating current = committed.get(rating.getThumbnail().getId());
+                Long currentVersion = current == null ? null : current.getVersion();
+
+                if (!Objects.equals(currentVersion, rating.getVersion())) {
+                    throw new ObjectOptimisticLockingFailureException(Rating.class, rating.getId());
+                }
+            }
+
+            for (Rating rating : ratings) {
+                committed.put(rating.getThumbnail().getId(), Rating.builder()
+                        .id(rating.getThumbnail().getId())
+                        .user(rating.getUser())
+                        .thumbnail(rating.getThumbnail())
+                        .points(rating.getPoints())
+                        .version(rating.getVersion() == null ? 0 : rating.getVersion() + 1)
+                        .build());
+            }
+        }
+    }
+
+    private Rating copy(Rating rating) {
+        return Rating.builder()
+                .id(rating.getId())
+                .user(rating.getUser())
+                .thumbnail(rating.getThumbnail())
+                .points(rating.getPoints())
+                .version(rating.getVersion())
+                .build();
+    }
+
+    // runs the synchronizations registered by the batch like a committed or rolled back transaction
+    private static Void inTransaction(Runnable action) {
+        TransactionSynchronizationManager.initSynchronization();
+
+        try {
+            action.run();
+
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            synchronizations.forEach(TransactionSynchronization::afterCommit);
+            synchronizations.forEach(synchronization ->
+                    synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } catch (RuntimeException e) {
+            TransactionSynchronizationManager.getSynchronizations().forEach(synchronization ->
+                    synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+            throw e;
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        return null;
+    }
+}
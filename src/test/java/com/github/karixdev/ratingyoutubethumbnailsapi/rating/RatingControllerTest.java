@@ -1,22 +1,35 @@
 package com.github.karixdev.ratingyoutubethumbnailsapi.rating;
 
+import com.github.karixdev.ratingyoutubethumbnailsapi.rating.exception.InvalidRatingHistoryResolutionException;
+import com.github.karixdev.ratingyoutubethumbnailsapi.rating.payload.request.RatingRecomputeRequest;
+import com.github.karixdev.ratingyoutubethumbnailsapi.rating.payload.response.RatingBatchResponse;
+import com.github.karixdev.ratingyoutubethumbnailsapi.rating.payload.response.RatingHistoryResponse;
+import com.github.karixdev.ratingyoutubethumbnailsapi.rating.payload.response.RatingRecomputeResponse;
 import com.github.karixdev.ratingyoutubethumbnailsapi.rating.payload.response.RatingResponse;
 import com.github.karixdev.ratingyoutubethumbnailsapi.shared.exception.ResourceNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
+import static org.hamcrest.Matchers.startsWith;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.doThrow;
-import static org.mockito.Mockito.when;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(
         controllers = RatingController.class,
@@ -29,11 +42,25 @@ public class RatingControllerTest {
     @MockBean
     RatingService ratingService;
 
+    @MockBean
+    RatingProperties ratingProperties;
+
+    @MockBean
+    RatingRecomputeService recomputeService;
+
+    @MockBean
+    RatingHistoryService historyService;
+
+    @BeforeEach
+    void setUp() {
+        when(ratingProperties.getCacheMaxAgeSeconds()).thenReturn(30);
+    }
+
     @Test
     void GivenNotExistingYoutubeVideoId_WhenGetThumbnailAveragePoints_ThenRespondsWithNotFoundStatus() throws Exception {
         doThrow(ResourceNotFoundException.class)
                 .when(ratingService)
-                .getThumbnailAveragePoints(any(), any());
+                .getThumbnailRatingVersion(any(), any());
 
         mockMvc.perform(get("/api/v1/rating/i-do-not-exist"))
                 .andExpect(status().isNotFound());
@@ -41,6 +68,9 @@ public class RatingControllerTest {
 
     @Test
     void GivenYoutubeVideoIdAndUserPrincipal_WhenGetThumbnailAveragePoints_ThenRespondsWithNotFoundStatus() throws Exception {
+        when(ratingService.getThumbnailRatingVersion(any(), any()))
+                .thenReturn(new RatingVersion(1L, "epoch-1"));
+
         when(ratingService.getThumbnailAveragePoints(any(), any()))
                 .thenReturn(new RatingResponse(
                         new BigDecimal("1400.0"),
@@ -57,6 +87,9 @@ public class RatingControllerTest {
 
     @Test
     void GivenYoutubeVideoIdAndNullUserPrincipal_WhenGetThumbnailAveragePoints_ThenRespondsWithNotFoundStatus() throws Exception {
+        when(ratingService.getThumbnailRatingVersion(any(), any()))
+                .thenReturn(new RatingVersion(1L, "epoch-1"));
+
         when(ratingService.getThumbnailAveragePoints(any(), any()))
                 .thenReturn(new RatingResponse(
                         new BigDecimal("1400.0"),
@@ -70,4 +103,179 @@ public class RatingControllerTest {
                         jsonPath("$.user_rating_points").isEmpty()
                 );
     }
+
+    @Test
+    void GivenYoutubeVideoId_WhenGetThumbnailAveragePoints_ThenRespondsWithETagAndCacheControl() throws Exception {
+        when(ratingService.getThumbnailRatingVersion(any(), any()))
+                .thenReturn(new RatingVersion(1L, "epoch-1"));
+
+        when(ratingService.getThumbnailAveragePoints(any(), any()))
+                .thenReturn(new RatingResponse(new BigDecimal("1400.0"), null));
+
+        mockMvc.perform(get("/api/v1/rating/youtube-id"))
+                .andExpect(status().isOk())
+                .andExpectAll(
+                        header().string("ETag", "\"epoch-1\""),
+                        header().string("Cache-Control", startsWith("max-age=30")),
+                        header().string("Vary", "Authorization")
+                );
+    }
+
+    @Test
+    void GivenMatchingIfNoneMatch_WhenGetThumbnailAveragePoints_ThenRespondsWithNotModifiedWithoutReadingRating() throws Exception {
+        when(ratingService.getThumbnailRatingVersion(any(), any()))
+                .thenReturn(new RatingVersion(1L, "epoch-1"));
+
+        mockMvc.perform(get("/api/v1/rating/youtube-id")
+                        .header("If-None-Match", "\"epoch-1\""))
+                .andExpect(status().isNotModified())
+                .andExpectAll(
+                        header().string("ETag", "\"epoch-1\""),
+                        header().string("Cache-Control", startsWith("max-age=30")),
+                        content().string("")
+                );
+
+        verify(ratingService, never()).getThumbnailAveragePoints(any(), any());
+    }
+
+    @Test
+    void GivenOutdatedIfNoneMatch_WhenGetThumbnailAveragePoints_ThenRespondsWithOkStatus() throws Exception {
+        when(ratingService.getThumbnailRatingVersion(any(), any()))
+                .thenReturn(new RatingVersion(1L, "epoch-2"));
+
+        when(ratingService.getThumbnailAveragePoints(any(), any()))
+                .thenReturn(new RatingResponse(new BigDecimal("1410.0"), null));
+
+        mockMvc.perform(get("/api/v1/rating/youtube-id")
+                        .header("If-None-Match", "\"epoch-1\""))
+                .andExpect(status().isOk())
+                .andExpectAll(
+                        header().string("ETag", "\"epoch-2\""),
+                        jsonPath("$.global_rating_points").value(new BigDecimal("1410.0"))
+                );
+    }
+
+    @Test
+    void GivenYoutubeVideoIds_WhenGetThumbnailsAveragePoints_ThenRespondsWithRatingsAndNotFoundIds() throws Exception {
+        when(ratingService.getThumbnailsAveragePoints(eq(List.of("youtube-id", "missing")), any()))
+                .thenReturn(new RatingBatchResponse(
+                        Map.of("youtube-id", new RatingResponse(new BigDecimal("1400.0"), null)),
+                        List.of("missing")
+                ));
+
+        mockMvc.perform(post("/api/v1/rating/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                    "youtube_video_ids": ["youtube-id", "missing"]
+                                }
+                                """))
+                .andExpect(status().isOk())
+                .andExpectAll(
+                        jsonPath("$.ratings.youtube-id.global_rating_points").value(new BigDecimal("1400.0")),
+                        jsonPath("$.not_found[0]").value("missing")
+                );
+    }
+
+    @Test
+    void GivenTooManyYoutubeVideoIds_WhenGetThumbnailsAveragePoints_ThenRespondsWithBadRequestStatus() throws Exception {
+        String ids = IntStream.rangeClosed(1, 501)
+                .mapToObj(i -> "\"youtube-id-" + i + "\"")
+                .collect(Collectors.joining(","));
+
+        mockMvc.perform(post("/api/v1/rating/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"youtube_video_ids\": [" + ids + "]}"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(ratingService);
+    }
+
+    @Test
+    void GivenKParameter_WhenRecompute_ThenRespondsWithReport() throws Exception {
+        when(recomputeService.recompute(eq(new RatingRecomputeRequest(null, 24, false))))
+                .thenReturn(RatingRecomputeResponse.builder()
+                        .kParameter(24)
+                        .users(2)
+                        .votes(10)
+                        .changed(3)
+                        .build());
+
+        mockMvc.perform(post("/api/v1/rating/recompute")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                    "k_parameter": 24
+                                }
+                                """))
+                .andExpect(status().isOk())
+                .andExpectAll(
+                        jsonPath("$.k_parameter").value(24),
+                        jsonPath("$.users").value(2),
+                        jsonPath("$.votes").value(10),
+                        jsonPath("$.changed").value(3)
+                );
+    }
+
+    @Test
+    void GivenNotPositiveKParameter_WhenRecompute_ThenRespondsWithBadRequestStatus() throws Exception {
+        mockMvc.perform(post("/api/v1/rating/recompute")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                    "k_parameter": 0
+                                }
+                                """))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(recomputeService);
+    }
+
+    @Test
+    void GivenResolutionAndCursor_WhenGetHistory_ThenRespondsWithBuckets() throws Exception {
+        when(historyService.getHistory(
+                eq("youtube-id"), eq("minute"), eq(LocalDateTime.of(2023, 9, 1, 12, 30)), eq(100)))
+                .thenReturn(List.of(RatingHistoryResponse.builder()
+                        .bucketStart(LocalDateTime.of(2023, 9, 1, 12, 29))
+                        .points(new BigDecimal("1450.00"))
+                        .minPoints(new BigDecimal("1400.00"))
+                        .maxPoints(new BigDecimal("1500.00"))
+                        .averagePoints(new BigDecimal("1450.00"))
+                        .samples(2L)
+                        .build()));
+
+        mockMvc.perform(get("/api/v1/rating/youtube-id/history")
+                        .param("resolution", "minute")
+                        .param("before", "2023-09-01T12:30:00"))
+                .andExpect(status().isOk())
+                .andExpectAll(
+                        jsonPath("$[0].bucket_start").value("2023-09-01T12:29:00"),
+                        jsonPath("$[0].points").value(1450.00),
+                        jsonPath("$[0].min_points").value(1400.00),
+                        jsonPath("$[0].max_points").value(1500.00),
+                        jsonPath("$[0].average_points").value(1450.00),
+                        jsonPath("$[0].samples").value(2)
+                );
+    }
+
+    @Test
+    void GivenNoResolution_WhenGetHistory_ThenUsesHours() throws Exception {
+        when(historyService.getHistory(eq("youtube-id"), eq("hour"), isNull(), eq(100)))
+                .thenReturn(List.of());
+
+        mockMvc.perform(get("/api/v1/rating/youtube-id/history"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isEmpty());
+    }
+
+    @Test
+    void GivenInvalidResolution_WhenGetHistory_ThenRespondsWithBadRequestStatus() throws Exception {
+        doThrow(InvalidRatingHistoryResolutionException.class)
+                .when(historyService)
+                .getHistory(any(), any(), any(), anyInt());
+
+        mockMvc.perform(get("/api/v1/rating/youtube-id/history")
+                        .param("resolution", "week"))
+                .andExpect(status().isBadRequest());
+    }
 }
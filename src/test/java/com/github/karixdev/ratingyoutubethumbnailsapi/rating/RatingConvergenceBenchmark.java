@@ -0,0 +1,237 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.rating;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+// Not a JMH benchmark, it counts rounds instead of measuring time.
+// One user rates thumbnails with hidden Bradley-Terry strengths: a thumbnail beats another with probability
+// 1 / (1 + e^(s2 - s1)). As in a game the winner stays and meets a random opponent. For every algorithm
+// it reports how many rounds it takes until the Spearman correlation between the points and the strengths
+// reaches a target and stays there until the end of the run.
+public class RatingConvergenceBenchmark {
+    private static final int THUMBNAILS = 50;
+    private static final int ROUNDS = 3000;
+    private static final int RUNS = 50;
+    private static final double[] TARGETS = {0.8, 0.9};
+    private static final double BASE_POINTS = 1400;
+
+    public static void main(String[] args) {
+        List<Algorithm> algorithms = List.of(
+                elo(16), elo(32), elo(64),
+                glicko2(5), glicko2(20), glicko2(50)
+        );
+
+        System.out.printf("%d thumbnails, %d rounds, %d runs, median (p90) rounds until correlation stays above%n",
+                THUMBNAILS, ROUNDS, RUNS);
+        System.out.printf("%-22s%s%n", "", Arrays.toString(TARGETS));
+
+        for (Algorithm algorithm : algorithms) {
+            int[][] rounds = new int[TARGETS.length][RUNS];
+
+            for (int run = 0; run < RUNS; run++) {
+                double[] correlations = simulate(algorithm, new Random(run));
+
+                for (int t = 0; t < TARGETS.length; t++) {
+                    rounds[t][run] = roundsUntilStable(correlations, TARGETS[t]);
+                }
+            }
+
+            StringBuilder line = new StringBuilder(String.format("%-22s", algorithm.name()));
+
+            for (int[] targetRounds : rounds) {
+                Arrays.sort(targetRounds);
+                line.append(String.format("%6s (%s)",
+                        format(targetRounds[RUNS / 2]), format(targetRounds[RUNS * 9 / 10])));
+            }
+
+            System.out.println(line);
+        }
+    }
+
+    private static double[] simulate(Algorithm algorithm, Random random) {
+        double[] strengths = new double[THUMBNAILS];
+
+        for (int i = 0; i < THUMBNAILS; i++) {
+            strengths[i] = random.nextGaussian();
+        }
+
+        Ratings ratings = algorithm.start();
+        double[] correlations = new double[ROUNDS];
+        int current = random.nextInt(THUMBNAILS);
+
+        for (int round = 0; round < ROUNDS; round++) {
+            int opponent = (current + 1 + random.nextInt(THUMBNAILS - 1)) % THUMBNAILS;
+            double probability = 1.0 / (1.0 + Math.exp(strengths[opponent] - strengths[current]));
+
+            int winner = random.nextDouble() < probability ? current : opponent;
+            int loser = winner == current ? opponent : current;
+
+            ratings.recordWin(winner, loser);
+            correlations[round] = spearman(ratings.points(), strengths);
+            current = winner;
+        }
+
+        return correlations;
+    }
+
+    // ROUNDS + 1 if the target was not reached
+    private static int roundsUntilStable(double[] correlations, double target) {
+        int round = correlations.length;
+
+        while (round > 0 && correlations[round - 1] >= target) {
+            round--;
+        }
+
+        return round == correlations.length ? ROUNDS + 1 : round + 1;
+    }
+
+    private static String format(int rounds) {
+        return rounds > ROUNDS ? "-" : Integer.toString(rounds);
+    }
+
+    static double spearman(double[] first, double[] second) {
+        double[] firstRanks = ranks(first);
+        double[] secondRanks = ranks(second);
+
+        double mean = (first.length - 1) / 2.0;
+        double covariance = 0;
+        double firstVariance = 0;
+        double secondVariance = 0;
+
+        for (int i = 0; i < first.length; i++) {
+            covariance += (firstRanks[i] - mean) * (secondRanks[i] - mean);
+            firstVariance += (firstRanks[i] - mean) * (firstRanks[i] - mean);
+            secondVariance += (secondRanks[i] - mean) * (secondRanks[i] - mean);
+        }
+
+        return covariance / Math.sqrt(firstVariance * secondVariance);
+    }
+
+    // ties get the average of their ranks
+    private static double[] ranks(double[] values) {
+        Integer[] order = new Integer[values.length];
+
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+
+        Arrays.sort(order, (a, b) -> Double.compare(values[a], values[b]));
+
+        double[] ranks = new double[values.length];
+
+        for (int from = 0; from < order.length; ) {
+            int to = from;
+
+            while (to + 1 < order.length && values[order[to + 1]] == values[order[from]]) {
+                to++;
+            }
+
+            for (int i = from; i <= to; i++) {
+                ranks[order[i]] = (from + to) / 2.0;
+            }
+
+            from = to + 1;
+        }
+
+        return ranks;
+    }
+
+    private static Algorithm elo(int kParameter) {
+        EloRatingEngine engine = new EloRatingEngine(kParameter);
+
+        return new Algorithm("elo k=" + kParameter, () -> {
+            double[] points = new double[THUMBNAILS];
+            Arrays.fill(points, BASE_POINTS);
+
+            return new Ratings() {
+                @Override
+                public void recordWin(int winner, int loser) {
+                    engine.updateAll(points, new int[]{winner}, new int[]{loser}, 1);
+                }
+
+                @Override
+                public double[] points() {
+                    return points;
+                }
+            };
+        });
+    }
+
+    // the period is closed after the given number of votes, as Glicko2PeriodWriter does it
+    private static Algorithm glicko2(int periodVotes) {
+        Glicko2RatingEngine engine = new Glicko2RatingEngine(BASE_POINTS, 0.5);
+
+        return new Algorithm("glicko2 period=" + periodVotes, () -> {
+            Glicko2Rating[] ratings = new Glicko2Rating[THUMBNAILS];
+            long[] periods = new long[THUMBNAILS];
+            double[] points = new double[THUMBNAILS];
+
+            Arrays.fill(ratings, new Glicko2Rating(
+                    BASE_POINTS, Glicko2RatingEngine.INITIAL_DEVIATION, Glicko2RatingEngine.INITIAL_VOLATILITY));
+            Arrays.fill(points, BASE_POINTS);
+
+            List<int[]> votes = new ArrayList<>();
+            long[] period = {1};
+
+            return new Ratings() {
+                @Override
+                public void recordWin(int winner, int loser) {
+                    votes.add(new int[]{winner, loser});
+
+                    if (votes.size() == periodVotes) {
+                        close();
+                    }
+                }
+
+                @Override
+                public double[] points() {
+                    return points;
+                }
+
+                private void close() {
+                    Glicko2Rating[] before = new Glicko2Rating[THUMBNAILS];
+                    List<List<Glicko2Result>> results = new ArrayList<>();
+
+                    for (int i = 0; i < THUMBNAILS; i++) {
+                        before[i] = engine.inflate(ratings[i], period[0] - periods[i] - 1);
+                        results.add(new ArrayList<>());
+                    }
+
+                    for (int[] vote : votes) {
+                        results.get(vote[0]).add(new Glicko2Result(before[vote[1]], 1));
+                        results.get(vote[1]).add(new Glicko2Result(before[vote[0]], 0));
+                    }
+
+                    for (int i = 0; i < THUMBNAILS; i++) {
+                        if (!results.get(i).isEmpty()) {
+                            ratings[i] = engine.update(before[i], results.get(i));
+                            periods[i] = period[0];
+                            points[i] = ratings[i].points();
+                        }
+                    }
+
+                    votes.clear();
+                    period[0]++;
+                }
+            };
+        });
+    }
+
+    private interface Ratings {
+        void recordWin(int winner, int loser);
+
+        double[] points();
+    }
+
+    private interface RatingsFactory {
+        Ratings start();
+    }
+
+    private record Algorithm(String name, RatingsFactory factory) {
+        Ratings start() {
+            return factory.start();
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.rating;
+
+import com.github.karixdev.ratingyoutubethumbnailsapi.rating.exception.InvalidRatingHistoryResolutionException;
+import com.github.karixdev.ratingyoutubethumbnailsapi.rating.payload.response.RatingHistoryResponse;
+import com.github.karixdev.ratingyoutubethumbnailsapi.shared.exception.ResourceNotFoundException;
+import com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail.ThumbnailService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class RatingHistoryServiceTest {
+    @InjectMocks
+    RatingHistoryService underTest;
+
+    @Mock
+    RatingHistoryRollupRepository repository;
+
+    @Mock
+    ThumbnailService thumbnailService;
+
+    static final LocalDateTime DAY = LocalDateTime.of(2023, 9, 1, 0, 0);
+
+    @Test
+    void GivenUnknownResolution_WhenGetHistory_ThenThrowsInvalidRatingHistoryResolutionException() {
+        // When & Then
+        assertThatThrownBy(() -> underTest.getHistory("youtube-id", "week", null, 10))
+                .isInstanceOf(InvalidRatingHistoryResolutionException.class);
+        verifyNoInteractions(thumbnailService, repository);
+    }
+
+    @Test
+    void GivenNotExistingThumbnail_WhenGetHistory_ThenThrowsResourceNotFoundException() {
+        // Given
+        when(thumbnailService.getThumbnailIdByYoutubeVideoId(eq("youtube-id")))
+                .thenThrow(new ResourceNotFoundException("Thumbnail with provided youtube id not found"));
+
+        // When & Then
+        assertThatThrownBy(() -> underTest.getHistory("youtube-id", "day", null, 10))
+                .isInstanceOf(ResourceNotFoundException.class);
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void GivenRollups_WhenGetHistory_ThenReturnsLatestBucketsWithAveragePoints() {
+        // Given
+        when(thumbnailService.getThumbnailIdByYoutubeVideoId(eq("youtube-id")))
+                .thenReturn(1L);
+
+        when(repository.findLatest(eq(1L), eq(RatingHistoryResolution.DAY), eq(PageRequest.ofSize(10))))
+                .thenReturn(List.of(rollup(DAY.plusDays(1), "1500.00", "1400.00", "4000.00", 3)));
+
+        // When
+        List<RatingHistoryResponse> result = underTest.getHistory("youtube-id", "Day", null, 10);
+
+        // Then
+        assertThat(result).containsExactly(RatingHistoryResponse.builder()
+                .bucketStart(DAY.plusDays(1))
+                .points(new BigDecimal("1500.00"))
+                .minPoints(new BigDecimal("1400.00"))
+                .maxPoints(new BigDecimal("1500.00"))
+                .averagePoints(new BigDecimal("1333.33"))
+                .samples(3L)
+                .build());
+    }
+
+    @Test
+    void GivenCursorAndTooLargeSize_WhenGetHistory_ThenReturnsBucketsBeforeCursorWithCappedSize() {
+        // Given
+        when(thumbnailService.getThumbnailIdByYoutubeVideoId(eq("youtube-id")))
+                .thenReturn(1L);
+
+        when(repository.findBefore(
+                eq(1L), eq(RatingHistoryResolution.HOUR), eq(DAY), eq(PageRequest.ofSize(1000))))
+                .thenReturn(List.of());
+
+        // When
+        List<RatingHistoryResponse> result = underTest.getHistory("youtube-id", "hour", DAY, 5000);
+
+        // Then
+        assertThat(result).isEmpty();
+    }
+
+    private static RatingHistoryRollup rollup(
+            LocalDateTime bucketStart,
+            String maxPoints,
+            String minPoints,
+            String pointsSum,
+            long sampleCount
+    ) {
+        return RatingHistoryRollup.builder()
+                .id(new RatingHistoryRollupId(1L, RatingHistoryResolution.DAY, bucketStart))
+                .minPoints(new BigDecimal(minPoints))
+                .maxPoints(new BigDecimal(maxPoints))
+                .pointsSum(new BigDecimal(pointsSum))
+                .sampleCount(sampleCount)
+                .lastPoints(new BigDecimal(maxPoints))
+                .lastRecordedAt(bucketStart.plusHours(23))
+                .build();
+    }
+}
@@ -0,0 +1,141 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.rating;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class RatingHistoryTest {
+    RatingHistory underTest;
+
+    @Mock
+    RatingHistoryWriter writer;
+
+    @Mock
+    RatingHistoryProperties properties;
+
+    @Captor
+    ArgumentCaptor<List<RatingHistory.Sample>> samplesCaptor;
+
+    SimpleMeterRegistry meterRegistry;
+
+    static final LocalDateTime NOW = LocalDateTime.of(2023, 9, 1, 12, 30);
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        when(properties.getQueueCapacity()).thenReturn(3);
+
+        underTest = new RatingHistory(
+                writer,
+                properties,
+                Clock.fixed(NOW.toInstant(ZoneOffset.UTC), ZoneOffset.UTC),
+                meterRegistry
+        );
+    }
+
+    @Test
+    void GivenRecordedSamples_WhenFlush_ThenWritesThemInBatchesOnce() {
+        // Given
+        when(properties.getFlushBatchSize()).thenReturn(2);
+
+        underTest.record(1L, new BigDecimal("1400.00"));
+        underTest.record(2L, new BigDecimal("1500.00"));
+        underTest.record(1L, new BigDecimal("1450.00"));
+
+        // When
+        underTest.flush();
+        underTest.flush();
+
+        // Then
+        verify(writer, times(2)).write(samplesCaptor.capture());
+        assertThat(samplesCaptor.getAllValues()).containsExactly(
+                List.of(
+                        new RatingHistory.Sample(1L, new BigDecimal("1400.00"), NOW),
+                        new RatingHistory.Sample(2L, new BigDecimal("1500.00"), NOW)
+                ),
+                List.of(new RatingHistory.Sample(1L, new BigDecimal("1450.00"), NOW))
+        );
+    }
+
+    @Test
+    void GivenFullQueue_WhenRecord_ThenDropsSampleAndCountsIt() {
+        // Given
+        when(properties.getFlushBatchSize()).thenReturn(10);
+
+        underTest.record(1L, new BigDecimal("1400.00"));
+        underTest.record(2L, new BigDecimal("1400.00"));
+        underTest.record(3L, new BigDecimal("1400.00"));
+
+        // When
+        underTest.record(4L, new BigDecimal("1400.00"));
+
+        // Then
+        assertThat(meterRegistry.counter("rating.history.dropped").count()).isEqualTo(1);
+
+        underTest.flush();
+
+        verify(writer).write(samplesCaptor.capture());
+        assertThat(samplesCaptor.getValue())
+                .extracting(RatingHistory.Sample::thumbnailId)
+                .containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    void GivenFailingWrite_WhenFlush_ThenKeepsSamplesForNextFlush() {
+        // Given
+        when(properties.getFlushBatchSize()).thenReturn(10);
+        doThrow(new IllegalStateException("database is down"))
+                .doNothing()
+                .when(writer).write(any());
+
+        underTest.record(1L, new BigDecimal("1400.00"));
+
+        // When
+        underTest.flush();
+        underTest.flush();
+
+        // Then
+        verify(writer, times(2)).write(samplesCaptor.capture());
+        assertThat(samplesCaptor.getAllValues().get(1))
+                .containsExactly(new RatingHistory.Sample(1L, new BigDecimal("1400.00"), NOW));
+        assertThat(meterRegistry.counter("rating.history.dropped").count()).isZero();
+    }
+
+    @Test
+    void GivenEmptyQueue_WhenFlush_ThenWritesNothing() {
+        // When
+        underTest.flush();
+
+        // Then
+        verifyNoInteractions(writer);
+    }
+
+    @Test
+    void GivenRetention_WhenEvict_ThenEvictsSamplesAndMinutesOlderThanIt() {
+        // Given
+        when(properties.getRawRetentionHours()).thenReturn(48);
+        when(properties.getMinuteRetentionDays()).thenReturn(7);
+
+        // When
+        underTest.evict();
+
+        // Then
+        verify(writer).evict(NOW.minusHours(48), NOW.minusDays(7));
+    }
+}
@@ -0,0 +1,147 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.rating;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class RatingHistoryWriterTest {
+    RatingHistoryWriter underTest;
+
+    @Mock
+    RatingHistorySampleRepository sampleRepository;
+
+    @Mock
+    RatingHistoryRollupRepository rollupRepository;
+
+    @Captor
+    ArgumentCaptor<List<RatingHistorySample>> samplesCaptor;
+
+    @Captor
+    ArgumentCaptor<RatingHistoryRollup> rollupCaptor;
+
+    static final LocalDateTime HOUR = LocalDateTime.of(2023, 9, 1, 12, 0);
+
+    @BeforeEach
+    void setUp() {
+        underTest = new RatingHistoryWriter(sampleRepository, rollupRepository);
+    }
+
+    @Test
+    void GivenSamplesOfOneMinute_WhenRollUp_ThenReturnsOneRollupForEachResolution() {
+        // Given
+        List<RatingHistory.Sample> samples = List.of(
+                sample(1L, "1500.00", HOUR.plusSeconds(10)),
+                sample(1L, "1400.00", HOUR.plusSeconds(30)),
+                sample(1L, "1450.00", HOUR.plusSeconds(20))
+        );
+
+        // When
+        Collection<RatingHistoryRollup> result = RatingHistoryWriter.rollUp(samples);
+
+        // Then
+        assertThat(result)
+                .extracting(rollup -> rollup.getId().getResolution())
+                .containsExactly(RatingHistoryResolution.values());
+        assertThat(result).allSatisfy(rollup -> {
+            assertThat(rollup.getMinPoints()).isEqualTo(new BigDecimal("1400.00"));
+            assertThat(rollup.getMaxPoints()).isEqualTo(new BigDecimal("1500.00"));
+            assertThat(rollup.getPointsSum()).isEqualTo(new BigDecimal("4350.00"));
+            assertThat(rollup.getSampleCount()).isEqualTo(3);
+            assertThat(rollup.getLastPoints()).isEqualTo(new BigDecimal("1400.00"));
+            assertThat(rollup.getLastRecordedAt()).isEqualTo(HOUR.plusSeconds(30));
+        });
+    }
+
+    @Test
+    void GivenSamplesOfDifferentMinutesAndThumbnails_WhenRollUp_ThenSplitsThemIntoBuckets() {
+        // Given
+        List<RatingHistory.Sample> samples = List.of(
+                sample(1L, "1500.00", HOUR.plusMinutes(1)),
+                sample(1L, "1400.00", HOUR.plusMinutes(2)),
+                sample(2L, "1450.00", HOUR.plusMinutes(2))
+        );
+
+        // When
+        Collection<RatingHistoryRollup> result = RatingHistoryWriter.rollUp(samples);
+
+        // Then
+        assertThat(result)
+                .extracting(RatingHistoryRollup::getId)
+                .containsExactlyInAnyOrder(
+                        new RatingHistoryRollupId(1L, RatingHistoryResolution.MINUTE, HOUR.plusMinutes(1)),
+                        new RatingHistoryRollupId(1L, RatingHistoryResolution.MINUTE, HOUR.plusMinutes(2)),
+                        new RatingHistoryRollupId(1L, RatingHistoryResolution.HOUR, HOUR),
+                        new RatingHistoryRollupId(1L, RatingHistoryResolution.DAY, HOUR.minusHours(12)),
+                        new RatingHistoryRollupId(2L, RatingHistoryResolution.MINUTE, HOUR.plusMinutes(2)),
+                        new RatingHistoryRollupId(2L, RatingHistoryResolution.HOUR, HOUR),
+                        new RatingHistoryRollupId(2L, RatingHistoryResolution.DAY, HOUR.minusHours(12))
+                );
+    }
+
+    @Test
+    void GivenPersistedMinuteAndHourBuckets_WhenWrite_ThenAddsToThemAndInsertsDayBucket() {
+        // Given
+        when(rollupRepository.addSamples(any(), any(), any(), any(), any(), any(), any(), any(), any()))
+                .thenReturn(1);
+        when(rollupRepository.addSamples(
+                eq(1L), eq(RatingHistoryResolution.DAY), any(), any(), any(), any(), any(), any(), any()))
+                .thenReturn(0);
+
+        // When
+        underTest.write(List.of(sample(1L, "1500.00", HOUR.plusSeconds(10))));
+
+        // Then
+        verify(sampleRepository).saveAll(samplesCaptor.capture());
+        assertThat(samplesCaptor.getValue()).singleElement().satisfies(sample -> {
+            assertThat(sample.getThumbnailId()).isEqualTo(1L);
+            assertThat(sample.getPoints()).isEqualTo(new BigDecimal("1500.00"));
+            assertThat(sample.getRecordedAt()).isEqualTo(HOUR.plusSeconds(10));
+        });
+
+        verify(rollupRepository).addSamples(
+                1L,
+                RatingHistoryResolution.MINUTE,
+                HOUR,
+                new BigDecimal("1500.00"),
+                new BigDecimal("1500.00"),
+                new BigDecimal("1500.00"),
+                1L,
+                new BigDecimal("1500.00"),
+                HOUR.plusSeconds(10)
+        );
+
+        verify(rollupRepository).save(rollupCaptor.capture());
+        assertThat(rollupCaptor.getValue().getId())
+                .isEqualTo(new RatingHistoryRollupId(1L, RatingHistoryResolution.DAY, HOUR.minusHours(12)));
+    }
+
+    @Test
+    void GivenCutoffs_WhenEvict_ThenDeletesOldSamplesAndMinuteBuckets() {
+        // When
+        underTest.evict(HOUR.minusHours(48), HOUR.minusDays(7));
+
+        // Then
+        verify(sampleRepository).deleteRecordedBefore(HOUR.minusHours(48));
+        verify(rollupRepository).deleteBucketsBefore(RatingHistoryResolution.MINUTE, HOUR.minusDays(7));
+        verifyNoMoreInteractions(rollupRepository);
+    }
+
+    private static RatingHistory.Sample sample(Long thumbnailId, String points, LocalDateTime recordedAt) {
+        return new RatingHistory.Sample(thumbnailId, new BigDecimal(points), recordedAt);
+    }
+}
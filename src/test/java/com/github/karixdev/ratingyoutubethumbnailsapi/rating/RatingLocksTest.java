@@ -0,0 +1,74 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.rating;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.CannotAcquireLockException;
+
+import java.math.BigDecimal;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class RatingLocksTest {
+    RatingLocks underTest;
+
+    SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        underTest = new RatingLocks(
+                new RatingProperties(new BigDecimal(1400), 32, 100, 30, 64, 50L, 3, 2, 10000),
+                meterRegistry
+        );
+    }
+
+    @Test
+    void GivenKeyLockedByThisThread_WhenLock_ThenLocksAgainWithoutWaiting() {
+        // Given
+        Lock first = underTest.lock(1L, 2L);
+
+        // When
+        Lock second = underTest.lock(1L, 2L);
+
+        // Then
+        assertThat(second).isSameAs(first);
+        assertThat(meterRegistry.counter("rating.locks.contended").count()).isZero();
+
+        second.unlock();
+        first.unlock();
+    }
+
+    @Test
+    void GivenKeyLockedByOtherThread_WhenLock_ThenThrowsCannotAcquireLockExceptionAfterTimeout() throws Exception {
+        // Given
+        CompletableFuture<Void> release = new CompletableFuture<>();
+        CompletableFuture<Void> locked = new CompletableFuture<>();
+
+        CompletableFuture<Void> holder = CompletableFuture.runAsync(() -> {
+            Lock lock = underTest.lock(1L, 2L);
+            locked.complete(null);
+            release.join();
+            lock.unlock();
+        });
+
+        locked.get(1, TimeUnit.SECONDS);
+
+        // When & Then
+        assertThatThrownBy(() -> underTest.lock(1L, 2L))
+                .isInstanceOf(CannotAcquireLockException.class)
+                .hasMessage("Rating lock was not acquired within 50 ms");
+
+        assertThat(meterRegistry.counter("rating.locks.contended").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("rating.locks.timeouts").count()).isEqualTo(1);
+
+        release.complete(null);
+        holder.get(1, TimeUnit.SECONDS);
+
+        underTest.lock(1L, 2L).unlock();
+    }
+}
@@ -0,0 +1,128 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.rating;
+
+import com.github.karixdev.ratingyoutubethumbnailsapi.rating.payload.request.RatingRecomputeRequest;
+import com.github.karixdev.ratingyoutubethumbnailsapi.rating.payload.response.RatingRecomputeResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class RatingRecomputeServiceTest {
+    RatingRecomputeService underTest;
+
+    @Mock
+    VoteEventRepository voteEventRepository;
+
+    @Mock
+    RatingRepository ratingRepository;
+
+    @Mock
+    RatingRecomputeWriter writer;
+
+    RatingProperties properties = new RatingProperties(new BigDecimal(1400), 32, 100, 30, 64, 500L, 3, 2, 10000);
+
+    @BeforeEach
+    void setUp() {
+        underTest = new RatingRecomputeService(
+                voteEventRepository,
+                ratingRepository,
+                properties,
+                writer,
+                new RatingUpdateRetry(properties, new SimpleMeterRegistry())
+        );
+
+        when(voteEventRepository.findMaxId()).thenReturn(Optional.of(10L));
+        when(voteEventRepository.findUserIds(eq(10L))).thenReturn(List.of(1L, 2L));
+
+        // user 1 played one vote, user 2 two votes between the same thumbnails
+        when(voteEventRepository.findByUserIdAndIdBetween(eq(1L), anyLong(), eq(10L), any()))
+                .thenReturn(List.of(new VoteEventRow(1, 1, 2)));
+        when(voteEventRepository.findByUserIdAndIdBetween(eq(2L), anyLong(), eq(10L), any()))
+                .thenReturn(List.of(new VoteEventRow(2, 1, 2), new VoteEventRow(3, 2, 1)));
+
+        when(ratingRepository.findThumbnailPointsByUserId(eq(1L))).thenReturn(List.of(
+                thumbnailPoints(1L, "1416.00"),
+                thumbnailPoints(2L, "1384.00")
+        ));
+        when(ratingRepository.findThumbnailPointsByUserId(eq(2L))).thenReturn(List.of(
+                thumbnailPoints(1L, "1398.53"),
+                thumbnailPoints(2L, "1401.47"),
+                thumbnailPoints(3L, "1400.00")
+        ));
+    }
+
+    @Test
+    void GivenCurrentKParameter_WhenRecompute_ThenReportsStoredRatingsAsUnchanged() {
+        // When
+        RatingRecomputeResponse result = underTest.recompute(new RatingRecomputeRequest(null, null, false));
+
+        // Then
+        assertThat(result.getBasePoints()).isEqualTo(new BigDecimal(1400));
+        assertThat(result.getKParameter()).isEqualTo(32);
+        assertThat(result.getUsers()).isEqualTo(2);
+        assertThat(result.getVotes()).isEqualTo(3);
+        assertThat(result.getRatings()).isEqualTo(4);
+        assertThat(result.getChanged()).isZero();
+        assertThat(result.getWithoutVotes()).isEqualTo(1);
+        assertThat(result.getMaxDifference()).isEqualByComparingTo(BigDecimal.ZERO);
+
+        verifyNoInteractions(writer);
+    }
+
+    @Test
+    void GivenOtherKParameter_WhenRecompute_ThenReportsChangedRatings() {
+        // When
+        RatingRecomputeResponse result = underTest.recompute(new RatingRecomputeRequest(null, 16, false));
+
+        // Then
+        assertThat(result.getChanged()).isEqualTo(4);
+        assertThat(result.getMaxDifference()).isEqualByComparingTo(new BigDecimal("8.00"));
+        assertThat(result.getApplied()).isZero();
+
+        verifyNoInteractions(writer);
+    }
+
+    @Test
+    void GivenApply_WhenRecompute_ThenAppliesReplayOfEveryUserWithChangedRatings() {
+        // Given
+        when(writer.apply(any(), any())).thenReturn(2);
+
+        // When
+        RatingRecomputeResponse result = underTest.recompute(new RatingRecomputeRequest(null, 16, true));
+
+        // Then
+        assertThat(result.getApplied()).isEqualTo(4);
+        assertThat(result.getFailed()).isZero();
+
+        verify(writer).apply(eq(1L), argThat(replay -> replay.getPoints(1L).orElseThrow()
+                .compareTo(new BigDecimal("1408.00")) == 0));
+        verify(writer).apply(eq(2L), any());
+    }
+
+    private static ThumbnailPoints thumbnailPoints(Long thumbnailId, String points) {
+        return new ThumbnailPoints() {
+            @Override
+            public Long getThumbnailId() {
+                return thumbnailId;
+            }
+
+            @Override
+            public BigDecimal getPoints() {
+                return new BigDecimal(points);
+            }
+        };
+    }
+}
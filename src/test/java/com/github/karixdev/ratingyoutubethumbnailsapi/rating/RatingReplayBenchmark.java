@@ -0,0 +1,59 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.rating;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RatingReplayBenchmark {
+    @Param({"100000"})
+    int votes;
+
+    @Param({"1000"})
+    int thumbnails;
+
+    VoteEventRow[] rows;
+
+    RatingReplay replay;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        rows = new VoteEventRow[votes];
+
+        for (int i = 0; i < votes; i++) {
+            int winner = random.nextInt(thumbnails);
+            int loser = (winner + 1 + random.nextInt(thumbnails - 1)) % thumbnails;
+
+            rows[i] = new VoteEventRow(i + 1, winner, loser);
+        }
+
+        replay = new RatingReplay(new EloRatingEngine(32), new BigDecimal(1400));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(100000)
+    public RatingReplay replay() {
+        for (VoteEventRow row : rows) {
+            replay.apply(row);
+        }
+
+        return replay;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RatingReplayBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,96 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.rating;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class RatingReplayTest {
+    EloRatingEngine engine = new EloRatingEngine(32);
+
+    @Mock
+    VoteEventRepository repository;
+
+    @Test
+    void GivenVotes_WhenApply_ThenGivesPointsOfRatingBatch() {
+        // Given
+        RatingReplay underTest = new RatingReplay(engine, new BigDecimal(1400));
+        Map<Long, BigDecimal> expected = new HashMap<>();
+
+        Random random = new Random(42);
+
+        // When
+        for (long id = 1; id <= 10_000; id++) {
+            long winner = random.nextInt(20);
+            long loser = (winner + 1 + random.nextInt(19)) % 20;
+
+            underTest.apply(new VoteEventRow(id, winner, loser));
+
+            // as in RatingBatch.recordWin
+            BigDecimal winnerPoints = expected.getOrDefault(winner, new BigDecimal(1400));
+            BigDecimal loserPoints = expected.getOrDefault(loser, new BigDecimal(1400));
+
+            BigDecimal exchanged = EloRatingEngine.toPoints(engine.pointsExchanged(
+                    EloRatingEngine.fromPoints(winnerPoints),
+                    EloRatingEngine.fromPoints(loserPoints)
+            ));
+
+            expected.put(winner, winnerPoints.add(exchanged));
+            expected.put(loser, loserPoints.subtract(exchanged));
+        }
+
+        // Then
+        assertThat(underTest.getVotes()).isEqualTo(10_000);
+        assertThat(underTest.size()).isEqualTo(20);
+
+        expected.forEach((thumbnailId, points) -> assertThat(underTest.getPoints(thumbnailId)).contains(points));
+    }
+
+    @Test
+    void GivenMoreVotesThanPageSize_WhenReplay_ThenReadsPagesAfterLastReplayedVote() {
+        // Given
+        RatingReplay underTest = new RatingReplay(engine, new BigDecimal(1400));
+
+        when(repository.findByUserIdAndIdBetween(eq(1L), eq(0L), eq(10L), eq(PageRequest.ofSize(2))))
+                .thenReturn(List.of(new VoteEventRow(3, 1, 2), new VoteEventRow(5, 1, 2)));
+        when(repository.findByUserIdAndIdBetween(eq(1L), eq(5L), eq(10L), eq(PageRequest.ofSize(2))))
+                .thenReturn(List.of(new VoteEventRow(8, 2, 1)));
+
+        // When
+        underTest.replay(repository, 1L, 10L, 2);
+
+        // Then
+        assertThat(underTest.getVotes()).isEqualTo(3);
+        assertThat(underTest.getPoints(1L)).contains(new BigDecimal("1411.75"));
+        assertThat(underTest.getPoints(2L)).contains(new BigDecimal("1388.25"));
+        assertThat(underTest.getPoints(3L)).isEmpty();
+    }
+
+    @Test
+    void GivenCopy_WhenApply_ThenOriginalIsNotChanged() {
+        // Given
+        RatingReplay underTest = new RatingReplay(engine, new BigDecimal(1400));
+        underTest.apply(new VoteEventRow(1, 1, 2));
+
+        // When
+        RatingReplay copy = underTest.copy();
+        copy.apply(new VoteEventRow(2, 1, 2));
+
+        // Then
+        assertThat(underTest.getPoints(1L)).contains(new BigDecimal("1416.00"));
+        assertThat(underTest.getVotes()).isEqualTo(1);
+        assertThat(copy.getVotes()).isEqualTo(2);
+    }
+}
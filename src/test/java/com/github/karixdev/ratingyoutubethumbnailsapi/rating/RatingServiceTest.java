@@ -1,27 +1,41 @@
 package com.github.karixdev.ratingyoutubethumbnailsapi.rating;
 
-import com.github.karixdev.ratingyoutubethumbnailsapi.game.Game;
+import com.github.karixdev.ratingyoutubethumbnailsapi.rating.payload.response.RatingBatchResponse;
 import com.github.karixdev.ratingyoutubethumbnailsapi.rating.payload.response.RatingResponse;
 import com.github.karixdev.ratingyoutubethumbnailsapi.security.UserPrincipal;
+import com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail.RatedThumbnailIndex;
 import com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail.Thumbnail;
+import com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail.ThumbnailCatalogue;
 import com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail.ThumbnailService;
 import com.github.karixdev.ratingyoutubethumbnailsapi.user.User;
 import com.github.karixdev.ratingyoutubethumbnailsapi.user.UserRole;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -39,6 +53,42 @@ public class RatingServiceTest {
     @Mock
     ThumbnailService thumbnailService;
 
+    @Mock
+    OpponentIndex opponentIndex;
+
+    @Mock
+    ThumbnailCatalogue catalogue;
+
+    @Mock
+    RatedThumbnailIndex ratedThumbnailIndex;
+
+    @Mock
+    RatingAggregates aggregates;
+
+    @Mock
+    BradleyTerryRanking ranking;
+
+    @Spy
+    RatingLocks locks = new RatingLocks(
+            new RatingProperties(new BigDecimal(1400), 32, 100, 30, 64, 500L, 3, 2, 10000),
+            new SimpleMeterRegistry());
+
+    @Mock
+    VoteEventRepository voteEventRepository;
+
+    @Spy
+    Clock clock = Clock.fixed(Instant.parse("2023-09-01T12:00:00Z"), ZoneOffset.UTC);
+
+    @Captor
+    ArgumentCaptor<Collection<Rating>> ratingsCaptor;
+
+    @Captor
+    ArgumentCaptor<Collection<VoteEvent>> voteEventsCaptor;
+
+    @Spy
+    RatingAlgorithm algorithm = new EloRatingAlgorithm(new EloRatingEngine(
+            new RatingProperties(new BigDecimal(1400), 32, 100, 30, 64, 500L, 3, 2, 10000)));
+
     Thumbnail thumbnail;
 
     User user;
@@ -97,102 +147,243 @@ public class RatingServiceTest {
         when(repository.findByThumbnailAndUser(eq(otherThumbnail), eq(user)))
                 .thenReturn(Optional.of(otherRating));
 
-        when(properties.getKParameter()).thenReturn(32);
-
         // When
         underTest.updateRatings(thumbnail, otherThumbnail, user);
 
         // Then
         assertThat(rating.getPoints())
-                .isGreaterThan(new BigDecimal(1400));
+                .isEqualByComparingTo(new BigDecimal("1411.52"));
         assertThat(otherRating.getPoints())
-                .isLessThan(new BigDecimal(1300));
+                .isEqualByComparingTo(new BigDecimal("1288.48"));
+
+        verify(repository).saveAll(ratingsCaptor.capture());
+        assertThat(ratingsCaptor.getValue()).containsExactly(rating, otherRating);
+
+        verify(opponentIndex).update(eq(user), eq(thumbnail.getId()), eq(rating.getPoints()));
+        verify(opponentIndex).update(eq(user), eq(otherThumbnail.getId()), eq(otherRating.getPoints()));
+        verify(catalogue, never()).addRatings(any(), anyInt());
+        verify(ratedThumbnailIndex).addRated(eq(user), eq(List.of()));
+
+        verify(aggregates).addAfterCommit(eq(thumbnail.getId()), argThat(delta -> delta.compareTo(new BigDecimal("11.52")) == 0), eq(0L));
+        verify(aggregates).addAfterCommit(eq(otherThumbnail.getId()), argThat(delta -> delta.compareTo(new BigDecimal("-11.52")) == 0), eq(0L));
 
-        verify(repository).save(eq((rating)));
-        verify(repository).save(eq(otherRating));
+        verify(voteEventRepository).saveAll(voteEventsCaptor.capture());
+        assertThat(voteEventsCaptor.getValue()).singleElement().satisfies(event -> {
+            assertThat(event.getWinnerId()).isEqualTo(thumbnail.getId());
+            assertThat(event.getLoserId()).isEqualTo(otherThumbnail.getId());
+            assertThat(event.getCreatedAt()).isEqualTo(LocalDateTime.of(2023, 9, 1, 12, 0));
+        });
     }
 
     @Test
-    void GivenYoutubeVideoIdAndNullUserPrincipal_WhenGetThumbnailAveragePoints_ThenReturnsCorrectRatingResponse() {
+    void GivenGameAndThumbnailAndUser_WhenPickOpponent_ThenReturnsClosestThumbnailNotExcluded() {
         // Given
-        UserPrincipal userPrincipal = null;
-
-        User otherUser = User.builder()
-                .email("email-2@email.com")
-                .password("password")
-                .username("username-2")
-                .userRole(UserRole.ROLE_USER)
-                .isEnabled(Boolean.TRUE)
-                .build();
-
         Thumbnail otherThumbnail = Thumbnail.builder()
                 .id(2L)
-                .addedBy(otherUser)
+                .addedBy(user)
                 .url("thumbnail-url-2")
                 .youtubeVideoId("youtube-id-2")
                 .build();
 
-        Rating otherRating = Rating.builder()
-                .id(110L)
-                .user(otherUser)
-                .points(new BigDecimal(1337))
+        Thumbnail opponent = Thumbnail.builder()
+                .id(3L)
+                .addedBy(user)
+                .url("thumbnail-url-3")
+                .youtubeVideoId("youtube-id-3")
                 .build();
 
-        otherThumbnail.setRatings(Set.of(otherRating));
+        when(repository.findByThumbnailAndUser(eq(thumbnail), eq(user)))
+                .thenReturn(Optional.of(rating));
 
-        when(repository.findAveragePointsByThumbnail(any()))
+        when(opponentIndex.findClosest(eq(user), eq(thumbnail), eq(rating.getPoints()), eq(Set.of(2L))))
+                .thenReturn(Optional.of(opponent));
+
+        // When
+        Thumbnail result = underTest.pickOpponent(thumbnail, user, Set.of(otherThumbnail.getId()));
+
+        // Then
+        assertThat(result).isEqualTo(opponent);
+    }
+
+    @Test
+    void GivenThumbnailNotRatedByUser_WhenPickOpponent_ThenCreatesRatingWithBasePoints() {
+        // Given
+        Thumbnail opponent = Thumbnail.builder()
+                .id(3L)
+                .addedBy(user)
+                .url("thumbnail-url-3")
+                .youtubeVideoId("youtube-id-3")
+                .build();
+
+        when(repository.findByThumbnailAndUser(eq(thumbnail), eq(user)))
+                .thenReturn(Optional.empty());
+
+        when(properties.getBasePoints())
+                .thenReturn(new BigDecimal(1400));
+
+        when(opponentIndex.findClosest(eq(user), eq(thumbnail), eq(new BigDecimal(1400)), eq(Set.of())))
+                .thenReturn(Optional.of(opponent));
+
+        // When
+        Thumbnail result = underTest.pickOpponent(thumbnail, user, Set.of());
+
+        // Then
+        assertThat(result).isEqualTo(opponent);
+
+        verify(repository).saveAll(ratingsCaptor.capture());
+        assertThat(ratingsCaptor.getValue())
+                .singleElement()
+                .satisfies(created -> {
+                    assertThat(created.getThumbnail()).isEqualTo(thumbnail);
+                    assertThat(created.getPoints()).isEqualByComparingTo(new BigDecimal(1400));
+                });
+
+        verify(opponentIndex).update(eq(user), eq(thumbnail.getId()), eq(new BigDecimal(1400)));
+        verify(catalogue).addRatings(eq(thumbnail.getId()), eq(1));
+        verify(ratedThumbnailIndex).addRated(eq(user), eq(List.of(thumbnail.getId())));
+        verify(aggregates).addAfterCommit(eq(thumbnail.getId()), eq(new BigDecimal(1400)), eq(1L));
+    }
+
+    @Test
+    void GivenNoOpponentLeft_WhenPickOpponent_ThenThrowsRuntimeExceptionAndSavesNothing() {
+        // Given
+        when(repository.findByThumbnailAndUser(eq(thumbnail), eq(user)))
+                .thenReturn(Optional.of(rating));
+
+        when(opponentIndex.findClosest(eq(user), eq(thumbnail), eq(rating.getPoints()), eq(Set.of())))
+                .thenReturn(Optional.empty());
+
+        // When & Then
+        assertThatThrownBy(() -> underTest.pickOpponent(thumbnail, user, Set.of()))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Could not find opponent");
+
+        verify(repository, never()).saveAll(any());
+    }
+
+    @Test
+    void GivenYoutubeVideoIdAndNullUserPrincipal_WhenGetThumbnailRatingVersion_ThenReturnsAggregateAndRankingVersion() {
+        // Given
+        when(thumbnailService.getThumbnailIdByYoutubeVideoId(eq("youtube-id")))
+                .thenReturn(1L);
+
+        when(aggregates.getVersion(eq(1L)))
+                .thenReturn("epoch-7");
+
+        when(ranking.getVersion())
+                .thenReturn("fit");
+
+        // When
+        RatingVersion result = underTest.getThumbnailRatingVersion("youtube-id", null);
+
+        // Then
+        assertThat(result).isEqualTo(new RatingVersion(1L, "epoch-7-fit"));
+    }
+
+    @Test
+    void GivenYoutubeVideoIdAndUserPrincipal_WhenGetThumbnailRatingVersion_ThenReturnsAggregateAndRankingVersionOfUser() {
+        // Given
+        User userWithId = User.builder()
+                .id(5L)
+                .email("email@email.com")
+                .password("password")
+                .username("username")
+                .userRole(UserRole.ROLE_USER)
+                .isEnabled(Boolean.TRUE)
+                .build();
+
+        when(thumbnailService.getThumbnailIdByYoutubeVideoId(eq("youtube-id")))
+                .thenReturn(1L);
+
+        when(aggregates.getVersion(eq(1L)))
+                .thenReturn("epoch-7");
+
+        when(ranking.getVersion())
+                .thenReturn("fit");
+
+        // When
+        RatingVersion result = underTest.getThumbnailRatingVersion("youtube-id", new UserPrincipal(userWithId));
+
+        // Then
+        assertThat(result).isEqualTo(new RatingVersion(1L, "epoch-7-fit-5"));
+    }
+
+    @Test
+    void GivenRatingVersionAndNullUserPrincipal_WhenGetThumbnailAveragePoints_ThenReturnsCorrectRatingResponse() {
+        // Given
+        when(aggregates.getAveragePoints(eq(2L)))
                 .thenReturn(Optional.of(new BigDecimal(1337)));
 
         // When
         RatingResponse result = underTest.getThumbnailAveragePoints(
-                "youtube-id-2", userPrincipal);
+                new RatingVersion(2L, "epoch-1"), null);
 
         // Then
         assertThat(result.getGlobalRatingPoints())
                 .isEqualTo(new BigDecimal(1337));
         assertThat(result.getUserRatingPoints())
                 .isNull();
+
+        verify(repository, never()).findThumbnailPointsByUserAndThumbnailIdIn(any(), any());
+    }
+
+    @Test
+    void GivenThumbnailInBradleyTerryFit_WhenGetThumbnailAveragePoints_ThenReturnsItsPoints() {
+        // Given
+        when(aggregates.getAveragePoints(eq(2L)))
+                .thenReturn(Optional.of(new BigDecimal(1337)));
+
+        when(ranking.getPoints(eq(2L)))
+                .thenReturn(Optional.of(new BigDecimal("1391.25")));
+
+        // When
+        RatingResponse result = underTest.getThumbnailAveragePoints(
+                new RatingVersion(2L, "epoch-1"), null);
+
+        // Then
+        assertThat(result.getBradleyTerryPoints())
+                .isEqualTo(new BigDecimal("1391.25"));
     }
 
     @Test
-    void GivenYoutubeVideoIdAndUserPrincipal_WhenGetThumbnailAveragePoints_ThenReturnsCorrectRatingResponse() {
+    void GivenRatingVersionAndUserPrincipal_WhenGetThumbnailAveragePoints_ThenReturnsCorrectRatingResponse() {
         // Given
         UserPrincipal userPrincipal = new UserPrincipal(user);
 
-        when(repository.findAveragePointsByThumbnail(any()))
-                .thenReturn(Optional.of(new BigDecimal(1400)));
+        when(aggregates.getAveragePoints(eq(1L)))
+                .thenReturn(Optional.of(new BigDecimal(1450)));
 
-        when(repository.findAveragePointsByThumbnailAndUser(any(), any()))
-                .thenReturn(Optional.of(new BigDecimal(1400)));
+        when(repository.findThumbnailPointsByUserAndThumbnailIdIn(eq(user), eq(List.of(1L))))
+                .thenReturn(List.of(thumbnailPoints(1L, new BigDecimal(1500))));
 
         // When
         RatingResponse result = underTest.getThumbnailAveragePoints(
-                "youtube-id", userPrincipal);
+                new RatingVersion(1L, "epoch-1"), userPrincipal);
 
         // Then
         assertThat(result.getGlobalRatingPoints())
-                .isEqualTo(new BigDecimal(1400));
+                .isEqualTo(new BigDecimal(1450));
         assertThat(result.getUserRatingPoints())
-                .isEqualTo(new BigDecimal(1400));
+                .isEqualTo(new BigDecimal(1500));
     }
 
     @Test
-    void GivenYoutubeVideoIdWithNoRatingsAndUserPrincipalWhoHasNotRatedThumbnail_WhenGetThumbnailAveragePoints_ThenReturnsCorrectRatingResponse() {
+    void GivenRatingVersionWithNoRatingsAndUserPrincipalWhoHasNotRatedThumbnail_WhenGetThumbnailAveragePoints_ThenReturnsBasePoints() {
         // Given
         UserPrincipal userPrincipal = new UserPrincipal(user);
 
-        when(repository.findAveragePointsByThumbnail(any()))
+        when(aggregates.getAveragePoints(eq(1L)))
                 .thenReturn(Optional.empty());
 
-        when(repository.findAveragePointsByThumbnailAndUser(any(), any()))
-                .thenReturn(Optional.empty());
+        when(repository.findThumbnailPointsByUserAndThumbnailIdIn(any(), any()))
+                .thenReturn(List.of());
 
         when(properties.getBasePoints())
                 .thenReturn(new BigDecimal(1400));
 
         // When
         RatingResponse result = underTest.getThumbnailAveragePoints(
-                "youtube-id", userPrincipal);
+                new RatingVersion(1L, "epoch-1"), userPrincipal);
 
         // Then
         assertThat(result.getGlobalRatingPoints())
@@ -200,4 +391,53 @@ public class RatingServiceTest {
         assertThat(result.getUserRatingPoints())
                 .isEqualTo(new BigDecimal(1400));
     }
+
+    @Test
+    void GivenYoutubeVideoIdsAndUserPrincipal_WhenGetThumbnailsAveragePoints_ThenResolvesThemInOneQueryAndReportsNotFound() {
+        // Given
+        UserPrincipal userPrincipal = new UserPrincipal(user);
+
+        when(thumbnailService.getThumbnailIdsByYoutubeVideoIds(eq(Set.of("youtube-id", "youtube-id-2", "missing"))))
+                .thenReturn(Map.of("youtube-id", 1L, "youtube-id-2", 2L));
+
+        when(repository.findThumbnailPointsByUserAndThumbnailIdIn(eq(user), argThat(ids -> ids.containsAll(List.of(1L, 2L)))))
+                .thenReturn(List.of(thumbnailPoints(1L, new BigDecimal(1500))));
+
+        when(aggregates.getAveragePoints(eq(1L)))
+                .thenReturn(Optional.of(new BigDecimal(1450)));
+
+        when(aggregates.getAveragePoints(eq(2L)))
+                .thenReturn(Optional.empty());
+
+        when(properties.getBasePoints())
+                .thenReturn(new BigDecimal(1400));
+
+        // When
+        RatingBatchResponse result = underTest.getThumbnailsAveragePoints(
+                List.of("youtube-id", "missing", "youtube-id-2", "youtube-id"), userPrincipal);
+
+        // Then
+        assertThat(result.getRatings()).containsOnlyKeys("youtube-id", "youtube-id-2");
+        assertThat(result.getRatings().get("youtube-id"))
+                .isEqualTo(new RatingResponse(new BigDecimal(1450), new BigDecimal(1500)));
+        assertThat(result.getRatings().get("youtube-id-2"))
+                .isEqualTo(new RatingResponse(new BigDecimal(1400), new BigDecimal(1400)));
+        assertThat(result.getNotFound()).containsExactly("missing");
+
+        verify(thumbnailService, never()).getThumbnailIdByYoutubeVideoId(any());
+    }
+
+    private static ThumbnailPoints thumbnailPoints(Long thumbnailId, BigDecimal points) {
+        return new ThumbnailPoints() {
+            @Override
+            public Long getThumbnailId() {
+                return thumbnailId;
+            }
+
+            @Override
+            public BigDecimal getPoints() {
+                return points;
+            }
+        };
+    }
 }
@@ -0,0 +1,83 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.rating;
+
+import com.github.karixdev.ratingyoutubethumbnailsapi.rating.exception.RatingUpdateConflictException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.math.BigDecimal;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class RatingUpdateRetryTest {
+    RatingUpdateRetry underTest;
+
+    SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        underTest = new RatingUpdateRetry(
+                new RatingProperties(new BigDecimal(1400), 32, 100, 30, 64, 500L, 3, 2, 10000),
+                meterRegistry
+        );
+    }
+
+    @Test
+    void GivenUpdateFailingWithConcurrencyFailures_WhenRun_ThenRetriesUntilItSucceeds() {
+        // Given
+        AtomicInteger attempts = new AtomicInteger();
+
+        // When
+        String result = underTest.run(() -> switch (attempts.incrementAndGet()) {
+            case 1 -> throw new ObjectOptimisticLockingFailureException(Rating.class, 1L);
+            case 2 -> throw new CannotAcquireLockException("lock");
+            default -> "result";
+        });
+
+        // Then
+        assertThat(result).isEqualTo("result");
+        assertThat(attempts).hasValue(3);
+
+        assertThat(meterRegistry.counter("rating.update.retries", "cause", "version").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("rating.update.retries", "cause", "lock").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("rating.update.conflicts").count()).isZero();
+    }
+
+    @Test
+    void GivenUpdateAlwaysFailingWithConcurrencyFailure_WhenRun_ThenThrowsRatingUpdateConflictExceptionAfterMaxAttempts() {
+        // Given
+        AtomicInteger attempts = new AtomicInteger();
+
+        // When & Then
+        assertThatThrownBy(() -> underTest.run(() -> {
+            attempts.incrementAndGet();
+            throw new ObjectOptimisticLockingFailureException(Rating.class, 1L);
+        }))
+                .isInstanceOf(RatingUpdateConflictException.class)
+                .hasMessage("Ratings were updated concurrently, try again");
+
+        assertThat(attempts).hasValue(3);
+        assertThat(meterRegistry.counter("rating.update.conflicts").count()).isEqualTo(1);
+    }
+
+    @Test
+    void GivenUpdateFailingWithOtherException_WhenRun_ThenDoesNotRetry() {
+        // Given
+        AtomicInteger attempts = new AtomicInteger();
+
+        // When & Then
+        assertThatThrownBy(() -> underTest.run(() -> {
+            attempts.incrementAndGet();
+            throw new DataIntegrityViolationException("constraint");
+        }))
+                .isInstanceOf(DataIntegrityViolationException.class);
+
+        assertThat(attempts).hasValue(1);
+    }
+}
@@ -32,4 +32,19 @@ public class RatingResponseTest {
         assertThat(result).extractingJsonPathValue("$.user_rating_points")
                 .isEqualTo(1600);
     }
+
+    @Test
+    void testSerializationOfBradleyTerryPoints() throws IOException {
+        RatingResponse payload = new RatingResponse(
+                new BigDecimal(1500),
+                null,
+                new BigDecimal(1450)
+        );
+
+        var result = jTester.write(payload);
+
+        assertThat(result).extractingJsonPathValue("$.bradley_terry_points")
+                .isEqualTo(1450);
+        assertThat(result).hasJsonPath("$.user_rating_points");
+    }
 }
@@ -0,0 +1,139 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.round;
+
+import com.github.karixdev.ratingyoutubethumbnailsapi.game.Game;
+import com.github.karixdev.ratingyoutubethumbnailsapi.shared.exception.ResourceNotFoundException;
+import com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail.Thumbnail;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class RoundServiceTest {
+    @InjectMocks
+    RoundService underTest;
+
+    @Mock
+    RoundRepository repository;
+
+    Game game;
+
+    Round round;
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2023, 1, 1, 1, 0);
+
+    @BeforeEach
+    void setUp() {
+        game = Game.builder()
+                .id(1L)
+                .lastActivity(NOW)
+                .build();
+
+        round = Round.builder()
+                .id(UUID.randomUUID())
+                .game(game)
+                .thumbnail1(Thumbnail.builder().id(1L).build())
+                .thumbnail2(Thumbnail.builder().id(2L).build())
+                .createdAt(NOW)
+                .build();
+    }
+
+    @Test
+    void GivenGameAndThumbnails_WhenCreate_ThenSavesRoundCreatedAtGivenTime() {
+        // Given
+        Thumbnail thumbnail1 = Thumbnail.builder().id(1L).build();
+        Thumbnail thumbnail2 = Thumbnail.builder().id(2L).build();
+
+        when(repository.save(any()))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        Round result = underTest.create(game, thumbnail1, thumbnail2, NOW);
+
+        // Then
+        assertThat(result.getGame()).isEqualTo(game);
+        assertThat(result.getThumbnail1()).isEqualTo(thumbnail1);
+        assertThat(result.getThumbnail2()).isEqualTo(thumbnail2);
+        assertThat(result.getCreatedAt()).isEqualTo(NOW);
+    }
+
+    @Test
+    void GivenGame_WhenFindLatest_ThenReturnsFirstRoundOfSinglePage() {
+        // Given
+        when(repository.findByGameOrderByCreatedAtDesc(eq(game), eq(PageRequest.ofSize(1))))
+                .thenReturn(List.of(round));
+
+        // When
+        Optional<Round> result = underTest.findLatest(game);
+
+        // Then
+        assertThat(result).contains(round);
+    }
+
+    @Test
+    void GivenNullCursorAndTooLargeSize_WhenGetHistory_ThenReturnsFirstPageLimitedToMaxSize() {
+        // Given
+        when(repository.findByGameOrderByCreatedAtDesc(eq(game), eq(PageRequest.ofSize(100))))
+                .thenReturn(List.of(round));
+
+        // When
+        List<Round> result = underTest.getHistory(game, null, 1000);
+
+        // Then
+        assertThat(result).containsExactly(round);
+    }
+
+    @Test
+    void GivenCursor_WhenGetHistory_ThenReturnsRoundsCreatedBeforeCursor() {
+        // Given
+        Round olderRound = Round.builder()
+                .id(UUID.randomUUID())
+                .game(game)
+                .createdAt(NOW.minusMinutes(1))
+                .build();
+
+        when(repository.findById(eq(round.getId())))
+                .thenReturn(Optional.of(round));
+
+        when(repository.findByGameBeforeOrderByCreatedAtDesc(
+                eq(game),
+                eq(NOW),
+                eq(round.getId()),
+                eq(PageRequest.ofSize(20))
+        )).thenReturn(List.of(olderRound));
+
+        // When
+        List<Round> result = underTest.getHistory(game, round.getId(), 20);
+
+        // Then
+        assertThat(result).containsExactly(olderRound);
+    }
+
+    @Test
+    void GivenCursorFromOtherGame_WhenGetHistory_ThenThrowsResourceNotFoundExceptionWithCorrectMessage() {
+        // Given
+        Game otherGame = Game.builder().id(2L).build();
+
+        when(repository.findById(eq(round.getId())))
+                .thenReturn(Optional.of(round));
+
+        // When & Then
+        assertThatThrownBy(() -> underTest.getHistory(otherGame, round.getId(), 20))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessage("Round with provided id was not found");
+    }
+}
@@ -0,0 +1,192 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.security;
+
+import com.github.karixdev.ratingyoutubethumbnailsapi.user.User;
+import com.github.karixdev.ratingyoutubethumbnailsapi.user.UserRole;
+import com.github.karixdev.ratingyoutubethumbnailsapi.user.UserUpdatedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class UserPrincipalCacheTest {
+    private static final Instant NOW = Instant.parse("2023-01-01T01:00:00Z");
+
+    UserPrincipalCache underTest;
+
+    @Mock
+    Clock clock;
+
+    @Mock
+    Function<String, UserPrincipal> loader;
+
+    SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+
+        underTest = new UserPrincipalCache(clock, new PrincipalCacheProperties(60L, 2), meterRegistry);
+
+        when(clock.instant()).thenReturn(NOW);
+    }
+
+    @Test
+    void GivenCachedPrincipal_WhenGet_ThenReturnsCachedPrincipalWithoutLoading() {
+        // Given
+        UserPrincipal principal = createPrincipal("email@email.com");
+
+        when(loader.apply("email@email.com")).thenReturn(principal);
+
+        underTest.get("email@email.com", loader);
+
+        // When
+        UserPrincipal result = underTest.get("email@email.com", loader);
+
+        // Then
+        assertThat(result.getUser().getId()).isEqualTo(1L);
+        assertThat(result.getUsername()).isEqualTo("email@email.com");
+        assertThat(result.getUser().getUsername()).isEqualTo("username");
+        assertThat(result.getAuthorities()).extracting(Object::toString).containsExactly("ROLE_USER");
+        assertThat(result.isEnabled()).isTrue();
+        verify(loader, times(1)).apply("email@email.com");
+    }
+
+    @Test
+    void GivenCachedPrincipal_WhenGet_ThenEveryHitGetsItsOwnUser() {
+        // Given
+        UserPrincipal principal = createPrincipal("email@email.com");
+
+        when(loader.apply("email@email.com")).thenReturn(principal);
+
+        underTest.get("email@email.com", loader);
+        principal.getUser().setUserRole(UserRole.ROLE_ADMIN);
+
+        UserPrincipal first = underTest.get("email@email.com", loader);
+        first.getUser().setIsEnabled(false);
+
+        // When
+        UserPrincipal second = underTest.get("email@email.com", loader);
+
+        // Then
+        assertThat(second.getUser()).isNotSameAs(first.getUser()).isNotSameAs(principal.getUser());
+        assertThat(second.getUser().getUserRole()).isEqualTo(UserRole.ROLE_USER);
+        assertThat(second.getUser().getIsEnabled()).isTrue();
+        assertThat(second.getUser().getPassword()).isNull();
+    }
+
+    @Test
+    void GivenPrincipalCachedLongerThanTtl_WhenGet_ThenLoadsPrincipalAgain() {
+        // Given
+        when(loader.apply("email@email.com"))
+                .thenReturn(createPrincipal("email@email.com"));
+
+        underTest.get("email@email.com", loader);
+
+        when(clock.instant()).thenReturn(NOW.plusSeconds(60));
+
+        // When
+        underTest.get("email@email.com", loader);
+
+        // Then
+        verify(loader, times(2)).apply("email@email.com");
+    }
+
+    @Test
+    void GivenUserUpdatedEvent_WhenGet_ThenLoadsPrincipalAgain() {
+        // Given
+        when(loader.apply("email@email.com"))
+                .thenReturn(createPrincipal("email@email.com"));
+
+        underTest.get("email@email.com", loader);
+        underTest.onUserUpdated(new UserUpdatedEvent("email@email.com"));
+
+        // When
+        underTest.get("email@email.com", loader);
+
+        // Then
+        verify(loader, times(2)).apply("email@email.com");
+    }
+
+    @Test
+    void GivenInvalidationDuringLoad_WhenGet_ThenLoadedPrincipalIsNotCached() {
+        // Given
+        when(loader.apply("email@email.com"))
+                .thenAnswer(invocation -> {
+                    underTest.invalidate("email@email.com");
+                    return createPrincipal("email@email.com");
+                })
+                .thenReturn(createPrincipal("email@email.com"));
+
+        underTest.get("email@email.com", loader);
+
+        // When
+        underTest.get("email@email.com", loader);
+
+        // Then
+        verify(loader, times(2)).apply("email@email.com");
+    }
+
+    @Test
+    void GivenMorePrincipalsThanMaxSize_WhenGet_ThenEvictsLeastRecentlyUsedPrincipal() {
+        // Given
+        when(loader.apply(anyString()))
+                .thenAnswer(invocation -> createPrincipal(invocation.getArgument(0)));
+
+        underTest.get("email-1@email.com", loader);
+        underTest.get("email-2@email.com", loader);
+        underTest.get("email-1@email.com", loader);
+        underTest.get("email-3@email.com", loader);
+
+        // When
+        underTest.get("email-1@email.com", loader);
+        underTest.get("email-2@email.com", loader);
+
+        // Then
+        verify(loader, times(1)).apply("email-1@email.com");
+        verify(loader, times(2)).apply("email-2@email.com");
+    }
+
+    @Test
+    void GivenHitsAndMisses_WhenGet_ThenRecordsMetrics() {
+        // Given
+        when(loader.apply("email@email.com"))
+                .thenReturn(createPrincipal("email@email.com"));
+
+        // When
+        underTest.get("email@email.com", loader);
+        underTest.get("email@email.com", loader);
+        underTest.get("email@email.com", loader);
+        underTest.get("email@email.com", loader);
+
+        // Then
+        assertThat(meterRegistry.get("principal.cache.requests").tag("result", "hit").counter().count())
+                .isEqualTo(3);
+        assertThat(meterRegistry.get("principal.cache.requests").tag("result", "miss").counter().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("principal.cache.user.queries.saved").functionCounter().count())
+                .isEqualTo(3);
+        assertThat(meterRegistry.get("principal.cache.hit.ratio").gauge().value())
+                .isEqualTo(0.75);
+    }
+
+    private static UserPrincipal createPrincipal(String email) {
+        return new UserPrincipal(User.builder()
+                .id(1L)
+                .email(email)
+                .username("username")
+                .password("password")
+                .userRole(UserRole.ROLE_USER)
+                .isEnabled(true)
+                .build());
+    }
+}
@@ -0,0 +1,267 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail;
+
+import com.github.karixdev.ratingyoutubethumbnailsapi.user.User;
+import com.github.karixdev.ratingyoutubethumbnailsapi.user.UserRole;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class RatedThumbnailIndexTest {
+    RatedThumbnailIndex underTest;
+
+    @Mock
+    UserRatedThumbnailsRepository repository;
+
+    @Mock
+    ThumbnailRepository thumbnailRepository;
+
+    @Mock
+    ThumbnailCatalogue catalogue;
+
+    @Mock
+    RatedThumbnailWriter writer;
+
+    @Captor
+    ArgumentCaptor<Map<Long, Roaring64Bitmap>> addedIdsCaptor;
+
+    User user;
+
+    @BeforeEach
+    void setUp() {
+        underTest = new RatedThumbnailIndex(
+                repository,
+                thumbnailRepository,
+                catalogue,
+                writer,
+                new ThumbnailProperties(false, 2, 100, 2)
+        );
+
+        user = User.builder()
+                .id(1L)
+                .email("email@email.com")
+                .username("username")
+                .password("password")
+                .userRole(UserRole.ROLE_USER)
+                .isEnabled(true)
+                .build();
+    }
+
+    @Test
+    void GivenPersistedBitmapMatchingRatingCount_WhenFindUnratedIds_ThenReturnsCatalogueIdsNotInBitmap() {
+        // Given
+        when(catalogue.getIdBitmap()).thenReturn(Roaring64Bitmap.bitmapOf(1L, 2L, 3L, 4L));
+        when(repository.findById(eq(1L))).thenReturn(Optional.of(row(1L, 2L, 4L)));
+        when(thumbnailRepository.countRatingsByUserId(eq(1L))).thenReturn(2L);
+
+        // When
+        long[] result = underTest.findUnratedIds(user);
+
+        // Then
+        assertThat(result).containsExactly(1L, 3L);
+        verify(thumbnailRepository, never()).findRatedThumbnailIdsByUserId(anyLong());
+
+        underTest.flush();
+        verifyNoInteractions(writer);
+    }
+
+    @Test
+    void GivenPersistedBitmapNotMatchingRatingCount_WhenFindUnratedIds_ThenRebuildsItAndReplacesItOnFlush() {
+        // Given
+        when(catalogue.getIdBitmap()).thenReturn(Roaring64Bitmap.bitmapOf(1L, 2L, 3L));
+        when(repository.findById(eq(1L))).thenReturn(Optional.of(row(1L, 2L)));
+        when(thumbnailRepository.countRatingsByUserId(eq(1L))).thenReturn(2L);
+        when(thumbnailRepository.findRatedThumbnailIdsByUserId(eq(1L))).thenReturn(List.of(2L, 3L));
+
+        // When
+        long[] result = underTest.findUnratedIds(user);
+
+        // Then
+        assertThat(result).containsExactly(1L);
+
+        underTest.flush();
+        verify(writer).write(addedIdsCaptor.capture());
+        assertThat(addedIdsCaptor.getValue()).containsOnlyKeys(1L);
+    }
+
+    @Test
+    void GivenNoPersistedBitmap_WhenFindUnratedIds_ThenRebuildsBitmapFromRatings() {
+        // Given
+        when(catalogue.getIdBitmap()).thenReturn(Roaring64Bitmap.bitmapOf(1L, 2L, 3L));
+        when(repository.findById(eq(1L))).thenReturn(Optional.empty());
+        when(thumbnailRepository.findRatedThumbnailIdsByUserId(eq(1L))).thenReturn(List.of(2L));
+
+        // When
+        long[] result = underTest.findUnratedIds(user);
+
+        // Then
+        assertThat(result).containsExactly(1L, 3L);
+    }
+
+    @Test
+    void GivenLoadedBitmap_WhenFindUnratedIds_ThenUsesCachedBitmap() {
+        // Given
+        when(catalogue.getIdBitmap())
+                .thenAnswer(invocation -> Roaring64Bitmap.bitmapOf(1L, 2L));
+        when(repository.findById(eq(1L))).thenReturn(Optional.of(row(1L, 1L)));
+        when(thumbnailRepository.countRatingsByUserId(eq(1L))).thenReturn(1L);
+
+        underTest.findUnratedIds(user);
+
+        // When
+        long[] result = underTest.findUnratedIds(user);
+
+        // Then
+        assertThat(result).containsExactly(2L);
+        verify(repository, times(1)).findById(eq(1L));
+    }
+
+    @Test
+    void GivenCachedBitmap_WhenAddRated_ThenReplacesItWithoutTouchingDatabase() {
+        // Given
+        when(catalogue.getIdBitmap())
+                .thenAnswer(invocation -> Roaring64Bitmap.bitmapOf(1L, 2L, 3L));
+        when(repository.findById(eq(1L))).thenReturn(Optional.of(row(1L, 1L)));
+        when(thumbnailRepository.countRatingsByUserId(eq(1L))).thenReturn(1L);
+
+        Roaring64Bitmap cached = underTest.getRatedIds(user);
+
+        // When
+        underTest.addRated(user, List.of(3L));
+
+        // Then
+        assertThat(underTest.findUnratedIds(user)).containsExactly(2L);
+        assertThat(cached.toArray()).containsExactly(1L);
+        verify(repository, times(1)).findById(eq(1L));
+        verifyNoInteractions(writer);
+    }
+
+    @Test
+    void GivenAddedIds_WhenFlush_ThenWritesThemOnce() {
+        // Given
+        User otherUser = User.builder().id(2L).build();
+
+        underTest.addRated(user, List.of(3L));
+        underTest.addRated(user, List.of(5L));
+        underTest.addRated(otherUser, List.of(7L));
+
+        // When
+        underTest.flush();
+        underTest.flush();
+
+        // Then
+        verify(writer, times(1)).write(addedIdsCaptor.capture());
+        assertThat(addedIdsCaptor.getValue()).containsOnlyKeys(1L, 2L);
+        assertThat(addedIdsCaptor.getValue().get(1L).toArray()).containsExactly(3L, 5L);
+        assertThat(addedIdsCaptor.getValue().get(2L).toArray()).containsExactly(7L);
+        verifyNoInteractions(repository, thumbnailRepository);
+    }
+
+    @Test
+    void GivenFailingWrite_WhenFlush_ThenKeepsIdsForNextFlush() {
+        // Given
+        doThrow(new IllegalStateException("database is down"))
+                .doNothing()
+                .when(writer).write(any());
+
+        underTest.addRated(user, List.of(3L));
+        underTest.flush();
+
+        underTest.addRated(user, List.of(5L));
+
+        // When
+        underTest.flush();
+
+        // Then
+        verify(writer, times(2)).write(addedIdsCaptor.capture());
+        assertThat(addedIdsCaptor.getAllValues().get(1).get(1L).toArray()).containsExactly(3L, 5L);
+    }
+
+    @Test
+    void GivenRatingAddedWhileBitmapIsLoading_WhenGetRatedIds_ThenDoesNotCacheLoadedBitmap() {
+        // Given
+        when(repository.findById(eq(1L)))
+                .thenAnswer(invocation -> {
+                    underTest.addRated(user, List.of(7L));
+                    return Optional.of(row(1L, 5L));
+                })
+                .thenReturn(Optional.of(row(1L, 5L, 7L)));
+        when(thumbnailRepository.countRatingsByUserId(eq(1L)))
+                .thenReturn(1L)
+                .thenReturn(2L);
+
+        // When
+        Roaring64Bitmap first = underTest.getRatedIds(user);
+        Roaring64Bitmap second = underTest.getRatedIds(user);
+
+        // Then
+        assertThat(first.toArray()).containsExactly(5L);
+        assertThat(second.toArray()).containsExactly(5L, 7L);
+    }
+
+    @Test
+    void GivenPersistedBitmaps_WhenApplicationReady_ThenCachesThoseMatchingRatingCounts() {
+        // Given
+        when(repository.findRecentlyUpdated(any())).thenReturn(List.of(row(1L, 2L), row(2L, 3L)));
+        when(thumbnailRepository.findRatingCountsByUserIdIn(eq(List.of(1L, 2L))))
+                .thenReturn(List.of(ratingCount(1L, 1L), ratingCount(2L, 2L)));
+
+        // When
+        underTest.onApplicationReady();
+
+        // Then
+        assertThat(underTest.getRatedIds(user).toArray()).containsExactly(2L);
+        verify(repository, never()).findById(any());
+
+        when(repository.findById(eq(2L))).thenReturn(Optional.empty());
+        when(thumbnailRepository.findRatedThumbnailIdsByUserId(eq(2L))).thenReturn(List.of(3L, 4L));
+
+        assertThat(underTest.getRatedIds(User.builder().id(2L).build()).toArray()).containsExactly(3L, 4L);
+    }
+
+    @Test
+    void GivenNoIds_WhenAddRated_ThenDoesNothing() {
+        // When
+        underTest.addRated(user, List.of());
+        underTest.flush();
+
+        // Then
+        verifyNoInteractions(repository, thumbnailRepository, writer);
+    }
+
+    private static UserRatedThumbnails row(Long userId, long... thumbnailIds) {
+        return UserRatedThumbnails.builder()
+                .userId(userId)
+                .bitmap(RatedThumbnailIndex.serialize(Roaring64Bitmap.bitmapOf(thumbnailIds)))
+                .build();
+    }
+
+    private static UserRatingCount ratingCount(Long userId, Long count) {
+        return new UserRatingCount() {
+            @Override
+            public Long getUserId() {
+                return userId;
+            }
+
+            @Override
+            public Long getRatingCount() {
+                return count;
+            }
+        };
+    }
+}
@@ -0,0 +1,105 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class RatedThumbnailWriterTest {
+    RatedThumbnailWriter underTest;
+
+    @Mock
+    UserRatedThumbnailsRepository repository;
+
+    @Mock
+    ThumbnailRepository thumbnailRepository;
+
+    @Captor
+    ArgumentCaptor<UserRatedThumbnails> rowCaptor;
+
+    static final LocalDateTime NOW = LocalDateTime.of(2023, 9, 1, 12, 0);
+
+    @BeforeEach
+    void setUp() {
+        underTest = new RatedThumbnailWriter(
+                repository,
+                thumbnailRepository,
+                Clock.fixed(NOW.toInstant(ZoneOffset.UTC), ZoneOffset.UTC)
+        );
+    }
+
+    @Test
+    void GivenPersistedBitmapMatchingRatingCountAfterAdding_WhenWrite_ThenAddsIdsToIt() {
+        // Given
+        when(repository.findByUserIdForUpdate(eq(1L))).thenReturn(Optional.of(row(1L, 2L)));
+        when(thumbnailRepository.countRatingsByUserId(eq(1L))).thenReturn(2L);
+
+        // When
+        underTest.write(Map.of(1L, Roaring64Bitmap.bitmapOf(5L)));
+
+        // Then
+        verify(repository).save(rowCaptor.capture());
+        assertThat(RatedThumbnailIndex.deserialize(rowCaptor.getValue().getBitmap()).toArray())
+                .containsExactly(2L, 5L);
+        assertThat(rowCaptor.getValue().getUpdatedAt()).isEqualTo(NOW);
+        verify(thumbnailRepository, never()).findRatedThumbnailIdsByUserId(anyLong());
+    }
+
+    @Test
+    void GivenPersistedBitmapNotMatchingRatingCountAfterAdding_WhenWrite_ThenRebuildsItFromRatings() {
+        // Given
+        when(repository.findByUserIdForUpdate(eq(1L))).thenReturn(Optional.of(row(1L, 2L)));
+        when(thumbnailRepository.countRatingsByUserId(eq(1L))).thenReturn(3L);
+        when(thumbnailRepository.findRatedThumbnailIdsByUserId(eq(1L))).thenReturn(List.of(2L, 4L, 5L));
+
+        // When
+        underTest.write(Map.of(1L, Roaring64Bitmap.bitmapOf(5L)));
+
+        // Then
+        verify(repository).save(rowCaptor.capture());
+        assertThat(RatedThumbnailIndex.deserialize(rowCaptor.getValue().getBitmap()).toArray())
+                .containsExactly(2L, 4L, 5L);
+    }
+
+    @Test
+    void GivenNoPersistedBitmap_WhenWrite_ThenBuildsItFromRatings() {
+        // Given
+        when(repository.findByUserIdForUpdate(eq(1L))).thenReturn(Optional.empty());
+        when(thumbnailRepository.findRatedThumbnailIdsByUserId(eq(1L))).thenReturn(List.of(3L, 5L));
+
+        // When
+        underTest.write(Map.of(1L, Roaring64Bitmap.bitmapOf(5L)));
+
+        // Then
+        verify(repository).save(rowCaptor.capture());
+        assertThat(rowCaptor.getValue().getUserId()).isEqualTo(1L);
+        assertThat(RatedThumbnailIndex.deserialize(rowCaptor.getValue().getBitmap()).toArray())
+                .containsExactly(3L, 5L);
+        assertThat(rowCaptor.getValue().getUpdatedAt()).isEqualTo(NOW);
+        verify(thumbnailRepository, never()).countRatingsByUserId(anyLong());
+    }
+
+    private static UserRatedThumbnails row(Long userId, long... thumbnailIds) {
+        return UserRatedThumbnails.builder()
+                .userId(userId)
+                .bitmap(RatedThumbnailIndex.serialize(Roaring64Bitmap.bitmapOf(thumbnailIds)))
+                .build();
+    }
+}
@@ -0,0 +1,136 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+public class SamplingIndexTest {
+    private static final int SAMPLES = 100_000;
+
+    SamplingIndex underTest;
+
+    Random random;
+
+    @BeforeEach
+    void setUp() {
+        underTest = new SamplingIndex(1);
+        random = new Random(42);
+    }
+
+    @Test
+    void GivenEmptyIndex_WhenSample_ThenReturnsEmptyOptional() {
+        // When & Then
+        assertThat(underTest.sampleUniform(random)).isEmpty();
+        assertThat(underTest.sampleLeastRated(random)).isEmpty();
+    }
+
+    @Test
+    void GivenIds_WhenSampleUniform_ThenEveryIdIsSampledEvenly() {
+        // Given
+        for (long id = 1; id <= 4; id++) {
+            underTest.add(id, id * 10);
+        }
+
+        // When
+        Map<Long, Integer> result = sampleUniform();
+
+        // Then
+        assertThat(result).containsOnlyKeys(1L, 2L, 3L, 4L);
+        result.values().forEach(count ->
+                assertThat(count / (double) SAMPLES).isCloseTo(0.25, within(0.01)));
+    }
+
+    @Test
+    void GivenIdsWithRatings_WhenSampleLeastRated_ThenIdsAreSampledInverselyToRatingCount() {
+        // Given
+        underTest.add(1L, 0);
+        underTest.add(2L, 1);
+        underTest.add(3L, 3);
+
+        // weights 1, 1/2 and 1/4
+        double total = 1 + 0.5 + 0.25;
+
+        // When
+        Map<Long, Integer> result = sampleLeastRated();
+
+        // Then
+        assertThat(result.get(1L) / (double) SAMPLES).isCloseTo(1 / total, within(0.01));
+        assertThat(result.get(2L) / (double) SAMPLES).isCloseTo(0.5 / total, within(0.01));
+        assertThat(result.get(3L) / (double) SAMPLES).isCloseTo(0.25 / total, within(0.01));
+    }
+
+    @Test
+    void GivenRemovedIds_WhenSample_ThenRemovedIdsAreNeverSampled() {
+        // Given
+        for (long id = 1; id <= 40; id++) {
+            underTest.add(id, 0);
+        }
+
+        for (long id = 1; id <= 40; id += 2) {
+            underTest.remove(id);
+        }
+
+        // When
+        Map<Long, Integer> uniform = sampleUniform();
+        Map<Long, Integer> leastRated = sampleLeastRated();
+
+        // Then
+        assertThat(underTest.size()).isEqualTo(20);
+        assertThat(uniform.keySet()).allMatch(id -> id % 2 == 0).hasSize(20);
+        assertThat(leastRated.keySet()).allMatch(id -> id % 2 == 0).hasSize(20);
+    }
+
+    @Test
+    void GivenAddedRatings_WhenSampleLeastRated_ThenRatedIdIsSampledLess() {
+        // Given
+        underTest.add(1L, 0);
+        underTest.add(2L, 0);
+
+        underTest.addRatings(1L, 3);
+
+        // When
+        Map<Long, Integer> result = sampleLeastRated();
+
+        // Then
+        assertThat(result.get(1L) / (double) SAMPLES).isCloseTo(0.2, within(0.01));
+        assertThat(result.get(2L) / (double) SAMPLES).isCloseTo(0.8, within(0.01));
+    }
+
+    @Test
+    void GivenAlreadyAddedId_WhenAdd_ThenIdIsNotDuplicated() {
+        // Given
+        underTest.add(1L, 0);
+
+        // When
+        underTest.add(1L, 0);
+
+        // Then
+        assertThat(underTest.size()).isEqualTo(1);
+    }
+
+    private Map<Long, Integer> sampleUniform() {
+        Map<Long, Integer> counts = new HashMap<>();
+
+        for (int i = 0; i < SAMPLES; i++) {
+            counts.merge(underTest.sampleUniform(random).getAsLong(), 1, Integer::sum);
+        }
+
+        return counts;
+    }
+
+    private Map<Long, Integer> sampleLeastRated() {
+        Map<Long, Integer> counts = new HashMap<>();
+
+        for (int i = 0; i < SAMPLES; i++) {
+            counts.merge(underTest.sampleLeastRated(random).getAsLong(), 1, Integer::sum);
+        }
+
+        return counts;
+    }
+}
@@ -0,0 +1,128 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.OptionalLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class ThumbnailCatalogueTest {
+    @InjectMocks
+    ThumbnailCatalogue underTest;
+
+    @Mock
+    ThumbnailRepository repository;
+
+    @Test
+    void WhenGetIds_ThenLoadsIdsFromRepositoryOnlyOnce() {
+        // Given
+        when(repository.findAllIds()).thenReturn(List.of(3L, 1L, 2L));
+
+        // When
+        underTest.getIds();
+        underTest.getIds();
+
+        // Then
+        assertThat(underTest.getIds()).containsExactly(1L, 2L, 3L);
+        verify(repository).findAllIds();
+    }
+
+    @Test
+    void GivenIdsToAddAndRemove_WhenAddAndRemove_ThenUpdatesIds() {
+        // Given
+        when(repository.findAllIds()).thenReturn(List.of(1L, 2L));
+
+        // When
+        underTest.add(5L);
+        underTest.remove(1L);
+
+        // Then
+        assertThat(underTest.getIds()).containsExactly(2L, 5L);
+        assertThat(underTest.getIdBitmap().toArray()).containsExactly(2L, 5L);
+    }
+
+    @Test
+    void WhenReload_ThenReplacesIdsWithRepositoryState() {
+        // Given
+        when(repository.findAllIds())
+                .thenReturn(List.of(1L))
+                .thenReturn(List.of(1L, 7L));
+
+        underTest.getIds();
+
+        // When
+        underTest.reload();
+
+        // Then
+        assertThat(underTest.getIds()).containsExactly(1L, 7L);
+        verify(repository, times(2)).findAllIds();
+    }
+
+    @Test
+    void GivenRemovedId_WhenSampleId_ThenNeverReturnsRemovedId() {
+        // Given
+        when(repository.findAllIds()).thenReturn(List.of(1L, 2L));
+
+        underTest.remove(1L);
+
+        // When & Then
+        for (int i = 0; i < 100; i++) {
+            assertThat(underTest.sampleId()).hasValue(2L);
+        }
+    }
+
+    @Test
+    void GivenEmptyRepository_WhenSampleId_ThenReturnsEmptyOptional() {
+        // Given
+        when(repository.findAllIds()).thenReturn(List.of());
+
+        // When
+        OptionalLong result = underTest.sampleId();
+
+        // Then
+        assertThat(result).isEmpty();
+    }
+
+    @Test
+    void WhenReload_ThenLoadsRatingCountsForLeastRatedSampling() {
+        // Given
+        when(repository.findAllIds()).thenReturn(List.of(1L, 2L));
+        when(repository.findAllRatingCounts()).thenReturn(List.of(ratingCount(1L, 1_000_000L)));
+
+        // When
+        underTest.reload();
+
+        // Then
+        int sampledTwo = 0;
+        for (int i = 0; i < 1000; i++) {
+            if (underTest.sampleLeastRatedId().getAsLong() == 2L) {
+                sampledTwo++;
+            }
+        }
+
+        assertThat(sampledTwo).isGreaterThan(990);
+    }
+
+    private static ThumbnailRatingCount ratingCount(Long thumbnailId, Long count) {
+        return new ThumbnailRatingCount() {
+            @Override
+            public Long getThumbnailId() {
+                return thumbnailId;
+            }
+
+            @Override
+            public Long getRatingCount() {
+                return count;
+            }
+        };
+    }
+}
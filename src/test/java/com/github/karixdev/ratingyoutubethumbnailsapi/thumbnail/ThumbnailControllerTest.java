@@ -6,6 +6,8 @@ import com.github.karixdev.ratingyoutubethumbnailsapi.shared.exception.ResourceN
 import com.github.karixdev.ratingyoutubethumbnailsapi.shared.payload.response.SuccessResponse;
 import com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail.exception.ThumbnailAlreadyExistsException;
 import com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail.payload.request.ThumbnailRequest;
+import com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail.payload.response.ThumbnailImportChunkResponse;
+import com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail.payload.response.ThumbnailImportResponse;
 import com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail.payload.response.ThumbnailResponse;
 import com.github.karixdev.ratingyoutubethumbnailsapi.user.User;
 import com.github.karixdev.ratingyoutubethumbnailsapi.user.UserRole;
@@ -16,13 +18,20 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(
@@ -36,6 +45,9 @@ public class ThumbnailControllerTest {
     @MockBean
     ThumbnailService thumbnailService;
 
+    @MockBean
+    ThumbnailImportService thumbnailImportService;
+
     ObjectMapper mapper = new ObjectMapper();
 
     @Test
@@ -55,13 +67,17 @@ public class ThumbnailControllerTest {
         ThumbnailRequest payload = new ThumbnailRequest("1234567");
         String content = mapper.writeValueAsString(payload);
 
-        doThrow(ThumbnailAlreadyExistsException.class).when(thumbnailService)
-                .add(any(), any());
+        when(thumbnailService.add(any(), any()))
+                .thenReturn(CompletableFuture.failedFuture(new ThumbnailAlreadyExistsException()));
 
-        mockMvc.perform(post("/api/v1/thumbnail")
+        MvcResult result = mockMvc.perform(post("/api/v1/thumbnail")
                         .contentType(MediaType.APPLICATION_JSON)
                         .accept(MediaType.APPLICATION_JSON)
                         .content(content))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isConflict());
     }
 
@@ -86,12 +102,16 @@ public class ThumbnailControllerTest {
                 .build();
 
         when(thumbnailService.add(any(), any()))
-                .thenReturn(new ThumbnailResponse(thumbnail));
+                .thenReturn(CompletableFuture.completedFuture(new ThumbnailResponse(thumbnail)));
 
-        mockMvc.perform(post("/api/v1/thumbnail")
+        MvcResult result = mockMvc.perform(post("/api/v1/thumbnail")
                         .contentType(MediaType.APPLICATION_JSON)
                         .accept(MediaType.APPLICATION_JSON)
                         .content(content))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isCreated())
                 .andExpectAll(
                         jsonPath("$.id").value(1),
@@ -145,4 +165,36 @@ public class ThumbnailControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.message").value("success"));
     }
+
+    @Test
+    void GivenCsvBody_WhenImportThumbnails_ThenRespondsWithChunkReportsAndOkStatus() throws Exception {
+        when(thumbnailImportService.importThumbnails(any(), eq(ThumbnailImportFormat.CSV), any()))
+                .thenReturn(new ThumbnailImportResponse(List.of(ThumbnailImportChunkResponse.builder()
+                        .chunk(1)
+                        .received(2)
+                        .imported(1)
+                        .notFound(1)
+                        .build())));
+
+        mockMvc.perform(post("/api/v1/thumbnail/import")
+                        .contentType("text/csv")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .content("youtube_video_id\nvideo-1\nvideo-2\n"))
+                .andExpect(status().isOk())
+                .andExpectAll(
+                        jsonPath("$.received").value(2),
+                        jsonPath("$.imported").value(1),
+                        jsonPath("$.not_found").value(1),
+                        jsonPath("$.chunks[0].chunk").value(1),
+                        jsonPath("$.chunks[0].error").doesNotExist()
+                );
+    }
+
+    @Test
+    void GivenJsonBody_WhenImportThumbnails_ThenRespondsWithUnsupportedMediaTypeStatus() throws Exception {
+        mockMvc.perform(post("/api/v1/thumbnail/import")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isUnsupportedMediaType());
+    }
 }
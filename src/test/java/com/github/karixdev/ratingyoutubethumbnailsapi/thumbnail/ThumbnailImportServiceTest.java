@@ -0,0 +1,304 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.karixdev.ratingyoutubethumbnailsapi.security.UserPrincipal;
+import com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail.payload.response.ThumbnailImportChunkResponse;
+import com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail.payload.response.ThumbnailImportResponse;
+import com.github.karixdev.ratingyoutubethumbnailsapi.user.User;
+import com.github.karixdev.ratingyoutubethumbnailsapi.user.UserRole;
+import com.github.karixdev.ratingyoutubethumbnailsapi.youtube.YoutubeVideoService;
+import com.github.karixdev.ratingyoutubethumbnailsapi.youtube.exception.YoutubeApiEmptyResponseException;
+import com.github.karixdev.ratingyoutubethumbnailsapi.youtube.payload.request.ItemRequest;
+import com.github.karixdev.ratingyoutubethumbnailsapi.youtube.payload.request.MaxresRequest;
+import com.github.karixdev.ratingyoutubethumbnailsapi.youtube.payload.request.SnippetRequest;
+import com.github.karixdev.ratingyoutubethumbnailsapi.youtube.payload.request.ThumbnailsRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ThumbnailImportServiceTest {
+    ThumbnailImportService underTest;
+
+    @Mock
+    ThumbnailRepository repository;
+
+    @Mock
+    YoutubeVideoService youtubeVideoService;
+
+    @Mock
+    ThumbnailCatalogue catalogue;
+
+    @Captor
+    ArgumentCaptor<Collection<String>> idsCaptor;
+
+    @Captor
+    ArgumentCaptor<Iterable<Thumbnail>> thumbnailsCaptor;
+
+    UserPrincipal userPrincipal;
+
+    @BeforeEach
+    void setUp() {
+        underTest = new ThumbnailImportService(
+                repository,
+                youtubeVideoService,
+                new ThumbnailWriter(repository, catalogue),
+                new ThumbnailProperties(false, 100, 100, 2),
+                new ObjectMapper()
+        );
+
+        userPrincipal = new UserPrincipal(User.builder()
+                .email("email@email.com")
+                .password("password")
+                .username("username")
+                .userRole(UserRole.ROLE_ADMIN)
+                .isEnabled(Boolean.TRUE)
+                .build());
+    }
+
+    @Test
+    void GivenNdjsonWithDuplicatedExistingAndInvalidIds_WhenImportThumbnails_ThenImportsOnlyNewIds() throws IOException {
+        // Given
+        String body = """
+                "video-1"
+                {"youtube_video_id": "video-2"}
+                "video-1"
+                "bad"
+                not json
+                "video-3"
+                "missing"
+                """;
+
+        when(repository.findExistingYoutubeVideoIds(anyCollection()))
+                .thenReturn(List.of("video-3"));
+
+        when(youtubeVideoService.getVideosDetails(anyCollection()))
+                .thenAnswer(invocation -> videos(invocation.getArgument(0)));
+
+        // When
+        ThumbnailImportResponse result = underTest.importThumbnails(
+                new StringReader(body), ThumbnailImportFormat.NDJSON, userPrincipal);
+
+        // Then
+        assertThat(result.getReceived()).isEqualTo(7);
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(result.getSkipped()).isEqualTo(2);
+        assertThat(result.getNotFound()).isEqualTo(1);
+        assertThat(result.getInvalid()).isEqualTo(2);
+        assertThat(result.getFailed()).isZero();
+
+        verify(youtubeVideoService).getVideosDetails(idsCaptor.capture());
+        assertThat(idsCaptor.getValue()).containsExactly("video-1", "video-2", "missing");
+
+        verify(repository).saveAll(thumbnailsCaptor.capture());
+        assertThat(thumbnailsCaptor.getValue())
+                .extracting(Thumbnail::getYoutubeVideoId, Thumbnail::getUrl)
+                .containsExactly(
+                        tuple("video-1", "url-video-1"),
+                        tuple("video-2", "url-video-2")
+                );
+
+        verify(catalogue, times(2)).add(any());
+    }
+
+    @Test
+    void GivenCsvWithHeaderAndMoreIdsThanChunkSize_WhenImportThumbnails_ThenRequestsAtMostFiftyIdsPerCall() throws IOException {
+        // Given
+        String body = "youtube_video_id,title\n" + IntStream.rangeClosed(1, 120)
+                .mapToObj(i -> "video-" + i + ",title " + i)
+                .collect(Collectors.joining("\n"));
+
+        when(repository.findExistingYoutubeVideoIds(anyCollection()))
+                .thenReturn(List.of());
+
+        when(youtubeVideoService.getVideosDetails(anyCollection()))
+                .thenAnswer(invocation -> videos(invocation.getArgument(0)));
+
+        // When
+        ThumbnailImportResponse result = underTest.importThumbnails(
+                new StringReader(body), ThumbnailImportFormat.CSV, userPrincipal);
+
+        // Then
+        assertThat(result.getReceived()).isEqualTo(120);
+        assertThat(result.getImported()).isEqualTo(120);
+        assertThat(result.getChunks())
+                .extracting(ThumbnailImportChunkResponse::getImported)
+                .containsExactly(99, 21);
+
+        verify(youtubeVideoService, times(3)).getVideosDetails(idsCaptor.capture());
+        assertThat(idsCaptor.getAllValues())
+                .extracting(Collection::size)
+                .containsExactlyInAnyOrder(50, 49, 21);
+    }
+
+    @Test
+    void GivenYoutubeApiFailureInFirstChunk_WhenImportThumbnails_ThenReportsFailedChunkAndContinues() throws IOException {
+        // Given
+        String body = IntStream.rangeClosed(1, 150)
+                .mapToObj(i -> "\"video-" + i + "\"")
+                .collect(Collectors.joining("\n"));
+
+        when(repository.findExistingYoutubeVideoIds(anyCollection()))
+                .thenReturn(List.of());
+
+        when(youtubeVideoService.getVideosDetails(anyCollection()))
+                .thenReturn(Mono.error(new YoutubeApiEmptyResponseException()))
+                .thenAnswer(invocation -> videos(invocation.getArgument(0)));
+
+        // When
+        ThumbnailImportResponse result = underTest.importThumbnails(
+                new StringReader(body), ThumbnailImportFormat.NDJSON, userPrincipal);
+
+        // Then
+        assertThat(result.getChunks()).hasSize(2);
+
+        ThumbnailImportChunkResponse failed = result.getChunks().get(0);
+        assertThat(failed.getFailed()).isEqualTo(100);
+        assertThat(failed.getImported()).isZero();
+        assertThat(failed.getError()).isEqualTo("Youtube API responded with empty body");
+
+        ThumbnailImportChunkResponse imported = result.getChunks().get(1);
+        assertThat(imported.getImported()).isEqualTo(50);
+        assertThat(imported.getError()).isNull();
+    }
+
+    @Test
+    void GivenIdImportedByEarlierChunk_WhenImportThumbnails_ThenSkipsItInLaterChunk() throws IOException {
+        // Given
+        underTest = new ThumbnailImportService(
+                repository,
+                youtubeVideoService,
+                new ThumbnailWriter(repository, catalogue),
+                new ThumbnailProperties(false, 100, 2, 2),
+                new ObjectMapper()
+        );
+
+        String body = """
+                "video-1"
+                "video-2"
+                "video-1"
+                "video-3"
+                """;
+
+        // looked up before fetching and before saving every chunk
+        when(repository.findExistingYoutubeVideoIds(anyCollection()))
+                .thenReturn(List.of())
+                .thenReturn(List.of())
+                .thenReturn(List.of("video-1"));
+
+        when(youtubeVideoService.getVideosDetails(anyCollection()))
+                .thenAnswer(invocation -> videos(invocation.getArgument(0)));
+
+        // When
+        ThumbnailImportResponse result = underTest.importThumbnails(
+                new StringReader(body), ThumbnailImportFormat.NDJSON, userPrincipal);
+
+        // Then
+        assertThat(result.getChunks())
+                .extracting(ThumbnailImportChunkResponse::getImported, ThumbnailImportChunkResponse::getSkipped)
+                .containsExactly(tuple(2, 0), tuple(1, 1));
+
+        verify(youtubeVideoService, times(2)).getVideosDetails(idsCaptor.capture());
+        assertThat(idsCaptor.getAllValues().get(1)).containsExactly("video-3");
+    }
+
+    @Test
+    void GivenIdAddedWhileVideoDetailsWereFetched_WhenImportThumbnails_ThenSkipsIt() throws IOException {
+        // Given
+        String body = """
+                "video-1"
+                "video-2"
+                """;
+
+        when(repository.findExistingYoutubeVideoIds(anyCollection()))
+                .thenReturn(List.of())
+                .thenReturn(List.of("video-1"));
+
+        when(youtubeVideoService.getVideosDetails(anyCollection()))
+                .thenAnswer(invocation -> videos(invocation.getArgument(0)));
+
+        // When
+        ThumbnailImportResponse result = underTest.importThumbnails(
+                new StringReader(body), ThumbnailImportFormat.NDJSON, userPrincipal);
+
+        // Then
+        assertThat(result.getImported()).isEqualTo(1);
+        assertThat(result.getSkipped()).isEqualTo(1);
+        assertThat(result.getFailed()).isZero();
+
+        verify(repository).saveAll(thumbnailsCaptor.capture());
+        assertThat(thumbnailsCaptor.getValue())
+                .extracting(Thumbnail::getYoutubeVideoId)
+                .containsExactly("video-2");
+    }
+
+    @Test
+    void GivenDuplicateKeyWhenSaving_WhenImportThumbnails_ThenSkipsExistingIdsAndReportsOthersAsFailed() throws IOException {
+        // Given
+        String body = """
+                "video-1"
+                "video-2"
+                """;
+
+        when(repository.findExistingYoutubeVideoIds(anyCollection()))
+                .thenReturn(List.of())
+                .thenReturn(List.of())
+                .thenReturn(List.of("video-1"));
+
+        when(youtubeVideoService.getVideosDetails(anyCollection()))
+                .thenAnswer(invocation -> videos(invocation.getArgument(0)));
+
+        when(repository.saveAll(any()))
+                .thenThrow(new DataIntegrityViolationException("duplicate key"));
+
+        // When
+        ThumbnailImportResponse result = underTest.importThumbnails(
+                new StringReader(body), ThumbnailImportFormat.NDJSON, userPrincipal);
+
+        // Then
+        assertThat(result.getImported()).isZero();
+        assertThat(result.getSkipped()).isEqualTo(1);
+        assertThat(result.getFailed()).isEqualTo(1);
+        assertThat(result.getChunks().get(0).getError()).isEqualTo("duplicate key");
+
+        verifyNoInteractions(catalogue);
+    }
+
+    private static Mono<List<ItemRequest>> videos(Collection<String> ids) {
+        return Mono.just(ids.stream()
+                .filter(id -> !id.equals("missing"))
+                .map(id -> {
+                    ThumbnailsRequest thumbnails = new ThumbnailsRequest();
+                    thumbnails.setMaxres(new MaxresRequest("url-" + id, 1280, 720));
+
+                    SnippetRequest snippet = new SnippetRequest();
+                    snippet.setThumbnails(thumbnails);
+
+                    ItemRequest item = new ItemRequest();
+                    item.setId(id);
+                    item.setSnippet(snippet);
+
+                    return item;
+                })
+                .toList());
+    }
+}
@@ -1,7 +1,5 @@
 package com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail;
 
-import com.github.karixdev.ratingyoutubethumbnailsapi.game.Game;
-import com.github.karixdev.ratingyoutubethumbnailsapi.rating.Rating;
 import com.github.karixdev.ratingyoutubethumbnailsapi.security.UserPrincipal;
 import com.github.karixdev.ratingyoutubethumbnailsapi.shared.exception.PermissionDeniedException;
 import com.github.karixdev.ratingyoutubethumbnailsapi.shared.exception.ResourceNotFoundException;
@@ -13,6 +11,7 @@ import com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail.payload.response
 import com.github.karixdev.ratingyoutubethumbnailsapi.user.User;
 import com.github.karixdev.ratingyoutubethumbnailsapi.user.UserRole;
 import com.github.karixdev.ratingyoutubethumbnailsapi.youtube.YoutubeVideoService;
+import com.github.karixdev.ratingyoutubethumbnailsapi.youtube.exception.YoutubeVideoNotFoundException;
 import com.github.karixdev.ratingyoutubethumbnailsapi.youtube.payload.request.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -20,14 +19,15 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
 
-import java.math.BigDecimal;
 import java.util.*;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -42,6 +42,18 @@ public class ThumbnailServiceTest {
     @Mock
     YoutubeVideoService youtubeVideoService;
 
+    @Mock
+    ThumbnailCatalogue catalogue;
+
+    @Mock
+    ThumbnailProperties properties;
+
+    @Mock
+    RatedThumbnailIndex ratedThumbnailIndex;
+
+    @Mock
+    ThumbnailWriter writer;
+
     Thumbnail thumbnail;
 
     UserPrincipal userPrincipal;
@@ -75,9 +87,11 @@ public class ThumbnailServiceTest {
                 .thenReturn(Optional.of(thumbnail));
 
         // When & Then
-        assertThatThrownBy(() -> underTest.add(payload, userPrincipal))
-                .isInstanceOf(ThumbnailAlreadyExistsException.class)
-                .hasMessage("Thumbnail with provided youtube video id already exists");
+        assertThatThrownBy(() -> underTest.add(payload, userPrincipal).join())
+                .hasCauseInstanceOf(ThumbnailAlreadyExistsException.class)
+                .hasRootCauseMessage("Thumbnail with provided youtube video id already exists");
+
+        verify(youtubeVideoService, never()).getVideoDetailsAsync(any());
     }
 
     @Test
@@ -96,8 +110,8 @@ public class ThumbnailServiceTest {
                 new MaxresRequest("thumbnail-url", 100, 100)
         );
 
-        when(youtubeVideoService.getVideoDetails(any()))
-                .thenReturn(new ItemRequest(
+        when(youtubeVideoService.getVideoDetailsAsync(eq("youtube-id-2")))
+                .thenReturn(Mono.just(new ItemRequest(
                         "youtube#video",
                         "youtube-id-2",
                         new SnippetRequest(
@@ -105,18 +119,34 @@ public class ThumbnailServiceTest {
                                 "description",
                                 thumbnails
                         )
-                ));
+                )));
 
-        when(thumbnailRepository.save(any()))
-                .thenReturn(thumbnail);
+        when(writer.insert(eq("youtube-id-2"), eq("thumbnail-url"), eq(userPrincipal.getUser())))
+                .thenReturn(new ThumbnailResponse(thumbnail));
 
         // When
-        ThumbnailResponse result = underTest.add(payload, userPrincipal);
+        ThumbnailResponse result = underTest.add(payload, userPrincipal).join();
 
         // Then
         assertThat(result).isEqualTo(new ThumbnailResponse(thumbnail));
+    }
+
+    @Test
+    void GivenNotExistingYoutubeVideo_WhenAdd_ThenCompletesWithYoutubeVideoNotFoundException() {
+        // Given
+        ThumbnailRequest payload = new ThumbnailRequest("youtube-id-2");
+
+        when(thumbnailRepository.findByYoutubeVideoId(any()))
+                .thenReturn(Optional.empty());
+
+        when(youtubeVideoService.getVideoDetailsAsync(eq("youtube-id-2")))
+                .thenReturn(Mono.error(new YoutubeVideoNotFoundException()));
 
-        verify(youtubeVideoService).getVideoDetails(any());
+        // When & Then
+        assertThatThrownBy(() -> underTest.add(payload, userPrincipal).join())
+                .hasCauseInstanceOf(YoutubeVideoNotFoundException.class);
+
+        verify(writer, never()).insert(any(), any(), any());
     }
 
     @Test
@@ -182,6 +212,7 @@ public class ThumbnailServiceTest {
         assertThat(result.getMessage()).isEqualTo("success");
 
         verify(thumbnailRepository).delete(eq(thumbnail));
+        verify(catalogue).remove(eq(id));
     }
 
     @Test
@@ -199,6 +230,7 @@ public class ThumbnailServiceTest {
         assertThat(result.getMessage()).isEqualTo("success");
 
         verify(thumbnailRepository).delete(eq(thumbnail));
+        verify(catalogue).remove(eq(id));
     }
 
     @Test
@@ -234,10 +266,13 @@ public class ThumbnailServiceTest {
     }
 
     @Test
-    void GivenEmptyRepository_WhenGetRandomThumbnail_ThenThrowsEmptyThumbnailsListExceptionWithCorrectMessage() {
+    void GivenEmptyCatalogue_WhenGetRandomThumbnail_ThenThrowsEmptyThumbnailsListExceptionWithCorrectMessage() {
         // Given
-        when(thumbnailRepository.findAll())
-                .thenReturn(List.of());
+        when(properties.getFavourLeastRated())
+                .thenReturn(false);
+
+        when(catalogue.sampleId())
+                .thenReturn(OptionalLong.empty());
 
         // When & Then
         assertThatThrownBy(() -> underTest.getRandomThumbnail())
@@ -246,27 +281,67 @@ public class ThumbnailServiceTest {
     }
 
     @Test
-    void GivenNotEmptyRepository_WhenGetRandomThumbnail_ThenReturnsRandomThumbnailFromRepositoryList() {
+    void GivenNotEmptyCatalogue_WhenGetRandomThumbnail_ThenLoadsOnlySampledThumbnail() {
         // Given
-        List<Thumbnail> thumbnails = new ArrayList<>();
+        when(properties.getFavourLeastRated())
+                .thenReturn(false);
 
-        for (int i = 0; i < 5; i++) {
-            thumbnails.add(Thumbnail.builder()
-                    .id((long) i)
-                    .addedBy(userPrincipal.getUser())
-                    .url("thumbnail-url-" + i)
-                    .youtubeVideoId("youtube-id-" + i)
-                    .build());
-        }
+        when(catalogue.sampleId())
+                .thenReturn(OptionalLong.of(1L));
 
-        when(thumbnailRepository.findAll())
-                .thenReturn(thumbnails);
+        when(thumbnailRepository.findById(eq(1L)))
+                .thenReturn(Optional.of(thumbnail));
 
         // When
         Thumbnail result = underTest.getRandomThumbnail();
 
         // Then
-        assertThat(thumbnails).contains(result);
+        assertThat(result).isEqualTo(thumbnail);
+        verify(thumbnailRepository, never()).findAll();
+    }
+
+    @Test
+    void GivenSampledThumbnailDeletedInDatabase_WhenGetRandomThumbnail_ThenRemovesItFromCatalogueAndSamplesAgain() {
+        // Given
+        when(properties.getFavourLeastRated())
+                .thenReturn(false);
+
+        when(catalogue.sampleId())
+                .thenReturn(OptionalLong.of(2L))
+                .thenReturn(OptionalLong.of(1L));
+
+        when(thumbnailRepository.findById(eq(2L)))
+                .thenReturn(Optional.empty());
+
+        when(thumbnailRepository.findById(eq(1L)))
+                .thenReturn(Optional.of(thumbnail));
+
+        // When
+        Thumbnail result = underTest.getRandomThumbnail();
+
+        // Then
+        assertThat(result).isEqualTo(thumbnail);
+        verify(catalogue).remove(eq(2L));
+    }
+
+    @Test
+    void GivenFavourLeastRatedSampling_WhenGetRandomThumbnail_ThenSamplesLeastRatedThumbnail() {
+        // Given
+        when(properties.getFavourLeastRated())
+                .thenReturn(true);
+
+        when(catalogue.sampleLeastRatedId())
+                .thenReturn(OptionalLong.of(1L));
+
+        when(thumbnailRepository.findById(eq(1L)))
+                .thenReturn(Optional.of(thumbnail));
+
+        // When
+        Thumbnail result = underTest.getRandomThumbnail();
+
+        // Then
+        assertThat(result).isEqualTo(thumbnail);
+        verify(catalogue, never()).sampleId();
     }
 
     @Test
@@ -274,19 +349,11 @@ public class ThumbnailServiceTest {
         // Given
         User user = userPrincipal.getUser();
 
-        when(thumbnailRepository.findAllThumbnails())
-                .thenReturn(List.of(
-                        thumbnail,
-                        Thumbnail.builder()
-                                .id(2L)
-                                .addedBy(user)
-                                .url("thumbnail-url-2")
-                                .youtubeVideoId("youtube-id-2")
-                                .ratings(Set.of(Rating.builder()
-                                        .user(userPrincipal.getUser())
-                                        .build()))
-                                .build()
-                ));
+        when(ratedThumbnailIndex.findUnratedIds(eq(user)))
+                .thenReturn(new long[]{1L});
+
+        when(thumbnailRepository.findAllById(eq(List.of(1L))))
+                .thenReturn(List.of(thumbnail));
 
         // When
         List<Thumbnail> result = underTest.getThumbnailsWithoutUserRating(user);
@@ -327,29 +394,24 @@ public class ThumbnailServiceTest {
     }
 
     @Test
-    void GivenGameAndUserAndDefaultPointsAndThumbnailAndPoints_WhenGetThumbnailNotInGameWithClosestRating_ThenFindThumbnailNotInGameWithClosestRatingIsCalled() {
+    void GivenNotExistingYoutubeVideoId_WhenGetThumbnailIdByYoutubeVideoId_ThenThrowsResourceNotFoundExceptionWithCorrectMessage() {
         // Given
-        User user = userPrincipal.getUser();
-        Game game = Game.builder().id(1L).build();
-        BigDecimal defaultPoints = BigDecimal.valueOf(1400);
-        BigDecimal points = BigDecimal.valueOf(1400);
+        when(thumbnailRepository.findIdByYoutubeVideoId(any()))
+                .thenReturn(Optional.empty());
 
+        // When & Then
+        assertThatThrownBy(() -> underTest.getThumbnailIdByYoutubeVideoId("i-do-not-exist"))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessage("Thumbnail with provided youtube id not found");
+    }
+
+    @Test
+    void GivenEmptyYoutubeVideoIds_WhenGetThumbnailIdsByYoutubeVideoIds_ThenDoesNotQueryRepository() {
         // When
-        underTest.getThumbnailNotInGameWithClosestRating(
-                game,
-                user,
-                defaultPoints,
-                thumbnail,
-                points
-        );
+        Map<String, Long> result = underTest.getThumbnailIdsByYoutubeVideoIds(List.of());
 
         // Then
-        verify(thumbnailRepository).findThumbnailNotInGameWithClosestRating(
-                eq(game.getId()),
-                eq(user.getId()),
-                eq(defaultPoints),
-                eq(thumbnail.getId()),
-                eq(points)
-        );
+        assertThat(result).isEmpty();
+        verify(thumbnailRepository, never()).findIdsByYoutubeVideoIdIn(any());
     }
 }
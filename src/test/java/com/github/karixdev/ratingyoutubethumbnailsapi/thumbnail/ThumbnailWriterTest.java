@@ -0,0 +1,118 @@
+package com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail;
+
+import com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail.exception.ThumbnailAlreadyExistsException;
+import com.github.karixdev.ratingyoutubethumbnailsapi.thumbnail.payload.response.ThumbnailResponse;
+import com.github.karixdev.ratingyoutubethumbnailsapi.user.User;
+import com.github.karixdev.ratingyoutubethumbnailsapi.user.UserRole;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ThumbnailWriterTest {
+    @InjectMocks
+    ThumbnailWriter underTest;
+
+    @Mock
+    ThumbnailRepository repository;
+
+    @Mock
+    ThumbnailCatalogue catalogue;
+
+    User user;
+
+    @BeforeEach
+    void setUp() {
+        user = User.builder()
+                .email("email@email.com")
+                .password("password")
+                .username("username")
+                .userRole(UserRole.ROLE_USER)
+                .isEnabled(Boolean.TRUE)
+                .build();
+    }
+
+    @Test
+    void GivenThumbnailAddedInTheMeantime_WhenInsert_ThenThrowsThumbnailAlreadyExistsException() {
+        // Given
+        when(repository.findByYoutubeVideoId(eq("youtube-id")))
+                .thenReturn(Optional.of(Thumbnail.builder().build()));
+
+        // When & Then
+        assertThatThrownBy(() -> underTest.insert("youtube-id", "thumbnail-url", user))
+                .isInstanceOf(ThumbnailAlreadyExistsException.class);
+
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    void GivenNewYoutubeVideoId_WhenInsert_ThenSavesThumbnailAndAddsItToCatalogue() {
+        // Given
+        when(repository.findByYoutubeVideoId(eq("youtube-id")))
+                .thenReturn(Optional.empty());
+
+        when(repository.save(any()))
+                .thenAnswer(invocation -> {
+                    Thumbnail thumbnail = invocation.getArgument(0);
+                    return Thumbnail.builder()
+                            .id(1L)
+                            .youtubeVideoId(thumbnail.getYoutubeVideoId())
+                            .url(thumbnail.getUrl())
+                            .addedBy(thumbnail.getAddedBy())
+                            .build();
+                });
+
+        // When
+        ThumbnailResponse result = underTest.insert("youtube-id", "thumbnail-url", user);
+
+        // Then
+        assertThat(result.getId()).isEqualTo(1L);
+        assertThat(result.getYoutubeVideoId()).isEqualTo("youtube-id");
+        assertThat(result.getUrl()).isEqualTo("thumbnail-url");
+
+        verify(catalogue).add(eq(1L));
+    }
+
+    @Test
+    void GivenThumbnailsOneOfWhichWasAddedInTheMeantime_WhenInsertAll_ThenSavesOthersAndAddsThemToCatalogue() {
+        // Given
+        Thumbnail added = Thumbnail.builder().id(1L).youtubeVideoId("youtube-id-1").url("url-1").addedBy(user).build();
+        Thumbnail existing = Thumbnail.builder().id(2L).youtubeVideoId("youtube-id-2").url("url-2").addedBy(user).build();
+
+        when(repository.findExistingYoutubeVideoIds(anyCollection()))
+                .thenReturn(List.of("youtube-id-2"));
+
+        // When
+        List<Thumbnail> result = underTest.insertAll(List.of(added, existing));
+
+        // Then
+        assertThat(result).containsExactly(added);
+
+        verify(repository).saveAll(eq(List.of(added)));
+        verify(catalogue).add(eq(1L));
+        verifyNoMoreInteractions(catalogue);
+    }
+
+    @Test
+    void GivenNoThumbnails_WhenInsertAll_ThenDoesNothing() {
+        // When
+        List<Thumbnail> result = underTest.insertAll(List.of());
+
+        // Then
+        assertThat(result).isEmpty();
+        verifyNoInteractions(repository, catalogue);
+    }
+}
@@ -9,6 +9,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.util.Optional;
@@ -30,6 +31,9 @@ public class UserServiceTest {
     @Mock
     PasswordEncoder passwordEncoder;
 
+    @Mock
+    ApplicationEventPublisher eventPublisher;
+
     User user;
 
     @BeforeEach
@@ -177,6 +181,7 @@ public class UserServiceTest {
         // Then
         assertThat(user.getIsEnabled()).isTrue();
         verify(userRepository).save(any());
+        verify(eventPublisher).publishEvent(new UserUpdatedEvent("email@email.com"));
     }
 
     @Test
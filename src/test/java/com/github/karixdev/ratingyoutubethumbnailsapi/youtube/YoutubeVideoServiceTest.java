@@ -6,12 +6,20 @@ import com.github.karixdev.ratingyoutubethumbnailsapi.youtube.payload.request.It
 import com.github.karixdev.ratingyoutubethumbnailsapi.youtube.payload.request.SnippetRequest;
 import com.github.karixdev.ratingyoutubethumbnailsapi.youtube.payload.request.ThumbnailsRequest;
 import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.http.MediaType;
 import org.springframework.web.reactive.function.client.WebClient;
 
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.*;
+
 import static com.github.tomakehurst.wiremock.client.WireMock.*;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -20,17 +28,35 @@ import static org.mockito.Mockito.when;
 
 @WireMockTest(httpPort = 8888)
 public class YoutubeVideoServiceTest {
+    private static final Instant NOW = Instant.parse("2023-01-01T01:00:00Z");
+
     YoutubeVideoService underTest;
 
     YoutubeApiService apiService;
 
+    Clock clock;
+
+    SimpleMeterRegistry meterRegistry;
+
     @BeforeEach
     void setUp() {
         apiService = mock(YoutubeApiService.class);
         WebClient webClient = WebClient.builder()
                 .build();
 
-        underTest = new YoutubeVideoService(apiService, webClient);
+        clock = mock(Clock.class);
+        when(clock.instant()).thenReturn(NOW);
+
+        meterRegistry = new SimpleMeterRegistry();
+
+        YoutubeApiProperties properties = new YoutubeApiProperties(
+                "http://localhost:8888", "test-key", 3600L, 300L, 100);
+
+        underTest = new YoutubeVideoService(
+                apiService,
+                webClient,
+                new VideoDetailsCache(clock, properties, meterRegistry)
+        );
     }
 
     @Test
@@ -178,4 +204,203 @@ public class YoutubeVideoServiceTest {
         assertThat(resultThumbnails.getStandard().getUrl()).isEqualTo("https://i.ytimg.com/vi/dQw4w9WgXcQ/sddefault.jpg");
         assertThat(resultThumbnails.getMaxres().getUrl()).isEqualTo("https://i.ytimg.com/vi/dQw4w9WgXcQ/maxresdefault.jpg");
     }
+
+    @Test
+    void GivenCachedVideo_WhenGetVideoDetails_ThenDoesNotCallYoutubeApiAgain() {
+        // Given
+        String url = stubVideo("cached");
+
+        underTest.getVideoDetails("cached");
+
+        // When
+        ItemRequest result = underTest.getVideoDetails("cached");
+
+        // Then
+        assertThat(result.getId()).isEqualTo("cached");
+        verify(1, getRequestedFor(urlEqualTo(url)));
+        assertThat(requests("hit")).isEqualTo(1);
+        assertThat(requests("miss")).isEqualTo(1);
+    }
+
+    @Test
+    void GivenVideoCachedLongerThanTtl_WhenGetVideoDetails_ThenCallsYoutubeApiAgain() {
+        // Given
+        String url = stubVideo("expired");
+
+        underTest.getVideoDetails("expired");
+
+        when(clock.instant()).thenReturn(NOW.plusSeconds(3600));
+
+        // When
+        underTest.getVideoDetails("expired");
+
+        // Then
+        verify(2, getRequestedFor(urlEqualTo(url)));
+    }
+
+    @Test
+    void GivenNotExistingVideo_WhenGetVideoDetailsTwice_ThenNotFoundIsCached() {
+        // Given
+        String url = "/videos?id=not-existing&part=snippet&maxResults=1&key=test-key";
+
+        when(apiService.createUri(Mockito.any(), Mockito.any()))
+                .thenReturn("http://localhost:8888" + url);
+
+        stubFor(get(url)
+                .willReturn(okJson("""
+                        {
+                            "items": []
+                        }
+                        """))
+        );
+
+        assertThatThrownBy(() -> underTest.getVideoDetails("not-existing"))
+                .isInstanceOf(YoutubeVideoNotFoundException.class);
+
+        // When & Then
+        assertThatThrownBy(() -> underTest.getVideoDetails("not-existing"))
+                .isInstanceOf(YoutubeVideoNotFoundException.class)
+                .hasMessage("Youtube video with provided id not found");
+
+        verify(1, getRequestedFor(urlEqualTo(url)));
+
+        when(clock.instant()).thenReturn(NOW.plusSeconds(300));
+
+        assertThatThrownBy(() -> underTest.getVideoDetails("not-existing"))
+                .isInstanceOf(YoutubeVideoNotFoundException.class);
+
+        verify(2, getRequestedFor(urlEqualTo(url)));
+    }
+
+    @Test
+    void GivenEmptyBody_WhenGetVideoDetailsTwice_ThenResponseIsNotCached() {
+        // Given
+        String url = "/videos?id=empty-body&part=snippet&maxResults=1&key=test-key";
+
+        when(apiService.createUri(Mockito.any(), Mockito.any()))
+                .thenReturn("http://localhost:8888" + url);
+
+        stubFor(get(url).willReturn(ok()));
+
+        assertThatThrownBy(() -> underTest.getVideoDetails("empty-body"))
+                .isInstanceOf(YoutubeApiEmptyResponseException.class);
+
+        // When & Then
+        assertThatThrownBy(() -> underTest.getVideoDetails("empty-body"))
+                .isInstanceOf(YoutubeApiEmptyResponseException.class);
+
+        verify(2, getRequestedFor(urlEqualTo(url)));
+    }
+
+    @Test
+    void GivenConcurrentLookupsOfOneVideo_WhenGetVideoDetails_ThenSharesOneYoutubeApiCall() throws Exception {
+        // Given
+        String url = "/videos?id=coalesced&part=snippet&maxResults=1&key=test-key";
+
+        when(apiService.createUri(Mockito.any(), Mockito.any()))
+                .thenReturn("http://localhost:8888" + url);
+
+        stubFor(get(url)
+                .willReturn(okJson(videoListBody("coalesced"))
+                        .withFixedDelay(500))
+        );
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<ItemRequest>> results = new ArrayList<>();
+
+        // When
+        for (int i = 0; i < 4; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                return underTest.getVideoDetails("coalesced");
+            }));
+        }
+
+        start.countDown();
+
+        // Then
+        for (Future<ItemRequest> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS).getId()).isEqualTo("coalesced");
+        }
+
+        executor.shutdown();
+
+        verify(1, getRequestedFor(urlEqualTo(url)));
+        assertThat(requests("miss")).isEqualTo(1);
+        assertThat(requests("coalesced")).isEqualTo(3);
+    }
+
+    @Test
+    void GivenSeveralIds_WhenGetVideosDetails_ThenRequestsThemInOneCall() {
+        // Given
+        String url = "/videos?id=video-1,missing,video-2&part=snippet&maxResults=50&key=test-key";
+
+        when(apiService.createUri(Mockito.any(), Mockito.any()))
+                .thenReturn("http://localhost:8888" + url);
+
+        stubFor(get(url)
+                .willReturn(okJson("""
+                        {
+                            "items": [
+                                {
+                                    "id": "video-1"
+                                },
+                                {
+                                    "id": "video-2"
+                                }
+                            ]
+                        }
+                        """))
+        );
+
+        // When
+        List<ItemRequest> result = underTest.getVideosDetails(List.of("video-1", "missing", "video-2")).block();
+
+        // Then
+        assertThat(result)
+                .extracting(ItemRequest::getId)
+                .containsExactly("video-1", "video-2");
+        verify(1, getRequestedFor(urlEqualTo(url)));
+    }
+
+    @Test
+    void GivenMoreThanFiftyIds_WhenGetVideosDetails_ThenThrowsIllegalArgumentException() {
+        // Given
+        List<String> ids = Collections.nCopies(51, "video");
+
+        // When & Then
+        assertThatThrownBy(() -> underTest.getVideosDetails(ids))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private String stubVideo(String id) {
+        String url = "/videos?id=" + id + "&part=snippet&maxResults=1&key=test-key";
+
+        when(apiService.createUri(Mockito.any(), Mockito.any()))
+                .thenReturn("http://localhost:8888" + url);
+
+        stubFor(get(url).willReturn(okJson(videoListBody(id))));
+
+        return url;
+    }
+
+    private static String videoListBody(String id) {
+        return """
+                {
+                    "items": [
+                        {
+                            "id": "%s",
+                            "snippet": {
+                                "title": "Music video"
+                            }
+                        }
+                    ]
+                }
+                """.formatted(id);
+    }
+
+    private double requests(String result) {
+        return meterRegistry.get("youtube.video.cache.requests").tag("result", result).counter().count();
+    }
 }